@@ -0,0 +1,87 @@
+package hangman.benchmark;
+
+import hangman.game.GlobalReference;
+import hangman.utils.PackedDictionary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * The BenchmarkData class builds the reproducible inputs shared by the benchmarks:
+ * dictionaries of a requested size and the guess sequences replayed against them.
+ */
+final class BenchmarkData {
+
+    // The seed used for every generated input, so runs of different releases measure the same work.
+    private static final long SEED = 5031L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds the text form of a word list with the requested number of words. The bundled word list
+     * is used first and extended with random five-letter words when more words are requested.
+     *
+     * @param size The number of words.
+     * @return The word list as bytes, one word per line.
+     */
+    static byte[] wordListText(int size) {
+        PackedDictionary bundled = GlobalReference.getDictionary();
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder text = new StringBuilder(size * 6);
+        for (int i = 0; i < size; i++) {
+            if (i < bundled.size()) {
+                text.append(bundled.view(i));
+            } else {
+                for (int j = 0; j < 5; j++) {
+                    text.append((char) ('a' + random.nextInt(PackedDictionary.ALPHABET_SIZE)));
+                }
+            }
+            text.append('\n');
+        }
+        return text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Builds a dictionary with the requested number of words, as described in {@link #wordListText(int)}.
+     *
+     * @param size The number of words.
+     * @return The dictionary.
+     */
+    static PackedDictionary dictionary(int size) {
+        PackedDictionary.Builder builder = PackedDictionary.builder();
+        byte[] text = wordListText(size);
+        for (int i = 0; i < text.length; i += 6) {
+            builder.add(text, i, 5);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the letters guessed, in order, by a named guess sequence.
+     *
+     * @param name The sequence name: "frequency" guesses common English letters first, "alphabetical"
+     *             guesses from 'a' to 'z', and "rare" guesses the least common letters first.
+     * @return The 26 letters in guessing order.
+     */
+    static char[] guessSequence(String name) {
+        String frequency = "esiarnotlcdupmghbykfwvzjxq";
+        return switch (name) {
+            case "frequency" -> frequency.toCharArray();
+            case "alphabetical" -> "abcdefghijklmnopqrstuvwxyz".toCharArray();
+            case "rare" -> new StringBuilder(frequency).reverse().toString().toCharArray();
+            default -> throw new IllegalArgumentException("Unknown guess sequence: " + name);
+        };
+    }
+
+    /**
+     * Draws the secret word indices the game benchmarks cycle through.
+     *
+     * @param dictionarySize The number of words in the dictionary.
+     * @param count          The number of indices to draw.
+     * @return Reproducible random word indices.
+     */
+    static int[] wordIndices(int dictionarySize, int count) {
+        return new SplittableRandom(SEED).ints(count, 0, dictionarySize).toArray();
+    }
+}
@@ -0,0 +1,60 @@
+package hangman.benchmark;
+
+import hangman.game.difficulty.DifficultyIndex;
+import hangman.utils.PackedDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rating a whole dictionary with {@link DifficultyIndex#compute(PackedDictionary, int)} for several
+ * pool sizes, to check how the rating scales with the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DifficultyIndexBenchmark {
+
+    // The number of words in the dictionary being rated.
+    @Param({"14855", "1000000"})
+    public int dictionarySize;
+
+    // The number of worker threads rating the dictionary.
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    // The dictionary being rated.
+    private PackedDictionary dictionary;
+
+    /**
+     * Builds the dictionary once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        dictionary = BenchmarkData.dictionary(dictionarySize);
+    }
+
+    /**
+     * Rates every word of the dictionary.
+     *
+     * @return The index, consumed to prevent dead-code elimination.
+     */
+    @Benchmark
+    public DifficultyIndex compute() {
+        return DifficultyIndex.compute(dictionary, parallelism);
+    }
+}
@@ -0,0 +1,138 @@
+package hangman.benchmark;
+
+import hangman.game.HangmanGameLogic;
+import hangman.utils.PackedDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-move operations of {@link HangmanGameLogic}: guessing, rendering the current state,
+ * checking for a win, and resetting for a new game. Every benchmark reports both throughput and
+ * sampled latency; run with {@code -prof gc} to also report the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogicBenchmark {
+
+    // The number of words in the dictionary the games draw from.
+    @Param({"1000", "14855", "1000000"})
+    public int dictionarySize;
+
+    // The order in which letters are guessed, see BenchmarkData.guessSequence.
+    @Param({"frequency", "alphabetical", "rare"})
+    public String guessSequence;
+
+    // The game under measurement.
+    private HangmanGameLogic game;
+
+    // The letters guessed, in order.
+    private char[] guesses;
+
+    // The secret words the benchmarks cycle through.
+    private int[] wordIndices;
+
+    // The position of the next secret word in wordIndices.
+    private int nextWord;
+
+    // The position of the next guess in guesses.
+    private int nextGuess;
+
+    /**
+     * Builds the dictionary and the game once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        PackedDictionary dictionary = BenchmarkData.dictionary(dictionarySize);
+        game = new HangmanGameLogic(dictionary);
+        guesses = BenchmarkData.guessSequence(guessSequence);
+        wordIndices = BenchmarkData.wordIndices(dictionarySize, 1024);
+    }
+
+    /**
+     * Guesses one letter, starting a new game whenever the previous one has ended.
+     *
+     * @return The number of wrong guesses, consumed to prevent dead-code elimination.
+     */
+    @Benchmark
+    public int makeGuess() {
+        if (game.isGameWon() || game.isGameLost() || nextGuess == guesses.length) {
+            startNextGame();
+        }
+        game.makeGuess(guesses[nextGuess++]);
+        return game.getWrongGuesses();
+    }
+
+    /**
+     * Plays one complete game from reset until it is won or lost.
+     *
+     * @return The final score, consumed to prevent dead-code elimination.
+     */
+    @Benchmark
+    public int playFullGame() {
+        startNextGame();
+        for (char guess : guesses) {
+            if (game.isGameWon() || game.isGameLost()) {
+                break;
+            }
+            game.makeGuess(guess);
+        }
+        return game.getScore();
+    }
+
+    /**
+     * Renders the visible state of the word after a guess, as the UI does once per turn.
+     *
+     * @return The current state, consumed to prevent dead-code elimination.
+     */
+    @Benchmark
+    public String getCurrentState() {
+        makeGuess();
+        return game.getCurrentState();
+    }
+
+    /**
+     * Checks whether the current game has been won.
+     *
+     * @return true if the game is won.
+     */
+    @Benchmark
+    public boolean isGameWon() {
+        return game.isGameWon();
+    }
+
+    /**
+     * Resets the game with a new randomly selected secret word.
+     *
+     * @return The new secret word, consumed to prevent dead-code elimination.
+     */
+    @Benchmark
+    public String resetGame() {
+        game.resetGame();
+        return game.getSecretWord();
+    }
+
+    /**
+     * Resets the game to the next secret word of the reproducible sequence.
+     */
+    private void startNextGame() {
+        game.resetGame(wordIndices[nextWord]);
+        nextWord = (nextWord + 1) & (wordIndices.length - 1);
+        nextGuess = 0;
+    }
+}
@@ -0,0 +1,80 @@
+package hangman.benchmark;
+
+import hangman.game.HangmanDrawing;
+import hangman.game.output.NullOutput;
+import hangman.game.output.RenderBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering one frame of the hangman drawing, both straight to standard output and through a
+ * render buffer into a discarding sink. Standard output is redirected to a discarding stream for the
+ * duration of the trial, so the cost of the terminal is left out of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HangmanDrawingBenchmark {
+
+    // The number of wrong guesses whose frame is drawn.
+    @Param({"0", "3", "6"})
+    public int wrongGuesses;
+
+    // The standard output stream in place before the trial.
+    private PrintStream originalOut;
+
+    // The buffer a turn is rendered into.
+    private final RenderBuffer buffer = new RenderBuffer();
+
+    /**
+     * Redirects standard output to a stream that discards everything.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Restores the original standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    /**
+     * Draws one frame.
+     */
+    @Benchmark
+    public void displayHangman() {
+        HangmanDrawing.displayHangman(wrongGuesses);
+    }
+
+    /**
+     * Renders one frame into a buffer and writes it to a sink that discards it.
+     */
+    @Benchmark
+    public void renderToBuffer() {
+        HangmanDrawing.render(wrongGuesses, buffer);
+        buffer.writeTo(NullOutput.INSTANCE);
+    }
+}
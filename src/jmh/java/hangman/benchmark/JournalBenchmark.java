@@ -0,0 +1,114 @@
+package hangman.benchmark;
+
+import hangman.game.HangmanGameLogic;
+import hangman.game.journal.GameJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cost journaling adds to the guess path, by guessing with and without a {@link GameJournal}
+ * attached. The journal writes to a temporary directory with its background flusher running, as a server would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+
+    // Whether the game records its events in a journal.
+    @Param({"false", "true"})
+    public boolean journaled;
+
+    // The game under measurement.
+    private HangmanGameLogic game;
+
+    // The journal, or null when not journaling.
+    private GameJournal journal;
+
+    // The directory holding the journal segments.
+    private Path directory;
+
+    // The letters guessed, in order.
+    private char[] guesses;
+
+    // The secret words the benchmark cycles through.
+    private int[] wordIndices;
+
+    // The position of the next secret word in wordIndices.
+    private int nextWord;
+
+    // The position of the next guess in guesses.
+    private int nextGuess;
+
+    /**
+     * Creates the game and, when journaling, the journal.
+     *
+     * @throws IOException if the journal directory cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        game = new HangmanGameLogic(BenchmarkData.dictionary(14855));
+        guesses = BenchmarkData.guessSequence("frequency");
+        wordIndices = BenchmarkData.wordIndices(14855, 1024);
+        if (journaled) {
+            directory = Files.createTempDirectory("hangman-journal");
+            journal = GameJournal.open(directory);
+            journal.startFlusher(Duration.ofMillis(10));
+            game.setEventListener(journal.listener(1));
+        }
+    }
+
+    /**
+     * Closes the journal and deletes its segments.
+     *
+     * @throws IOException if the segments cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Guesses one letter, starting a new game whenever the previous one has ended.
+     *
+     * @return The number of wrong guesses, consumed to prevent dead-code elimination.
+     */
+    @Benchmark
+    public int makeGuess() {
+        if (game.isGameWon() || game.isGameLost() || nextGuess == guesses.length) {
+            game.resetGame(wordIndices[nextWord]);
+            nextWord = (nextWord + 1) & (wordIndices.length - 1);
+            nextGuess = 0;
+        }
+        game.makeGuess(guesses[nextGuess++]);
+        return game.getWrongGuesses();
+    }
+}
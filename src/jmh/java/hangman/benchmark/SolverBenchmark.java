@@ -0,0 +1,87 @@
+package hangman.benchmark;
+
+import hangman.game.HangmanGameLogic;
+import hangman.game.solver.HangmanSolver;
+import hangman.game.solver.SolverIndex;
+import hangman.utils.PackedDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link HangmanSolver}: answering a single next-guess query, and playing a complete game
+ * in which every move narrows the candidates and asks for the next guess.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    // The number of words in the dictionary the games draw from.
+    @Param({"1000", "14855", "1000000"})
+    public int dictionarySize;
+
+    // The solver under measurement.
+    private HangmanSolver solver;
+
+    // The game the solver plays.
+    private HangmanGameLogic game;
+
+    // The secret words the benchmark cycles through.
+    private int[] wordIndices;
+
+    // The position of the next secret word in wordIndices.
+    private int nextWord;
+
+    /**
+     * Builds the dictionary, its solver index, and the game once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        PackedDictionary dictionary = BenchmarkData.dictionary(dictionarySize);
+        solver = new HangmanSolver(new SolverIndex(dictionary));
+        game = new HangmanGameLogic(dictionary);
+        wordIndices = BenchmarkData.wordIndices(dictionarySize, 1024);
+        solver.reset(5);
+    }
+
+    /**
+     * Asks for the next guess without changing the solver state.
+     *
+     * @return The suggested letter.
+     */
+    @Benchmark
+    public char nextGuess() {
+        return solver.nextGuess();
+    }
+
+    /**
+     * Plays one complete game guided by the solver.
+     *
+     * @return The final score, consumed to prevent dead-code elimination.
+     */
+    @Benchmark
+    public int solveGame() {
+        game.resetGame(wordIndices[nextWord]);
+        nextWord = (nextWord + 1) & (wordIndices.length - 1);
+        while (!game.isGameWon() && !game.isGameLost()) {
+            solver.sync(game);
+            game.makeGuess(solver.nextGuess());
+        }
+        return game.getScore();
+    }
+}
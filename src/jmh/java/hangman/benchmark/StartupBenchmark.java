@@ -0,0 +1,131 @@
+package hangman.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the game jar takes to start, by launching a new JVM for every invocation: the time until
+ * the interactive game shows its first prompt, and the time a short batch run takes from launch to exit.
+ * Both are measured with and without the class data sharing archive built by {@code mvn -Pappcds package}.
+ * The jar and the archive are looked up under {@code target/}, or where the {@code hangman.jar} and
+ * {@code hangman.archive} system properties point.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+
+    // The line the interactive game starts its first prompt with.
+    private static final String FIRST_PROMPT = "Current state";
+
+    // Whether the JVM maps the classes from the archive instead of loading them from the jar.
+    @Param({"none", "appcds"})
+    public String archive;
+
+    // The command launching the interactive game.
+    private List<String> interactiveCommand;
+
+    // The command playing the training games in batch mode.
+    private List<String> batchCommand;
+
+    // The game process of the current invocation, or null if it has already exited.
+    private Process process;
+
+    /**
+     * Builds the launch commands, checking that the jar and, if used, the archive have been built.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Path jar = Path.of(System.getProperty("hangman.jar", "target/Hangman-1.0.jar"));
+        Path archiveFile = Path.of(System.getProperty("hangman.archive", "target/hangman.jsa"));
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Build the game jar with mvn package first: " + jar + " not found.");
+        }
+        List<String> launch = new ArrayList<>();
+        launch.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (archive.equals("appcds")) {
+            if (!Files.isRegularFile(archiveFile)) {
+                throw new IllegalStateException("Build the archive with mvn -Pappcds package first: "
+                        + archiveFile + " not found.");
+            }
+            launch.add("-XX:SharedArchiveFile=" + archiveFile);
+        }
+        launch.add("-jar");
+        launch.add(jar.toString());
+        interactiveCommand = launch;
+        batchCommand = new ArrayList<>(launch);
+        batchCommand.add("--batch");
+        batchCommand.add("src/appcds/training.moves");
+    }
+
+    /**
+     * Stops the game process of the invocation, outside of the measured time.
+     *
+     * @throws InterruptedException if interrupted while waiting for the process to exit.
+     */
+    @TearDown(Level.Invocation)
+    public void tearDown() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+            process = null;
+        }
+    }
+
+    /**
+     * Launches the interactive game and waits for its first prompt.
+     *
+     * @return The prompt line.
+     * @throws IOException if the game cannot be launched or exits before prompting.
+     */
+    @Benchmark
+    public String firstPrompt() throws IOException {
+        process = new ProcessBuilder(interactiveCommand).redirectErrorStream(true).start();
+        BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        for (String line = output.readLine(); line != null; line = output.readLine()) {
+            if (line.startsWith(FIRST_PROMPT)) {
+                return line;
+            }
+        }
+        throw new IOException("The game exited without prompting.");
+    }
+
+    /**
+     * Plays the training games in batch mode, from launch to exit.
+     *
+     * @return The exit code of the run.
+     * @throws IOException          if the game cannot be launched.
+     * @throws InterruptedException if interrupted while waiting for the run to exit.
+     */
+    @Benchmark
+    public int batchRun() throws IOException, InterruptedException {
+        Process run = new ProcessBuilder(batchCommand).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD).start();
+        return run.waitFor();
+    }
+}
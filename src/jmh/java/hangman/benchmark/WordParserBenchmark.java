@@ -0,0 +1,104 @@
+package hangman.benchmark;
+
+import hangman.utils.DictionaryFile;
+import hangman.utils.PackedDictionary;
+import hangman.utils.WordParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a dictionary of a given size through each of the available paths: the String-per-word
+ * {@link WordParser#loadWords(java.io.InputStream)}, the packed {@link WordParser#loadDictionary(java.io.InputStream)},
+ * and memory-mapping a compiled file with {@link DictionaryFile#map(Path)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordParserBenchmark {
+
+    // The number of words in the loaded dictionary.
+    @Param({"1000", "14855", "1000000"})
+    public int dictionarySize;
+
+    // The word list in its text form.
+    private byte[] text;
+
+    // The word list compiled into the binary format.
+    private Path compiled;
+
+    /**
+     * Generates the text word list and compiles it once per trial.
+     *
+     * @throws IOException if the compiled file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        text = BenchmarkData.wordListText(dictionarySize);
+        compiled = Files.createTempFile("wordlist", ".bin");
+        DictionaryFile.write(WordParser.loadDictionary(new ByteArrayInputStream(text)), compiled);
+    }
+
+    /**
+     * Deletes the compiled file after the trial.
+     *
+     * @throws IOException if the file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(compiled);
+    }
+
+    /**
+     * Loads the words as one String per line.
+     *
+     * @return The loaded words.
+     * @throws IOException never, as the input is in memory.
+     */
+    @Benchmark
+    public List<String> loadWords() throws IOException {
+        return WordParser.loadWords(new ByteArrayInputStream(text));
+    }
+
+    /**
+     * Parses the words from text into a packed dictionary.
+     *
+     * @return The loaded dictionary.
+     * @throws IOException never, as the input is in memory.
+     */
+    @Benchmark
+    public PackedDictionary loadDictionary() throws IOException {
+        return WordParser.loadDictionary(new ByteArrayInputStream(text));
+    }
+
+    /**
+     * Memory-maps the compiled dictionary, including its checksum verification.
+     *
+     * @return The mapped dictionary.
+     * @throws IOException if the compiled file cannot be read.
+     */
+    @Benchmark
+    public PackedDictionary mapCompiledDictionary() throws IOException {
+        return DictionaryFile.map(compiled);
+    }
+}
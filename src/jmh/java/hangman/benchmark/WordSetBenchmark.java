@@ -0,0 +1,125 @@
+package hangman.benchmark;
+
+import hangman.utils.PackedDictionary;
+import hangman.utils.WordSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures checking whether a guessed word is in the dictionary: with {@link List#contains(Object)} on the list
+ * view of the dictionary, as {@code GlobalReference.getWordList()} offers it, which scans the packed words; with
+ * the {@link WordSet} of the dictionary; and, for reference, with a {@link HashSet} of one String per word.
+ * Half of the guesses are words of the dictionary and half are random letters, which are almost never words.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordSetBenchmark {
+
+    // The number of guesses the benchmark cycles through.
+    private static final int GUESSES = 1024;
+
+    // The number of words in the dictionary.
+    @Param({"14855", "1000000"})
+    public int dictionarySize;
+
+    // The list view of the dictionary.
+    private List<String> wordList;
+
+    // The membership set of the dictionary.
+    private WordSet wordSet;
+
+    // The words of the dictionary as Strings in a hash set.
+    private Set<String> hashSet;
+
+    // The guessed words.
+    private String[] guesses;
+
+    // The position of the next guess in guesses.
+    private int nextGuess;
+
+    /**
+     * Builds the dictionary, its lookup structures, and the guesses once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        PackedDictionary dictionary = BenchmarkData.dictionary(dictionarySize);
+        wordList = dictionary.asList();
+        wordSet = new WordSet(dictionary);
+        hashSet = new HashSet<>(wordList);
+        guesses = new String[GUESSES];
+        int[] words = BenchmarkData.wordIndices(dictionarySize, GUESSES);
+        SplittableRandom random = new SplittableRandom(words.length);
+        for (int i = 0; i < GUESSES; i++) {
+            if (i % 2 == 0) {
+                guesses[i] = dictionary.get(words[i]);
+            } else {
+                char[] letters = new char[5];
+                for (int j = 0; j < letters.length; j++) {
+                    letters[j] = (char) ('a' + random.nextInt(PackedDictionary.ALPHABET_SIZE));
+                }
+                guesses[i] = new String(letters);
+            }
+        }
+    }
+
+    /**
+     * Checks a guess by scanning the list of words.
+     *
+     * @return Whether the guess is a word.
+     */
+    @Benchmark
+    public boolean listContains() {
+        return wordList.contains(nextGuess());
+    }
+
+    /**
+     * Checks a guess against the word set.
+     *
+     * @return Whether the guess is a word.
+     */
+    @Benchmark
+    public boolean wordSetContains() {
+        return wordSet.contains(nextGuess());
+    }
+
+    /**
+     * Checks a guess against a hash set of Strings.
+     *
+     * @return Whether the guess is a word.
+     */
+    @Benchmark
+    public boolean hashSetContains() {
+        return hashSet.contains(nextGuess());
+    }
+
+    /**
+     * Gets the next guess, cycling through the guesses.
+     *
+     * @return The guessed word.
+     */
+    private String nextGuess() {
+        String guess = guesses[nextGuess];
+        nextGuess = (nextGuess + 1) & (GUESSES - 1);
+        return guess;
+    }
+}
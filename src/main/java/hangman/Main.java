@@ -1,8 +1,28 @@
 package hangman;
 
+import hangman.game.EvilHangmanGame;
+import hangman.game.GlobalReference;
+import hangman.game.HangmanGame;
 import hangman.game.HangmanGameLogic;
 import hangman.game.HangmanUI;
+import hangman.game.difficulty.Difficulty;
+import hangman.game.difficulty.DifficultyIndex;
 import hangman.game.input.ScannerInput;
+import hangman.game.leaderboard.Leaderboard;
+import hangman.game.metrics.GameMetrics;
+import hangman.game.selection.ShuffledWordSelector;
+import hangman.game.selection.UniformWordSelector;
+import hangman.game.selection.WordSelector;
+import hangman.simulator.BatchRunner;
+import hangman.utils.PackedDictionary;
+import hangman.utils.WordParser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * The Main class serves as the entry point for the hangman game application.
@@ -11,25 +31,158 @@ import hangman.game.input.ScannerInput;
  */
 public class Main {
 
+    // The options followed by a value.
+    private static final Set<String> OPTIONS_WITH_VALUE = Set.of("--seed", "--difficulty", "--leaderboard",
+            "--dictionary");
+
     /**
      * The main method is the entry point of the application. It sets up the game by creating instances
      * of the ScannerInput for handling console input, the HangmanGameLogic for managing the game's logic,
      * and the HangmanUI for handling the interaction between the user and the game logic.
      *
-     * @param args Command-line arguments passed to the application (not used in this application).
+     * @param args Command-line arguments passed to the application; "--evil" plays the adversarial mode,
+     *             where the game avoids committing to a secret word for as long as it can, and
+     *             "--batch" followed by a move file plays scripted games (see {@link BatchRunner}), and
+     *             "--leaderboard" followed by a file keeps the final scores on a {@link Leaderboard}, and
+     *             "--dictionary" followed by a word list or compiled dictionary plays with those words,
+     *             of any length and script, instead of the bundled ones, and "--difficulty" followed by a
+     *             level, such as "hard", or a weighted mix of levels, such as "easy=3,medium=1", picks the
+     *             words of those levels, "--no-repeat" plays every word once before repeating any, and "--seed"
+     *             followed by a number makes the sequence of words reproducible. Any other argument, or an
+     *             option missing its value, ends the program with a usage message.
+     * @throws IOException if the move file of batch mode, the leaderboard file, or the dictionary cannot be used.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+
+        // Batch mode streams scripted games through the UI instead of playing interactively.
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        // Read the options: the adversarial game mode, the file keeping the leaderboard, and how words are picked.
+        boolean evil = false;
+        boolean noRepeat = false;
+        Long seed = null;
+        String difficulty = null;
+        Path leaderboardFile = null;
+        Path dictionaryFile = null;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--evil")) {
+                evil = true;
+            } else if (option.equals("--no-repeat")) {
+                noRepeat = true;
+            } else if (!OPTIONS_WITH_VALUE.contains(option)) {
+                exitWithUsage("Unknown option: " + option);
+            } else if (i + 1 == args.length) {
+                exitWithUsage("Missing the value of " + option + ".");
+            } else {
+                String value = args[++i];
+                switch (option) {
+                    case "--seed" -> {
+                        try {
+                            seed = Long.parseLong(value);
+                        } catch (NumberFormatException e) {
+                            exitWithUsage("The seed must be a number: " + value);
+                        }
+                    }
+                    case "--difficulty" -> difficulty = value;
+                    case "--leaderboard" -> leaderboardFile = Path.of(value);
+                    default -> dictionaryFile = Path.of(value);
+                }
+            }
+        }
+
+        // Load the bundled words in the background while the rest of the game starts up.
+        if (dictionaryFile == null) {
+            GlobalReference.preloadDictionary();
+        }
+
+        // Publish the game metrics over JMX, so a running game can be watched with jconsole or similar tools.
+        // The MBean server starts in the background, as the game needs none of it to show its first prompt.
+        GameMetrics.registerMBeanInBackground();
 
         // Create an instance of ScannerInput to read input from the console.
         ScannerInput scannerInput = new ScannerInput();
 
-        // Initialize the HangmanUI with a new instance of HangmanGameLogic and the scanner input.
+        // Load the requested dictionary; its words may have any length and use any alphabet.
+        PackedDictionary dictionary = dictionaryFile == null
+                ? GlobalReference.getDictionary() : WordParser.loadDictionary(dictionaryFile);
+
+        // Choose the game mode: the classic game with a fixed secret word, or the adversarial one.
+        HangmanGame game;
+        if (evil) {
+            game = new EvilHangmanGame(dictionary);
+        } else {
+            game = dictionaryFile == null ? HangmanGameLogic.getInstance() : new HangmanGameLogic(dictionary);
+        }
+
+        // Whole-word guesses must be words of the dictionary, so a typo does not cost a try.
+        if (game instanceof EvilHangmanGame evilGame) {
+            evilGame.setDictionaryWordsOnly(true);
+        } else {
+            ((HangmanGameLogic) game).setDictionaryWordsOnly(true);
+        }
+
+        // Pick the words of one difficulty level or a mix of levels, without repeating them, or as a reproducible
+        // sequence, if any of these was requested.
+        if (difficulty != null || noRepeat || seed != null) {
+            int size = dictionary.size();
+            WordSelector selector;
+            if (difficulty != null) {
+                DifficultyIndex index = dictionaryFile == null
+                        ? DifficultyIndex.bundled() : DifficultyIndex.compute(dictionary);
+                long levelSeed = seed == null ? System.nanoTime() : seed;
+                selector = difficulty.contains("=")
+                        ? index.selector(Difficulty.parseWeights(difficulty), levelSeed)
+                        : index.selector(Difficulty.valueOf(difficulty.toUpperCase(Locale.ROOT)), levelSeed);
+            } else if (noRepeat) {
+                selector = seed == null ? new ShuffledWordSelector(size) : new ShuffledWordSelector(size, seed);
+            } else {
+                selector = new UniformWordSelector(size, seed);
+            }
+            if (game instanceof EvilHangmanGame evilGame) {
+                evilGame.setWordSelector(selector);
+            } else {
+                ((HangmanGameLogic) game).setWordSelector(selector);
+            }
+            game.resetGame();
+        }
+
+        // Initialize the HangmanUI with the chosen game and the scanner input.
         // This setup ties the user interface to the game logic and input mechanism.
-        HangmanUI hangmanUI = new HangmanUI(HangmanGameLogic.getInstance(),scannerInput);
+        HangmanUI hangmanUI = new HangmanUI(game,scannerInput);
+
+        // Keep the final scores on the leaderboard under the name of the user, if one was requested.
+        Leaderboard leaderboard = leaderboardFile == null ? null : Leaderboard.open(leaderboardFile);
+        if (leaderboard != null) {
+            hangmanUI.setLeaderboard(leaderboard, System.getProperty("user.name", "player"));
+        }
 
         // Start the game. This method call begins the gameplay loop, handling user inputs and game state updates
-        // until the game concludes (either win or lose).
-        hangmanUI.play();
+        // until the game concludes (either win or lose). The game simply ends when the console input does.
+        try {
+            hangmanUI.play();
+        } catch (NoSuchElementException e) {
+            System.out.println();
+        } finally {
+            if (leaderboard != null) {
+                leaderboard.close();
+            }
+        }
     }
-}
 
+    /**
+     * Reports a malformed command line with the options the game understands and exits.
+     *
+     * @param problem What is wrong with the command line.
+     */
+    private static void exitWithUsage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: Main [--evil] [--no-repeat] [--seed <number>] [--difficulty <level or mix>]"
+                + " [--leaderboard <file>] [--dictionary <file>]");
+        System.err.println("       Main --batch <move file> [--verbose]");
+        System.exit(2);
+    }
+}
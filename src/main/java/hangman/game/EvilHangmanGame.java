@@ -0,0 +1,513 @@
+package hangman.game;
+
+import hangman.exception.NonAlphabeticInputException;
+import hangman.game.dictionary.DictionaryRegistry;
+import hangman.game.metrics.GameMetrics;
+import hangman.game.selection.UniformWordSelector;
+import hangman.game.selection.WordSelector;
+import hangman.utils.IntCountMap;
+import hangman.utils.PackedDictionary;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+import static hangman.game.GlobalReference.ERROR_PENALTY_SCORE;
+import static hangman.game.GlobalReference.MAX_SCORE;
+import static hangman.game.GlobalReference.MAX_TRIES;
+
+/**
+ * Represents the adversarial ("evil") variant of the Hangman game, in which the secret word is never fixed.
+ * The game only commits to a word length and keeps every dictionary word of that length as a candidate.
+ * On each guess the candidates are split into families by the positions where the guessed letter occurs,
+ * and the game keeps the largest family, preferring the family revealing the fewest positions when sizes tie.
+ * A family is keyed by its positions as an int bit mask, where the empty mask means the guess was wrong,
+ * and the families are counted in a reused {@link IntCountMap}. The candidates are kept as dictionary
+ * indices in a reused array that is compacted in place, so a guess allocates nothing and costs one pass
+ * over the remaining candidates. A new game takes its candidates from the dictionary's length buckets,
+ * and letters are compared as alphabet symbols, so dictionaries of mixed lengths and any script can be played.
+ */
+public class EvilHangmanGame implements HangmanGame {
+
+    /**
+     * MAX_WORD_LENGTH is the longest word length this game can play, bounded by the bits of a family key.
+     */
+    public static final int MAX_WORD_LENGTH = Integer.SIZE;
+
+    // The dictionary the candidate words are drawn from.
+    private final PackedDictionary dictionary;
+
+    // The strategy picking the word whose length each new game is played with.
+    private WordSelector wordSelector;
+
+    // The dictionary indices of the words still consistent with every guess; the first candidateCount are valid.
+    private final int[] candidates;
+
+    // The family key of each candidate for the guess being processed.
+    private final int[] familyKeys;
+
+    // The number of candidates in each family for the guess being processed.
+    private final IntCountMap families = new IntCountMap(64);
+
+    // The number of valid entries in the candidates array.
+    private int candidateCount;
+
+    // The visible state of the word as code points, with underscores for letters not yet revealed.
+    private int[] revealed;
+
+    // Cached string form of the revealed buffer, or null if it changed since it was last requested.
+    private String currentState;
+
+    // The number of positions revealed so far.
+    private int revealedCount;
+
+    // Letters that have been guessed by the player.
+    private final GuessedLetterSet guessedLetters;
+
+    // The number of incorrect guesses made by the player.
+    private int wrongGuesses;
+
+    // The player's current score.
+    private int score;
+
+    // Whether whole-word guesses of words missing from the dictionary are rejected rather than missed.
+    private boolean dictionaryWordsOnly;
+
+    // The number of guesses made on this game, used to pick the guesses whose latency is sampled.
+    private int guessCount;
+
+    // The number of guesses changing the state of the current game that the metrics have not counted yet.
+    private int uncountedGuesses;
+
+    /**
+     * Constructs a new EvilHangmanGame over the current dictionary of the global {@link DictionaryRegistry}
+     * and starts a game.
+     */
+    public EvilHangmanGame() {
+        this(DictionaryRegistry.global().getDictionary());
+    }
+
+    /**
+     * Constructs a new EvilHangmanGame that draws its candidate words from the given dictionary.
+     *
+     * @param dictionary The dictionary to draw candidates from.
+     */
+    public EvilHangmanGame(PackedDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.guessedLetters = new GuessedLetterSet(dictionary.getAlphabet());
+        this.candidates = new int[dictionary.size()];
+        this.familyKeys = new int[dictionary.size()];
+        this.wordSelector = new UniformWordSelector(dictionary.size());
+        resetGame();
+    }
+
+    /**
+     * Resets the game with the length of a dictionary word picked by the word selector, so with a uniform
+     * selector word lengths are picked as often as they occur in the dictionary.
+     */
+    @Override
+    public void resetGame() {
+        int length;
+        do {
+            length = dictionary.length(wordSelector.nextIndex());
+        } while (length > MAX_WORD_LENGTH);
+        resetGameForLength(length);
+    }
+
+    /**
+     * Resets the game to its initial state with every dictionary word of the given length as a candidate,
+     * clearing all guesses and scores.
+     *
+     * @param length The length of the secret word.
+     * @throws IllegalArgumentException if the dictionary has no word of that length, or the length is
+     *                                  above {@link #MAX_WORD_LENGTH}.
+     */
+    public void resetGameForLength(int length) {
+        if (length < 1 || length > MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("Unsupported word length: " + length);
+        }
+        int count = dictionary.countOfLength(length);
+        for (int i = 0; i < count; i++) {
+            candidates[i] = dictionary.wordOfLength(length, i);
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("The dictionary has no word of length " + length);
+        }
+        candidateCount = count;
+        if (revealed == null || revealed.length != length) {
+            revealed = new int[length];
+        }
+        Arrays.fill(revealed, '_');
+        currentState = null;
+        revealedCount = 0;
+        guessedLetters.reset();
+        wrongGuesses = 0;
+        score = MAX_SCORE;
+        if (GameMetrics.ENABLED) {
+            GameMetrics metrics = GameMetrics.global();
+            metrics.guessesMade(uncountedGuesses);
+            uncountedGuesses = 0;
+            metrics.gameStarted();
+        }
+    }
+
+    @Override
+    public String getCurrentState() {
+        if (currentState == null) {
+            currentState = new String(revealed, 0, revealed.length);
+        }
+        return currentState;
+    }
+
+    /**
+     * Processes a player's guess by keeping the largest family of candidates for the guessed letter.
+     * The guess is wrong when the family kept is the one without the letter.
+     *
+     * @param input The character guessed by the player.
+     * @throws NonAlphabeticInputException if the input is not an alphabetic character.
+     */
+    @Override
+    public void makeGuess(char input) throws NonAlphabeticInputException {
+        guessCodePoint(input);
+    }
+
+    /**
+     * Processes a player's guess given as a code point, like {@link #makeGuess(char)}.
+     *
+     * @param input The letter guessed by the player.
+     * @throws NonAlphabeticInputException if the input is not an alphabetic character.
+     */
+    @Override
+    public void guessCodePoint(int input) throws NonAlphabeticInputException {
+        if (guessLetter(input, null) == GuessResult.Status.INVALID) {
+            throw new NonAlphabeticInputException();
+        }
+    }
+
+    /**
+     * Processes a player's guess of a letter and reports its outcome in a result instead of throwing.
+     *
+     * @param codePoint The letter guessed by the player.
+     * @param result    The result to overwrite with the outcome, which may be reused across guesses.
+     * @return The result.
+     */
+    @Override
+    public GuessResult guess(int codePoint, GuessResult result) {
+        guessLetter(codePoint, result);
+        return result.finish(this);
+    }
+
+    /**
+     * Processes a player's guess of the whole word. The guess only hits once the word is the last candidate
+     * left, however many times the dictionary lists it; otherwise the word is dropped from the candidates, if it
+     * was one, and the guess counts as wrong, so at least one candidate always remains.
+     *
+     * @param word   The word guessed by the player.
+     * @param result The result to overwrite with the outcome, which may be reused across guesses.
+     * @return The result.
+     */
+    @Override
+    public GuessResult guessWord(CharSequence word, GuessResult result) {
+        if (!GuessResult.isWord(word)) {
+            if (GameMetrics.ENABLED) {
+                GameMetrics.global().invalidInput();
+            }
+            result.begin(GuessResult.Status.INVALID);
+            return result.finish(this);
+        }
+        if (isGameLost() || isGameWon()) {
+            result.begin(GuessResult.Status.GAME_OVER);
+            return result.finish(this);
+        }
+        if (dictionaryWordsOnly && !dictionary.contains(word)) {
+            if (GameMetrics.ENABLED) {
+                GameMetrics.global().invalidInput();
+            }
+            result.begin(GuessResult.Status.UNKNOWN_WORD);
+            return result.finish(this);
+        }
+        int kept = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (!dictionary.matches(candidates[i], word)) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        if (kept == 0) {
+            // Every candidate left is the guessed word, listed once or more, so the candidates are untouched.
+            result.begin(GuessResult.Status.HIT);
+            solve(result);
+        } else {
+            result.begin(GuessResult.Status.MISS);
+            candidateCount = kept;
+            registerWrongGuess();
+        }
+        if (GameMetrics.ENABLED) {
+            countGuess();
+        }
+        return result.finish(this);
+    }
+
+    /**
+     * Processes a guess of a letter, timing one guess in every sampling interval for the metrics.
+     *
+     * @param input  The code point guessed by the player.
+     * @param result The result to record the outcome and the revealed positions in, or null.
+     * @return The outcome of the guess.
+     */
+    private GuessResult.Status guessLetter(int input, GuessResult result) {
+        if (!Character.isAlphabetic(input)) {
+            if (GameMetrics.ENABLED) {
+                GameMetrics.global().invalidInput();
+            }
+            return begin(result, GuessResult.Status.INVALID);
+        }
+        if (isGameLost() || isGameWon()) {
+            return begin(result, GuessResult.Status.GAME_OVER);
+        }
+        if (!guessedLetters.record(input)) {
+            return begin(result, GuessResult.Status.DUPLICATE);
+        }
+        GuessResult.Status status;
+        if (GameMetrics.ENABLED && GameMetrics.sampleGuess(++guessCount)) {
+            long start = System.nanoTime();
+            status = applyGuess(input, result);
+            GameMetrics.global().recordGuessLatency(System.nanoTime() - start);
+        } else {
+            status = applyGuess(input, result);
+        }
+        if (GameMetrics.ENABLED) {
+            countGuess();
+        }
+        return status;
+    }
+
+    /**
+     * Applies a new guess to the candidates and the game state.
+     *
+     * @param input  The alphabetic code point guessed by the player, not guessed before.
+     * @param result The result to record the outcome and the revealed positions in, or null.
+     * @return The outcome of the guess.
+     */
+    private GuessResult.Status applyGuess(int input, GuessResult result) {
+        long bit = guessedLetters.bitOf(input);
+        int family = bit == 0 ? 0 : partition(dictionary.getAlphabet().symbolOf(input), bit);
+        if (family == 0) {
+            registerWrongGuess();
+            return begin(result, GuessResult.Status.MISS);
+        }
+        GuessResult.Status status = begin(result, GuessResult.Status.HIT);
+        reveal(input, family, result);
+        return status;
+    }
+
+    /**
+     * Counts a guess for the metrics, reporting the outcome and the guesses of the game if the guess ended it.
+     */
+    private void countGuess() {
+        uncountedGuesses++;
+        boolean won = isGameWon();
+        if (won || isGameLost()) {
+            GameMetrics.global().gameEnded(won, uncountedGuesses);
+            uncountedGuesses = 0;
+        }
+    }
+
+    /**
+     * Starts recording a guess in a result, if there is one.
+     *
+     * @param result The result, or null.
+     * @param status The outcome of the guess.
+     * @return The outcome of the guess.
+     */
+    private static GuessResult.Status begin(GuessResult result, GuessResult.Status status) {
+        if (result != null) {
+            result.begin(status);
+        }
+        return status;
+    }
+
+    @Override
+    public boolean isGameWon() {
+        return revealedCount == revealed.length;
+    }
+
+    @Override
+    public boolean isGameLost() {
+        return wrongGuesses >= MAX_TRIES;
+    }
+
+    /**
+     * Gets a word consistent with every guess so far. Once the game is over, this is the word the
+     * player is told they were looking for.
+     *
+     * @return The first remaining candidate.
+     */
+    @Override
+    public String getSecretWord() {
+        return dictionary.get(candidates[0]);
+    }
+
+    /**
+     * Sets whether whole-word guesses must be words of the dictionary. When they must, guessing any other word
+     * is reported as {@link GuessResult.Status#UNKNOWN_WORD} and costs no try, as a typo should not; otherwise
+     * it is a miss. Membership is checked in constant time against the dictionary's {@link PackedDictionary#wordSet()}.
+     *
+     * @param dictionaryWordsOnly true to reject guesses of words missing from the dictionary.
+     */
+    public void setDictionaryWordsOnly(boolean dictionaryWordsOnly) {
+        this.dictionaryWordsOnly = dictionaryWordsOnly;
+    }
+
+    /**
+     * Sets the strategy picking the word whose length each following game is played with.
+     *
+     * @param wordSelector The strategy picking the words.
+     * @throws IllegalArgumentException if the selector does not pick from the whole dictionary.
+     */
+    public void setWordSelector(WordSelector wordSelector) {
+        if (wordSelector.size() != dictionary.size()) {
+            throw new IllegalArgumentException("The word selector picks from " + wordSelector.size()
+                    + " words, but the dictionary has " + dictionary.size() + ".");
+        }
+        this.wordSelector = wordSelector;
+    }
+
+    /**
+     * Gets the number of dictionary words still consistent with every guess.
+     *
+     * @return The candidate count.
+     */
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * Gets the dictionary this game draws its candidate words from.
+     *
+     * @return The dictionary of this game.
+     */
+    public PackedDictionary getDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public Set<Character> getGuessedLetters() {
+        return guessedLetters;
+    }
+
+    @Override
+    public void forEachGuessedLetter(IntConsumer action) {
+        guessedLetters.forEachCodePoint(action);
+    }
+
+    @Override
+    public long getGuessedMask() {
+        return guessedLetters.mask();
+    }
+
+    @Override
+    public int getWrongGuesses() {
+        return wrongGuesses;
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Splits the candidates into families by the positions of a letter and keeps the largest family.
+     * Ties go to the family revealing fewer positions, and then to the smaller key, so the outcome is deterministic.
+     *
+     * @param symbol The alphabet index of the guessed letter.
+     * @param bit    The letter mask bit of the guessed letter.
+     * @return The key of the kept family: the revealed positions as a bit mask, or 0 for a wrong guess.
+     */
+    private int partition(int symbol, long bit) {
+        int length = revealed.length;
+        families.clear();
+        for (int i = 0; i < candidateCount; i++) {
+            int word = candidates[i];
+            int key = 0;
+            if ((dictionary.letterMask(word) & bit) != 0) {
+                for (int position = 0; position < length; position++) {
+                    if (dictionary.letterAt(word, position) == symbol) {
+                        key |= 1 << position;
+                    }
+                }
+            }
+            familyKeys[i] = key;
+            families.increment(key);
+        }
+
+        int best = families.keyAt(0);
+        int bestCount = families.countAt(0);
+        for (int i = 1; i < families.size(); i++) {
+            int key = families.keyAt(i);
+            int count = families.countAt(i);
+            int order = Integer.compare(count, bestCount);
+            if (order == 0) {
+                order = Integer.compare(Integer.bitCount(best), Integer.bitCount(key));
+            }
+            if (order > 0 || order == 0 && Integer.compareUnsigned(key, best) < 0) {
+                best = key;
+                bestCount = count;
+            }
+        }
+
+        int kept = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (familyKeys[i] == best) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        candidateCount = kept;
+        return best;
+    }
+
+    /**
+     * Uncovers a correctly guessed letter at the positions of the kept family.
+     *
+     * @param letter    The correctly guessed letter, as a code point.
+     * @param positions The positions to uncover as a bit mask.
+     * @param result    The result to record the revealed positions in, or null.
+     */
+    private void reveal(int letter, int positions, GuessResult result) {
+        for (int rest = positions; rest != 0; rest &= rest - 1) {
+            int position = Integer.numberOfTrailingZeros(rest);
+            revealed[position] = letter;
+            if (result != null) {
+                result.addRevealedPosition(position);
+            }
+        }
+        revealedCount += Integer.bitCount(positions);
+        currentState = null;
+    }
+
+    /**
+     * Uncovers every letter left once the last candidate has been guessed as a whole, recording its letters
+     * as guessed.
+     *
+     * @param result The result to record the revealed positions in.
+     */
+    private void solve(GuessResult result) {
+        int word = candidates[0];
+        for (int i = 0; i < revealed.length; i++) {
+            if (revealed[i] == '_') {
+                revealed[i] = dictionary.codePointAt(word, i);
+                guessedLetters.record(revealed[i]);
+                result.addRevealedPosition(i);
+            }
+        }
+        revealedCount = revealed.length;
+        currentState = null;
+    }
+
+    /**
+     * Counts a wrong guess and applies the score penalty.
+     */
+    private void registerWrongGuess() {
+        wrongGuesses++;
+        score = Math.max(0, score - ERROR_PENALTY_SCORE);
+    }
+}
@@ -0,0 +1,39 @@
+package hangman.game;
+
+/**
+ * The GameEventListener interface receives the state changes of a {@link HangmanGameLogic} as they happen,
+ * for example to record them in a {@link hangman.game.journal.GameJournal}. The events carry everything needed
+ * to rebuild the game by replaying them, and are delivered on the thread playing the game, so implementations
+ * should return quickly.
+ */
+public interface GameEventListener {
+
+    /**
+     * Called after the game has been reset with a new secret word.
+     *
+     * @param wordIndex The dictionary index of the new secret word.
+     */
+    void onReset(int wordIndex);
+
+    /**
+     * Called after a guess has changed the state of the game. Repeated guesses and guesses made
+     * after the game has ended change nothing and are not reported.
+     *
+     * @param letter The guessed letter, as a code point.
+     */
+    void onGuess(int letter);
+
+    /**
+     * Called after a wrong guess of the whole word has been counted. A correct guess of the word is reported
+     * as a guess of each letter it revealed instead.
+     */
+    void onMissedWord();
+
+    /**
+     * Called after the guess that ended the game has been reported.
+     *
+     * @param won   true if the game was won, false if it was lost.
+     * @param score The final score.
+     */
+    void onGameEnd(boolean won, int score);
+}
@@ -1,5 +1,6 @@
 package hangman.game;
 
+import hangman.utils.PackedDictionary;
 import hangman.utils.WordParser;
 
 import java.util.List;
@@ -30,8 +31,43 @@ public class GlobalReference {
     public static final int ERROR_PENALTY_SCORE = 20;
 
     /**
-     * wordList is a collection of words used in the game, loaded from an external source through the WordParser class.
-     * This list is essential for the game's operation, providing the words that players will attempt to guess.
+     * Provides the bundled dictionary, loaded through the WordParser class on first use. The words are packed
+     * into a single byte buffer, keeping the memory footprint small even for very large word lists.
+     * Reading the constants above does not load the dictionary, so a program that needs none of the bundled
+     * words never pays for them.
+     *
+     * @return The bundled dictionary.
      */
-    public static final List<String> wordList = WordParser.loadWords();
+    public static PackedDictionary getDictionary() {
+        return DictionaryHolder.DICTIONARY;
+    }
+
+    /**
+     * Provides a read-only list view of the bundled dictionary, kept for code that works with the words as Strings.
+     * Words are materialized on access, so hot paths should prefer the dictionary itself.
+     *
+     * @return The bundled words.
+     */
+    public static List<String> getWordList() {
+        return DictionaryHolder.WORD_LIST;
+    }
+
+    /**
+     * Starts loading the bundled dictionary on a background thread, so that it is ready, or nearly so, by the time
+     * the first game needs it. A caller needing the dictionary before the load completes simply waits for it.
+     */
+    public static void preloadDictionary() {
+        Thread loader = new Thread(GlobalReference::getDictionary, "hangman-dictionary-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Lazily initialised holder for the bundled dictionary. The JVM initialises the holder class exactly once,
+     * on first access, and makes every other thread wait until it is done, so the words are loaded once and safely.
+     */
+    private static class DictionaryHolder {
+        private static final PackedDictionary DICTIONARY = WordParser.loadDictionary();
+        private static final List<String> WORD_LIST = DICTIONARY.asList();
+    }
 }
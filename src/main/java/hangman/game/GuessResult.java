@@ -0,0 +1,231 @@
+package hangman.game;
+
+/**
+ * The GuessResult class holds the outcome of one guess: whether it hit, missed, repeated an earlier guess, was
+ * not a letter or not a known word, or came after the game was over, which positions of the word it revealed, and the counters and
+ * status of the game after it. A result tells a caller everything that changed without querying the game again,
+ * and invalid input is reported as a status instead of an exception, so bots and network front ends pay neither
+ * for a stack trace nor for recomputing the state. A result is meant to be reused: every guess overwrites it,
+ * so a caller driving many guesses can pass the same instance to each and allocate nothing.
+ * A result is not thread-safe and should stay with the thread driving the game.
+ */
+public final class GuessResult {
+
+    /**
+     * The outcome of a guess.
+     */
+    public enum Status {
+
+        /**
+         * The letter occurs in the word, or the guessed word is the secret word.
+         */
+        HIT,
+
+        /**
+         * The letter does not occur in the word, or the guessed word is not the secret word. Counts as a wrong guess.
+         */
+        MISS,
+
+        /**
+         * The letter had been guessed before, so the game did not change.
+         */
+        DUPLICATE,
+
+        /**
+         * The guess is not a letter, or the guessed word holds something other than letters, so the game did not change.
+         */
+        INVALID,
+
+        /**
+         * The guessed word is not a word of the dictionary, and the game only accepts dictionary words,
+         * so the game did not change.
+         */
+        UNKNOWN_WORD,
+
+        /**
+         * The game was already won or lost, so the game did not change.
+         */
+        GAME_OVER
+    }
+
+    // The outcome of the guess.
+    private Status status = Status.GAME_OVER;
+
+    // The positions revealed by the guess; the first revealedCount are valid.
+    private int[] revealedPositions = new int[16];
+
+    // The number of positions revealed by the guess.
+    private int revealedCount;
+
+    // The number of wrong guesses after the guess.
+    private int wrongGuesses;
+
+    // The score after the guess.
+    private int score;
+
+    // Whether the game was won after the guess.
+    private boolean won;
+
+    // Whether the game was lost after the guess.
+    private boolean lost;
+
+    /**
+     * Constructs an empty result, to be filled by a guess.
+     */
+    public GuessResult() {
+    }
+
+    /**
+     * Checks whether a guessed word is made of letters only, without allocating.
+     *
+     * @param word The guessed word.
+     * @return true if the word is not empty and every code point of it is alphabetic.
+     */
+    static boolean isWord(CharSequence word) {
+        if (word.length() == 0) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); ) {
+            int codePoint = Character.codePointAt(word, i);
+            if (!Character.isAlphabetic(codePoint)) {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return true;
+    }
+
+    /**
+     * Starts recording a guess, forgetting the previous one.
+     *
+     * @param status The outcome of the guess.
+     */
+    void begin(Status status) {
+        this.status = status;
+        this.revealedCount = 0;
+    }
+
+    /**
+     * Records a position of the word revealed by the guess.
+     *
+     * @param position The position, counted in letters from the start of the word.
+     */
+    void addRevealedPosition(int position) {
+        if (revealedCount == revealedPositions.length) {
+            int[] larger = new int[revealedCount * 2];
+            System.arraycopy(revealedPositions, 0, larger, 0, revealedCount);
+            revealedPositions = larger;
+        }
+        revealedPositions[revealedCount++] = position;
+    }
+
+    /**
+     * Records the state of the game after the guess.
+     *
+     * @param game The game.
+     * @return This result.
+     */
+    GuessResult finish(HangmanGame game) {
+        this.wrongGuesses = game.getWrongGuesses();
+        this.score = game.getScore();
+        this.won = game.isGameWon();
+        this.lost = !won && game.isGameLost();
+        return this;
+    }
+
+    /**
+     * Gets the outcome of the guess.
+     *
+     * @return The status of the guess.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks whether the guess changed the game, that is whether it hit or missed.
+     *
+     * @return true if the guess was applied to the game.
+     */
+    public boolean isApplied() {
+        return status == Status.HIT || status == Status.MISS;
+    }
+
+    /**
+     * Gets the number of positions of the word the guess revealed.
+     *
+     * @return The revealed position count, 0 unless the guess hit.
+     */
+    public int getRevealedCount() {
+        return revealedCount;
+    }
+
+    /**
+     * Gets a position of the word the guess revealed. Positions are listed in increasing order.
+     *
+     * @param index The index of the revealed position, below {@link #getRevealedCount()}.
+     * @return The position, counted in letters from the start of the word.
+     * @throws IndexOutOfBoundsException if the index is not below the revealed position count.
+     */
+    public int getRevealedPosition(int index) {
+        if (index < 0 || index >= revealedCount) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return revealedPositions[index];
+    }
+
+    /**
+     * Gets the number of wrong guesses after the guess.
+     *
+     * @return The wrong guess count.
+     */
+    public int getWrongGuesses() {
+        return wrongGuesses;
+    }
+
+    /**
+     * Gets the score after the guess.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Checks whether the game was won after the guess.
+     *
+     * @return true if every letter of the word had been guessed.
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * Checks whether the game was lost after the guess.
+     *
+     * @return true if the player had run out of tries.
+     */
+    public boolean isLost() {
+        return lost;
+    }
+
+    /**
+     * Checks whether the game was over after the guess.
+     *
+     * @return true if the game had been won or lost.
+     */
+    public boolean isOver() {
+        return won || lost;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("GuessResult{").append(status).append(", revealed=[");
+        for (int i = 0; i < revealedCount; i++) {
+            text.append(i == 0 ? "" : ", ").append(revealedPositions[i]);
+        }
+        return text.append("], wrongGuesses=").append(wrongGuesses).append(", score=").append(score)
+                .append(won ? ", won" : lost ? ", lost" : "").append('}').toString();
+    }
+}
@@ -0,0 +1,207 @@
+package hangman.game;
+
+import hangman.utils.Alphabet;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * The GuessedLetterSet class records the letters guessed in a game as a bit mask over the symbols of the
+ * dictionary's {@link Alphabet}, so recording and checking a guess never boxes a character. Alphabetic guesses
+ * outside the alphabet, which can never be in a dictionary word, are rare and kept in a small array instead.
+ * Letters are handled as code points, so guesses from supplementary scripts are recorded like any other.
+ * To callers outside the game it is a read-only {@link java.util.Set} listing the letters in alphabetical order;
+ * as a Character cannot hold a supplementary letter, the set only lists letters of the Basic Multilingual Plane,
+ * while {@link #forEachCodePoint(IntConsumer)} reports every guess.
+ */
+class GuessedLetterSet extends AbstractSet<Character> {
+
+    // The alphabet whose symbols the mask is indexed by.
+    private final Alphabet alphabet;
+
+    // Bit i is set when the letter with symbol i has been guessed.
+    private long mask;
+
+    // Alphabetic guesses outside the alphabet, as code points in the order they were made.
+    private int[] others = new int[0];
+
+    // The number of guesses outside the alphabet.
+    private int otherCount;
+
+    /**
+     * Constructs an empty set of guesses.
+     *
+     * @param alphabet The alphabet of the dictionary the game draws its words from.
+     */
+    GuessedLetterSet(Alphabet alphabet) {
+        this.alphabet = alphabet;
+    }
+
+    /**
+     * Maps a letter to its bit in a letter mask.
+     *
+     * @param letter The letter to map, as a code point.
+     * @return The bit for letters of the alphabet, or 0 for any other character.
+     */
+    long bitOf(int letter) {
+        return alphabet.bitOf(letter);
+    }
+
+    /**
+     * Records a guess.
+     *
+     * @param letter The guessed letter, as a code point.
+     * @return true if the letter had not been guessed before, false if the guess is a repeat.
+     */
+    boolean record(int letter) {
+        long bit = bitOf(letter);
+        if (bit != 0) {
+            if ((mask & bit) != 0) {
+                return false;
+            }
+            mask |= bit;
+            return true;
+        }
+        if (indexOfOther(letter) >= 0) {
+            return false;
+        }
+        if (otherCount == others.length) {
+            others = Arrays.copyOf(others, Math.max(4, otherCount * 2));
+        }
+        others[otherCount++] = letter;
+        return true;
+    }
+
+    /**
+     * Forgets every guess.
+     */
+    void reset() {
+        mask = 0;
+        otherCount = 0;
+    }
+
+    /**
+     * Replaces every guess with the letters of the alphabet in a mask.
+     *
+     * @param guessedMask The guessed letter mask, where bit i stands for the letter with symbol i.
+     */
+    void restore(long guessedMask) {
+        mask = guessedMask;
+        otherCount = 0;
+    }
+
+    /**
+     * Gets the guessed letters of the alphabet as a bit mask.
+     *
+     * @return The guessed letter mask, where bit i stands for the letter with symbol i.
+     */
+    long mask() {
+        return mask;
+    }
+
+    /**
+     * Passes every guessed letter to an action: the letters of the alphabet in alphabetical order,
+     * followed by the other guesses in the order they were made.
+     *
+     * @param action The action receiving the code point of every guessed letter.
+     */
+    void forEachCodePoint(IntConsumer action) {
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            action.accept(alphabet.letterOf(Long.numberOfTrailingZeros(remaining)));
+        }
+        for (int i = 0; i < otherCount; i++) {
+            action.accept(others[i]);
+        }
+    }
+
+    /**
+     * Finds a guess outside the alphabet.
+     *
+     * @param letter The letter to look for, as a code point.
+     * @return The position of the guess, or -1 if it was not made.
+     */
+    private int indexOfOther(int letter) {
+        for (int i = 0; i < otherCount; i++) {
+            if (others[i] == letter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Character)) {
+            return false;
+        }
+        char letter = (Character) o;
+        long bit = bitOf(letter);
+        return bit != 0 ? (mask & bit) != 0 : indexOfOther(letter) >= 0;
+    }
+
+    @Override
+    public int size() {
+        if (alphabet.isBmp()) {
+            int bmpOthers = 0;
+            for (int i = 0; i < otherCount; i++) {
+                if (Character.isBmpCodePoint(others[i])) {
+                    bmpOthers++;
+                }
+            }
+            return Long.bitCount(mask) + bmpOthers;
+        }
+        int[] count = new int[1];
+        forEachCodePoint(letter -> {
+            if (Character.isBmpCodePoint(letter)) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    @Override
+    public Iterator<Character> iterator() {
+        return new Iterator<>() {
+            // Letters of the mask not yet examined.
+            private long remaining = mask;
+
+            // Index of the next guess outside the alphabet to examine.
+            private int otherIndex;
+
+            // The next letter to return, or -1 if it has not been found yet.
+            private int next = -1;
+
+            @Override
+            public boolean hasNext() {
+                while (next < 0) {
+                    int letter;
+                    if (remaining != 0) {
+                        letter = alphabet.letterOf(Long.numberOfTrailingZeros(remaining));
+                        remaining &= remaining - 1;
+                    } else if (otherIndex < otherCount) {
+                        letter = others[otherIndex++];
+                    } else {
+                        return false;
+                    }
+                    if (Character.isBmpCodePoint(letter)) {
+                        next = letter;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public Character next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                char letter = (char) next;
+                next = -1;
+                return letter;
+            }
+        };
+    }
+}
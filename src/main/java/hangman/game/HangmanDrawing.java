@@ -1,94 +1,84 @@
 package hangman.game;
 
+import hangman.game.output.RenderBuffer;
+
+import java.nio.charset.Charset;
+
+import static hangman.game.GlobalReference.MAX_TRIES;
+
 /**
  * The HangmanDrawing class is responsible for visually representing the state of the hangman
- * based on the number of incorrect guesses a player has made. This class provides a static method
+ * based on the number of incorrect guesses a player has made. This class provides static methods
  * to display different stages of the hangman drawing, enhancing the user experience by visually
  * indicating how close the player is to losing the game.
+ * Every stage is encoded once, when the class is loaded, so drawing a frame is a single copy of its bytes.
  */
 public class HangmanDrawing {
 
+    // The lines of each stage, indexed by the number of wrong guesses.
+    private static final String[][] STAGES = {
+            // The gallows with no hangman figure for zero wrong guesses.
+            {" +---++", " |   ||", "     ||", "     ||", "     ||", "     ||", "======="},
+            // The head of the hangman.
+            {" +---++", " |   ||", " O   ||", "     ||", "     ||", "     ||", "======="},
+            // The head and torso.
+            {" +---++", " |   ||", " O   ||", " |   ||", "     ||", "     ||", "======="},
+            // The head, torso, and one arm.
+            {" +---++", " |   ||", " O   ||", "/|   ||", "     ||", "     ||", "======="},
+            // The head, torso, and both arms.
+            {" +---++", " |   ||", " O   ||", "/|\\  ||", "     ||", "     ||", "======="},
+            // The head, torso, both arms, and one leg.
+            {" +---++", " |   ||", " O   ||", "/|\\  ||", "/    ||", "     ||", "======="},
+            // The complete hangman figure.
+            {" +---++", " |   ||", " O   ||", "/|\\  ||", "/ \\  ||", "     ||", "======="},
+    };
+
+    // The encoded frame of each stage, with a line separator after every line.
+    private static final byte[][] FRAMES = new byte[MAX_TRIES + 1][];
+
+    static {
+        for (int stage = 0; stage < FRAMES.length; stage++) {
+            StringBuilder frame = new StringBuilder();
+            for (String line : STAGES[stage]) {
+                frame.append(line).append(System.lineSeparator());
+            }
+            FRAMES[stage] = frame.toString().getBytes(Charset.defaultCharset());
+        }
+    }
+
     /**
      * Displays the current state of the hangman drawing based on the number of wrong guesses.
      * The drawing progresses from an empty gallows to a fully drawn hangman as the player makes
      * incorrect guesses. Each stage of the drawing corresponds to a specific number of wrong guesses,
-     * incrementally adding parts to the hangman figure.
+     * incrementally adding parts to the hangman figure. The frame is written to standard output in one call.
      *
      * @param wrongGuesses The number of incorrect guesses made by the player so far.
      */
     public static void displayHangman(int wrongGuesses) {
-        switch (wrongGuesses) {
-            // Display the head of the hangman.
-            case 1 -> {
-                System.out.println(" +---++");
-                System.out.println(" |   ||");
-                System.out.println(" O   ||");
-                System.out.println("     ||");
-                System.out.println("     ||");
-                System.out.println("     ||");
-                System.out.println("=======");
-            }
-            // Display the head and torso.
-            case 2 -> {
-                System.out.println(" +---++");
-                System.out.println(" |   ||");
-                System.out.println(" O   ||");
-                System.out.println(" |   ||");
-                System.out.println("     ||");
-                System.out.println("     ||");
-                System.out.println("=======");
-            }
-            // Display the head, torso, and one arm.
-            case 3 -> {
-                System.out.println(" +---++");
-                System.out.println(" |   ||");
-                System.out.println(" O   ||");
-                System.out.println("/|   ||");
-                System.out.println("     ||");
-                System.out.println("     ||");
-                System.out.println("=======");
-            }
-            // Display the head, torso, and both arms.
-            case 4 -> {
-                System.out.println(" +---++");
-                System.out.println(" |   ||");
-                System.out.println(" O   ||");
-                System.out.println("/|\\  ||");
-                System.out.println("     ||");
-                System.out.println("     ||");
-                System.out.println("=======");
-            }
-            // Display the head, torso, both arms, and one leg.
-            case 5 -> {
-                System.out.println(" +---++");
-                System.out.println(" |   ||");
-                System.out.println(" O   ||");
-                System.out.println("/|\\  ||");
-                System.out.println("/    ||");
-                System.out.println("     ||");
-                System.out.println("=======");
-            }
-            // Display the complete hangman figure.
-            case 6 -> {
-                System.out.println(" +---++");
-                System.out.println(" |   ||");
-                System.out.println(" O   ||");
-                System.out.println("/|\\  ||");
-                System.out.println("/ \\  ||");
-                System.out.println("     ||");
-                System.out.println("=======");
-            }
-            // Display the gallows with no hangman figure for zero wrong guesses.
-            default -> {
-                System.out.println(" +---++");
-                System.out.println(" |   ||");
-                System.out.println("     ||");
-                System.out.println("     ||");
-                System.out.println("     ||");
-                System.out.println("     ||");
-                System.out.println("=======");
-            }
-        }
+        byte[] frame = frame(wrongGuesses);
+        System.out.write(frame, 0, frame.length);
+        System.out.flush();
+    }
+
+    /**
+     * Appends the drawing for the number of wrong guesses to a buffer, so it can be written together
+     * with the rest of a turn.
+     *
+     * @param wrongGuesses The number of incorrect guesses made by the player so far.
+     * @param buffer       The buffer to append the frame to.
+     */
+    public static void render(int wrongGuesses, RenderBuffer buffer) {
+        buffer.append(frame(wrongGuesses));
     }
 
+    /**
+     * Selects the precomputed frame for a number of wrong guesses; any count without a stage of its own
+     * shows the empty gallows.
+     *
+     * @param wrongGuesses The number of incorrect guesses made by the player so far.
+     * @return The encoded frame.
+     */
+    private static byte[] frame(int wrongGuesses) {
+        return wrongGuesses >= 1 && wrongGuesses <= MAX_TRIES ? FRAMES[wrongGuesses] : FRAMES[0];
+    }
 }
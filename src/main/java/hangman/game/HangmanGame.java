@@ -0,0 +1,146 @@
+package hangman.game;
+
+import hangman.exception.NonAlphabeticInputException;
+
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * The HangmanGame interface is the contract shared by every game mode, so the console UI, the solver,
+ * and the simulator can play any of them. {@link HangmanGameLogic} keeps a fixed secret word for the
+ * whole game, while {@link EvilHangmanGame} only commits to the word as the guesses force it to.
+ */
+public interface HangmanGame {
+
+    /**
+     * Resets the game to its initial state with a new secret word and clears all guesses and scores.
+     */
+    void resetGame();
+
+    /**
+     * Returns the current state of the secret word, showing guessed letters and hiding
+     * unguessed letters with underscores.
+     *
+     * @return A string representing the current visible state of the secret word.
+     */
+    String getCurrentState();
+
+    /**
+     * Processes a player's guess, updating the game state accordingly.
+     *
+     * @param input The character guessed by the player.
+     * @throws NonAlphabeticInputException if the input is not an alphabetic character.
+     */
+    void makeGuess(char input) throws NonAlphabeticInputException;
+
+    /**
+     * Processes a player's guess given as a code point, which also covers letters of supplementary scripts
+     * that do not fit in a single char.
+     *
+     * @param codePoint The letter guessed by the player.
+     * @throws NonAlphabeticInputException if the input is not an alphabetic character.
+     */
+    void guessCodePoint(int codePoint) throws NonAlphabeticInputException;
+
+    /**
+     * Processes a player's guess of a letter and reports its outcome in a result, so invalid input, repeated
+     * guesses, and guesses after the end are told apart without an exception or further queries.
+     *
+     * @param codePoint The letter guessed by the player.
+     * @param result    The result to overwrite with the outcome, which may be reused across guesses.
+     * @return The result.
+     */
+    GuessResult guess(int codePoint, GuessResult result);
+
+    /**
+     * Processes a player's guess of a letter and reports its outcome in a new result.
+     *
+     * @param codePoint The letter guessed by the player.
+     * @return The outcome of the guess.
+     */
+    default GuessResult guess(int codePoint) {
+        return guess(codePoint, new GuessResult());
+    }
+
+    /**
+     * Processes a player's guess of the whole word. A correct word reveals every letter left and wins the game,
+     * while a wrong word counts as one wrong guess; a word holding anything but letters is invalid.
+     *
+     * @param word   The word guessed by the player.
+     * @param result The result to overwrite with the outcome, which may be reused across guesses.
+     * @return The result.
+     */
+    GuessResult guessWord(CharSequence word, GuessResult result);
+
+    /**
+     * Processes a player's guess of the whole word and reports its outcome in a new result.
+     *
+     * @param word The word guessed by the player.
+     * @return The outcome of the guess.
+     */
+    default GuessResult guessWord(CharSequence word) {
+        return guessWord(word, new GuessResult());
+    }
+
+    /**
+     * Checks if the game has been won.
+     *
+     * @return true if all letters in the secret word have been guessed, false otherwise.
+     */
+    boolean isGameWon();
+
+    /**
+     * Checks if the game has been lost.
+     *
+     * @return true if the number of wrong guesses has reached the maximum allowed, false otherwise.
+     */
+    boolean isGameLost();
+
+    /**
+     * Retrieves the secret word of the game. A game mode that has not fixed its word yet returns
+     * one of the words still consistent with every guess.
+     *
+     * @return The secret word.
+     */
+    String getSecretWord();
+
+    /**
+     * Retrieves the set of letters that have been guessed so far.
+     *
+     * @return A read-only set of guessed letters.
+     */
+    Set<Character> getGuessedLetters();
+
+    /**
+     * Passes every guessed letter, including letters of supplementary scripts, to an action.
+     *
+     * @param action The action receiving the code point of every guessed letter.
+     */
+    default void forEachGuessedLetter(IntConsumer action) {
+        for (char letter : getGuessedLetters()) {
+            action.accept(letter);
+        }
+    }
+
+    /**
+     * Gets the guessed letters of the dictionary's alphabet as a bit mask. For the English alphabet,
+     * bit i stands for the letter ('a' + i).
+     *
+     * @return The guessed letter mask, where bit i stands for the letter with symbol i of the alphabet.
+     */
+    long getGuessedMask();
+
+    /**
+     * Retrieves the number of wrong guesses made so far.
+     *
+     * @return The number of wrong guesses.
+     */
+    int getWrongGuesses();
+
+    /**
+     * Retrieves the current score of the game.
+     *
+     * @return The current score.
+     */
+    int getScore();
+}
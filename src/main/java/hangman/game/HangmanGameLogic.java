@@ -1,29 +1,54 @@
 package hangman.game;
 
 import hangman.exception.NonAlphabeticInputException;
+import hangman.game.dictionary.DictionaryRegistry;
+import hangman.game.metrics.GameMetrics;
+import hangman.game.selection.UniformWordSelector;
+import hangman.game.selection.WordSelector;
+import hangman.utils.PackedDictionary;
 
-import java.util.HashSet;
-import java.util.Random;
+import java.util.Arrays;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 import static hangman.game.GlobalReference.ERROR_PENALTY_SCORE;
 import static hangman.game.GlobalReference.MAX_SCORE;
 import static hangman.game.GlobalReference.MAX_TRIES;
-import static hangman.game.GlobalReference.wordList;
 
 /**
  * Represents the logic behind the Hangman game, handling the game state including guesses,
  * score, and win/loss conditions.
+ * The guessed letters are kept as a bit mask over the symbols of the dictionary's alphabet, and the visible
+ * state of the word is maintained incrementally, so guessing and checking for a win or loss never allocate.
+ * Letters are handled as code points, so dictionaries of any script, including supplementary ones, can be played.
+ * Every game reports its starts, guesses, and outcomes to the {@link GameMetrics} of the JVM, except while it
+ * replays games that were already counted (see {@link #forReplay(PackedDictionary)}).
  */
-public class HangmanGameLogic {
+public class HangmanGameLogic implements HangmanGame {
 
-    private static HangmanGameLogic instance;
+    // The dictionary the secret words are drawn from.
+    private final PackedDictionary dictionary;
 
-    // The word that players try to guess.
+    // The strategy picking the secret word of every new game.
+    private WordSelector wordSelector;
+
+    // The index of the secret word in the dictionary.
+    private int wordIndex;
+
+    // The word that players try to guess, or null until it is first requested.
     private String secretWord;
 
+    // Bit i is set when the letter with symbol i occurs in the secret word.
+    private long wordMask;
+
+    // The visible state of the secret word as code points, with underscores for letters not yet guessed.
+    private int[] revealed;
+
+    // Cached string form of the revealed buffer, or null if it changed since it was last requested.
+    private String currentState;
+
     // Letters that have been guessed by the player.
-    private final Set<Character> guessedLetters;
+    private final GuessedLetterSet guessedLetters;
 
     // The number of incorrect guesses made by the player.
     private int wrongGuesses;
@@ -31,40 +56,195 @@ public class HangmanGameLogic {
     // The player's current score.
     private int score;
 
+    // The listener notified of every state change, or null if nobody is listening.
+    private GameEventListener eventListener;
+
+    // Whether whole-word guesses of words missing from the dictionary are rejected rather than missed.
+    private boolean dictionaryWordsOnly;
+
+    // The number of guesses made on this game, used to pick the guesses whose latency is sampled.
+    private int guessCount;
+
+    // The number of guesses changing the state of the current game that the metrics have not counted yet.
+    private int uncountedGuesses;
+
+    // Whether the game reports to the metrics, which it does not while replaying games already counted.
+    private boolean metered;
+
+    /**
+     * Lazily initialised holder for the default game. The JVM guarantees that the holder class is
+     * initialised exactly once, so the default instance is created safely even under concurrent access.
+     */
+    private static class InstanceHolder {
+        private static final HangmanGameLogic INSTANCE = new HangmanGameLogic();
+    }
+
     /**
      * Constructs a new HangmanGameLogic instance, selecting a secret word at random
-     * from a predefined list and initializing the game state.
+     * from a predefined list and initializing the game state. Each instance is an independent game,
+     * which allows a {@link hangman.game.session.GameSessionManager} to host many players in one JVM.
+     * The words come from the current snapshot of the {@link DictionaryRegistry#global() global registry},
+     * which the game keeps even if the registry later moves on to another dictionary.
      */
-    private HangmanGameLogic() {
-        secretWord = wordList.get(new Random().nextInt(wordList.size()));
-        //System.out.println(secretWord);
-        guessedLetters = new HashSet<>();
-        wrongGuesses = 0;
-        score = MAX_SCORE;
+    public HangmanGameLogic() {
+        this(DictionaryRegistry.global().getDictionary());
+    }
+
+    /**
+     * Constructs a new HangmanGameLogic instance that draws its secret words from the given dictionary.
+     *
+     * @param dictionary The dictionary to select secret words from.
+     */
+    public HangmanGameLogic(PackedDictionary dictionary) {
+        this(dictionary, new UniformWordSelector(dictionary.size()));
     }
 
     /**
-     * Provides access to the singleton instance of the game logic. If the instance
-     * does not exist, it creates one; otherwise, it returns the existing instance.
+     * Constructs a new HangmanGameLogic instance that picks its secret words from the given dictionary
+     * with the given strategy, for example to replay a seeded sequence of games or to avoid repeating words.
      *
-     * @return The singleton instance of HangmanGameLogic.
+     * @param dictionary   The dictionary to select secret words from.
+     * @param wordSelector The strategy picking the secret words.
+     * @throws IllegalArgumentException if the selector does not pick from the whole dictionary.
+     */
+    public HangmanGameLogic(PackedDictionary dictionary, WordSelector wordSelector) {
+        this(dictionary, wordSelector, true);
+    }
+
+    /**
+     * Constructs a new HangmanGameLogic instance, reporting its first game to the metrics or not.
+     *
+     * @param dictionary   The dictionary to select secret words from.
+     * @param wordSelector The strategy picking the secret words.
+     * @param metered      Whether the game reports to the metrics.
+     */
+    private HangmanGameLogic(PackedDictionary dictionary, WordSelector wordSelector, boolean metered) {
+        this.dictionary = dictionary;
+        this.guessedLetters = new GuessedLetterSet(dictionary.getAlphabet());
+        this.metered = metered;
+        setWordSelector(wordSelector);
+        resetGame();
+    }
+
+    /**
+     * Creates a game that reports nothing to the metrics, to replay games that a previous run already counted,
+     * such as those of a {@link hangman.game.journal.GameJournal}. Once the replay is done,
+     * {@link #setMetered(boolean)} lets the game report its further play.
+     *
+     * @param dictionary The dictionary the replayed games play with.
+     * @return The game.
+     */
+    public static HangmanGameLogic forReplay(PackedDictionary dictionary) {
+        return new HangmanGameLogic(dictionary, new UniformWordSelector(dictionary.size()), false);
+    }
+
+    /**
+     * Sets whether the game reports its starts, guesses, and outcomes to the metrics. Guesses made while the
+     * game was not metered are never reported.
+     *
+     * @param metered true to report to the metrics, false to replay without reporting.
+     */
+    public void setMetered(boolean metered) {
+        this.metered = metered;
+    }
+
+    /**
+     * Provides access to the default game instance, used by single-player front ends such as the console UI.
+     * The instance is created on first use in a thread-safe manner. Applications serving several players
+     * should create one game per player through {@link hangman.game.session.GameSessionManager} instead.
+     *
+     * @return The default instance of HangmanGameLogic.
      */
     public static HangmanGameLogic getInstance(){
-        if(instance==null){
-            instance = new HangmanGameLogic();
-        }
-        return instance;
+        return InstanceHolder.INSTANCE;
     }
 
     /**
-     * Resets the game to its initial state with a new secret word and clears
+     * Resets the game to its initial state with a new secret word picked by the word selector, and clears
      * all guesses and scores.
      */
+    @Override
     public void resetGame(){
-        this.secretWord = wordList.get(new Random().nextInt(wordList.size()));
-        guessedLetters.clear();
+        resetGame(wordSelector.nextIndex());
+    }
+
+    /**
+     * Resets the game to its initial state with the given dictionary word as the secret word,
+     * clearing all guesses and scores. This allows a game to be set up or replayed deterministically.
+     *
+     * @param index The dictionary index of the new secret word.
+     * @throws IndexOutOfBoundsException if the index is outside the dictionary.
+     */
+    public void resetGame(int index) {
+        if (index < 0 || index >= dictionary.size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int length = dictionary.length(index);
+        wordIndex = index;
+        secretWord = null;
+        wordMask = dictionary.letterMask(index);
+        if (revealed == null || revealed.length != length) {
+            revealed = new int[length];
+        }
+        Arrays.fill(revealed, '_');
+        currentState = null;
+        guessedLetters.reset();
         wrongGuesses = 0;
         score = MAX_SCORE;
+        if (GameMetrics.ENABLED && metered) {
+            GameMetrics metrics = GameMetrics.global();
+            metrics.guessesMade(uncountedGuesses);
+            uncountedGuesses = 0;
+            metrics.gameStarted();
+        }
+        if (eventListener != null) {
+            eventListener.onReset(index);
+        }
+    }
+
+    /**
+     * Puts the game back into a state saved earlier, such as one kept by a
+     * {@link hangman.game.session.PackedGameState}, without reporting it to the metrics or the listener as a
+     * new game or as guesses. The letters revealed and the score follow from the guessed letters and the wrong
+     * guesses. Guesses of characters outside the alphabet are not part of the saved state, so only the wrong
+     * guesses they caused are restored.
+     *
+     * @param index        The dictionary index of the secret word.
+     * @param guessedMask  The guessed letters of the alphabet as a bit mask.
+     * @param wrongGuesses The number of wrong guesses.
+     * @throws IndexOutOfBoundsException if the index is outside the dictionary.
+     * @throws IllegalArgumentException if the mask holds letters outside the alphabet, or the number of wrong
+     *                                  guesses is negative or above the number of tries.
+     */
+    public void restore(int index, long guessedMask, int wrongGuesses) {
+        if (index < 0 || index >= dictionary.size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int alphabetSize = dictionary.getAlphabet().size();
+        if (wrongGuesses < 0 || wrongGuesses > MAX_TRIES
+                || alphabetSize < Long.SIZE && guessedMask >>> alphabetSize != 0) {
+            throw new IllegalArgumentException("Not a state of this dictionary's games.");
+        }
+        int length = dictionary.length(index);
+        wordIndex = index;
+        secretWord = null;
+        wordMask = dictionary.letterMask(index);
+        if (revealed == null || revealed.length != length) {
+            revealed = new int[length];
+        }
+        for (int i = 0; i < length; i++) {
+            int symbol = dictionary.letterAt(index, i);
+            revealed[i] = (guessedMask & (1L << symbol)) != 0 ? dictionary.getAlphabet().letterOf(symbol) : '_';
+        }
+        currentState = null;
+        guessedLetters.restore(guessedMask);
+        this.wrongGuesses = wrongGuesses;
+        score = Math.max(0, MAX_SCORE - wrongGuesses * ERROR_PENALTY_SCORE);
+        if (GameMetrics.ENABLED && metered) {
+            // The guesses left uncounted belong to the game played before, which ends here.
+            GameMetrics.global().guessesMade(uncountedGuesses);
+            uncountedGuesses = 0;
+        }
     }
 
     /**
@@ -73,16 +253,12 @@ public class HangmanGameLogic {
      *
      * @return A string representing the current visible state of the secret word.
      */
+    @Override
     public String getCurrentState() {
-        StringBuilder currentState = new StringBuilder();
-        for (char letter : secretWord.toCharArray()) {
-            if (guessedLetters.contains(letter)) {
-                currentState.append(letter);
-            } else {
-                currentState.append('_');
-            }
+        if (currentState == null) {
+            currentState = new String(revealed, 0, revealed.length);
         }
-        return currentState.toString();
+        return currentState;
     }
 
     /**
@@ -91,17 +267,85 @@ public class HangmanGameLogic {
      * @param input The character guessed by the player.
      * @throws NonAlphabeticInputException if the input is not an alphabetic character.
      */
+    @Override
     public void makeGuess(char input) throws NonAlphabeticInputException {
-        if (!Character.isAlphabetic(input)) {
+        guessCodePoint(input);
+    }
+
+    /**
+     * Processes a player's guess given as a code point, updating the game state accordingly.
+     *
+     * @param input The letter guessed by the player.
+     * @throws NonAlphabeticInputException if the input is not an alphabetic character.
+     */
+    @Override
+    public void guessCodePoint(int input) throws NonAlphabeticInputException {
+        if (guessLetter(input, null) == GuessResult.Status.INVALID) {
             throw new NonAlphabeticInputException();
         }
-        if (!isGameLost() && !isGameWon()) {
-            if (secretWord.indexOf(input) >= 0 && !guessedLetters.contains(input)) {
-                guessedLetters.add(input);
-            } else if (!guessedLetters.contains(input)) {
-                wrongGuesses++;
-                score = Math.max(0, score - ERROR_PENALTY_SCORE);
-                guessedLetters.add(input);
+    }
+
+    /**
+     * Processes a player's guess of a letter and reports its outcome in a result instead of throwing.
+     *
+     * @param codePoint The letter guessed by the player.
+     * @param result    The result to overwrite with the outcome, which may be reused across guesses.
+     * @return The result.
+     */
+    @Override
+    public GuessResult guess(int codePoint, GuessResult result) {
+        guessLetter(codePoint, result);
+        return result.finish(this);
+    }
+
+    /**
+     * Processes a player's guess of the whole word. A correct word reveals the letters left, which are reported
+     * to the listener as guesses, and a wrong word counts as one wrong guess.
+     *
+     * @param word   The word guessed by the player.
+     * @param result The result to overwrite with the outcome, which may be reused across guesses.
+     * @return The result.
+     */
+    @Override
+    public GuessResult guessWord(CharSequence word, GuessResult result) {
+        if (!GuessResult.isWord(word)) {
+            if (GameMetrics.ENABLED && metered) {
+                GameMetrics.global().invalidInput();
+            }
+            result.begin(GuessResult.Status.INVALID);
+        } else if (isGameLost() || isGameWon()) {
+            result.begin(GuessResult.Status.GAME_OVER);
+        } else if (dictionary.matches(wordIndex, word)) {
+            result.begin(GuessResult.Status.HIT);
+            solve(result);
+        } else if (dictionaryWordsOnly && !dictionary.contains(word)) {
+            if (GameMetrics.ENABLED && metered) {
+                GameMetrics.global().invalidInput();
+            }
+            result.begin(GuessResult.Status.UNKNOWN_WORD);
+        } else {
+            result.begin(GuessResult.Status.MISS);
+            recordMissedWord();
+        }
+        return result.finish(this);
+    }
+
+    /**
+     * Counts a wrong guess of the whole word, as when replaying a journal, which records that a word was
+     * missed but not the word itself.
+     */
+    public void recordMissedWord() {
+        if (isGameLost() || isGameWon()) {
+            return;
+        }
+        registerWrongGuess();
+        if (GameMetrics.ENABLED && metered) {
+            countGuess();
+        }
+        if (eventListener != null) {
+            eventListener.onMissedWord();
+            if (isGameLost()) {
+                eventListener.onGameEnd(false, score);
             }
         }
     }
@@ -111,13 +355,9 @@ public class HangmanGameLogic {
      *
      * @return true if all letters in the secret word have been guessed, false otherwise.
      */
+    @Override
     public boolean isGameWon() {
-        for (char letter : secretWord.toCharArray()) {
-            if (!guessedLetters.contains(letter)) {
-                return false;
-            }
-        }
-        return true;
+        return (wordMask & ~guessedLetters.mask()) == 0;
     }
 
     /**
@@ -125,6 +365,7 @@ public class HangmanGameLogic {
      *
      * @return true if the number of wrong guesses exceeds the maximum allowed, false otherwise.
      */
+    @Override
     public boolean isGameLost() {
         return wrongGuesses >= MAX_TRIES;
     }
@@ -134,26 +375,73 @@ public class HangmanGameLogic {
      *
      * @return The secret word for the current game.
      */
+    @Override
     public String getSecretWord() {
+        if (secretWord == null) {
+            secretWord = dictionary.get(wordIndex);
+        }
         return secretWord;
     }
 
+    /**
+     * Gets the index of the secret word in the dictionary of this game.
+     *
+     * @return The dictionary index of the secret word.
+     */
+    public int getWordIndex() {
+        return wordIndex;
+    }
+
+    /**
+     * Gets the dictionary this game draws its secret words from.
+     *
+     * @return The dictionary of this game.
+     */
+    public PackedDictionary getDictionary() {
+        return dictionary;
+    }
+
     /**
      * Retrieves the set of characters that have been guessed by the player.
-     * This includes both correct and incorrect guesses.
+     * This includes both correct and incorrect guesses. The returned set is a read-only view
+     * that reflects later guesses, listing the letters in alphabetical order.
      *
      * @return A set of guessed letters.
      */
+    @Override
     public Set<Character> getGuessedLetters() {
         return guessedLetters;
     }
 
+    /**
+     * Passes every guessed letter to an action: the letters of the alphabet in alphabetical order,
+     * followed by any other guesses in the order they were made.
+     *
+     * @param action The action receiving the code point of every guessed letter.
+     */
+    @Override
+    public void forEachGuessedLetter(IntConsumer action) {
+        guessedLetters.forEachCodePoint(action);
+    }
+
+    /**
+     * Retrieves the guessed letters as a bit mask, where bit i is set when the letter with symbol i of the
+     * dictionary's alphabet has been guessed. Guesses outside the alphabet are not included.
+     *
+     * @return The guessed letter mask.
+     */
+    @Override
+    public long getGuessedMask() {
+        return guessedLetters.mask();
+    }
+
     /**
      * Gets the number of incorrect guesses made by the player.
      * This value is used to determine if the game is lost.
      *
      * @return The count of wrong guesses.
      */
+    @Override
     public int getWrongGuesses() {
         return wrongGuesses;
     }
@@ -165,7 +453,208 @@ public class HangmanGameLogic {
      *
      * @return The current score of the player.
      */
+    @Override
     public int getScore() {
         return score;
     }
+
+    /**
+     * Sets whether whole-word guesses must be words of the dictionary. When they must, guessing any other word
+     * is reported as {@link GuessResult.Status#UNKNOWN_WORD} and costs no try, as a typo should not; otherwise
+     * it is a miss. Membership is checked in constant time against the dictionary's {@link PackedDictionary#wordSet()}.
+     *
+     * @param dictionaryWordsOnly true to reject guesses of words missing from the dictionary.
+     */
+    public void setDictionaryWordsOnly(boolean dictionaryWordsOnly) {
+        this.dictionaryWordsOnly = dictionaryWordsOnly;
+    }
+
+    /**
+     * Sets the strategy picking the secret word of every following game. A selector may be shared by many games.
+     *
+     * @param wordSelector The strategy picking the secret words.
+     * @throws IllegalArgumentException if the selector does not pick from the whole dictionary.
+     */
+    public void setWordSelector(WordSelector wordSelector) {
+        if (wordSelector.size() != dictionary.size()) {
+            throw new IllegalArgumentException("The word selector picks from " + wordSelector.size()
+                    + " words, but the dictionary has " + dictionary.size() + ".");
+        }
+        this.wordSelector = wordSelector;
+    }
+
+    /**
+     * Gets the strategy picking the secret word of every new game.
+     *
+     * @return The word selector.
+     */
+    public WordSelector getWordSelector() {
+        return wordSelector;
+    }
+
+    /**
+     * Sets the listener notified of every reset, guess, and game end, replacing any previous one.
+     *
+     * @param listener The listener, or null to stop notifications.
+     */
+    public void setEventListener(GameEventListener listener) {
+        this.eventListener = listener;
+    }
+
+    /**
+     * Gets the listener notified of state changes.
+     *
+     * @return The listener, or null if none is set.
+     */
+    public GameEventListener getEventListener() {
+        return eventListener;
+    }
+
+    /**
+     * Processes a guess of a letter, timing one guess in every sampling interval for the metrics.
+     *
+     * @param input  The code point guessed by the player.
+     * @param result The result to record the outcome and the revealed positions in, or null.
+     * @return The outcome of the guess.
+     */
+    private GuessResult.Status guessLetter(int input, GuessResult result) {
+        if (!Character.isAlphabetic(input)) {
+            if (GameMetrics.ENABLED && metered) {
+                GameMetrics.global().invalidInput();
+            }
+            return begin(result, GuessResult.Status.INVALID);
+        }
+        if (GameMetrics.ENABLED && metered && GameMetrics.sampleGuess(++guessCount)) {
+            long start = System.nanoTime();
+            GuessResult.Status status = applyGuess(input, result);
+            GameMetrics.global().recordGuessLatency(System.nanoTime() - start);
+            return status;
+        }
+        return applyGuess(input, result);
+    }
+
+    /**
+     * Applies a valid guess to the game state.
+     *
+     * @param input  The alphabetic code point guessed by the player.
+     * @param result The result to record the outcome and the revealed positions in, or null.
+     * @return The outcome of the guess.
+     */
+    private GuessResult.Status applyGuess(int input, GuessResult result) {
+        if (isGameLost() || isGameWon()) {
+            return begin(result, GuessResult.Status.GAME_OVER);
+        }
+        // Letters outside the alphabet have no bit in the word mask, so they count once as a wrong guess.
+        if (!guessedLetters.record(input)) {
+            return begin(result, GuessResult.Status.DUPLICATE);
+        }
+        GuessResult.Status status;
+        if ((wordMask & guessedLetters.bitOf(input)) != 0) {
+            status = begin(result, GuessResult.Status.HIT);
+            reveal(input, result);
+        } else {
+            status = begin(result, GuessResult.Status.MISS);
+            registerWrongGuess();
+        }
+        if (GameMetrics.ENABLED && metered) {
+            countGuess();
+        }
+        if (eventListener != null) {
+            notifyGuess(input);
+        }
+        return status;
+    }
+
+    /**
+     * Starts recording a guess in a result, if there is one.
+     *
+     * @param result The result, or null.
+     * @param status The outcome of the guess.
+     * @return The outcome of the guess.
+     */
+    private static GuessResult.Status begin(GuessResult result, GuessResult.Status status) {
+        if (result != null) {
+            result.begin(status);
+        }
+        return status;
+    }
+
+    /**
+     * Counts a guess for the metrics, reporting the outcome and the guesses of the game if the guess ended it.
+     */
+    private void countGuess() {
+        uncountedGuesses++;
+        boolean won = isGameWon();
+        if (won || isGameLost()) {
+            GameMetrics.global().gameEnded(won, uncountedGuesses);
+            uncountedGuesses = 0;
+        }
+    }
+
+    /**
+     * Reports a guess to the listener, followed by the end of the game if the guess ended it.
+     *
+     * @param letter The guessed letter.
+     */
+    private void notifyGuess(int letter) {
+        eventListener.onGuess(letter);
+        boolean won = isGameWon();
+        if (won || isGameLost()) {
+            eventListener.onGameEnd(won, score);
+        }
+    }
+
+    /**
+     * Uncovers every occurrence of a correctly guessed letter in the revealed buffer.
+     *
+     * @param letter The correctly guessed letter, as a code point.
+     * @param result The result to record the revealed positions in, or null.
+     */
+    private void reveal(int letter, GuessResult result) {
+        int symbol = dictionary.getAlphabet().symbolOf(letter);
+        for (int i = 0; i < revealed.length; i++) {
+            if (dictionary.letterAt(wordIndex, i) == symbol) {
+                revealed[i] = letter;
+                if (result != null) {
+                    result.addRevealedPosition(i);
+                }
+            }
+        }
+        currentState = null;
+    }
+
+    /**
+     * Uncovers every letter left after the whole word was guessed, recording each letter not guessed before
+     * as a guess, so the game is won and a journal replaying the guesses wins it too.
+     *
+     * @param result The result to record the revealed positions in.
+     */
+    private void solve(GuessResult result) {
+        for (int i = 0; i < revealed.length; i++) {
+            if (revealed[i] != '_') {
+                continue;
+            }
+            int letter = dictionary.codePointAt(wordIndex, i);
+            revealed[i] = letter;
+            result.addRevealedPosition(i);
+            if (guessedLetters.record(letter) && eventListener != null) {
+                eventListener.onGuess(letter);
+            }
+        }
+        currentState = null;
+        if (GameMetrics.ENABLED && metered) {
+            countGuess();
+        }
+        if (eventListener != null) {
+            eventListener.onGameEnd(true, score);
+        }
+    }
+
+    /**
+     * Counts a wrong guess and applies the score penalty.
+     */
+    private void registerWrongGuess() {
+        wrongGuesses++;
+        score = Math.max(0, score - ERROR_PENALTY_SCORE);
+    }
 }
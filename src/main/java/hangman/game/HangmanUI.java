@@ -1,112 +1,222 @@
 package hangman.game;
 
 
-import hangman.exception.NonAlphabeticInputException;
 import hangman.game.input.UserInput;
+import hangman.game.leaderboard.Leaderboard;
+import hangman.game.metrics.GameMetrics;
+import hangman.game.output.ConsoleOutput;
+import hangman.game.output.OutputSink;
+import hangman.game.output.RenderBuffer;
+
+import java.util.Locale;
+import java.util.NoSuchElementException;
 
 /**
  * Represents the User Interface for the Hangman game, managing interactions between the user and the game logic.
  * This class is responsible for displaying game state to the user, handling user input, and updating the game state accordingly.
+ * Everything shown during a turn is rendered into a reusable buffer and written to the output sink once,
+ * just before the user is asked for input.
  */
 
 public class HangmanUI {
 
     // The game logic instance that this UI interacts with.
-    private HangmanGameLogic gameLogic;
+    private HangmanGame gameLogic;
 
     // The input handler used to read user input.
     private UserInput userInput;
 
+    // The sink receiving the rendered output.
+    private final OutputSink output;
+
+    // The output of the current turn, not yet written to the sink.
+    private final RenderBuffer screen = new RenderBuffer();
+
+    // The leaderboard final scores are submitted to, or null if scores are not kept.
+    private Leaderboard leaderboard;
+
+    // The name under which scores are submitted to the leaderboard.
+    private String playerName;
+
+    // The reusable outcome of the guesses.
+    private final GuessResult result = new GuessResult();
+
+    /**
+     * Constructs a HangmanUI instance with the specified game logic and user input mechanism,
+     * writing to the console.
+     *
+     * @param gameLogic The game logic to be used by this UI.
+     * @param userInput The input mechanism to be used for reading user input.
+     */
+    public HangmanUI(HangmanGame gameLogic, UserInput userInput) {
+        this(gameLogic, userInput, new ConsoleOutput());
+    }
+
     /**
-     * Constructs a HangmanUI instance with the specified game logic and user input mechanism.
+     * Constructs a HangmanUI instance with the specified game logic, user input mechanism, and output sink.
      *
      * @param gameLogic The game logic to be used by this UI.
      * @param userInput The input mechanism to be used for reading user input.
+     * @param output    The sink receiving everything the UI displays.
      */
-    public HangmanUI(HangmanGameLogic gameLogic, UserInput userInput) {
+    public HangmanUI(HangmanGame gameLogic, UserInput userInput, OutputSink output) {
         this.gameLogic = gameLogic;
         this.userInput = userInput;
+        this.output = output;
+    }
+
+    /**
+     * Submits the final score of every game to a leaderboard and shows the player's rank.
+     *
+     * @param leaderboard The leaderboard, or null to stop keeping scores.
+     * @param playerName  The name under which the scores are submitted.
+     */
+    public void setLeaderboard(Leaderboard leaderboard, String playerName) {
+        this.leaderboard = leaderboard;
+        this.playerName = playerName;
     }
 
     /**
      * Orchestrates the game play, looping through game states until the game is won or lost.
      * During each loop, it displays the game state, prompts the user for a guess, and processes that guess.
+     * Once the game is over, the user is offered another game. Games follow each other in a loop,
+     * so a player can play any number of them without growing the stack.
+     *
+     * @throws NoSuchElementException if the input ends before the user stops playing.
      */
     public void play() {
+        do {
+            playUntilOver();
+        } while (replay(gameLogic));
+    }
+
+    /**
+     * Plays the current game until it is won or lost and displays the end-of-game message, without
+     * resetting the game or offering another one. This lets automated front ends drive one game at a time.
+     *
+     * @throws NoSuchElementException if the input ends before the game is over.
+     */
+    public void playRound() {
+        playUntilOver();
+        screen.writeTo(output);
+    }
+
+    /**
+     * Loops through turns until the game is won or lost, then renders the end-of-game message.
+     */
+    private void playUntilOver() {
         while (!gameLogic.isGameWon() && !gameLogic.isGameLost()) {
-            displayGameState();
-            char guess = promptUserForGuess();
-            processUserGuess(guess);
+            renderTurn();
+            String guess = promptUserForGuess();
+            if (guess.codePointCount(0, guess.length()) > 1) {
+                processWordGuess(guess);
+            } else {
+                processUserGuess(guess.isEmpty() ? 0 : guess.codePointAt(0));
+            }
         }
         displayEndGameMessage();
     }
 
+    /**
+     * Renders the game state and the guess prompt and writes the turn to the output, timing the whole
+     * turn for the {@link GameMetrics} render latency.
+     */
+    private void renderTurn() {
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0L;
+        displayGameState();
+        screen.append("Guess a letter or the whole word: ").writeTo(output);
+        if (GameMetrics.ENABLED) {
+            GameMetrics.global().recordRenderLatency(System.nanoTime() - start);
+        }
+    }
+
     /**
      * Displays the current state of the game, including the word being guessed (with blanks for missing letters),
      * guessed letters, and the state of the hangman drawing based on incorrect guesses.
      */
     private void displayGameState() {
-        System.out.println("\nCurrent state: " + gameLogic.getCurrentState());
-        System.out.println("Guessed letters: " + gameLogic.getGuessedLetters());
-        HangmanDrawing.displayHangman(gameLogic.getWrongGuesses());
+        screen.append("\nCurrent state: ").appendLine(gameLogic.getCurrentState());
+        screen.append("Guessed letters: [");
+        boolean[] first = {true};
+        gameLogic.forEachGuessedLetter(letter -> {
+            if (!first[0]) {
+                screen.append(", ");
+            }
+            screen.appendCodePoint(letter);
+            first[0] = false;
+        });
+        screen.appendLine("]");
+        HangmanDrawing.render(gameLogic.getWrongGuesses(), screen);
+    }
+
+    /**
+     * Reads the user's guess for the prompt written by the turn, ensuring the input is properly captured
+     * and returned.
+     *
+     * @return The guess in lowercase without surrounding whitespace: a letter, which may be a supplementary one,
+     *         a whole word, or an empty line, which the game rejects like any other character that is not a letter.
+     * @throws NoSuchElementException if the input has ended, since no further guess can ever be read.
+     */
+    private String promptUserForGuess() {
+        return userInput.nextLine().strip().toLowerCase(Locale.ROOT);
     }
 
     /**
-     * Prompts the user to guess a letter, ensuring the input is properly captured and returned.
+     * Processes the user's guess of the whole word, explaining why the guess was rejected if it was.
+     * A word missing from the dictionary is only rejected by games that accept dictionary words alone.
      *
-     * @return The character guessed by the user.
+     * @param word The word guessed by the user.
      */
-    private char promptUserForGuess() {
-        System.out.print("Guess a letter: ");
-        char input = 0;
-        try {
-            input = userInput.nextLine().toLowerCase().charAt(0);
-        } catch (Exception e) {
-            System.out.println("Input must be a single alphabetic character.");
+    private void processWordGuess(String word) {
+        GuessResult.Status status = gameLogic.guessWord(word, result).getStatus();
+        if (status == GuessResult.Status.INVALID) {
+            screen.appendLine("Input must be a single alphabetic character or a word made of letters.");
+        } else if (status == GuessResult.Status.UNKNOWN_WORD) {
+            screen.append(word).appendLine(" is not in the word list.");
         }
-        return input;
     }
 
     /**
-     * Processes the user's guess by attempting to update the game state accordingly.
-     * If the input is not a valid alphabetical character, an error message is displayed.
+     * Processes the user's guess of a letter, explaining why the guess was rejected if it was.
      *
-     * @param guess The user's guessed letter.
+     * @param guess The user's guessed letter, as a code point.
      */
-    private void processUserGuess(char guess) {
-        try {
-            gameLogic.makeGuess(guess);
-        } catch (NonAlphabeticInputException e) {
-            System.out.println(e.getMessage());
+    private void processUserGuess(int guess) {
+        GuessResult.Status status = gameLogic.guess(guess, result).getStatus();
+        if (status == GuessResult.Status.INVALID) {
+            screen.appendLine("Input must be a single alphabetic character.");
+        } else if (status == GuessResult.Status.DUPLICATE) {
+            screen.appendCodePoint(guess).appendLine(" has already been guessed.");
         }
     }
 
     /**
      * Displays a message at the end of the game, indicating whether the user won or lost, and the correct word.
-     * It also prompts the user for a replay decision.
      */
     private void displayEndGameMessage() {
         if (gameLogic.isGameWon()) {
-            System.out.println("\nCongratulations! You guessed the word: " + gameLogic.getSecretWord());
+            screen.append("\nCongratulations! You guessed the word: ").appendLine(gameLogic.getSecretWord());
         } else if (gameLogic.isGameLost()) {
-            System.out.println("\nGame over! The word was: " + gameLogic.getSecretWord());
-            HangmanDrawing.displayHangman(gameLogic.getWrongGuesses());
+            screen.append("\nGame over! The word was: ").appendLine(gameLogic.getSecretWord());
+            HangmanDrawing.render(gameLogic.getWrongGuesses(), screen);
         }
-        replay(gameLogic);
     }
 
     /**
      * Handles the logic for replaying the game, including resetting the game state and prompting the user to play again.
      *
      * @param gameLogic The game logic instance to reset for a new game.
+     * @return true if the user wants to play another game, false otherwise.
      */
-    private void replay(HangmanGameLogic gameLogic) {
-        System.out.println("\nYour score is " + gameLogic.getScore());
-        gameLogic.resetGame();
-        System.out.println("\n Do you want to play again ? y/n");
-        if(userInput.nextLine().equals("y")){
-            this.play();
+    private boolean replay(HangmanGame gameLogic) {
+        screen.append("\nYour score is ").append(gameLogic.getScore()).newLine();
+        if (leaderboard != null) {
+            int rank = leaderboard.submit(playerName, gameLogic.getScore());
+            screen.append("Your best score ranks ").append(rank).append(" of ").append(leaderboard.size()).newLine();
         }
+        gameLogic.resetGame();
+        screen.appendLine("\n Do you want to play again ? y/n").writeTo(output);
+        return userInput.nextLine().equals("y");
     }
 
 }
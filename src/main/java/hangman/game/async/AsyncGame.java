@@ -0,0 +1,309 @@
+package hangman.game.async;
+
+import hangman.exception.NonAlphabeticInputException;
+import hangman.game.GuessResult;
+import hangman.game.HangmanGame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The AsyncGame class drives a {@link HangmanGame} through messages instead of a blocking loop. Guesses and
+ * new games are submitted as commands and answered with a {@link CompletableFuture} of the resulting
+ * {@link GameState}, and every change of state is also published to the game's {@link Flow.Subscriber}s.
+ * Commands wait in a lock-free mailbox that is drained on a shared executor, one command at a time and in
+ * submission order, so the game is never driven by two threads at once, no thread is held while the player
+ * thinks, and one small pool can serve many thousands of games. The mailbox is bounded: a command submitted
+ * while it is full fails with a {@link RejectedExecutionException}, pushing back on players who guess faster
+ * than the game is served. Subscribers get their own bounded buffers; a subscriber falling further behind
+ * misses intermediate states, and as every state is complete, the next one it receives brings it up to date.
+ * Futures are completed on the executor, so callers should use the async variants of the completion stages
+ * for anything but short actions.
+ */
+public class AsyncGame implements Flow.Publisher<GameState>, AutoCloseable {
+
+    /**
+     * DEFAULT_MAX_PENDING is the default number of commands a game holds before rejecting more.
+     */
+    public static final int DEFAULT_MAX_PENDING = 16;
+
+    // The most commands processed before the executor is handed to other games.
+    private static final int BATCH_SIZE = 32;
+
+    // The command kinds.
+    private static final int GUESS = 0;
+    private static final int NEW_GAME = 1;
+    private static final int CLOSE = 2;
+
+    // The game driven by the commands; only touched by the thread draining the mailbox.
+    private final HangmanGame game;
+
+    // The executor draining the mailbox.
+    private final Executor executor;
+
+    // The number of pending commands above which new ones are rejected.
+    private final int maxPending;
+
+    // The commands not processed yet, in submission order.
+    private final ConcurrentLinkedQueue<Command> mailbox = new ConcurrentLinkedQueue<>();
+
+    // The number of commands in the mailbox; the submitter raising it from 0 schedules the drain.
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // The publisher of the state changes.
+    private final SubmissionPublisher<GameState> publisher;
+
+    // The number of states dropped for subscribers whose buffer was full.
+    private final AtomicLong droppedStates = new AtomicLong();
+
+    // The outcome of the latest guess, reused for every guess; only touched by the thread draining the mailbox.
+    private final GuessResult result = new GuessResult();
+
+    // The number of state changes so far; only touched by the thread draining the mailbox.
+    private long sequence;
+
+    // The most recent state.
+    private volatile GameState latest;
+
+    // Whether the game has been closed to new commands.
+    private volatile boolean closed;
+
+    /**
+     * Constructs an AsyncGame with the default mailbox and subscriber buffer sizes.
+     *
+     * @param game     The game to drive, which must not be driven by anyone else from now on.
+     * @param executor The executor draining the mailbox and delivering states to subscribers.
+     */
+    public AsyncGame(HangmanGame game, Executor executor) {
+        this(game, executor, DEFAULT_MAX_PENDING, Flow.defaultBufferSize());
+    }
+
+    /**
+     * Constructs an AsyncGame.
+     *
+     * @param game           The game to drive, which must not be driven by anyone else from now on.
+     * @param executor       The executor draining the mailbox and delivering states to subscribers.
+     * @param maxPending     The number of commands the mailbox holds before rejecting more.
+     * @param bufferCapacity The number of states buffered for each subscriber, rounded up to a power of two.
+     */
+    public AsyncGame(HangmanGame game, Executor executor, int maxPending, int bufferCapacity) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("The mailbox must hold at least one command.");
+        }
+        this.game = game;
+        this.executor = executor;
+        this.maxPending = maxPending;
+        this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+        this.latest = GameState.of(game, 0);
+    }
+
+    /**
+     * Submits a guess.
+     *
+     * @param letter The guessed letter, as a code point.
+     * @return A future completed with the state after the guess, or completed exceptionally with a
+     *         {@link hangman.exception.NonAlphabeticInputException} for a non-alphabetic letter, or with a
+     *         {@link RejectedExecutionException} if the mailbox is full or the game is closed.
+     */
+    public CompletableFuture<GameState> guess(int letter) {
+        return submit(GUESS, letter);
+    }
+
+    /**
+     * Submits the start of a new game with a new secret word.
+     *
+     * @return A future completed with the state of the new game, or completed exceptionally with a
+     *         {@link RejectedExecutionException} if the mailbox is full or the game is closed.
+     */
+    public CompletableFuture<GameState> newGame() {
+        return submit(NEW_GAME, 0);
+    }
+
+    /**
+     * Gets the most recent state without waiting for pending commands.
+     *
+     * @return The latest state.
+     */
+    public GameState current() {
+        return latest;
+    }
+
+    /**
+     * Subscribes to the state changes of the game. Each subscriber receives the states published after it
+     * subscribed, as far as it requests them.
+     *
+     * @param subscriber The subscriber.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super GameState> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Gets the number of commands waiting to be processed.
+     *
+     * @return The pending command count.
+     */
+    public int getPendingCommands() {
+        return pending.get();
+    }
+
+    /**
+     * Gets the number of states that were not delivered to a subscriber because its buffer was full.
+     *
+     * @return The dropped state count.
+     */
+    public long getDroppedStates() {
+        return droppedStates.get();
+    }
+
+    /**
+     * Stops accepting commands. Commands already submitted are still processed, after which the subscribers
+     * are completed. Calling this method again has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // The close command bypasses the mailbox bound, so closing always succeeds.
+        enqueue(new Command(CLOSE, 0));
+    }
+
+    /**
+     * Queues a command unless the game is closed or its mailbox is full.
+     *
+     * @param kind   The kind of command.
+     * @param letter The guessed letter of a guess.
+     * @return The future of the command's result.
+     */
+    private CompletableFuture<GameState> submit(int kind, int letter) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("The game is closed."));
+        }
+        if (pending.get() >= maxPending) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("The game has " + maxPending + " commands pending."));
+        }
+        Command command = new Command(kind, letter);
+        enqueue(command);
+        return command.result;
+    }
+
+    /**
+     * Adds a command to the mailbox and schedules the drain if the mailbox was empty. A command is counted
+     * only after it is queued, so the drain always finds as many commands as it has counted.
+     *
+     * @param command The command.
+     */
+    private void enqueue(Command command) {
+        mailbox.offer(command);
+        if (pending.getAndIncrement() == 0) {
+            schedule();
+        }
+    }
+
+    /**
+     * Hands the drain to the executor. If the executor no longer accepts work, the game is closed and every
+     * queued command fails.
+     */
+    private void schedule() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            closed = true;
+            for (Command command = mailbox.poll(); command != null; command = mailbox.poll()) {
+                command.result.completeExceptionally(e);
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Processes the queued commands in order until the mailbox is empty, or until a batch has been processed,
+     * in which case the rest is rescheduled so other games get their turn.
+     */
+    private void drain() {
+        for (int processed = 1; ; processed++) {
+            process(mailbox.poll());
+            if (pending.decrementAndGet() == 0) {
+                return;
+            }
+            if (processed == BATCH_SIZE) {
+                schedule();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Applies one command to the game and completes its future.
+     *
+     * @param command The command.
+     */
+    private void process(Command command) {
+        try {
+            switch (command.kind) {
+                case GUESS -> {
+                    game.guess(command.letter, result);
+                    if (result.getStatus() == GuessResult.Status.INVALID) {
+                        command.result.completeExceptionally(new NonAlphabeticInputException());
+                        return;
+                    }
+                    // Repeated guesses and guesses after the end leave the game as it was.
+                    if (result.isApplied()) {
+                        publish();
+                    }
+                }
+                case NEW_GAME -> {
+                    game.resetGame();
+                    publish();
+                }
+                default -> publisher.close();
+            }
+            command.result.complete(latest);
+        } catch (RuntimeException e) {
+            command.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Takes the new state of the game and offers it to the subscribers without waiting for slow ones.
+     */
+    private void publish() {
+        latest = GameState.of(game, ++sequence);
+        if (publisher.hasSubscribers() && !publisher.isClosed()) {
+            publisher.offer(latest, (subscriber, state) -> {
+                droppedStates.incrementAndGet();
+                return false;
+            });
+        }
+    }
+
+    /**
+     * A command waiting in the mailbox, with the future of its result.
+     */
+    private static class Command {
+
+        // The kind of command.
+        final int kind;
+
+        // The guessed letter of a guess.
+        final int letter;
+
+        // The future completed once the command has been processed.
+        final CompletableFuture<GameState> result = new CompletableFuture<>();
+
+        Command(int kind, int letter) {
+            this.kind = kind;
+            this.letter = letter;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package hangman.game.async;
+
+import hangman.game.HangmanGame;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The AsyncGameService class owns the small thread pool that serves every {@link AsyncGame} it starts.
+ * A game only occupies a thread while one of its commands is being processed, so the pool can be sized
+ * for the processors rather than for the players, however many of them are connected and thinking.
+ */
+public class AsyncGameService implements AutoCloseable {
+
+    // The pool draining the mailboxes of every game.
+    private final ExecutorService executor;
+
+    // The number of commands each game holds before rejecting more.
+    private final int maxPending;
+
+    /**
+     * Constructs a service with one thread per available processor.
+     */
+    public AsyncGameService() {
+        this(Runtime.getRuntime().availableProcessors(), AsyncGame.DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * Constructs a service.
+     *
+     * @param threads    The number of threads serving the games.
+     * @param maxPending The number of commands each game holds before rejecting more.
+     */
+    public AsyncGameService(int threads, int maxPending) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "hangman-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Starts serving a game, such as the game of a {@link hangman.game.session.GameSession}.
+     * The game must not be driven by anyone else from now on.
+     *
+     * @param game The game.
+     * @return The asynchronous handle of the game.
+     */
+    public AsyncGame start(HangmanGame game) {
+        return new AsyncGame(game, executor, maxPending, Flow.defaultBufferSize());
+    }
+
+    /**
+     * Stops the pool once the commands already handed to it have run. Games should be closed first;
+     * commands submitted afterwards fail with a {@link java.util.concurrent.RejectedExecutionException}.
+     * If the calling thread is interrupted while waiting, it stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("The async game pool did not stop within 10 seconds.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
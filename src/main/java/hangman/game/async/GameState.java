@@ -0,0 +1,161 @@
+package hangman.game.async;
+
+import hangman.game.HangmanGame;
+
+/**
+ * The GameState class is an immutable picture of a game at one point in time, as handed out by an
+ * {@link AsyncGame}. Unlike the game itself, a state can be passed between threads and kept after the
+ * game has moved on. The secret word is only revealed once the game is over.
+ */
+public final class GameState {
+
+    // The number of state changes the game had gone through when this state was taken.
+    private final long sequence;
+
+    // The visible state of the word, with underscores for letters not yet guessed.
+    private final String pattern;
+
+    // The guessed letters of the dictionary's alphabet as a bit mask.
+    private final long guessedMask;
+
+    // The number of wrong guesses.
+    private final int wrongGuesses;
+
+    // The current score.
+    private final int score;
+
+    // Whether the game has been won.
+    private final boolean won;
+
+    // Whether the game has been lost.
+    private final boolean lost;
+
+    // The secret word once the game is over, otherwise null.
+    private final String secretWord;
+
+    /**
+     * Constructs a GameState from its parts.
+     *
+     * @param sequence     The number of state changes so far.
+     * @param pattern      The visible state of the word.
+     * @param guessedMask  The guessed letter mask.
+     * @param wrongGuesses The number of wrong guesses.
+     * @param score        The current score.
+     * @param won          Whether the game has been won.
+     * @param lost         Whether the game has been lost.
+     * @param secretWord   The secret word, or null while the game is running.
+     */
+    GameState(long sequence, String pattern, long guessedMask, int wrongGuesses, int score,
+              boolean won, boolean lost, String secretWord) {
+        this.sequence = sequence;
+        this.pattern = pattern;
+        this.guessedMask = guessedMask;
+        this.wrongGuesses = wrongGuesses;
+        this.score = score;
+        this.won = won;
+        this.lost = lost;
+        this.secretWord = secretWord;
+    }
+
+    /**
+     * Takes the state of a game. Must be called on the thread currently driving the game.
+     *
+     * @param game     The game.
+     * @param sequence The number of state changes the game has gone through.
+     * @return The state of the game.
+     */
+    static GameState of(HangmanGame game, long sequence) {
+        boolean won = game.isGameWon();
+        boolean lost = !won && game.isGameLost();
+        return new GameState(sequence, game.getCurrentState(), game.getGuessedMask(), game.getWrongGuesses(),
+                game.getScore(), won, lost, won || lost ? game.getSecretWord() : null);
+    }
+
+    /**
+     * Gets the number of state changes the game had gone through when this state was taken. States of the same
+     * game are ordered by it, and a state with a higher number is always more recent.
+     *
+     * @return The sequence number of the state.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the visible state of the word, with underscores for letters not yet guessed.
+     *
+     * @return The revealed pattern.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the guessed letters of the dictionary's alphabet as a bit mask.
+     *
+     * @return The guessed letter mask, where bit i stands for the letter with symbol i.
+     */
+    public long getGuessedMask() {
+        return guessedMask;
+    }
+
+    /**
+     * Gets the number of wrong guesses.
+     *
+     * @return The wrong guess count.
+     */
+    public int getWrongGuesses() {
+        return wrongGuesses;
+    }
+
+    /**
+     * Gets the score.
+     *
+     * @return The current score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Checks whether the game has been won.
+     *
+     * @return true if every letter of the word has been guessed.
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * Checks whether the game has been lost.
+     *
+     * @return true if the player ran out of tries.
+     */
+    public boolean isLost() {
+        return lost;
+    }
+
+    /**
+     * Checks whether the game is over.
+     *
+     * @return true if the game has been won or lost.
+     */
+    public boolean isOver() {
+        return won || lost;
+    }
+
+    /**
+     * Gets the secret word, which is only revealed once the game is over.
+     *
+     * @return The secret word, or null while the game is running.
+     */
+    public String getSecretWord() {
+        return secretWord;
+    }
+
+    @Override
+    public String toString() {
+        return "GameState{sequence=" + sequence + ", pattern=" + pattern + ", wrongGuesses=" + wrongGuesses
+                + ", score=" + score + (isOver() ? ", " + (won ? "won" : "lost") + ", word=" + secretWord : "") + "}";
+    }
+}
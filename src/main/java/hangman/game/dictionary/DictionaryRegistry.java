@@ -0,0 +1,352 @@
+package hangman.game.dictionary;
+
+import hangman.game.GlobalReference;
+import hangman.utils.DictionaryFile;
+import hangman.utils.PackedDictionary;
+import hangman.utils.WordParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The DictionaryRegistry class serves the current version of a dictionary and replaces it while games are running.
+ * Each version is an immutable {@link DictionarySnapshot} holding the words and their indexes. A new snapshot is
+ * built completely off to the side, on the caller's thread or on a background loader, and then published with a
+ * single volatile write, so readers never lock and never see a half-built dictionary. A game keeps the dictionary
+ * it was created with, so games in progress finish on their old snapshot while new games pick up the new one,
+ * and an old snapshot is reclaimed once its last game is gone.
+ * Files can be watched with a {@link WatchService}: a change schedules a reload after a short settle delay, and
+ * further changes within that delay postpone it, so a file written in several steps is loaded once. A file that
+ * fails to load leaves the current snapshot in place.
+ */
+public class DictionaryRegistry implements AutoCloseable {
+
+    /**
+     * DEFAULT_SETTLE_DELAY is the time a watched file must stay unchanged before it is reloaded.
+     */
+    public static final Duration DEFAULT_SETTLE_DELAY = Duration.ofMillis(200);
+
+    // The snapshot new games should use.
+    private volatile DictionarySnapshot current;
+
+    // The number of snapshots published so far.
+    private final AtomicLong versions = new AtomicLong();
+
+    // The number of reloads of watched files that failed.
+    private final AtomicLong failedReloads = new AtomicLong();
+
+    // The actions notified of every published snapshot.
+    private final CopyOnWriteArrayList<Consumer<DictionarySnapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    // The watched files with their settle delays in nanoseconds, keyed by absolute path.
+    private final Map<Path, Long> watchedFiles = new ConcurrentHashMap<>();
+
+    // The scheduled reload of each watched file that changed, keyed by absolute path.
+    private final Map<Path, ScheduledFuture<?>> pendingReloads = new ConcurrentHashMap<>();
+
+    // The directory registered under each watch key.
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+
+    // The watch service reporting changes to watched files, or null if no file is watched.
+    private WatchService watchService;
+
+    // The background executor loading changed files, or null if no file is watched.
+    private ScheduledExecutorService loader;
+
+    /**
+     * Lazily initialised holder for the registry of the bundled dictionary. The JVM guarantees that the holder
+     * class is initialised exactly once, so the registry is created safely even under concurrent access.
+     */
+    private static class GlobalHolder {
+        private static final DictionaryRegistry INSTANCE = new DictionaryRegistry(GlobalReference.getDictionary());
+    }
+
+    /**
+     * Constructs a registry serving the given dictionary as its first snapshot.
+     *
+     * @param initial The dictionary to serve until another one is published.
+     */
+    public DictionaryRegistry(PackedDictionary initial) {
+        this(initial, null);
+    }
+
+    /**
+     * Constructs a registry serving a dictionary loaded from a file as its first snapshot.
+     *
+     * @param initial The dictionary to serve until another one is published.
+     * @param source  The file the dictionary was loaded from, or null.
+     */
+    private DictionaryRegistry(PackedDictionary initial, Path source) {
+        publish(initial, source);
+    }
+
+    /**
+     * Opens a registry serving the dictionary stored in a file.
+     *
+     * @param file A word list or compiled dictionary.
+     * @return The registry.
+     * @throws IOException if the file cannot be read or is a damaged compiled dictionary.
+     */
+    public static DictionaryRegistry open(Path file) throws IOException {
+        return new DictionaryRegistry(read(file), file.toAbsolutePath());
+    }
+
+    /**
+     * Provides access to the registry that starts out with the bundled dictionary and is used by games
+     * created without a dictionary of their own.
+     *
+     * @return The global registry.
+     */
+    public static DictionaryRegistry global() {
+        return GlobalHolder.INSTANCE;
+    }
+
+    /**
+     * Gets the snapshot new games should use. Reading it never blocks.
+     *
+     * @return The current snapshot.
+     */
+    public DictionarySnapshot current() {
+        return current;
+    }
+
+    /**
+     * Gets the dictionary of the current snapshot.
+     *
+     * @return The current dictionary.
+     */
+    public PackedDictionary getDictionary() {
+        return current.getDictionary();
+    }
+
+    /**
+     * Builds a snapshot of a dictionary and makes it the current one. Its indexes are built by their first
+     * user, so publishing only takes the time to prepare the dictionary.
+     *
+     * @param dictionary The new dictionary.
+     * @return The published snapshot.
+     */
+    public DictionarySnapshot publish(PackedDictionary dictionary) {
+        return publish(dictionary, null);
+    }
+
+    /**
+     * Loads a file and makes its dictionary the current one.
+     *
+     * @param file A word list or compiled dictionary.
+     * @return The published snapshot.
+     * @throws IOException if the file cannot be read or is a damaged compiled dictionary.
+     * @throws IllegalArgumentException if the words of a word list are not valid dictionary words.
+     */
+    public DictionarySnapshot load(Path file) throws IOException {
+        return publish(read(file), file.toAbsolutePath());
+    }
+
+    /**
+     * Watches a file and reloads it in the background whenever it changes, using the default settle delay.
+     *
+     * @param file The word list or compiled dictionary to watch.
+     * @throws IOException if the directory of the file cannot be watched.
+     */
+    public void watch(Path file) throws IOException {
+        watch(file, DEFAULT_SETTLE_DELAY);
+    }
+
+    /**
+     * Watches a file and reloads it in the background whenever it changes. The file is not loaded right away;
+     * use {@link #load(Path)} or {@link #open(Path)} for that.
+     *
+     * @param file        The word list or compiled dictionary to watch.
+     * @param settleDelay The time the file must stay unchanged before it is reloaded.
+     * @throws IOException if the directory of the file cannot be watched.
+     */
+    public synchronized void watch(Path file, Duration settleDelay) throws IOException {
+        Path absolute = file.toAbsolutePath().normalize();
+        Path directory = absolute.getParent();
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            loader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "hangman-dictionary-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            Thread watcher = new Thread(this::watchLoop, "hangman-dictionary-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+        if (!watchedDirectories.containsValue(directory)) {
+            WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watchedDirectories.put(key, directory);
+        }
+        watchedFiles.put(absolute, settleDelay.toNanos());
+    }
+
+    /**
+     * Registers an action notified of every snapshot published from now on, on the publishing thread.
+     * Listeners should return quickly, as the next snapshot is not published before they do.
+     *
+     * @param listener The action receiving every new snapshot.
+     */
+    public void addListener(Consumer<DictionarySnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(Consumer<DictionarySnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Gets the number of background reloads of watched files that failed and left the current snapshot in place.
+     *
+     * @return The failed reload count.
+     */
+    public long getFailedReloads() {
+        return failedReloads.get();
+    }
+
+    /**
+     * Stops watching files. Pending reloads are cancelled; the current snapshot stays available.
+     *
+     * @throws IOException if the watch service cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            loader.shutdownNow();
+            watchService.close();
+            watchService = null;
+            loader = null;
+            watchedDirectories.clear();
+            watchedFiles.clear();
+            pendingReloads.clear();
+        }
+    }
+
+    /**
+     * Builds and publishes a snapshot, numbering snapshots in the order they are published.
+     *
+     * @param dictionary   The new dictionary.
+     * @param source       The file the dictionary was loaded from, or null.
+     * @return The published snapshot.
+     */
+    private synchronized DictionarySnapshot publish(PackedDictionary dictionary, Path source) {
+        DictionarySnapshot snapshot = new DictionarySnapshot(versions.incrementAndGet(), source, dictionary);
+        current = snapshot;
+        for (Consumer<DictionarySnapshot> listener : listeners) {
+            listener.accept(snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Takes the change events of the watched directories and schedules a reload of every watched file
+     * that changed, until the watch service is closed.
+     */
+    private void watchLoop() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Path directory = watchedDirectories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (directory == null) {
+                        continue;
+                    }
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost, so any watched file of the directory may have changed.
+                        for (Path file : watchedFiles.keySet()) {
+                            if (file.getParent().equals(directory)) {
+                                scheduleReload(file);
+                            }
+                        }
+                    } else {
+                        Path file = directory.resolve((Path) event.context());
+                        if (watchedFiles.containsKey(file)) {
+                            scheduleReload(file);
+                        }
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The registry was closed.
+        }
+    }
+
+    /**
+     * Schedules a reload of a watched file after its settle delay, replacing any reload already pending for it.
+     *
+     * @param file The absolute path of the file.
+     */
+    private synchronized void scheduleReload(Path file) {
+        Long delay = watchedFiles.get(file);
+        if (loader == null || delay == null) {
+            return;
+        }
+        ScheduledFuture<?> previous = pendingReloads.put(file,
+                loader.schedule(() -> reload(file), delay, TimeUnit.NANOSECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Reloads a watched file on the loader thread, keeping the current snapshot if the file cannot be loaded.
+     *
+     * @param file The absolute path of the file.
+     */
+    private void reload(Path file) {
+        pendingReloads.remove(file);
+        try {
+            load(file);
+        } catch (IOException | RuntimeException e) {
+            failedReloads.incrementAndGet();
+            System.err.println("Dictionary reload of " + file + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a word list or compiled dictionary into memory. Unlike {@link WordParser#loadDictionary(Path)},
+     * a compiled file is copied rather than memory-mapped, so games still playing an old snapshot are not
+     * affected when the file is later overwritten in place.
+     *
+     * @param file The file to read.
+     * @return The dictionary.
+     * @throws IOException if the file cannot be read or is a damaged compiled dictionary.
+     */
+    private static PackedDictionary read(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length >= Integer.BYTES && ByteBuffer.wrap(bytes).getInt() == DictionaryFile.MAGIC) {
+            return DictionaryFile.wrap(ByteBuffer.wrap(bytes));
+        }
+        String name = file.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return WordParser.loadDictionary(new ByteArrayInputStream(bytes), null,
+                extension > 0 ? name.substring(0, extension) : name);
+    }
+}
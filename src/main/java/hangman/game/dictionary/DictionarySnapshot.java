@@ -0,0 +1,138 @@
+package hangman.game.dictionary;
+
+import hangman.game.solver.SolverIndex;
+import hangman.utils.PackedDictionary;
+import hangman.utils.WordTrie;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * The DictionarySnapshot class is one immutable version of the words served by a {@link DictionaryRegistry}:
+ * the dictionary together with the indexes built over it. A game holding a snapshot keeps a consistent view
+ * of its words no matter how often the registry moves on. The indexes are built on first use, so neither a
+ * program that never asks for them nor a registry reloading its words pays for them, and every consumer of a
+ * snapshot shares the same index instead of building its own.
+ */
+public final class DictionarySnapshot {
+
+    // The number of this snapshot within its registry, starting at 1.
+    private final long version;
+
+    // The file the words were loaded from, or null if they did not come from a file.
+    private final Path source;
+
+    // The time the snapshot was built.
+    private final Instant loadedAt;
+
+    // The words of the snapshot.
+    private final PackedDictionary dictionary;
+
+    // Whether the solver and query indexes support the words, which must be English ones.
+    private final boolean indexed;
+
+    // The solver index of the words, or null until it is built or if the dictionary is not supported by the solver.
+    private volatile SolverIndex solverIndex;
+
+    // The pattern query index of the words, or null until it is built or if the dictionary is not supported.
+    private volatile WordTrie wordTrie;
+
+    /**
+     * Builds a snapshot of a dictionary. Its indexes are built on first use.
+     *
+     * @param version    The number of the snapshot within its registry.
+     * @param source     The file the words were loaded from, or null.
+     * @param dictionary The words of the snapshot.
+     */
+    DictionarySnapshot(long version, Path source, PackedDictionary dictionary) {
+        this.version = version;
+        this.source = source;
+        this.dictionary = dictionary;
+        // Build the length buckets now rather than on the first game that picks a word by length.
+        dictionary.maxLength();
+        this.indexed = dictionary.isEnglish() && dictionary.maxLength() <= SolverIndex.MAX_WORD_LENGTH;
+        this.loadedAt = Instant.now();
+    }
+
+    /**
+     * Gets the number of this snapshot within its registry. Later snapshots have higher numbers.
+     *
+     * @return The snapshot version, starting at 1.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the file the words were loaded from.
+     *
+     * @return The source file, or null if the words did not come from a file.
+     */
+    public Path getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the time the snapshot was built.
+     *
+     * @return The build time.
+     */
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Gets the words of the snapshot.
+     *
+     * @return The dictionary.
+     */
+    public PackedDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Gets the solver index built over the words, building it on first use.
+     * The solver index is only built for English dictionaries, which are the ones it supports.
+     *
+     * @return The solver index, or null if the dictionary is not English.
+     */
+    public SolverIndex getSolverIndex() {
+        SolverIndex index = solverIndex;
+        if (index == null && indexed) {
+            synchronized (this) {
+                index = solverIndex;
+                if (index == null) {
+                    index = new SolverIndex(dictionary);
+                    solverIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the pattern query index built over the words, building it on first use.
+     * The query index is only built for English dictionaries, which are the ones it supports.
+     *
+     * @return The word trie, or null if the dictionary is not English.
+     */
+    public WordTrie getWordTrie() {
+        WordTrie trie = wordTrie;
+        if (trie == null && indexed) {
+            synchronized (this) {
+                trie = wordTrie;
+                if (trie == null) {
+                    trie = new WordTrie(dictionary);
+                    wordTrie = trie;
+                }
+            }
+        }
+        return trie;
+    }
+
+    @Override
+    public String toString() {
+        return "DictionarySnapshot{version=" + version + ", words=" + dictionary.size()
+                + ", alphabet=" + dictionary.getAlphabet().getName() + ", source=" + source + "}";
+    }
+}
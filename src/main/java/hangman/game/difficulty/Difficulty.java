@@ -0,0 +1,70 @@
+package hangman.game.difficulty;
+
+import hangman.game.GlobalReference;
+
+import java.util.Locale;
+
+/**
+ * The Difficulty enum names the levels a player can choose from. A word's level follows from its rating in a
+ * {@link DifficultyIndex}: the number of wrong guesses the reference solver makes on it.
+ */
+public enum Difficulty {
+
+    /**
+     * Words the reference solver guesses with at most two mistakes.
+     */
+    EASY(2),
+
+    /**
+     * Words the reference solver guesses with three mistakes or more, but still wins.
+     */
+    MEDIUM(GlobalReference.MAX_TRIES - 1),
+
+    /**
+     * Words the reference solver loses.
+     */
+    HARD(Integer.MAX_VALUE);
+
+    // The largest rating of the words at this level.
+    private final int maxRating;
+
+    Difficulty(int maxRating) {
+        this.maxRating = maxRating;
+    }
+
+    /**
+     * Gets the level of a word from its rating.
+     *
+     * @param rating The number of wrong guesses the reference solver makes on the word.
+     * @return The level of the word.
+     */
+    public static Difficulty ofRating(int rating) {
+        for (Difficulty level : values()) {
+            if (rating <= level.maxRating) {
+                return level;
+            }
+        }
+        return HARD;
+    }
+
+    /**
+     * Parses a mix of levels, such as "easy=3,medium=1", into the weight of each level for
+     * {@link DifficultyIndex#selector(double[], long)}. Levels left out of the mix are never picked.
+     *
+     * @param mix The comma-separated levels, each followed by an equals sign and its weight.
+     * @return The weights, indexed by level ordinal.
+     * @throws IllegalArgumentException if a level is unknown or a weight is not a number.
+     */
+    public static double[] parseWeights(String mix) {
+        double[] weights = new double[values().length];
+        for (String part : mix.split(",")) {
+            int separator = part.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected a level and its weight, such as easy=3: " + part);
+            }
+            Difficulty level = valueOf(part.substring(0, separator).trim().toUpperCase(Locale.ROOT));
+            weights[level.ordinal()] = Double.parseDouble(part.substring(separator + 1).trim());
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,567 @@
+package hangman.game.difficulty;
+
+import hangman.game.GlobalReference;
+import hangman.game.selection.ShuffledWordSelector;
+import hangman.game.selection.WeightedWordSelector;
+import hangman.game.selection.WordSelector;
+import hangman.utils.DictionaryFile;
+import hangman.utils.PackedDictionary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.CRC32;
+
+import static hangman.game.GlobalReference.MAX_TRIES;
+import static hangman.utils.PackedDictionary.ALPHABET_SIZE;
+
+/**
+ * The DifficultyIndex class rates every word of a dictionary by the number of wrong guesses the reference
+ * strategy, {@link hangman.game.solver.HangmanSolver}, makes on it, and groups the words into
+ * {@link Difficulty} levels so a game can pick a word of a chosen level in constant time.
+ * <p>
+ * The solver is deterministic and only looks at the words consistent with what it has seen, so all words of
+ * a length share its first guess, and the words sharing the outcome of that guess share the next one. Rather
+ * than playing a full game per word, the index walks this decision tree once: each node holds the words
+ * consistent with a history of guesses, picks the letter the solver would pick, and splits its words by where
+ * that letter occurs. A word is rated when it is alone in its node, since the solver then never misses again,
+ * or when the game is won or lost. Every level of the tree touches each word once, so rating costs about
+ * the number of guesses per word times the dictionary size, and large nodes are split across a fork/join pool.
+ * <p>
+ * Ratings are saved next to the dictionary in a small binary file, which records a fingerprint of the
+ * dictionary so a stale file is recomputed rather than trusted. The build compiles one for the bundled word list.
+ */
+public class DifficultyIndex {
+
+    /**
+     * MAGIC identifies a difficulty file; it spells "HGDR" in ASCII.
+     */
+    public static final int MAGIC = 0x48474452;
+
+    /**
+     * VERSION is the format version written by this class. Files with another version are recomputed.
+     */
+    public static final int VERSION = 1;
+
+    // The size of the file header in bytes.
+    private static final int HEADER_SIZE = 24;
+
+    // The resource holding the ratings of the bundled dictionary, compiled at build time.
+    private static final String BUNDLED_RESOURCE = "wordlist.difficulty";
+
+    // Nodes with at least this many words are rated as separate fork/join tasks.
+    private static final int FORK_THRESHOLD = 2048;
+
+    // The dictionary the ratings belong to.
+    private final PackedDictionary dictionary;
+
+    // The number of wrong guesses the reference strategy makes on each word, from 0 to MAX_TRIES.
+    private final byte[] ratings;
+
+    // The word indices grouped by level, in ascending order within each level.
+    private final int[] levelOrder;
+
+    // The position in levelOrder where each level starts, with one extra entry for the end.
+    private final int[] levelStart;
+
+    /**
+     * Lazily initialised holder for the index of the bundled dictionary.
+     */
+    private static class BundledHolder {
+        private static final DifficultyIndex INSTANCE = loadBundled();
+    }
+
+    /**
+     * Constructs an index from the ratings of a dictionary.
+     *
+     * @param dictionary The dictionary the ratings belong to.
+     * @param ratings    The rating of each word.
+     */
+    private DifficultyIndex(PackedDictionary dictionary, byte[] ratings) {
+        this.dictionary = dictionary;
+        this.ratings = ratings;
+        Difficulty[] levels = Difficulty.values();
+        this.levelStart = new int[levels.length + 1];
+        for (byte rating : ratings) {
+            levelStart[Difficulty.ofRating(rating).ordinal() + 1]++;
+        }
+        for (int level = 0; level < levels.length; level++) {
+            levelStart[level + 1] += levelStart[level];
+        }
+        this.levelOrder = new int[ratings.length];
+        int[] next = Arrays.copyOf(levelStart, levels.length);
+        for (int word = 0; word < ratings.length; word++) {
+            levelOrder[next[Difficulty.ofRating(ratings[word]).ordinal()]++] = word;
+        }
+    }
+
+    /**
+     * Rates every word of a dictionary on all available processors.
+     *
+     * @param dictionary The dictionary to rate.
+     * @return The index.
+     * @throws IllegalArgumentException if the dictionary is not English or contains a word longer than
+     *                                  {@link hangman.game.solver.SolverIndex#MAX_WORD_LENGTH}.
+     */
+    public static DifficultyIndex compute(PackedDictionary dictionary) {
+        return compute(dictionary, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Rates every word of a dictionary on a pool with the given parallelism.
+     *
+     * @param dictionary  The dictionary to rate.
+     * @param parallelism The number of worker threads.
+     * @return The index.
+     * @throws IllegalArgumentException if the dictionary is not English or contains a word longer than
+     *                                  {@link hangman.game.solver.SolverIndex#MAX_WORD_LENGTH}.
+     */
+    public static DifficultyIndex compute(PackedDictionary dictionary, int parallelism) {
+        if (!dictionary.isEnglish()) {
+            throw new IllegalArgumentException("Difficulty ratings follow the English solver and need an English dictionary.");
+        }
+        byte[] ratings = new byte[dictionary.size()];
+        // The solver starts from the words of the secret word's length, so every length is a tree of its own.
+        long[] byLength = new long[dictionary.size()];
+        for (int word = 0; word < byLength.length; word++) {
+            int length = dictionary.length(word);
+            if (length > Integer.SIZE) {
+                throw new IllegalArgumentException("Words longer than " + Integer.SIZE + " letters are not supported.");
+            }
+            byLength[word] = (long) length << 32 | word;
+        }
+        Arrays.parallelSort(byLength);
+        List<Rating> roots = new ArrayList<>();
+        for (int from = 0; from < byLength.length; ) {
+            int to = groupEnd(byLength, from);
+            roots.add(new Rating(dictionary, ratings, wordsOf(byLength, from, to), 0, 0));
+            from = to;
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(roots);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        return new DifficultyIndex(dictionary, ratings);
+    }
+
+    /**
+     * Reads the ratings of a dictionary from a difficulty file.
+     *
+     * @param file       The difficulty file.
+     * @param dictionary The dictionary the ratings must belong to.
+     * @return The index.
+     * @throws IOException if the file cannot be read, is corrupt, or belongs to another dictionary.
+     */
+    public static DifficultyIndex read(Path file, PackedDictionary dictionary) throws IOException {
+        return wrap(ByteBuffer.wrap(Files.readAllBytes(file)), dictionary);
+    }
+
+    /**
+     * Reads the ratings of a dictionary from a difficulty file, or rates the dictionary and saves the ratings
+     * to that file when it is missing, corrupt, or stale. Failing to save the ratings is reported but not fatal.
+     *
+     * @param dictionary The dictionary to rate.
+     * @param file       The difficulty file kept next to the dictionary.
+     * @return The index.
+     */
+    public static DifficultyIndex loadOrCompute(PackedDictionary dictionary, Path file) {
+        try {
+            return read(file, dictionary);
+        } catch (NoSuchFileException e) {
+            // Not rated yet.
+        } catch (IOException e) {
+            System.err.println("Recomputing difficulty file " + file + ": " + e.getMessage());
+        }
+        DifficultyIndex index = compute(dictionary);
+        try {
+            index.write(file);
+        } catch (IOException e) {
+            System.err.println("Could not save difficulty file " + file + ": " + e.getMessage());
+        }
+        return index;
+    }
+
+    /**
+     * Provides the index of the bundled dictionary, loaded from the ratings compiled at build time, or rated
+     * on first use if they are missing or stale.
+     *
+     * @return The index of {@link GlobalReference#getDictionary()}.
+     */
+    public static DifficultyIndex bundled() {
+        return BundledHolder.INSTANCE;
+    }
+
+    /**
+     * Writes the ratings to a difficulty file. The file is written to a temporary sibling first and then moved
+     * into place, so readers never see a partially written file.
+     *
+     * @param file The file to write to.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        CRC32 checksum = new CRC32();
+        checksum.update(ratings);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + ratings.length);
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(MAX_TRIES)
+                .putInt(ratings.length)
+                .putInt(fingerprint(dictionary))
+                .putInt((int) checksum.getValue())
+                .put(ratings);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, buffer.array());
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Gets the dictionary the ratings belong to.
+     *
+     * @return The rated dictionary.
+     */
+    public PackedDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Gets the rating of a word: the number of wrong guesses the reference strategy makes on it,
+     * where MAX_TRIES means the strategy loses.
+     *
+     * @param word The dictionary index of the word.
+     * @return The rating, from 0 to MAX_TRIES.
+     */
+    public int getRating(int word) {
+        return ratings[word];
+    }
+
+    /**
+     * Gets the level of a word.
+     *
+     * @param word The dictionary index of the word.
+     * @return The level of the word.
+     */
+    public Difficulty getLevel(int word) {
+        return Difficulty.ofRating(ratings[word]);
+    }
+
+    /**
+     * Counts the words of a level.
+     *
+     * @param level The level.
+     * @return The number of words at that level.
+     */
+    public int count(Difficulty level) {
+        return levelStart[level.ordinal() + 1] - levelStart[level.ordinal()];
+    }
+
+    /**
+     * Gets a word of a level by its position among the words of that level, in constant time.
+     *
+     * @param level    The level.
+     * @param position The position, from 0 to {@link #count(Difficulty)} - 1.
+     * @return The dictionary index of the word.
+     * @throws IndexOutOfBoundsException if the position is outside the level.
+     */
+    public int wordAt(Difficulty level, int position) {
+        if (position < 0 || position >= count(level)) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        return levelOrder[levelStart[level.ordinal()] + position];
+    }
+
+    /**
+     * Creates a selector picking the words of a level, each once before any is picked again.
+     *
+     * @param level The level.
+     * @param seed  The seed of the selector's random stream.
+     * @return The selector.
+     * @throws IllegalArgumentException if the level has no word.
+     */
+    public WordSelector selector(Difficulty level, long seed) {
+        int from = levelStart[level.ordinal()];
+        int[] words = Arrays.copyOfRange(levelOrder, from, from + count(level));
+        return new ShuffledWordSelector(words, dictionary.size(), seed);
+    }
+
+    /**
+     * Creates a selector mixing the levels: every pick takes a level with probability proportional to its weight,
+     * however many words it has, and then any word of that level, so weights of 3, 1, and 0 play easy words three
+     * times as often as medium ones and never hard ones.
+     *
+     * @param levelWeights The weight of each level, indexed by level ordinal; see {@link Difficulty#parseWeights}.
+     * @param seed         The seed of the selector's random stream.
+     * @return The selector.
+     * @throws IllegalArgumentException if a weight is negative or not finite, or every level with a positive
+     *                                  weight has no word.
+     */
+    public WordSelector selector(double[] levelWeights, long seed) {
+        return WeightedWordSelector.byCategory(dictionary, word -> getLevel(word).ordinal(), levelWeights, seed);
+    }
+
+    /**
+     * Wraps the contents of a difficulty file.
+     *
+     * @param buffer     The contents of the file.
+     * @param dictionary The dictionary the ratings must belong to.
+     * @return The index.
+     * @throws IOException if the contents are corrupt or belong to another dictionary.
+     */
+    private static DifficultyIndex wrap(ByteBuffer buffer, PackedDictionary dictionary) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a difficulty file.");
+        }
+        if (buffer.getInt(4) != VERSION || buffer.getInt(8) != MAX_TRIES) {
+            throw new IOException("Difficulty file from another version.");
+        }
+        int size = buffer.getInt(12);
+        if (size != dictionary.size() || buffer.getInt(16) != fingerprint(dictionary)) {
+            throw new IOException("Difficulty file of another dictionary.");
+        }
+        if (buffer.limit() != HEADER_SIZE + size) {
+            throw new IOException("Corrupt difficulty file header.");
+        }
+        byte[] ratings = new byte[size];
+        buffer.get(HEADER_SIZE, ratings);
+        CRC32 checksum = new CRC32();
+        checksum.update(ratings);
+        if ((int) checksum.getValue() != buffer.getInt(20)) {
+            throw new IOException("Difficulty file checksum mismatch.");
+        }
+        for (byte rating : ratings) {
+            if (rating < 0 || rating > MAX_TRIES) {
+                throw new IOException("Corrupt difficulty rating " + rating + ".");
+            }
+        }
+        return new DifficultyIndex(dictionary, ratings);
+    }
+
+    /**
+     * Loads the ratings of the bundled dictionary compiled at build time, or rates it if they are unusable.
+     *
+     * @return The index of the bundled dictionary.
+     */
+    private static DifficultyIndex loadBundled() {
+        PackedDictionary dictionary = GlobalReference.getDictionary();
+        try (InputStream is = DifficultyIndex.class.getClassLoader().getResourceAsStream(BUNDLED_RESOURCE)) {
+            if (is != null) {
+                return wrap(ByteBuffer.wrap(is.readAllBytes()), dictionary);
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring compiled difficulty ratings: " + e.getMessage());
+        }
+        return compute(dictionary);
+    }
+
+    /**
+     * Computes a checksum over the lengths and letters of every word of a dictionary, identifying its contents.
+     *
+     * @param dictionary The dictionary.
+     * @return The fingerprint.
+     */
+    static int fingerprint(PackedDictionary dictionary) {
+        CRC32 checksum = new CRC32();
+        byte[] chunk = new byte[4096];
+        int filled = 0;
+        for (int word = 0; word < dictionary.size(); word++) {
+            int length = dictionary.length(word);
+            if (filled + length + 1 > chunk.length) {
+                checksum.update(chunk, 0, filled);
+                filled = 0;
+                if (length + 1 > chunk.length) {
+                    chunk = new byte[length + 1];
+                }
+            }
+            chunk[filled++] = (byte) length;
+            for (int position = 0; position < length; position++) {
+                chunk[filled++] = (byte) dictionary.letterAt(word, position);
+            }
+        }
+        checksum.update(chunk, 0, filled);
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Finds the end of the group of sorted keyed words starting at a position, where a group shares the key
+     * in the upper 32 bits.
+     *
+     * @param keyed The keyed words, sorted.
+     * @param from  The start of the group.
+     * @return The position just past the group.
+     */
+    private static int groupEnd(long[] keyed, int from) {
+        long key = keyed[from] >>> 32;
+        int to = from + 1;
+        while (to < keyed.length && keyed[to] >>> 32 == key) {
+            to++;
+        }
+        return to;
+    }
+
+    /**
+     * Extracts the word indices of a range of keyed words.
+     *
+     * @param keyed The keyed words, with the word index in the lower 32 bits.
+     * @param from  The start of the range.
+     * @param to    The end of the range.
+     * @return The word indices.
+     */
+    private static int[] wordsOf(long[] keyed, int from, int to) {
+        int[] words = new int[to - from];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = (int) keyed[from + i];
+        }
+        return words;
+    }
+
+    /**
+     * A fork/join task rating the words of one node of the solver's decision tree: the words consistent
+     * with one history of guesses.
+     */
+    private static class Rating extends RecursiveAction {
+
+        // The version of the serialized form, which fork/join tasks inherit but never use.
+        private static final long serialVersionUID = 1L;
+
+        // The dictionary being rated.
+        private final PackedDictionary dictionary;
+
+        // The ratings of the whole dictionary, filled in as words are rated.
+        private final byte[] ratings;
+
+        // The words of the node.
+        private final int[] words;
+
+        // The letters guessed on the way to the node, as a bit mask.
+        private final int guessedMask;
+
+        // The wrong guesses made on the way to the node.
+        private final int wrongGuesses;
+
+        Rating(PackedDictionary dictionary, byte[] ratings, int[] words, int guessedMask, int wrongGuesses) {
+            this.dictionary = dictionary;
+            this.ratings = ratings;
+            this.words = words;
+            this.guessedMask = guessedMask;
+            this.wrongGuesses = wrongGuesses;
+        }
+
+        @Override
+        protected void compute() {
+            // A lone word is never missed again, and the words of a fully revealed node are all the same word.
+            if (words.length == 1 || wrongGuesses >= MAX_TRIES
+                    || (dictionary.letterMask(words[0]) & ~guessedMask) == 0) {
+                for (int word : words) {
+                    ratings[word] = (byte) wrongGuesses;
+                }
+                return;
+            }
+            int letter = nextGuess();
+            long[] byPositions = new long[words.length];
+            for (int i = 0; i < words.length; i++) {
+                byPositions[i] = (positionsOf(words[i], letter) & 0xffffffffL) << 32 | words[i];
+            }
+            // Sorting is the bulk of a large node's own work; within a fork/join worker a parallel sort
+            // runs on the same pool, so the top of the tree does not hold back the other threads.
+            Arrays.parallelSort(byPositions);
+            int guessed = guessedMask | 1 << letter;
+            List<Rating> forks = new ArrayList<>();
+            for (int from = 0; from < byPositions.length; ) {
+                int to = groupEnd(byPositions, from);
+                int wrong = byPositions[from] >>> 32 == 0 ? wrongGuesses + 1 : wrongGuesses;
+                Rating child = new Rating(dictionary, ratings, wordsOf(byPositions, from, to), guessed, wrong);
+                if (to - from >= FORK_THRESHOLD) {
+                    forks.add(child);
+                } else {
+                    child.compute();
+                }
+                from = to;
+            }
+            invokeAll(forks);
+        }
+
+        /**
+         * Picks the letter the solver guesses next: the unguessed letter contained in the most words of the node,
+         * with ties going to the earlier letter.
+         *
+         * @return The alphabet index of the letter.
+         */
+        private int nextGuess() {
+            int[] counts = new int[ALPHABET_SIZE];
+            for (int word : words) {
+                for (int mask = (int) dictionary.letterMask(word) & ~guessedMask; mask != 0; mask &= mask - 1) {
+                    counts[Integer.numberOfTrailingZeros(mask)]++;
+                }
+            }
+            int best = 0;
+            for (int letter = 1; letter < ALPHABET_SIZE; letter++) {
+                if (counts[letter] > counts[best]) {
+                    best = letter;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Finds the positions of a letter in a word.
+         *
+         * @param word   The dictionary index of the word.
+         * @param letter The alphabet index of the letter.
+         * @return The positions as a bit mask, where bit i stands for position i.
+         */
+        private int positionsOf(int word, int letter) {
+            if ((dictionary.letterMask(word) & 1 << letter) == 0) {
+                return 0;
+            }
+            int positions = 0;
+            for (int position = 0; position < dictionary.length(word); position++) {
+                if (dictionary.letterAt(word, position) == letter) {
+                    positions |= 1 << position;
+                }
+            }
+            return positions;
+        }
+    }
+
+    /**
+     * Rates a compiled dictionary and writes the ratings next to it. Maven runs this after compiling the
+     * dictionary, so the bundled ratings are packaged with the game.
+     *
+     * @param args The path of the compiled dictionary followed by the path of the difficulty file to write.
+     * @throws IOException if the dictionary cannot be read or the ratings cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: DifficultyIndex <wordlist.bin> <wordlist.difficulty>");
+            System.exit(2);
+        }
+        PackedDictionary dictionary = DictionaryFile.map(Path.of(args[0]));
+        long start = System.nanoTime();
+        DifficultyIndex index = compute(dictionary);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        index.write(Path.of(args[1]));
+        System.out.printf("Rated %d words in %d ms (easy %d, medium %d, hard %d) into %s%n", dictionary.size(),
+                millis, index.count(Difficulty.EASY), index.count(Difficulty.MEDIUM), index.count(Difficulty.HARD),
+                args[1]);
+    }
+}
@@ -0,0 +1,76 @@
+package hangman.game.input;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The ScriptedInput class implements the UserInput interface by replaying a fixed sequence of guesses,
+ * one letter per line, for automated play. Letters are read by code point, so scripts can guess letters
+ * outside the Basic Multilingual Plane. A single instance is reloaded with a new script for every
+ * game, and the one-character lines come from a shared table, so replaying a script allocates nothing.
+ */
+public class ScriptedInput implements UserInput {
+
+    // The one-character strings for every ASCII character.
+    private static final String[] SINGLE_CHARACTERS = new String[128];
+
+    static {
+        for (char c = 0; c < SINGLE_CHARACTERS.length; c++) {
+            SINGLE_CHARACTERS[c] = String.valueOf(c);
+        }
+    }
+
+    // The guesses of the current script.
+    private CharSequence script = "";
+
+    // The char index of the next guess to return.
+    private int position;
+
+    // The number of guesses returned since the script was loaded.
+    private int consumed;
+
+    /**
+     * Replaces the script and starts from its first guess.
+     *
+     * @param guesses The guesses to replay, one code point each.
+     */
+    public void load(CharSequence guesses) {
+        this.script = guesses;
+        this.position = 0;
+        this.consumed = 0;
+    }
+
+    /**
+     * Returns the next guess of the script as a one-letter line.
+     *
+     * @return The next guess.
+     * @throws NoSuchElementException if every guess of the script has been returned.
+     */
+    @Override
+    public String nextLine() {
+        if (position >= script.length()) {
+            throw new NoSuchElementException("The script has no more guesses");
+        }
+        int letter = Character.codePointAt(script, position);
+        position += Character.charCount(letter);
+        consumed++;
+        return letter < SINGLE_CHARACTERS.length ? SINGLE_CHARACTERS[letter] : Character.toString(letter);
+    }
+
+    /**
+     * Gets the number of guesses returned since the script was loaded.
+     *
+     * @return The number of consumed guesses.
+     */
+    public int consumed() {
+        return consumed;
+    }
+
+    /**
+     * Checks whether guesses remain in the script.
+     *
+     * @return true if nextLine() will return another guess.
+     */
+    public boolean hasNext() {
+        return position < script.length();
+    }
+}
@@ -0,0 +1,60 @@
+package hangman.game.input;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.NoSuchElementException;
+
+/**
+ * The StreamInput class implements the UserInput interface over any character stream, such as a file, a pipe,
+ * or a network connection. The stream is wrapped in a single buffered reader for the lifetime of the input,
+ * so data read ahead for one line is kept for the next instead of being lost.
+ */
+public class StreamInput implements UserInput {
+
+    // The buffered reader over the underlying stream.
+    private final BufferedReader reader;
+
+    /**
+     * Constructs a StreamInput reading bytes in the default charset.
+     *
+     * @param in The stream to read from.
+     */
+    public StreamInput(InputStream in) {
+        this(new InputStreamReader(in, Charset.defaultCharset()));
+    }
+
+    /**
+     * Constructs a StreamInput reading characters.
+     *
+     * @param in The reader to read from; it is buffered unless it already is.
+     */
+    public StreamInput(Reader in) {
+        this.reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+    }
+
+    /**
+     * Reads the next line of input, without its line terminator.
+     *
+     * @return The next line.
+     * @throws NoSuchElementException if the end of the stream has been reached, as {@link java.util.Scanner} does.
+     * @throws UncheckedIOException   if the stream cannot be read.
+     */
+    @Override
+    public String nextLine() {
+        String line;
+        try {
+            line = reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (line == null) {
+            throw new NoSuchElementException("No line found");
+        }
+        return line;
+    }
+}
@@ -0,0 +1,609 @@
+package hangman.game.journal;
+
+import hangman.game.GameEventListener;
+import hangman.game.HangmanGameLogic;
+import hangman.utils.PackedDictionary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The GameJournal class records the events of many games in an append-only journal of memory-mapped segment
+ * files, so that games in flight can be rebuilt after the process dies.
+ * Every event is a fixed-size binary record: the game id, the event type, and the code point, word index,
+ * score, or outcome it carries. A game's {@link #listener(long) listener} only packs each event into a small
+ * buffer of its own; the journal's background thread picks up the buffers that received events within a
+ * millisecond and writes them out, so the thread playing the game neither encodes records into the mapping nor
+ * touches shared state, save for the first event of each batch. Writing reserves a sequence number with a single
+ * atomic increment and puts the record into the mapped segment holding that number, so concurrent writers never
+ * lock each other and no system call is made. Records reach storage through the page cache when the process
+ * dies, losing at most the events still buffered, and through a background flusher that forces every segment
+ * written since its last run in one call (group commit) when the machine does. A segment whose every slot has been written is sealed by the next flush. Sealed segments can
+ * be compacted in the background, dropping the records of games that have since ended or restarted.
+ * On restart, {@link #recover(Path, PackedDictionary)} replays the segments in order and returns the games
+ * still in flight; the journal then continues in a new segment after the existing ones.
+ */
+public class GameJournal implements AutoCloseable {
+
+    /**
+     * RECORD_SIZE is the size of one event record in bytes.
+     */
+    public static final int RECORD_SIZE = 16;
+
+    /**
+     * DEFAULT_SEGMENT_RECORDS is the number of records per segment unless configured otherwise, one MiB of records.
+     */
+    public static final int DEFAULT_SEGMENT_RECORDS = 1 << 16;
+
+    // The record types. Type 0 marks an empty slot.
+    static final byte RESET = 1;
+    static final byte GUESS = 2;
+    static final byte END = 3;
+    static final byte CLOSE = 4;
+    static final byte MISSED_WORD = 5;
+
+    // The suffix of segment file names; the name itself is the segment number in hexadecimal.
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    // The time the first event buffered by a listener waits for more before the background thread writes them.
+    private static final long WRITE_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // The directory holding the segment files.
+    private final Path directory;
+
+    // The number of records per segment.
+    private final int segmentRecords;
+
+    // The sequence number of the first record written by this journal.
+    private final long firstSequence;
+
+    // The sequence number of the next record.
+    private final AtomicLong nextSequence;
+
+    // The segments still being written, keyed by segment number.
+    private final ConcurrentHashMap<Long, JournalSegment> activeSegments = new ConcurrentHashMap<>();
+
+    // Completely written segments waiting to be forced by the next flush before they are sealed.
+    private final ConcurrentLinkedQueue<JournalSegment> completedSegments = new ConcurrentLinkedQueue<>();
+
+    // The segments no longer written, keyed by segment number, with their files. Guarded by compaction.
+    private final ConcurrentSkipListMap<Long, Path> sealedSegments = new ConcurrentSkipListMap<>();
+
+    // The segment most recently appended to, checked first by every append.
+    private volatile JournalSegment current;
+
+    // The listeners holding buffered events, waiting for the background thread to write them.
+    private final ConcurrentLinkedQueue<JournalListener> queuedListeners = new ConcurrentLinkedQueue<>();
+
+    // Whether a write of the queued listeners is scheduled on the background thread.
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+
+    // The background executor writing, flushing, and compacting, or null until one of them is needed.
+    private volatile ScheduledExecutorService background;
+
+    /**
+     * Constructs a journal over a directory; see {@link #open(Path, int)}.
+     *
+     * @param directory      The directory holding the segment files.
+     * @param segmentRecords The number of records per segment.
+     * @param firstSegment   The number of the first segment this journal writes.
+     */
+    private GameJournal(Path directory, int segmentRecords, long firstSegment) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.firstSequence = firstSegment * segmentRecords;
+        this.nextSequence = new AtomicLong(firstSequence);
+    }
+
+    /**
+     * Opens a journal with the default segment size.
+     *
+     * @param directory The directory holding the segment files; it is created if missing.
+     * @return The journal, appending after any existing segments.
+     * @throws IOException if the directory cannot be created or listed.
+     */
+    public static GameJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    /**
+     * Opens a journal. Segments left by an earlier run are treated as sealed and new records go to a new segment.
+     *
+     * @param directory      The directory holding the segment files; it is created if missing.
+     * @param segmentRecords The number of records per new segment.
+     * @return The journal, appending after any existing segments.
+     * @throws IOException if the directory cannot be created or listed.
+     */
+    public static GameJournal open(Path directory, int segmentRecords) throws IOException {
+        if (segmentRecords < 1) {
+            throw new IllegalArgumentException("A segment must hold at least one record.");
+        }
+        Files.createDirectories(directory);
+        Map<Long, Path> existing = listSegments(directory);
+        long next = 0;
+        for (long number : existing.keySet()) {
+            next = Math.max(next, number + 1);
+        }
+        GameJournal journal = new GameJournal(directory, segmentRecords, next);
+        journal.sealedSegments.putAll(existing);
+        return journal;
+    }
+
+    /**
+     * Creates a listener that journals the events of one game. The listener buffers the events and leaves
+     * writing them to the background thread; {@link #detach(GameEventListener)} writes them right away.
+     *
+     * @param gameId The id under which the game's events are recorded, such as its session id.
+     * @return The listener to attach to the game.
+     */
+    public GameEventListener listener(long gameId) {
+        return new JournalListener(this, gameId);
+    }
+
+    /**
+     * Writes the events a listener of this journal still buffers, for a game that stops using it. Records
+     * appended for its game id afterwards, such as its close, or by a new listener of the same id, then follow
+     * the events of the detached listener in the journal.
+     *
+     * @param listener The listener, detached from its game; listeners of other journals are ignored.
+     */
+    public void detach(GameEventListener listener) {
+        if (listener instanceof JournalListener && ((JournalListener) listener).journal == this) {
+            ((JournalListener) listener).drain();
+        }
+    }
+
+    /**
+     * Records that a game was reset with a new secret word. Like the other append methods, this writes the
+     * record on the calling thread, for events that do not come from a game's listener.
+     *
+     * @param gameId    The id of the game.
+     * @param wordIndex The dictionary index of the new secret word.
+     */
+    public void appendReset(long gameId, int wordIndex) {
+        append(gameId, JournalSegment.pack(RESET, wordIndex, (byte) 0));
+    }
+
+    /**
+     * Records a guess that changed the state of a game.
+     *
+     * @param gameId The id of the game.
+     * @param letter The guessed letter, as a code point.
+     */
+    public void appendGuess(long gameId, int letter) {
+        append(gameId, JournalSegment.pack(GUESS, letter, (byte) 0));
+    }
+
+    /**
+     * Records a wrong guess of the whole word. The word itself is not kept, as replaying only needs the miss.
+     *
+     * @param gameId The id of the game.
+     */
+    public void appendMissedWord(long gameId) {
+        append(gameId, JournalSegment.pack(MISSED_WORD, 0, (byte) 0));
+    }
+
+    /**
+     * Records the end of a game.
+     *
+     * @param gameId The id of the game.
+     * @param won    true if the game was won.
+     * @param score  The final score.
+     */
+    public void appendEnd(long gameId, boolean won, int score) {
+        append(gameId, JournalSegment.pack(END, score, (byte) (won ? 1 : 0)));
+    }
+
+    /**
+     * Records that a game was abandoned, so it is no longer recovered.
+     *
+     * @param gameId The id of the game.
+     */
+    public void appendClose(long gameId) {
+        append(gameId, JournalSegment.pack(CLOSE, 0, (byte) 0));
+    }
+
+    /**
+     * Gets the number of records appended since the journal was opened.
+     *
+     * @return The record count.
+     */
+    public long getAppendedCount() {
+        return nextSequence.get() - firstSequence;
+    }
+
+    /**
+     * Gets the number of segment files, sealed or still being written.
+     *
+     * @return The segment count.
+     */
+    public int getSegmentCount() {
+        return sealedSegments.size() + activeSegments.size();
+    }
+
+    /**
+     * Writes the events buffered by the listeners, forces every record written so far to storage, and seals
+     * the segments that have been completely written.
+     */
+    public void flush() {
+        writeQueued();
+        for (JournalSegment segment : activeSegments.values()) {
+            segment.forceIfDirty();
+        }
+        for (JournalSegment segment = completedSegments.poll(); segment != null; segment = completedSegments.poll()) {
+            segment.forceIfDirty();
+            sealedSegments.put(segment.number, segment.path);
+            activeSegments.remove(segment.number);
+        }
+    }
+
+    /**
+     * Starts forcing written records to storage in the background at the given interval, so a burst of
+     * appends from many games is made durable by one force per segment.
+     *
+     * @param interval The time between two flushes.
+     */
+    public synchronized void startFlusher(Duration interval) {
+        long period = interval.toNanos();
+        backgroundExecutor().scheduleWithFixedDelay(this::flush, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Starts compacting sealed segments in the background at the given interval.
+     *
+     * @param interval The time between two compactions.
+     */
+    public synchronized void startCompaction(Duration interval) {
+        long period = interval.toNanos();
+        backgroundExecutor().scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                System.err.println("Journal compaction failed: " + e.getMessage());
+            }
+        }, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Compacts the sealed segments. A record is dropped once its game has been reset, ended, or closed in a
+     * later record of a sealed segment, since replaying it can no longer change what is recovered. Segments
+     * left without records are deleted, and the others are rewritten with only the records they keep.
+     *
+     * @return The number of records dropped.
+     * @throws IOException if a segment cannot be read or rewritten.
+     */
+    public synchronized int compact() throws IOException {
+        // The position of the last boundary (reset, end, or close) of every game in the sealed segments. Positions
+        // combine the segment number and the slot, since compacted segments no longer hold a full set of slots.
+        Map<Long, Long> lastBoundary = new HashMap<>();
+        for (Map.Entry<Long, Path> entry : sealedSegments.entrySet()) {
+            ByteBuffer records = read(entry.getValue());
+            long base = entry.getKey() << 32;
+            for (int slot = 0; slot < records.limit() / RECORD_SIZE; slot++) {
+                int offset = slot * RECORD_SIZE;
+                byte type = records.get(offset + 15);
+                if (type != GUESS && type != MISSED_WORD && type != 0) {
+                    lastBoundary.put(records.getLong(offset), base + slot);
+                }
+            }
+        }
+        int dropped = 0;
+        for (Map.Entry<Long, Path> entry : sealedSegments.entrySet()) {
+            ByteBuffer records = read(entry.getValue());
+            long base = entry.getKey() << 32;
+            ByteBuffer kept = ByteBuffer.allocate(records.limit());
+            int slots = records.limit() / RECORD_SIZE;
+            for (int slot = 0; slot < slots; slot++) {
+                int offset = slot * RECORD_SIZE;
+                byte type = records.get(offset + 15);
+                Long boundary = lastBoundary.get(records.getLong(offset));
+                boolean stale = boundary != null && base + slot < boundary;
+                boolean closedHere = boundary != null && base + slot == boundary && type != RESET;
+                if (type == 0 || stale || closedHere) {
+                    dropped += type == 0 ? 0 : 1;
+                    continue;
+                }
+                kept.put(records.slice(offset, RECORD_SIZE));
+            }
+            if (kept.position() == 0) {
+                Files.deleteIfExists(entry.getValue());
+                sealedSegments.remove(entry.getKey());
+            } else if (kept.position() < records.limit()) {
+                rewrite(entry.getValue(), kept.flip());
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Rebuilds the games that were in flight when a journal was last written: every game whose last reset
+     * is not followed by its end or close. Each game is reset to its journaled word and replays its guesses
+     * without reporting them to the metrics, which the journaling run already counted; the recovered games report
+     * their further play.
+     *
+     * @param directory  The directory holding the segment files.
+     * @param dictionary The dictionary the journaled games were playing with.
+     * @return The recovered games keyed by game id, in the order they were last reset.
+     * @throws IOException if a segment cannot be read.
+     */
+    public static Map<Long, HangmanGameLogic> recover(Path directory, PackedDictionary dictionary) throws IOException {
+        Map<Long, HangmanGameLogic> games = new LinkedHashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return games;
+        }
+        for (Path segment : listSegments(directory).values()) {
+            ByteBuffer records = read(segment);
+            for (int offset = 0; offset + RECORD_SIZE <= records.limit(); offset += RECORD_SIZE) {
+                long gameId = records.getLong(offset);
+                switch (records.get(offset + 15)) {
+                    case RESET -> {
+                        HangmanGameLogic game = games.remove(gameId);
+                        if (game == null) {
+                            game = HangmanGameLogic.forReplay(dictionary);
+                        }
+                        game.resetGame(records.getInt(offset + 8));
+                        games.put(gameId, game);
+                    }
+                    case GUESS -> {
+                        HangmanGameLogic game = games.get(gameId);
+                        if (game != null) {
+                            game.guessCodePoint(records.getInt(offset + 8));
+                        }
+                    }
+                    case MISSED_WORD -> {
+                        HangmanGameLogic game = games.get(gameId);
+                        if (game != null) {
+                            game.recordMissedWord();
+                        }
+                    }
+                    case END, CLOSE -> games.remove(gameId);
+                    default -> {
+                        // An empty slot, left unwritten when the process stopped.
+                    }
+                }
+            }
+        }
+        for (HangmanGameLogic game : games.values()) {
+            game.setMetered(true);
+        }
+        return games;
+    }
+
+    /**
+     * Stops background work and forces every written record to storage. Segments prepared ahead of time that
+     * never received a record are deleted, so a closed journal leaves only files that hold records.
+     */
+    @Override
+    public synchronized void close() {
+        if (background != null) {
+            // Shutting down cancels the periodic flushes and compactions but lets pending writes of buffered events
+            // and a segment being prepared finish, since interrupting it would leave a partly written file that is
+            // never registered.
+            background.shutdown();
+            try {
+                background.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            background = null;
+        }
+        flush();
+        for (JournalSegment segment : activeSegments.values()) {
+            if (segment.written.get() == 0 && activeSegments.remove(segment.number, segment)) {
+                try {
+                    Files.deleteIfExists(segment.path);
+                } catch (IOException e) {
+                    System.err.println("Could not delete unused journal segment " + segment.path + ": "
+                            + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues a listener that has just buffered its first event, and schedules a write on the background thread
+     * unless one is already pending. Once the background thread is shut down, the listener is written right away.
+     *
+     * @param listener The listener.
+     */
+    void schedule(JournalListener listener) {
+        queuedListeners.add(listener);
+        if (writeScheduled.compareAndSet(false, true)) {
+            ScheduledExecutorService executor = background;
+            try {
+                (executor != null ? executor : backgroundExecutor())
+                        .schedule(this::writeQueued, WRITE_DELAY_NANOS, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                writeQueued();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered events of every queued listener. A listener is unqueued before it is drained, so an
+     * event buffered during the drain queues it again.
+     */
+    private void writeQueued() {
+        writeScheduled.set(false);
+        for (JournalListener listener = queuedListeners.poll(); listener != null; listener = queuedListeners.poll()) {
+            listener.queued.set(false);
+            listener.drain();
+        }
+    }
+
+    /**
+     * Appends one record.
+     *
+     * @param gameId The id of the game.
+     * @param record The second half of the record, packed by {@link JournalSegment#pack(byte, int, byte)}.
+     */
+    void append(long gameId, long record) {
+        long sequence = nextSequence.getAndIncrement();
+        long number = sequence / segmentRecords;
+        JournalSegment segment = current;
+        if (segment == null || segment.number != number) {
+            segment = segment(number);
+        }
+        if (segment.write((int) (sequence - number * segmentRecords), gameId, record)) {
+            // Forcing is left to the next flush, so the guess completing a segment does not wait for storage.
+            completedSegments.add(segment);
+        }
+    }
+
+    /**
+     * Finds or creates the active segment with the given number and makes it the current one.
+     *
+     * @param number The segment number.
+     * @return The segment.
+     */
+    private JournalSegment segment(long number) {
+        JournalSegment segment = activeSegments.computeIfAbsent(number, this::createSegment);
+        JournalSegment latest = current;
+        if (latest == null || latest.number < number) {
+            current = segment;
+            // Prepare the following segment in the background, so rolling over does not wait for the file system.
+            try {
+                backgroundExecutor().execute(() -> activeSegments.computeIfAbsent(number + 1, this::createSegment));
+            } catch (RejectedExecutionException e) {
+                // The journal is closing; the following segment is created when it is first needed.
+            }
+        }
+        return segment;
+    }
+
+    /**
+     * Creates, allocates, and maps a new segment file.
+     *
+     * @param number The segment number.
+     * @return The segment.
+     * @throws UncheckedIOException if the file cannot be created.
+     */
+    private JournalSegment createSegment(long number) {
+        Path path = segmentPath(directory, number);
+        try {
+            return new JournalSegment(number, path, segmentRecords);
+        } catch (IOException e) {
+            // A file left half allocated would be taken for a sealed segment by the next open.
+            if (!(e instanceof FileAlreadyExistsException)) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates the background executor on first use.
+     *
+     * @return The executor.
+     */
+    private ScheduledExecutorService backgroundExecutor() {
+        // Once created the executor is read without the lock, so the background thread never waits for close().
+        ScheduledExecutorService executor = background;
+        if (executor == null) {
+            synchronized (this) {
+                if (background == null) {
+                    background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "hangman-journal");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                executor = background;
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Lists the segment files of a directory.
+     *
+     * @param directory The directory.
+     * @return The segment files keyed by segment number, in ascending order.
+     * @throws IOException if the directory cannot be listed.
+     */
+    private static Map<Long, Path> listSegments(Path directory) throws IOException {
+        Map<Long, Path> segments = new ConcurrentSkipListMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    segments.put(Long.parseUnsignedLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()), 16), file);
+                } catch (NumberFormatException e) {
+                    // Not a segment written by this class.
+                }
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Builds the file name of a segment.
+     *
+     * @param directory The journal directory.
+     * @param number    The segment number.
+     * @return The segment file.
+     */
+    private static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("%016x%s", number, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Reads a whole segment file, ignoring a trailing partial record.
+     *
+     * @param file The segment file.
+     * @return The records of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    private static ByteBuffer read(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        return ByteBuffer.wrap(bytes, 0, bytes.length - bytes.length % RECORD_SIZE).slice();
+    }
+
+    /**
+     * Replaces a segment file with the given records, atomically where the file system allows it.
+     *
+     * @param file    The segment file.
+     * @param records The records to keep.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void rewrite(Path file, ByteBuffer records) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package hangman.game.journal;
+
+import hangman.game.GameEventListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The JournalListener class forwards the events of one game to a {@link GameJournal} under the game's id.
+ * The thread playing the game only packs each event into one long of a small ring buffer owned by the game and
+ * publishes it with an ordered store; the first event after the buffer was emptied queues the listener with the
+ * journal, whose background thread later writes the buffered events into the mapped segments in one go. Only
+ * when the buffer is full does the game's thread write the buffered events itself, which bounds the memory
+ * and the records a crash of the process can lose.
+ * Like its game, a listener must only be fed by one thread at a time.
+ */
+class JournalListener implements GameEventListener {
+
+    /**
+     * BUFFER_RECORDS is the number of events a game buffers before its own thread writes them.
+     */
+    static final int BUFFER_RECORDS = 256;
+
+    // The journal the events are recorded in.
+    final GameJournal journal;
+
+    // The id of the game.
+    final long gameId;
+
+    // The packed events not written yet, as a ring indexed by event count.
+    private final long[] records = new long[BUFFER_RECORDS];
+
+    // The number of events ever buffered; only the game's thread raises it, publishing each event with it.
+    private final AtomicLong added = new AtomicLong();
+
+    // The number of events ever written to the journal, raised under the listener's lock.
+    private volatile long taken;
+
+    // Whether the listener is queued for the journal's background thread.
+    final AtomicBoolean queued = new AtomicBoolean();
+
+    /**
+     * Constructs a listener for one game.
+     *
+     * @param journal The journal the events are recorded in.
+     * @param gameId  The id of the game.
+     */
+    JournalListener(GameJournal journal, long gameId) {
+        this.journal = journal;
+        this.gameId = gameId;
+    }
+
+    @Override
+    public void onReset(int wordIndex) {
+        record(JournalSegment.pack(GameJournal.RESET, wordIndex, (byte) 0));
+    }
+
+    @Override
+    public void onGuess(int letter) {
+        record(JournalSegment.pack(GameJournal.GUESS, letter, (byte) 0));
+    }
+
+    @Override
+    public void onMissedWord() {
+        record(JournalSegment.pack(GameJournal.MISSED_WORD, 0, (byte) 0));
+    }
+
+    @Override
+    public void onGameEnd(boolean won, int score) {
+        record(JournalSegment.pack(GameJournal.END, score, (byte) (won ? 1 : 0)));
+    }
+
+    /**
+     * Buffers a packed event, writing the buffer first if it is full, and queues the listener with the journal
+     * unless it already is.
+     *
+     * @param record The packed second half of the record.
+     */
+    private void record(long record) {
+        long count = added.get();
+        if (count - taken == BUFFER_RECORDS) {
+            drain();
+        }
+        records[(int) count & (BUFFER_RECORDS - 1)] = record;
+        added.lazySet(count + 1);
+        // The flag is cleared before the background thread drains, so an event added after its drain looked
+        // at the count always finds the flag cleared and queues the listener again.
+        if (!queued.get() && queued.compareAndSet(false, true)) {
+            journal.schedule(this);
+        }
+    }
+
+    /**
+     * Writes every buffered event to the journal, in the order the game made them.
+     */
+    synchronized void drain() {
+        long end = added.get();
+        for (long next = taken; next < end; next++) {
+            journal.append(gameId, records[(int) next & (BUFFER_RECORDS - 1)]);
+        }
+        taken = end;
+    }
+}
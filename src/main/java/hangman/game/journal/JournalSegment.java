@@ -0,0 +1,110 @@
+package hangman.game.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The JournalSegment class is one memory-mapped file of a {@link GameJournal}, holding a fixed number of
+ * fixed-size records. Writers fill disjoint record slots with absolute puts, so they never coordinate with
+ * each other; each writer then counts its record, and the writer completing the last slot reports the segment
+ * as complete. A segment is allocated and paged in when it is created, which the journal does ahead of time.
+ */
+class JournalSegment {
+
+    // The granularity at which the mapping is touched before use.
+    private static final int PAGE_SIZE = 4096;
+
+    // The number of this segment; its first record has the sequence number number * capacity.
+    final long number;
+
+    // The file holding the segment.
+    final Path path;
+
+    // The mapping of the whole file.
+    final MappedByteBuffer buffer;
+
+    // The number of records the segment holds.
+    final int capacity;
+
+    // The number of records completely written.
+    final AtomicInteger written = new AtomicInteger();
+
+    // The written count at the last force, guarded by the segment lock.
+    int forcedCount;
+
+    /**
+     * Creates and maps a new segment file.
+     *
+     * @param number   The number of the segment.
+     * @param path     The file to create.
+     * @param capacity The number of records the segment holds.
+     * @throws IOException if the file already exists or cannot be mapped.
+     */
+    JournalSegment(long number, Path path, int capacity) throws IOException {
+        this.number = number;
+        this.path = path;
+        this.capacity = capacity;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = (long) capacity * GameJournal.RECORD_SIZE;
+            // Writing the zeros allocates the blocks up front, so writers never wait for the file system.
+            ByteBuffer zeros = ByteBuffer.allocate((int) Math.min(size, 1 << 16));
+            for (long position = 0; position < size; position += zeros.limit()) {
+                zeros.clear().limit((int) Math.min(zeros.capacity(), size - position));
+                while (zeros.hasRemaining()) {
+                    channel.write(zeros, position + zeros.position());
+                }
+            }
+            // The mapping stays valid after the channel is closed.
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        // Touching every page now takes the page faults here rather than on the first record of each page.
+        for (int offset = 0; offset < buffer.capacity(); offset += PAGE_SIZE) {
+            buffer.put(offset, (byte) 0);
+        }
+    }
+
+    /**
+     * Packs the second half of a record: the payload, two reserved bytes, the flag, and the type, so the type,
+     * which marks the slot as used, lands in the same aligned store as the rest of the event.
+     *
+     * @param type    The event type, never 0.
+     * @param payload The word index of a reset, the code point of a guess, or the score of a game end.
+     * @param flag    The outcome of a game end, 1 for a win.
+     * @return The packed second half of the record.
+     */
+    static long pack(byte type, int payload, byte flag) {
+        return (long) payload << 32 | (flag & 0xffL) << 8 | (type & 0xffL);
+    }
+
+    /**
+     * Writes a record into a slot.
+     *
+     * @param slot   The slot, from 0 to capacity - 1.
+     * @param gameId The id of the game.
+     * @param record The second half of the record, packed by {@link #pack(byte, int, byte)}.
+     * @return true if this record completed the segment.
+     */
+    boolean write(int slot, long gameId, long record) {
+        int offset = slot * GameJournal.RECORD_SIZE;
+        buffer.putLong(offset, gameId);
+        buffer.putLong(offset + 8, record);
+        return written.incrementAndGet() == capacity;
+    }
+
+    /**
+     * Forces the written records to storage if any were added since the last force.
+     */
+    synchronized void forceIfDirty() {
+        int count = written.get();
+        if (count != forcedCount) {
+            buffer.force();
+            forcedCount = count;
+        }
+    }
+}
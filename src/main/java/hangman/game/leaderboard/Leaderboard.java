@@ -0,0 +1,298 @@
+package hangman.game.leaderboard;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static hangman.game.GlobalReference.MAX_SCORE;
+
+/**
+ * The Leaderboard class ranks players by their best final score, taking submissions from many concurrent games.
+ * Each player's best entry is kept in a concurrent hash map, and all entries in a concurrent skip list ordered
+ * from the highest score down, so a top-K query walks the first K nodes after a logarithmic descent.
+ * Ranks are answered from a Fenwick tree of per-score player counts, whose slots are atomic, so the rank of a
+ * player costs a logarithmic number of reads in the score range and never walks the entries.
+ * A player's rank is one more than the number of players with a strictly higher best score, so players with
+ * equal scores share a rank.
+ * A leaderboard opened on a file appends every improved score to it when flushed, either explicitly or by a
+ * background flusher, and reloads the file when opened again.
+ */
+public class Leaderboard implements AutoCloseable {
+
+    /**
+     * MAX_PLAYER_NAME_LENGTH is the longest player name accepted.
+     */
+    public static final int MAX_PLAYER_NAME_LENGTH = 64;
+
+    // The best entry of every player.
+    private final ConcurrentHashMap<String, LeaderboardEntry> bestEntries = new ConcurrentHashMap<>();
+
+    // Every best entry, from the highest score down.
+    private final ConcurrentSkipListSet<LeaderboardEntry> ranking = new ConcurrentSkipListSet<>();
+
+    // The Fenwick tree of the number of players per best score; slot MAX_SCORE - score + 1 holds a score.
+    private final AtomicLongArray scoreTree = new AtomicLongArray(MAX_SCORE + 2);
+
+    // The source of submission sequence numbers.
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    // The number of scores submitted, whether or not they improved a best score.
+    private final AtomicLong submissions = new AtomicLong();
+
+    // Improved entries not yet written to the store.
+    private final ConcurrentLinkedQueue<LeaderboardEntry> pending = new ConcurrentLinkedQueue<>();
+
+    // The store persisting the entries, or null for a leaderboard kept in memory only.
+    private final LeaderboardStore store;
+
+    // The background executor flushing to the store, or null if flushing is not scheduled.
+    private ScheduledExecutorService flusher;
+
+    /**
+     * Constructs an empty leaderboard kept in memory only.
+     */
+    public Leaderboard() {
+        this.store = null;
+    }
+
+    /**
+     * Constructs a leaderboard persisted to a store.
+     *
+     * @param store The store.
+     */
+    private Leaderboard(LeaderboardStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Opens a leaderboard persisted to a file, loading the entries saved by earlier runs.
+     *
+     * @param file The leaderboard file; it is created if missing.
+     * @return The leaderboard.
+     * @throws IOException if the file cannot be read.
+     */
+    public static Leaderboard open(Path file) throws IOException {
+        LeaderboardStore store = new LeaderboardStore(file);
+        Leaderboard leaderboard = new Leaderboard(store);
+        store.load(leaderboard::restore);
+        return leaderboard;
+    }
+
+    /**
+     * Submits the final score of a game. The player's entry changes only if the score beats their best.
+     *
+     * @param player The name of the player.
+     * @param score  The final score, between 0 and MAX_SCORE.
+     * @return The rank of the player after the submission.
+     * @throws IllegalArgumentException if the name is empty or too long, or the score is out of range.
+     */
+    public int submit(String player, int score) {
+        if (player.isEmpty() || player.length() > MAX_PLAYER_NAME_LENGTH) {
+            throw new IllegalArgumentException("Player names must have 1 to " + MAX_PLAYER_NAME_LENGTH + " characters.");
+        }
+        if (score < 0 || score > MAX_SCORE) {
+            throw new IllegalArgumentException("Score out of range: " + score);
+        }
+        submissions.incrementAndGet();
+        LeaderboardEntry[] improved = new LeaderboardEntry[1];
+        LeaderboardEntry best = bestEntries.compute(player, (name, current) -> {
+            if (current != null && current.getScore() >= score) {
+                return current;
+            }
+            improved[0] = new LeaderboardEntry(name, score, nextSequence.incrementAndGet());
+            replace(current, improved[0]);
+            return improved[0];
+        });
+        // Queued only once the map holds the entry, so a flush rewriting the file from the map never drops it.
+        if (store != null && improved[0] != null) {
+            pending.add(improved[0]);
+        }
+        return rankOfScore(best.getScore());
+    }
+
+    /**
+     * Returns the best entries, from the highest score down.
+     *
+     * @param k The maximum number of entries.
+     * @return Up to k entries.
+     */
+    public List<LeaderboardEntry> top(int k) {
+        List<LeaderboardEntry> top = new ArrayList<>(Math.min(k, 64));
+        Iterator<LeaderboardEntry> entries = ranking.iterator();
+        while (top.size() < k && entries.hasNext()) {
+            top.add(entries.next());
+        }
+        return top;
+    }
+
+    /**
+     * Gets the rank of a player.
+     *
+     * @param player The name of the player.
+     * @return The rank, starting at 1, or 0 if the player has no score.
+     */
+    public int rank(String player) {
+        LeaderboardEntry entry = bestEntries.get(player);
+        return entry == null ? 0 : rankOfScore(entry.getScore());
+    }
+
+    /**
+     * Gets the rank a player with the given best score would have.
+     *
+     * @param score The score.
+     * @return One more than the number of players with a higher best score.
+     */
+    public int rankOfScore(int score) {
+        // Slots 1 to MAX_SCORE - score hold the scores above the given one.
+        long above = 0;
+        for (int slot = Math.min(MAX_SCORE - score, MAX_SCORE + 1); slot > 0; slot -= slot & -slot) {
+            above += scoreTree.get(slot);
+        }
+        return (int) above + 1;
+    }
+
+    /**
+     * Gets the best entry of a player.
+     *
+     * @param player The name of the player.
+     * @return The entry, or null if the player has no score.
+     */
+    public LeaderboardEntry get(String player) {
+        return bestEntries.get(player);
+    }
+
+    /**
+     * Gets the number of players with a score.
+     *
+     * @return The player count.
+     */
+    public int size() {
+        return bestEntries.size();
+    }
+
+    /**
+     * Gets the number of scores submitted since the leaderboard was created or opened.
+     *
+     * @return The submission count.
+     */
+    public long getSubmissionCount() {
+        return submissions.get();
+    }
+
+    /**
+     * Appends the entries improved since the last flush to the file in one write, and rewrites the file
+     * when most of its records have been superseded. A leaderboard kept in memory does nothing.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized void flush() throws IOException {
+        if (store == null) {
+            return;
+        }
+        List<LeaderboardEntry> batch = new ArrayList<>();
+        for (LeaderboardEntry entry = pending.poll(); entry != null; entry = pending.poll()) {
+            batch.add(entry);
+        }
+        if (store.needsRewrite(bestEntries.size())) {
+            store.rewrite(new ArrayList<>(bestEntries.values()));
+        } else {
+            store.append(batch);
+        }
+        store.force();
+    }
+
+    /**
+     * Starts flushing to the file in the background at the given interval.
+     * Calling this method again has no effect while flushing is already scheduled.
+     *
+     * @param interval The time between two flushes.
+     */
+    public synchronized void startFlusher(Duration interval) {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hangman-leaderboard-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = interval.toNanos();
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (IOException e) {
+                System.err.println("Leaderboard flush failed: " + e.getMessage());
+            }
+        }, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops background flushing, writes the remaining entries, and closes the file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flusher = null;
+        }
+        if (store != null) {
+            flush();
+            store.close();
+        }
+    }
+
+    /**
+     * Applies an entry loaded from the file, keeping it if it beats the player's best so far.
+     *
+     * @param entry The loaded entry.
+     */
+    private void restore(LeaderboardEntry entry) {
+        LeaderboardEntry current = bestEntries.get(entry.getPlayer());
+        if (current == null || current.getScore() < entry.getScore()) {
+            bestEntries.put(entry.getPlayer(), entry);
+            replace(current, entry);
+        }
+        nextSequence.accumulateAndGet(entry.getSequence(), Math::max);
+    }
+
+    /**
+     * Swaps a player's entry in the ranking and the score counts. Called while the player's map entry is locked.
+     * The previous entry goes first, so a concurrent reader may briefly miss the player but never sees them twice.
+     *
+     * @param previous The player's previous entry, or null.
+     * @param improved The player's new entry.
+     */
+    private void replace(LeaderboardEntry previous, LeaderboardEntry improved) {
+        if (previous != null) {
+            ranking.remove(previous);
+            addToTree(previous.getScore(), -1);
+        }
+        ranking.add(improved);
+        addToTree(improved.getScore(), 1);
+    }
+
+    /**
+     * Adds to the player count of a score.
+     *
+     * @param score The score.
+     * @param delta The change in the number of players with that best score.
+     */
+    private void addToTree(int score, long delta) {
+        for (int slot = MAX_SCORE - score + 1; slot < scoreTree.length(); slot += slot & -slot) {
+            scoreTree.addAndGet(slot, delta);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package hangman.game.leaderboard;
+
+/**
+ * The LeaderboardEntry class is a player's best score on a {@link Leaderboard}. Entries are immutable;
+ * improving a score replaces the player's entry.
+ */
+public final class LeaderboardEntry implements Comparable<LeaderboardEntry> {
+
+    // The name of the player.
+    private final String player;
+
+    // The best score of the player.
+    private final int score;
+
+    // The submission order of the score; an earlier submission ranks first among equal scores.
+    private final long sequence;
+
+    /**
+     * Constructs a LeaderboardEntry.
+     *
+     * @param player   The name of the player.
+     * @param score    The best score of the player.
+     * @param sequence The submission order of the score.
+     */
+    LeaderboardEntry(String player, int score, long sequence) {
+        this.player = player;
+        this.score = score;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Gets the name of the player.
+     *
+     * @return The player name.
+     */
+    public String getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the best score of the player.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the submission order of the score.
+     *
+     * @return The sequence number of the submission.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Orders entries from the highest score down, and equal scores by submission order.
+     *
+     * @param other The entry to compare with.
+     * @return A negative number if this entry ranks first.
+     */
+    @Override
+    public int compareTo(LeaderboardEntry other) {
+        if (score != other.score) {
+            return Integer.compare(other.score, score);
+        }
+        if (sequence != other.sequence) {
+            return Long.compare(sequence, other.sequence);
+        }
+        return player.compareTo(other.player);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof LeaderboardEntry)) {
+            return false;
+        }
+        LeaderboardEntry other = (LeaderboardEntry) o;
+        return score == other.score && sequence == other.sequence && player.equals(other.player);
+    }
+
+    @Override
+    public int hashCode() {
+        return (player.hashCode() * 31 + score) * 31 + Long.hashCode(sequence);
+    }
+
+    @Override
+    public String toString() {
+        return player + ": " + score;
+    }
+}
@@ -0,0 +1,183 @@
+package hangman.game.leaderboard;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * The LeaderboardStore class persists the entries of a {@link Leaderboard} as an append-only log file.
+ * Every improved score is appended as one record, so a snapshot is brought up to date by writing only what
+ * changed since the last flush. When the log has grown to several times the number of live entries it is
+ * rewritten with just the live entries, so loading never replays more than a bounded amount of history.
+ */
+class LeaderboardStore {
+
+    // The number of records beyond the live entries tolerated before the log is rewritten.
+    private static final int REWRITE_SLACK = 1024;
+
+    // The log file.
+    private final Path file;
+
+    // The channel appending to the log.
+    private FileChannel channel;
+
+    // The number of records in the log.
+    private long records;
+
+    /**
+     * Opens the log file, creating it if missing.
+     *
+     * @param file The log file.
+     * @throws IOException if the file cannot be opened.
+     */
+    LeaderboardStore(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Reads every complete record of the log. A record cut short by a crash ends the log and is discarded.
+     *
+     * @param action The action receiving the entries in the order they were written.
+     * @throws IOException if the log cannot be read.
+     */
+    void load(Consumer<LeaderboardEntry> action) throws IOException {
+        long valid = 0;
+        channel.position(0);
+        InputStream in = Channels.newInputStream(channel);
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        try {
+            while (true) {
+                int score = data.readInt();
+                long sequence = data.readLong();
+                String player = data.readUTF();
+                action.accept(new LeaderboardEntry(player, score, sequence));
+                valid += Integer.BYTES + Long.BYTES + 2 + utfLength(player);
+                records++;
+            }
+        } catch (EOFException e) {
+            // The end of the log, possibly after a partial record.
+        }
+        channel.truncate(valid);
+        channel.position(valid);
+    }
+
+    /**
+     * Appends entries to the log in one write.
+     *
+     * @param entries The entries to append.
+     * @throws IOException if the log cannot be written.
+     */
+    void append(Collection<LeaderboardEntry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        write(channel, entries);
+        records += entries.size();
+    }
+
+    /**
+     * Checks whether the log holds enough superseded records to be worth rewriting.
+     *
+     * @param liveEntries The number of live entries.
+     * @return true if the log should be rewritten.
+     */
+    boolean needsRewrite(int liveEntries) {
+        return records > 2L * liveEntries + REWRITE_SLACK;
+    }
+
+    /**
+     * Replaces the log with the given entries, atomically where the file system allows it.
+     *
+     * @param entries The live entries.
+     * @throws IOException if the log cannot be rewritten.
+     */
+    void rewrite(Collection<LeaderboardEntry> entries) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(out, entries);
+            out.force(true);
+        }
+        channel.close();
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        records = entries.size();
+    }
+
+    /**
+     * Forces the log to storage.
+     *
+     * @throws IOException if the log cannot be forced.
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Closes the log.
+     *
+     * @throws IOException if the log cannot be closed.
+     */
+    void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Encodes entries and writes them to a channel at its current position.
+     *
+     * @param out     The channel.
+     * @param entries The entries.
+     * @throws IOException if the channel cannot be written.
+     */
+    private static void write(FileChannel out, Collection<LeaderboardEntry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entries.size() * 32);
+        DataOutputStream data = new DataOutputStream(bytes);
+        for (LeaderboardEntry entry : entries) {
+            data.writeInt(entry.getScore());
+            data.writeLong(entry.getSequence());
+            data.writeUTF(entry.getPlayer());
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /**
+     * Computes the length of a string in the modified UTF-8 encoding of {@link DataOutputStream#writeUTF}.
+     *
+     * @param text The string.
+     * @return The encoded length in bytes, without the length prefix.
+     */
+    private static int utfLength(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            length += c >= 0x0001 && c <= 0x007f ? 1 : c <= 0x07ff ? 2 : 3;
+        }
+        return length;
+    }
+}
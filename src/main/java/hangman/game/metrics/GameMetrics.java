@@ -0,0 +1,213 @@
+package hangman.game.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The GameMetrics class collects the throughput and latency of the game engine for every game in the JVM and
+ * exposes them through JMX. Counters are {@link LongAdder}s, which stripe their cells under contention, so
+ * games on many threads can count without sharing a cache line. A game counts its own guesses in a plain field
+ * and adds them when it ends or is reset, so a guess costs no atomic operation; the guesses of a game in
+ * progress show up once it is over. Guess latency is measured on one guess in
+ * {@link #GUESS_SAMPLE_INTERVAL} per game, which keeps the clock reads off almost every guess, while render
+ * latency is measured on every turn, since a turn already waits for the terminal.
+ * Metrics are on by default and can be turned off with the system property {@code hangman.metrics.disabled};
+ * the flag is a constant, so the JIT removes the instrumentation entirely when it is off.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+
+    /**
+     * ENABLED is whether metrics are collected in this JVM.
+     */
+    public static final boolean ENABLED = !Boolean.getBoolean("hangman.metrics.disabled");
+
+    /**
+     * GUESS_SAMPLE_INTERVAL is the number of guesses per game out of which one is timed, a power of two set
+     * by the system property {@code hangman.metrics.guessSampleInterval} (default 64).
+     */
+    public static final int GUESS_SAMPLE_INTERVAL =
+            Integer.highestOneBit(Math.max(1, Integer.getInteger("hangman.metrics.guessSampleInterval", 64)));
+
+    /**
+     * OBJECT_NAME is the name under which the metrics are registered with the platform MBean server.
+     */
+    public static final String OBJECT_NAME = "hangman:type=GameMetrics";
+
+    // The metrics shared by every game in the JVM.
+    private static final GameMetrics GLOBAL = new GameMetrics();
+
+    // Whether the global metrics have been registered with the platform MBean server.
+    private static boolean registered;
+
+    // The number of games started.
+    private final LongAdder gamesStarted = new LongAdder();
+
+    // The number of games won.
+    private final LongAdder gamesWon = new LongAdder();
+
+    // The number of games lost.
+    private final LongAdder gamesLost = new LongAdder();
+
+    // The number of guesses that changed the state of a game.
+    private final LongAdder guesses = new LongAdder();
+
+    // The number of rejected inputs.
+    private final LongAdder invalidInputs = new LongAdder();
+
+    // The sampled latency of handling a guess.
+    private final LatencyHistogram guessLatency = new LatencyHistogram();
+
+    // The latency of rendering a turn.
+    private final LatencyHistogram renderLatency = new LatencyHistogram();
+
+    /**
+     * Gets the metrics shared by every game in the JVM.
+     *
+     * @return The global metrics.
+     */
+    public static GameMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Checks whether the guess with the given per-game number should be timed.
+     *
+     * @param guessNumber A counter incremented by the game for every guess.
+     * @return true for one guess in GUESS_SAMPLE_INTERVAL.
+     */
+    public static boolean sampleGuess(int guessNumber) {
+        return (guessNumber & (GUESS_SAMPLE_INTERVAL - 1)) == 0;
+    }
+
+    /**
+     * Registers the global metrics with the platform MBean server, once per JVM.
+     *
+     * @return true if the metrics are registered, false if metrics are disabled or registration failed.
+     */
+    public static synchronized boolean registerMBean() {
+        if (!ENABLED) {
+            return false;
+        }
+        if (!registered) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.registerMBean(GLOBAL, new ObjectName(OBJECT_NAME));
+                registered = true;
+            } catch (JMException e) {
+                System.err.println("Could not register game metrics: " + e.getMessage());
+            }
+        }
+        return registered;
+    }
+
+    /**
+     * Registers the global metrics with the platform MBean server on a background thread. Starting the platform
+     * MBean server takes a few hundred milliseconds, which an interactive program need not wait for before its
+     * first prompt; the metrics simply become visible over JMX a moment later.
+     */
+    public static void registerMBeanInBackground() {
+        if (!ENABLED) {
+            return;
+        }
+        Thread registrar = new Thread(GameMetrics::registerMBean, "hangman-metrics-registrar");
+        registrar.setDaemon(true);
+        registrar.start();
+    }
+
+    /**
+     * Counts a started game.
+     */
+    public void gameStarted() {
+        gamesStarted.increment();
+    }
+
+    /**
+     * Counts a finished game and the guesses made on it.
+     *
+     * @param won     true if the game was won, false if it was lost.
+     * @param guesses The number of guesses not yet counted that changed the state of the game.
+     */
+    public void gameEnded(boolean won, int guesses) {
+        (won ? gamesWon : gamesLost).increment();
+        guessesMade(guesses);
+    }
+
+    /**
+     * Counts guesses that changed the state of a game, such as those of a game abandoned before its end.
+     *
+     * @param count The number of guesses.
+     */
+    public void guessesMade(int count) {
+        if (count != 0) {
+            guesses.add(count);
+        }
+    }
+
+    /**
+     * Counts a rejected input.
+     */
+    public void invalidInput() {
+        invalidInputs.increment();
+    }
+
+    /**
+     * Records the time taken to handle a sampled guess.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void recordGuessLatency(long nanos) {
+        guessLatency.record(nanos);
+    }
+
+    /**
+     * Records the time taken to render a turn.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void recordRenderLatency(long nanos) {
+        renderLatency.record(nanos);
+    }
+
+    @Override
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    @Override
+    public long getGamesWon() {
+        return gamesWon.sum();
+    }
+
+    @Override
+    public long getGamesLost() {
+        return gamesLost.sum();
+    }
+
+    @Override
+    public long getGuesses() {
+        return guesses.sum();
+    }
+
+    @Override
+    public long getInvalidInputs() {
+        return invalidInputs.sum();
+    }
+
+    @Override
+    public LatencySnapshot getGuessLatency() {
+        return guessLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getRenderLatency() {
+        return renderLatency.snapshot();
+    }
+
+    @Override
+    public int getGuessSampleInterval() {
+        return GUESS_SAMPLE_INTERVAL;
+    }
+}
@@ -0,0 +1,64 @@
+package hangman.game.metrics;
+
+/**
+ * The GameMetricsMXBean interface is the management interface of {@link GameMetrics}, registered with the
+ * platform MBean server under {@link GameMetrics#OBJECT_NAME} so tools such as JConsole can read it.
+ */
+public interface GameMetricsMXBean {
+
+    /**
+     * Gets the number of games started.
+     *
+     * @return The count of resets.
+     */
+    long getGamesStarted();
+
+    /**
+     * Gets the number of games won.
+     *
+     * @return The win count.
+     */
+    long getGamesWon();
+
+    /**
+     * Gets the number of games lost.
+     *
+     * @return The loss count.
+     */
+    long getGamesLost();
+
+    /**
+     * Gets the number of guesses that changed the state of a game.
+     *
+     * @return The guess count.
+     */
+    long getGuesses();
+
+    /**
+     * Gets the number of rejected inputs, such as non-alphabetic guesses and empty lines.
+     *
+     * @return The invalid input count.
+     */
+    long getInvalidInputs();
+
+    /**
+     * Gets the latency of handling a guess, measured on a sample of guesses.
+     *
+     * @return The guess latency snapshot.
+     */
+    LatencySnapshot getGuessLatency();
+
+    /**
+     * Gets the latency of rendering a turn in the console UI.
+     *
+     * @return The render latency snapshot.
+     */
+    LatencySnapshot getRenderLatency();
+
+    /**
+     * Gets the fraction of guesses whose latency is measured, as one in this many.
+     *
+     * @return The guess sampling interval.
+     */
+    int getGuessSampleInterval();
+}
@@ -0,0 +1,136 @@
+package hangman.game.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram class records durations in nanoseconds into log-linear buckets: every power of two is
+ * split into SUB_BUCKETS equal buckets, so any recorded value is known to within 1/SUB_BUCKETS of itself
+ * (12.5%) from one nanosecond up to hours, with a fixed few hundred buckets. Bucket counts are striped over
+ * several atomic arrays by thread, so concurrent recorders rarely touch the same cache line, and recording is
+ * a couple of bit operations and one atomic increment. Percentiles are computed from a merged snapshot.
+ */
+public class LatencyHistogram {
+
+    // The number of buckets each power of two is split into, as a power of two.
+    private static final int SUB_BUCKET_BITS = 3;
+
+    // The number of buckets each power of two is split into.
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // The number of buckets covering every non-negative long.
+    static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    // The number of stripes minus one, used to pick a stripe from a thread id.
+    private final int stripeMask;
+
+    // The bucket counts of every stripe, one stripe after another, each padded to its own cache lines.
+    private final AtomicLongArray counts;
+
+    // The distance between the starts of two stripes in the counts array.
+    private final int stripeStride;
+
+    // The sum of every recorded value.
+    private final LongAdder sum = new LongAdder();
+
+    // The largest recorded value.
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructs an empty histogram with a stripe per available processor, up to 16.
+     */
+    public LatencyHistogram() {
+        int stripes = Integer.highestOneBit(Math.min(16, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.stripeMask = stripes - 1;
+        // Eight longs of padding keep neighbouring stripes off each other's cache lines.
+        this.stripeStride = BUCKET_COUNT + 8;
+        this.counts = new AtomicLongArray(stripes * stripeStride);
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds; negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        counts.getAndIncrement(stripe * stripeStride + bucketOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Merges the stripes into a snapshot. Values recorded while the snapshot is taken may or may not be included.
+     *
+     * @return The snapshot.
+     */
+    public LatencySnapshot snapshot() {
+        long[] merged = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                long n = counts.get(stripe * stripeStride + bucket);
+                merged[bucket] += n;
+                count += n;
+            }
+        }
+        return new LatencySnapshot(count, count == 0 ? 0 : sum.sum() / (double) count,
+                percentile(merged, count, 0.50), percentile(merged, count, 0.90),
+                percentile(merged, count, 0.99), percentile(merged, count, 0.999), max.get());
+    }
+
+    /**
+     * Maps a value to its bucket. Values below SUB_BUCKETS have a bucket each; above that, the position of the
+     * highest set bit selects the power of two and the next SUB_BUCKET_BITS bits select the bucket within it.
+     *
+     * @param value The non-negative value.
+     * @return The bucket index.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - SUB_BUCKET_BITS - Long.numberOfLeadingZeros(value);
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Gets the largest value that falls into a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return The upper bound of the bucket.
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Finds the value at a percentile of a merged histogram.
+     *
+     * @param merged   The merged bucket counts.
+     * @param count    The total count.
+     * @param fraction The percentile as a fraction between 0 and 1.
+     * @return The upper bound of the bucket holding the percentile, or 0 for an empty histogram.
+     */
+    private static long percentile(long[] merged, long count, double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < merged.length; bucket++) {
+            seen += merged[bucket];
+            if (seen >= rank) {
+                return upperBound(bucket);
+            }
+        }
+        return upperBound(merged.length - 1);
+    }
+}
@@ -0,0 +1,122 @@
+package hangman.game.metrics;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * The LatencySnapshot class is a point-in-time summary of a {@link LatencyHistogram}, in nanoseconds.
+ * It is exposed through JMX as composite data, so monitoring tools see its getters as named items.
+ */
+public class LatencySnapshot {
+
+    // The number of recorded values.
+    private final long count;
+
+    // The mean of the recorded values.
+    private final double mean;
+
+    // The median.
+    private final long p50;
+
+    // The 90th percentile.
+    private final long p90;
+
+    // The 99th percentile.
+    private final long p99;
+
+    // The 99.9th percentile.
+    private final long p999;
+
+    // The largest recorded value.
+    private final long max;
+
+    /**
+     * Constructs a LatencySnapshot.
+     *
+     * @param count The number of recorded values.
+     * @param mean  The mean of the recorded values.
+     * @param p50   The median.
+     * @param p90   The 90th percentile.
+     * @param p99   The 99th percentile.
+     * @param p999  The 99.9th percentile.
+     * @param max   The largest recorded value.
+     */
+    @ConstructorParameters({"count", "mean", "p50", "p90", "p99", "p999", "max"})
+    public LatencySnapshot(long count, double mean, long p50, long p90, long p99, long p999, long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     *
+     * @return The mean in nanoseconds.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Gets the median.
+     *
+     * @return The 50th percentile in nanoseconds.
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Gets the 90th percentile.
+     *
+     * @return The 90th percentile in nanoseconds.
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * Gets the 99th percentile.
+     *
+     * @return The 99th percentile in nanoseconds.
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Gets the 99.9th percentile.
+     *
+     * @return The 99.9th percentile in nanoseconds.
+     */
+    public long getP999() {
+        return p999;
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return The maximum in nanoseconds.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.0fns p50=%dns p90=%dns p99=%dns p99.9=%dns max=%dns",
+                count, mean, p50, p90, p99, p999, max);
+    }
+}
@@ -0,0 +1,22 @@
+package hangman.game.output;
+
+/**
+ * The ConsoleOutput class implements the OutputSink interface by writing to the standard output stream.
+ * The stream is looked up on every write, so output follows {@link System#setOut(java.io.PrintStream)}.
+ * Each write takes the stream's lock and flushes it once, however many lines the bytes contain.
+ */
+public class ConsoleOutput implements OutputSink {
+
+    /**
+     * Writes the bytes to standard output and flushes it.
+     *
+     * @param data   The bytes to write.
+     * @param offset The index of the first byte to write.
+     * @param length The number of bytes to write.
+     */
+    @Override
+    public void write(byte[] data, int offset, int length) {
+        System.out.write(data, offset, length);
+        System.out.flush();
+    }
+}
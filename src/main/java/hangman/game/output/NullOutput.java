@@ -0,0 +1,24 @@
+package hangman.game.output;
+
+/**
+ * The NullOutput class implements the OutputSink interface by discarding everything, for headless games
+ * such as bots and simulations where nobody reads the rendered text.
+ */
+public class NullOutput implements OutputSink {
+
+    /**
+     * The shared instance; the sink has no state, so one instance serves every game.
+     */
+    public static final NullOutput INSTANCE = new NullOutput();
+
+    /**
+     * Discards the bytes.
+     *
+     * @param data   The bytes to ignore.
+     * @param offset The index of the first byte.
+     * @param length The number of bytes.
+     */
+    @Override
+    public void write(byte[] data, int offset, int length) {
+    }
+}
@@ -0,0 +1,19 @@
+package hangman.game.output;
+
+/**
+ * The OutputSink interface defines where the rendered text of the hangman game goes. Front ends render a
+ * whole turn into a {@link RenderBuffer} and hand it to the sink in one call, so an implementation sees one
+ * write per turn instead of one per line. This allows the console, a network connection, or nothing at all
+ * to receive the output without changing the rendering code.
+ */
+public interface OutputSink {
+
+    /**
+     * Writes a range of already encoded bytes.
+     *
+     * @param data   The bytes to write.
+     * @param offset The index of the first byte to write.
+     * @param length The number of bytes to write.
+     */
+    void write(byte[] data, int offset, int length);
+}
@@ -0,0 +1,189 @@
+package hangman.game.output;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * The RenderBuffer class collects the encoded bytes of one turn of output so they can be handed to an
+ * {@link OutputSink} in a single write. The buffer grows as needed and is reused from turn to turn,
+ * so rendering allocates nothing once it has reached its working size. ASCII text is copied byte by byte;
+ * any other text is encoded with the default charset, which is what {@link System#out} uses.
+ * A buffer is not thread-safe; each front end owns one.
+ */
+public class RenderBuffer {
+
+    // The bytes of a line separator in the default charset.
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(Charset.defaultCharset());
+
+    // The buffered bytes; the first size bytes are valid.
+    private byte[] bytes;
+
+    // The number of buffered bytes.
+    private int size;
+
+    /**
+     * Constructs an empty buffer with room for a typical turn.
+     */
+    public RenderBuffer() {
+        this(256);
+    }
+
+    /**
+     * Constructs an empty buffer with the given initial capacity.
+     *
+     * @param capacity The number of bytes the buffer holds before growing.
+     */
+    public RenderBuffer(int capacity) {
+        bytes = new byte[Math.max(16, capacity)];
+    }
+
+    /**
+     * Appends text, encoding it in the default charset. A null value is appended as "null",
+     * like string concatenation does.
+     *
+     * @param text The text to append.
+     * @return This buffer.
+     */
+    public RenderBuffer append(CharSequence text) {
+        if (text == null) {
+            text = "null";
+        }
+        int length = text.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                // Rare in this game; fall back to the charset encoder for the rest of the text.
+                return append(text.subSequence(i, length).toString().getBytes(Charset.defaultCharset()));
+            }
+            bytes[size++] = (byte) c;
+        }
+        return this;
+    }
+
+    /**
+     * Appends a single character.
+     *
+     * @param c The character to append.
+     * @return This buffer.
+     */
+    public RenderBuffer append(char c) {
+        if (c >= 0x80) {
+            return append(String.valueOf(c));
+        }
+        ensureCapacity(1);
+        bytes[size++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * Appends a single character given as a code point, which may lie outside the Basic Multilingual Plane.
+     *
+     * @param codePoint The character to append.
+     * @return This buffer.
+     */
+    public RenderBuffer appendCodePoint(int codePoint) {
+        if (codePoint < 0x80) {
+            return append((char) codePoint);
+        }
+        return append(Character.toString(codePoint));
+    }
+
+    /**
+     * Appends the decimal form of a number.
+     *
+     * @param value The number to append.
+     * @return This buffer.
+     */
+    public RenderBuffer append(int value) {
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                return append(Integer.toString(value));
+            }
+            append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (int rest = value; rest >= 10; rest /= 10) {
+            digits++;
+        }
+        ensureCapacity(digits);
+        for (int i = size + digits - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+        return this;
+    }
+
+    /**
+     * Appends bytes that are already encoded, such as a precomputed frame.
+     *
+     * @param encoded The bytes to append.
+     * @return This buffer.
+     */
+    public RenderBuffer append(byte[] encoded) {
+        ensureCapacity(encoded.length);
+        System.arraycopy(encoded, 0, bytes, size, encoded.length);
+        size += encoded.length;
+        return this;
+    }
+
+    /**
+     * Appends a line separator.
+     *
+     * @return This buffer.
+     */
+    public RenderBuffer newLine() {
+        return append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Appends text followed by a line separator, like {@link java.io.PrintStream#println(String)}.
+     *
+     * @param text The text to append.
+     * @return This buffer.
+     */
+    public RenderBuffer appendLine(CharSequence text) {
+        return append(text).newLine();
+    }
+
+    /**
+     * Gets the number of buffered bytes.
+     *
+     * @return The buffered byte count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Hands the buffered bytes to a sink in one write, if there are any, and empties the buffer.
+     *
+     * @param sink The sink receiving the bytes.
+     */
+    public void writeTo(OutputSink sink) {
+        if (size > 0) {
+            sink.write(bytes, 0, size);
+            size = 0;
+        }
+    }
+
+    /**
+     * Empties the buffer without writing it.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Makes room for the given number of additional bytes.
+     *
+     * @param additional The number of bytes about to be appended.
+     */
+    private void ensureCapacity(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+}
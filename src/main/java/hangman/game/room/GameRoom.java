@@ -0,0 +1,524 @@
+package hangman.game.room;
+
+import hangman.game.GlobalReference;
+import hangman.game.GuessResult;
+import hangman.game.metrics.GameMetrics;
+import hangman.utils.Alphabet;
+import hangman.utils.PackedDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The GameRoom class is a game of Hangman shared by many players, who all guess the same secret word at the same
+ * time. The whole state of the room lives in a single long: the guessed letters as a mask over the dictionary's
+ * alphabet, then the number of wrong guesses, then the number of accepted guesses, and last a bit set once the
+ * room is closed. A guess reads the state,
+ * computes the next one and installs it with a compare-and-set, retrying if another guess got in first, so no
+ * player ever waits on a lock and a guess that fails to install has always lost to one that succeeded. The state
+ * only grows, so a compare-and-set can never be fooled by a state that came back. The winner is the player whose
+ * guess installed the state completing the word; exactly one compare-and-set can do that, however many players
+ * guess the last letter at once, and later guesses find the game over.
+ * <p>
+ * Every accepted guess becomes a {@link RoomEvent} numbered by its place in the state. Guessing threads only
+ * append their event to a lock-free queue; a single drain on the executor puts the events back in the order of
+ * their numbers, which can differ from the order they were queued in, and publishes whatever has arrived as one
+ * batch to all the room's subscribers, each of which consumes from its own buffer. A hot room thus costs its
+ * players one compare-and-set and one queue append per guess, and its subscribers receive every accepted guess,
+ * in order, in as few deliveries as the pace of the game allows. Subscribers are completed when the game ends or
+ * the room is closed. Closing sets its bit with a compare-and-set like a guess, so every guess is either accepted
+ * before the close, with a sequence number the close knows, or refused after it; the subscribers are completed
+ * once the events of all the guesses accepted before the close have been published.
+ * <p>
+ * Letters outside the dictionary's alphabet are rejected as invalid, since the state has no bit to record them,
+ * and words outside the dictionary are rejected as unknown, so that one player's typo costs nobody a try.
+ */
+public class GameRoom implements Flow.Publisher<List<RoomEvent>>, AutoCloseable {
+
+    /**
+     * MAX_ALPHABET_SIZE is the largest alphabet whose letter mask fits in the packed state next to the counters
+     * and the closed bit.
+     */
+    public static final int MAX_ALPHABET_SIZE = Long.SIZE - 11;
+
+    // The number of bits holding the wrong guess count, enough for MAX_TRIES.
+    private static final int WRONG_GUESS_BITS = 3;
+
+    // The number of bits holding the accepted guess count, enough for every letter and every allowed wrong word.
+    private static final int SEQUENCE_BITS = 7;
+
+    // The top bit of the packed state, set once the room is closed.
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    // The dictionary the secret word comes from.
+    private final PackedDictionary dictionary;
+
+    // The index of the secret word in the dictionary.
+    private final int wordIndex;
+
+    // The letter mask of the secret word.
+    private final long wordMask;
+
+    // The number of bits holding the guessed letter mask, which is where the wrong guess count starts.
+    private final int wrongShift;
+
+    // The bit position where the accepted guess count starts.
+    private final int sequenceShift;
+
+    // The packed state of the room.
+    private final AtomicLong state = new AtomicLong();
+
+    // The number of guesses that had to retry because another guess changed the state first.
+    private final LongAdder contendedGuesses = new LongAdder();
+
+    // The events of accepted guesses not yet published, in the order they were queued.
+    private final ConcurrentLinkedQueue<RoomEvent> events = new ConcurrentLinkedQueue<>();
+
+    // The number of queued events; the guess raising it from 0 schedules the drain.
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // The events taken from the queue but not yet published, by sequence number; only touched by the drain.
+    private final RoomEvent[] reorder = new RoomEvent[1 << SEQUENCE_BITS];
+
+    // The marker queued by close() to complete the subscribers after the events of the guesses accepted before it.
+    private final RoomEvent closeMarker;
+
+    // The number of guesses accepted before the room closed, written by close() before it queues the marker,
+    // which makes it visible to the drain taking the marker.
+    private int closedSequence;
+
+    // Whether the drain has taken the close marker; only touched by the drain.
+    private boolean closing;
+
+    // The executor running the drain and delivering batches to subscribers.
+    private final Executor executor;
+
+    // The publisher of the event batches.
+    private final SubmissionPublisher<List<RoomEvent>> publisher;
+
+    // The sequence number of the next event to publish; only touched by the drain.
+    private int nextSequence = 1;
+
+    // The player who won the game, set right after the winning guess is installed.
+    private volatile String winner;
+
+    /**
+     * Constructs a GameRoom.
+     *
+     * @param dictionary The dictionary the secret word comes from.
+     * @param wordIndex  The index of the secret word in the dictionary.
+     * @param executor   The executor publishing the events to subscribers.
+     * @throws IllegalArgumentException if the alphabet of the dictionary has more than {@link #MAX_ALPHABET_SIZE}
+     *                                  letters, or the word index is out of range.
+     */
+    public GameRoom(PackedDictionary dictionary, int wordIndex, Executor executor) {
+        int letters = dictionary.getAlphabet().size();
+        if (letters > MAX_ALPHABET_SIZE) {
+            throw new IllegalArgumentException("A room supports alphabets of up to " + MAX_ALPHABET_SIZE
+                    + " letters, not " + letters + ".");
+        }
+        if (wordIndex < 0 || wordIndex >= dictionary.size()) {
+            throw new IllegalArgumentException("No word " + wordIndex + " in a dictionary of " + dictionary.size()
+                    + " words.");
+        }
+        this.dictionary = dictionary;
+        this.wordIndex = wordIndex;
+        this.wordMask = dictionary.letterMask(wordIndex);
+        this.wrongShift = letters;
+        this.sequenceShift = letters + WRONG_GUESS_BITS;
+        this.executor = executor;
+        // A room publishes at most one batch per accepted guess, fewer than the buffer holds, so publishing
+        // never waits for a slow subscriber.
+        this.publisher = new SubmissionPublisher<>(executor, Math.max(Flow.defaultBufferSize(), reorder.length));
+        this.closeMarker = new RoomEvent(0, null, null, null, 0, this);
+        if (GameMetrics.ENABLED) {
+            GameMetrics.global().gameStarted();
+        }
+    }
+
+    /**
+     * Guesses a letter on behalf of a player. Upper-case letters are taken as their lower-case forms.
+     *
+     * @param player The player making the guess.
+     * @param letter The guessed letter, as a code point.
+     * @return HIT or MISS if the guess was accepted, DUPLICATE if the letter had already been guessed by anyone,
+     *         INVALID if it is not a letter of the alphabet, or GAME_OVER if the game has ended or the room is closed.
+     */
+    public GuessResult.Status guess(String player, int letter) {
+        int symbol = dictionary.getAlphabet().symbolOf(Character.toLowerCase(letter));
+        if (symbol < 0) {
+            if (GameMetrics.ENABLED) {
+                GameMetrics.global().invalidInput();
+            }
+            return GuessResult.Status.INVALID;
+        }
+        long bit = 1L << symbol;
+        boolean hit = (wordMask & bit) != 0;
+        long step = sequenceOne() + (hit ? 0 : wrongOne());
+        for (long current = state.get(); ; current = state.get()) {
+            if (isClosedOrOver(current)) {
+                return GuessResult.Status.GAME_OVER;
+            }
+            if ((current & bit) != 0) {
+                return GuessResult.Status.DUPLICATE;
+            }
+            long next = (current | bit) + step;
+            if (state.compareAndSet(current, next)) {
+                GuessResult.Status status = hit ? GuessResult.Status.HIT : GuessResult.Status.MISS;
+                accepted(player, Character.toString(dictionary.getAlphabet().letterOf(symbol)), status, next);
+                return status;
+            }
+            contendedGuesses.increment();
+        }
+    }
+
+    /**
+     * Guesses the whole word on behalf of a player. A right guess reveals every letter and wins the game; a wrong
+     * guess of a dictionary word counts as a wrong guess.
+     *
+     * @param player The player making the guess.
+     * @param word   The guessed word, written as the dictionary's alphabet writes it.
+     * @return HIT or MISS if the guess was accepted, INVALID if it is not made of letters, UNKNOWN_WORD if it is
+     *         not a word of the dictionary, or GAME_OVER if the game has ended or the room is closed.
+     */
+    public GuessResult.Status guessWord(String player, CharSequence word) {
+        if (!dictionary.contains(word)) {
+            if (GameMetrics.ENABLED) {
+                GameMetrics.global().invalidInput();
+            }
+            boolean letters = word.length() > 0 && word.codePoints().allMatch(Character::isAlphabetic);
+            return letters ? GuessResult.Status.UNKNOWN_WORD : GuessResult.Status.INVALID;
+        }
+        boolean hit = dictionary.matches(wordIndex, word);
+        for (long current = state.get(); ; current = state.get()) {
+            if (isClosedOrOver(current)) {
+                return GuessResult.Status.GAME_OVER;
+            }
+            long next = hit ? (current | wordMask) + sequenceOne() : current + sequenceOne() + wrongOne();
+            if (state.compareAndSet(current, next)) {
+                GuessResult.Status status = hit ? GuessResult.Status.HIT : GuessResult.Status.MISS;
+                accepted(player, word.toString(), status, next);
+                return status;
+            }
+            contendedGuesses.increment();
+        }
+    }
+
+    /**
+     * Subscribes to the events of the room. Each subscriber receives, in order, the batches of events published
+     * after it subscribed, and is completed when the game ends or the room is closed.
+     *
+     * @param subscriber The subscriber.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<RoomEvent>> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Gets the number of subscribers of the room.
+     *
+     * @return The subscriber count.
+     */
+    public int getSubscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    /**
+     * Gets the visible state of the word, with underscores for letters not yet guessed.
+     *
+     * @return The pattern.
+     */
+    public String getCurrentState() {
+        return patternOf(state.get());
+    }
+
+    /**
+     * Gets the letters guessed so far, as a bit mask over the dictionary's alphabet.
+     *
+     * @return The guessed letter mask.
+     */
+    public long getGuessedMask() {
+        return guessedMask(state.get());
+    }
+
+    /**
+     * Gets the number of wrong guesses so far.
+     *
+     * @return The wrong guess count.
+     */
+    public int getWrongGuesses() {
+        return wrongGuesses(state.get());
+    }
+
+    /**
+     * Gets the number of accepted guesses so far, which is also the sequence number of the latest event.
+     *
+     * @return The accepted guess count.
+     */
+    public int getAcceptedGuesses() {
+        return sequence(state.get());
+    }
+
+    /**
+     * Gets the score of the room.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return score(state.get());
+    }
+
+    /**
+     * Checks whether the game has been won.
+     *
+     * @return true if every letter of the word has been guessed.
+     */
+    public boolean isGameWon() {
+        return isWon(state.get());
+    }
+
+    /**
+     * Checks whether the game has been lost.
+     *
+     * @return true if the room has used up its wrong guesses.
+     */
+    public boolean isGameLost() {
+        return isLost(state.get());
+    }
+
+    /**
+     * Gets the player who won the game. The winner is set right after the winning guess is installed, so a
+     * thread seeing the game won may briefly still see no winner; the winning event always names the player.
+     *
+     * @return The winner, or null if the game has not been won.
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the secret word.
+     *
+     * @return The secret word.
+     */
+    public String getSecretWord() {
+        return dictionary.get(wordIndex);
+    }
+
+    /**
+     * Gets the number of guesses that had to retry because another guess changed the state first, a measure of
+     * how hot the room is.
+     *
+     * @return The contended guess count.
+     */
+    public long getContendedGuesses() {
+        return contendedGuesses.sum();
+    }
+
+    /**
+     * Stops accepting guesses. Events of guesses already accepted are still published, after which the
+     * subscribers are completed. Calling this method again has no effect.
+     */
+    @Override
+    public void close() {
+        for (long current = state.get(); (current & CLOSED) == 0; current = state.get()) {
+            if (state.compareAndSet(current, current | CLOSED)) {
+                closedSequence = sequence(current);
+                enqueue(closeMarker);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Queues the event of an accepted guess, recording the winner and counting the game if the guess ended it.
+     *
+     * @param player The player who made the guess.
+     * @param guess  The guessed letter or word.
+     * @param status The outcome of the guess.
+     * @param next   The state installed by the guess.
+     */
+    private void accepted(String player, String guess, GuessResult.Status status, long next) {
+        boolean won = isWon(next);
+        if (won) {
+            winner = player;
+        }
+        if (GameMetrics.ENABLED && (won || isLost(next))) {
+            GameMetrics.global().gameEnded(won, sequence(next));
+        }
+        enqueue(new RoomEvent(sequence(next), player, guess, status, next, this));
+    }
+
+    /**
+     * Adds an event to the queue and schedules the drain if the queue was empty. An event is counted only after
+     * it is queued, so the drain always finds as many events as it has counted.
+     *
+     * @param event The event.
+     */
+    private void enqueue(RoomEvent event) {
+        events.offer(event);
+        if (pending.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                state.getAndAccumulate(CLOSED, (current, closed) -> current | closed);
+                publisher.closeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Publishes the queued events until the queue is empty. Events are put back in sequence order, and those
+     * whose predecessors have all been published go out together as one batch; an event that overtook an
+     * earlier one waits for the guess of the earlier one to queue it, which schedules the drain again. After the
+     * close marker, the subscribers are completed as soon as every guess accepted before the close is published.
+     */
+    private void drain() {
+        for (int count = pending.get(); count != 0; count = pending.addAndGet(-count)) {
+            for (int i = 0; i < count; i++) {
+                RoomEvent event = events.poll();
+                if (event == closeMarker) {
+                    closing = true;
+                } else {
+                    reorder[event.getSequence()] = event;
+                }
+            }
+            List<RoomEvent> batch = null;
+            while (nextSequence < reorder.length && reorder[nextSequence] != null) {
+                if (batch == null) {
+                    batch = new ArrayList<>();
+                }
+                batch.add(reorder[nextSequence]);
+                reorder[nextSequence++] = null;
+            }
+            if (batch != null && !publisher.isClosed()) {
+                RoomEvent last = batch.get(batch.size() - 1);
+                publisher.submit(List.copyOf(batch));
+                if (last.isWinningGuess() || last.isLosingGuess()) {
+                    publisher.close();
+                }
+            }
+            if (closing && nextSequence > closedSequence) {
+                publisher.close();
+            }
+        }
+    }
+
+    /**
+     * Builds the visible state of the word for a packed state.
+     *
+     * @param state The packed state.
+     * @return The pattern, with underscores for letters not yet guessed.
+     */
+    String patternOf(long state) {
+        long guessed = guessedMask(state);
+        Alphabet alphabet = dictionary.getAlphabet();
+        StringBuilder pattern = new StringBuilder(dictionary.length(wordIndex));
+        for (int i = 0, length = dictionary.length(wordIndex); i < length; i++) {
+            int symbol = dictionary.letterAt(wordIndex, i);
+            if ((guessed & 1L << symbol) != 0) {
+                pattern.appendCodePoint(alphabet.letterOf(symbol));
+            } else {
+                pattern.append('_');
+            }
+        }
+        return pattern.toString();
+    }
+
+    /**
+     * Gets the guessed letter mask of a packed state.
+     *
+     * @param state The packed state.
+     * @return The guessed letter mask.
+     */
+    long guessedMask(long state) {
+        return state & ((1L << wrongShift) - 1);
+    }
+
+    /**
+     * Checks whether a packed state has every letter of the word guessed.
+     *
+     * @param state The packed state.
+     * @return true if the game is won.
+     */
+    boolean isWon(long state) {
+        return (wordMask & ~state) == 0;
+    }
+
+    /**
+     * Gets the number of wrong guesses of a packed state.
+     *
+     * @param state The packed state.
+     * @return The wrong guess count.
+     */
+    int wrongGuesses(long state) {
+        return (int) (state >>> wrongShift) & ((1 << WRONG_GUESS_BITS) - 1);
+    }
+
+    /**
+     * Checks whether a packed state has used up its wrong guesses.
+     *
+     * @param state The packed state.
+     * @return true if the game is lost.
+     */
+    boolean isLost(long state) {
+        return wrongGuesses(state) >= GlobalReference.MAX_TRIES;
+    }
+
+    /**
+     * Gets the score of a packed state.
+     *
+     * @param state The packed state.
+     * @return The score.
+     */
+    int score(long state) {
+        return GlobalReference.MAX_SCORE - wrongGuesses(state) * GlobalReference.ERROR_PENALTY_SCORE;
+    }
+
+    /**
+     * Gets the number of accepted guesses of a packed state.
+     *
+     * @param state The packed state.
+     * @return The accepted guess count.
+     */
+    private int sequence(long state) {
+        return (int) (state >>> sequenceShift) & ((1 << SEQUENCE_BITS) - 1);
+    }
+
+    /**
+     * Checks whether a packed state refuses guesses, because the room is closed or the game is over.
+     *
+     * @param state The packed state.
+     * @return true if the room is closed or the game is won or lost.
+     */
+    private boolean isClosedOrOver(long state) {
+        return (state & CLOSED) != 0 || isWon(state) || isLost(state);
+    }
+
+    /**
+     * Gets the amount added to a packed state by one more wrong guess.
+     *
+     * @return The wrong guess increment.
+     */
+    private long wrongOne() {
+        return 1L << wrongShift;
+    }
+
+    /**
+     * Gets the amount added to a packed state by one more accepted guess.
+     *
+     * @return The accepted guess increment.
+     */
+    private long sequenceOne() {
+        return 1L << sequenceShift;
+    }
+}
@@ -0,0 +1,166 @@
+package hangman.game.room;
+
+import hangman.game.GuessResult;
+
+/**
+ * The RoomEvent class records one accepted guess in a {@link GameRoom}: who made it, what it was, and the state
+ * of the room right after it. Events are numbered from 1 in the order their guesses took effect, so the events
+ * of a room, taken in order, replay the game exactly. An event is immutable and can be kept after the room has
+ * moved on; the secret word is only revealed by events that end the game.
+ */
+public final class RoomEvent {
+
+    // The position of the guess among the accepted guesses of the room, from 1.
+    private final int sequence;
+
+    // The player who made the guess.
+    private final String player;
+
+    // The guessed letter or word.
+    private final String guess;
+
+    // The outcome of the guess, HIT or MISS.
+    private final GuessResult.Status status;
+
+    // The packed state of the room right after the guess.
+    private final long state;
+
+    // The room the guess was made in.
+    private final GameRoom room;
+
+    // The visible state of the word, built on first use; a race only builds the same String twice.
+    private String pattern;
+
+    /**
+     * Constructs a RoomEvent.
+     *
+     * @param sequence The position of the guess among the accepted guesses.
+     * @param player   The player who made the guess.
+     * @param guess    The guessed letter or word.
+     * @param status   The outcome of the guess.
+     * @param state    The packed state of the room after the guess.
+     * @param room     The room.
+     */
+    RoomEvent(int sequence, String player, String guess, GuessResult.Status status, long state, GameRoom room) {
+        this.sequence = sequence;
+        this.player = player;
+        this.guess = guess;
+        this.status = status;
+        this.state = state;
+        this.room = room;
+    }
+
+    /**
+     * Gets the position of the guess among the accepted guesses of the room.
+     *
+     * @return The sequence number, from 1.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the player who made the guess.
+     *
+     * @return The player's name.
+     */
+    public String getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the guessed letter or word.
+     *
+     * @return The guess.
+     */
+    public String getGuess() {
+        return guess;
+    }
+
+    /**
+     * Gets the outcome of the guess.
+     *
+     * @return HIT if the guess revealed letters or the word, otherwise MISS.
+     */
+    public GuessResult.Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the visible state of the word after the guess, with underscores for letters not yet guessed.
+     *
+     * @return The pattern.
+     */
+    public String getPattern() {
+        String built = pattern;
+        if (built == null) {
+            built = room.patternOf(state);
+            pattern = built;
+        }
+        return built;
+    }
+
+    /**
+     * Gets the letters guessed after the guess, as a bit mask over the dictionary's alphabet.
+     *
+     * @return The guessed letter mask.
+     */
+    public long getGuessedMask() {
+        return room.guessedMask(state);
+    }
+
+    /**
+     * Gets the number of wrong guesses after the guess.
+     *
+     * @return The wrong guess count.
+     */
+    public int getWrongGuesses() {
+        return room.wrongGuesses(state);
+    }
+
+    /**
+     * Gets the score of the room after the guess.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return room.score(state);
+    }
+
+    /**
+     * Checks whether the guess won the game, which makes its player the winner of the room.
+     *
+     * @return true if the guess completed the word.
+     */
+    public boolean isWinningGuess() {
+        return room.isWon(state);
+    }
+
+    /**
+     * Checks whether the guess lost the game.
+     *
+     * @return true if the guess was the last wrong guess allowed.
+     */
+    public boolean isLosingGuess() {
+        return room.isLost(state);
+    }
+
+    /**
+     * Gets the secret word if the guess ended the game.
+     *
+     * @return The secret word, or null while the game goes on.
+     */
+    public String getSecretWord() {
+        return isWinningGuess() || isLosingGuess() ? room.getSecretWord() : null;
+    }
+
+    /**
+     * Describes the event for logs.
+     *
+     * @return The description.
+     */
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + player + " " + guess + " " + status + " " + getPattern();
+    }
+}
@@ -0,0 +1,119 @@
+package hangman.game.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * The ShuffledWordSelector class picks words without repetition: every word is played once before any word
+ * is played again. The order is a Fisher-Yates shuffle performed one step per pick, so a pick costs a single
+ * random number and a swap rather than a shuffle of the whole dictionary up front. Once every word has been
+ * picked, the next cycle continues shuffling the same permutation. A selector may also cycle through a subset
+ * of the dictionary, such as the words of one difficulty level.
+ */
+public class ShuffledWordSelector implements WordSelector {
+
+    // The word indices; the first remaining entries are the words not yet picked in the current cycle.
+    private final int[] order;
+
+    // The number of words of the dictionary the picked indices belong to.
+    private final int size;
+
+    // The number of words not yet picked in the current cycle.
+    private int remaining;
+
+    // The random stream driving the shuffle.
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a selector with an unpredictable seed.
+     *
+     * @param size The number of words to pick from.
+     */
+    public ShuffledWordSelector(int size) {
+        this(size, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a selector that picks the same sequence of words for the same seed.
+     *
+     * @param size The number of words to pick from.
+     * @param seed The seed of the random stream.
+     */
+    public ShuffledWordSelector(int size, long seed) {
+        this(size, new SplittableRandom(seed));
+    }
+
+    /**
+     * Constructs a selector that cycles through a subset of a dictionary, picking the same sequence of
+     * words for the same seed.
+     *
+     * @param words The dictionary indices of the words to pick from; the array is copied.
+     * @param size  The number of words of the dictionary.
+     * @param seed  The seed of the random stream.
+     * @throws IllegalArgumentException if there is no word to pick or a word is outside the dictionary.
+     */
+    public ShuffledWordSelector(int[] words, int size, long seed) {
+        if (words.length == 0) {
+            throw new IllegalArgumentException("A word selector needs at least one word.");
+        }
+        for (int word : words) {
+            if (word < 0 || word >= size) {
+                throw new IllegalArgumentException("Word index " + word + " is outside the dictionary.");
+            }
+        }
+        this.order = words.clone();
+        this.size = size;
+        this.remaining = words.length;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Constructs a selector over a random stream.
+     *
+     * @param size   The number of words to pick from.
+     * @param random The random stream.
+     * @throws IllegalArgumentException if there is no word to pick.
+     */
+    private ShuffledWordSelector(int size, SplittableRandom random) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("A word selector needs at least one word.");
+        }
+        this.order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        this.size = size;
+        this.remaining = size;
+        this.random = random;
+    }
+
+    /**
+     * Picks a word not yet picked in the current cycle, swapping it behind the remaining ones.
+     *
+     * @return The dictionary index of the word.
+     */
+    @Override
+    public synchronized int nextIndex() {
+        if (remaining == 0) {
+            remaining = order.length;
+        }
+        int pick = random.nextInt(remaining);
+        int word = order[pick];
+        order[pick] = order[--remaining];
+        order[remaining] = word;
+        return word;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of words still to be picked before the current cycle ends.
+     *
+     * @return The remaining word count.
+     */
+    public synchronized int getRemaining() {
+        return remaining;
+    }
+}
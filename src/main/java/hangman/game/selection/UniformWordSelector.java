@@ -0,0 +1,60 @@
+package hangman.game.selection;
+
+import java.util.SplittableRandom;
+
+/**
+ * The UniformWordSelector class picks every word with the same probability, with replacement, so a word
+ * may come up again before the others have all been played.
+ */
+public class UniformWordSelector implements WordSelector {
+
+    // The number of words to pick from.
+    private final int size;
+
+    // The random stream the words are drawn from, guarded by this selector.
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a selector with an unpredictable seed.
+     *
+     * @param size The number of words to pick from.
+     */
+    public UniformWordSelector(int size) {
+        this(size, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a selector that picks the same sequence of words for the same seed.
+     *
+     * @param size The number of words to pick from.
+     * @param seed The seed of the random stream.
+     */
+    public UniformWordSelector(int size, long seed) {
+        this(size, new SplittableRandom(seed));
+    }
+
+    /**
+     * Constructs a selector over a random stream.
+     *
+     * @param size   The number of words to pick from.
+     * @param random The random stream.
+     * @throws IllegalArgumentException if there is no word to pick.
+     */
+    private UniformWordSelector(int size, SplittableRandom random) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("A word selector needs at least one word.");
+        }
+        this.size = size;
+        this.random = random;
+    }
+
+    @Override
+    public synchronized int nextIndex() {
+        return random.nextInt(size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,153 @@
+package hangman.game.selection;
+
+import hangman.utils.PackedDictionary;
+
+import java.util.SplittableRandom;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The WeightedWordSelector class picks words with probability proportional to a weight per word, for example
+ * to favour easy words for beginners or to play only the words of one category. It uses Vose's alias method:
+ * building the table is linear in the number of words, and every pick takes two random numbers and one table
+ * lookup, however skewed the weights are. Words with weight 0 are never picked.
+ */
+public class WeightedWordSelector implements WordSelector {
+
+    // The probability of keeping the column picked, rather than taking its alias.
+    private final double[] probability;
+
+    // The word each column falls back to.
+    private final int[] alias;
+
+    // The random stream the words are drawn from, guarded by this selector.
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a selector for the given weights.
+     *
+     * @param weights The weight of every word, indexed by dictionary index.
+     * @param seed    The seed of the random stream.
+     * @throws IllegalArgumentException if a weight is negative or not finite, or every weight is 0.
+     */
+    public WeightedWordSelector(double[] weights, long seed) {
+        int size = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Word weights must be finite and not negative: " + weight);
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one word must have a positive weight.");
+        }
+        this.probability = new double[size];
+        this.alias = new int[size];
+        this.random = new SplittableRandom(seed);
+
+        // Scale the weights to an average of 1, then pair every column below 1 with one above it.
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is full up to rounding error.
+        while (largeCount > 0) {
+            int column = large[--largeCount];
+            probability[column] = 1;
+            alias[column] = column;
+        }
+        while (smallCount > 0) {
+            int column = small[--smallCount];
+            probability[column] = 1;
+            alias[column] = column;
+        }
+    }
+
+    /**
+     * Creates a selector weighting every word of a dictionary by a function of its index, such as a difficulty score.
+     *
+     * @param dictionary The dictionary to pick from.
+     * @param weightOf   The weight of the word at a dictionary index.
+     * @param seed       The seed of the random stream.
+     * @return The selector.
+     */
+    public static WeightedWordSelector forDictionary(PackedDictionary dictionary, IntToDoubleFunction weightOf,
+                                                     long seed) {
+        double[] weights = new double[dictionary.size()];
+        for (int word = 0; word < weights.length; word++) {
+            weights[word] = weightOf.applyAsDouble(word);
+        }
+        return new WeightedWordSelector(weights, seed);
+    }
+
+    /**
+     * Creates a selector weighting the words of a dictionary by category: a category is picked with probability
+     * proportional to its weight, however many words it has, and then any of its words equally likely. A word's
+     * category is any small non-negative number, such as its length.
+     *
+     * @param dictionary      The dictionary to pick from.
+     * @param categoryOf      The category of the word at a dictionary index.
+     * @param categoryWeights The weight of each category, shared by its words; words of a category past the end
+     *                        of the array are never picked.
+     * @param seed            The seed of the random stream.
+     * @return The selector.
+     * @throws IllegalArgumentException if a weight is negative or not finite, or no word is in a category with
+     *                                  a positive weight.
+     */
+    public static WeightedWordSelector byCategory(PackedDictionary dictionary, IntUnaryOperator categoryOf,
+                                                  double[] categoryWeights, long seed) {
+        int[] categories = new int[dictionary.size()];
+        int[] sizes = new int[categoryWeights.length];
+        for (int word = 0; word < categories.length; word++) {
+            int category = categoryOf.applyAsInt(word);
+            categories[word] = category >= 0 && category < sizes.length ? category : -1;
+            if (categories[word] >= 0) {
+                sizes[category]++;
+            }
+        }
+        double[] weights = new double[categories.length];
+        for (int word = 0; word < weights.length; word++) {
+            int category = categories[word];
+            weights[word] = category < 0 ? 0 : categoryWeights[category] / sizes[category];
+        }
+        return new WeightedWordSelector(weights, seed);
+    }
+
+    @Override
+    public int nextIndex() {
+        int column;
+        double coin;
+        synchronized (this) {
+            column = random.nextInt(probability.length);
+            coin = random.nextDouble();
+        }
+        return coin < probability[column] ? column : alias[column];
+    }
+
+    @Override
+    public int size() {
+        return probability.length;
+    }
+}
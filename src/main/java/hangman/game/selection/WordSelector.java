@@ -0,0 +1,23 @@
+package hangman.game.selection;
+
+/**
+ * The WordSelector interface is the strategy a game uses to pick the dictionary index of its next secret word.
+ * Implementations are seeded, so a sequence of games can be reproduced, and thread-safe, so a single selector
+ * can be shared by every session of a {@link hangman.game.session.GameSessionManager}.
+ */
+public interface WordSelector {
+
+    /**
+     * Picks the next secret word.
+     *
+     * @return The dictionary index of the word, between 0 and {@link #size()} - 1.
+     */
+    int nextIndex();
+
+    /**
+     * Gets the number of words the selector picks from, which must match the size of the dictionary it is used with.
+     *
+     * @return The number of words.
+     */
+    int size();
+}
@@ -0,0 +1,100 @@
+package hangman.game.session;
+
+import hangman.game.HangmanGameLogic;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The GameSession class binds an independent hangman game to the session id of the player who owns it.
+ * It also remembers when the session was last accessed and how many callers currently hold it, which the
+ * {@link GameSessionManager} uses to evict sessions that have been idle for too long and are not in use.
+ */
+public class GameSession {
+
+    // The unique id of this session.
+    private final long id;
+
+    // The game played in this session.
+    private final HangmanGameLogic game;
+
+    // The System.nanoTime() value of the most recent access to this session.
+    private volatile long lastAccessNanos;
+
+    // The number of callers holding this session, which is never idle while any does.
+    private final AtomicInteger holders = new AtomicInteger();
+
+    /**
+     * Constructs a GameSession for the given id and game, marking it as accessed now.
+     *
+     * @param id   The unique id of the session.
+     * @param game The game played in this session.
+     */
+    GameSession(long id, HangmanGameLogic game) {
+        this.id = id;
+        this.game = game;
+        this.lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * Records an access to this session, postponing its idle eviction.
+     */
+    void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * Records an access to this session by a caller that holds it until {@link #release()}.
+     */
+    void acquire() {
+        holders.incrementAndGet();
+        touch();
+    }
+
+    /**
+     * Lets go of this session, recording the access first so the idle time counts from the end of the use.
+     */
+    void release() {
+        touch();
+        holders.decrementAndGet();
+    }
+
+    /**
+     * Checks whether the session is held by no caller and has not been accessed for at least the given amount
+     * of time.
+     *
+     * @param nowNanos        The current System.nanoTime() value.
+     * @param idleTimeoutNanos The idle time, in nanoseconds, after which a session counts as idle.
+     * @return true if the session is idle, false otherwise.
+     */
+    boolean isIdle(long nowNanos, long idleTimeoutNanos) {
+        return holders.get() == 0 && nowNanos - lastAccessNanos >= idleTimeoutNanos;
+    }
+
+    /**
+     * Gets the unique id of this session.
+     *
+     * @return The session id.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the game played in this session. A game is not thread-safe, so it should only be
+     * driven by one thread at a time, normally the one serving the owning player.
+     *
+     * @return The game of this session.
+     */
+    public HangmanGameLogic getGame() {
+        return game;
+    }
+
+    /**
+     * Gets the System.nanoTime() value of the most recent access to this session.
+     *
+     * @return The last access time in nanoseconds.
+     */
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+}
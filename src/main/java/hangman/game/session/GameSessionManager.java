@@ -0,0 +1,552 @@
+package hangman.game.session;
+
+import hangman.game.HangmanGameLogic;
+import hangman.game.dictionary.DictionaryRegistry;
+import hangman.game.journal.GameJournal;
+import hangman.game.selection.WordSelector;
+import hangman.utils.PackedDictionary;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The GameSessionManager class hosts many independent hangman games in a single JVM, one per session id.
+ * Sessions are kept in a concurrent hash map so lookups never block and updates only contend on a single bin.
+ * Games of closed or evicted sessions are returned to a lock-free pool and reset for the next session,
+ * and sessions that have been idle for longer than the configured timeout can be evicted periodically. Eviction
+ * skips the sessions held through {@link #acquireSession(long)}, so a caller playing on a game while eviction
+ * runs on another thread should hold its session for the duration and let go of it with
+ * {@link #releaseSession(GameSession)}.
+ * When a {@link GameJournal} is configured, every game records its events under its session id, so the
+ * sessions in flight can be restored after a restart. When a shared {@link WordSelector} is set, every session
+ * picks its words from it, so for example no two sessions play the same word until the dictionary runs out.
+ * New sessions play on the current snapshot of a {@link DictionaryRegistry}, so when the registry reloads its
+ * dictionary, running sessions finish on their old words while new sessions get the new ones; pooled games
+ * of an older dictionary are dropped instead of being reused.
+ * Sessions can also be parked: the state of the game is packed into a single long (see {@link PackedGameState})
+ * and kept in a {@link ParkedGameTable}, while the game object goes back to the pool. A parked session takes a
+ * few dozen bytes and no object of its own, so millions of them can wait for their players, and looking one up
+ * unpacks it into a game again, transparently to the caller. Idle sessions can be parked instead of evicted.
+ */
+public class GameSessionManager implements AutoCloseable {
+
+    // The active sessions, keyed by session id.
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+
+    // Games released by closed sessions, ready to be reused by new sessions.
+    private final ConcurrentLinkedQueue<HangmanGameLogic> pool = new ConcurrentLinkedQueue<>();
+
+    // The number of games currently held in the pool.
+    private final AtomicInteger pooledGames = new AtomicInteger();
+
+    // The source of unique session ids.
+    private final AtomicLong nextSessionId = new AtomicLong();
+
+    // The idle time, in nanoseconds, after which a session may be evicted.
+    private final long idleTimeoutNanos;
+
+    // The maximum number of games kept in the pool.
+    private final int maxPooledGames;
+
+    // The journal recording the events of every session, or null if games are not journaled.
+    private final GameJournal journal;
+
+    // The selector shared by the games of new sessions, or null if every game picks its words on its own.
+    private volatile WordSelector wordSelector;
+
+    // The registry whose current dictionary the games of new sessions play with.
+    private volatile DictionaryRegistry dictionaryRegistry = DictionaryRegistry.global();
+
+    // The parked sessions of each dictionary, with the codec of its games.
+    private final ConcurrentHashMap<PackedDictionary, ParkedGames> parked = new ConcurrentHashMap<>();
+
+    // Whether idle sessions are parked rather than closed by eviction.
+    private volatile boolean parkIdleSessions;
+
+    // The background executor running periodic eviction, or null if eviction is not scheduled.
+    private ScheduledExecutorService evictor;
+
+    /**
+     * Constructs a GameSessionManager with the given idle timeout and pool capacity.
+     *
+     * @param idleTimeout    The time a session may stay unused before it becomes eligible for eviction.
+     * @param maxPooledGames The maximum number of released games kept for reuse.
+     */
+    public GameSessionManager(Duration idleTimeout, int maxPooledGames) {
+        this(idleTimeout, maxPooledGames, null);
+    }
+
+    /**
+     * Constructs a GameSessionManager that records the events of every session in a journal.
+     *
+     * @param idleTimeout    The time a session may stay unused before it becomes eligible for eviction.
+     * @param maxPooledGames The maximum number of released games kept for reuse.
+     * @param journal        The journal to record game events in, or null to keep games in memory only.
+     */
+    public GameSessionManager(Duration idleTimeout, int maxPooledGames, GameJournal journal) {
+        if (idleTimeout.isNegative() || maxPooledGames < 0) {
+            throw new IllegalArgumentException("Idle timeout and pool size must not be negative.");
+        }
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.maxPooledGames = maxPooledGames;
+        this.journal = journal;
+    }
+
+    /**
+     * Creates a new session with a fresh game, reusing a pooled game when one is available.
+     *
+     * @return The newly created session.
+     */
+    public GameSession createSession() {
+        long id = nextSessionId.incrementAndGet();
+        PackedDictionary dictionary = dictionaryRegistry.getDictionary();
+        HangmanGameLogic pooledGame = pollPooledGame(dictionary);
+        HangmanGameLogic game = prepareGame(pooledGame, dictionary);
+        if (journal != null) {
+            game.setEventListener(journal.listener(id));
+        }
+        // A fresh game already has a new word, but resetting after attaching the listener journals it.
+        if (pooledGame != null || journal != null) {
+            game.resetGame();
+        }
+        GameSession session = new GameSession(id, game);
+        sessions.put(id, session);
+        return session;
+    }
+
+    /**
+     * Sets the selector the games of new sessions pick their secret words from. The selector must be
+     * thread-safe, as every session draws from it concurrently.
+     *
+     * @param wordSelector The shared selector over the current dictionary, or null to let every game pick
+     *                     its words on its own. The selector is ignored once the registry has moved on to
+     *                     a dictionary of another size, so it is best replaced from a registry listener.
+     */
+    public void setWordSelector(WordSelector wordSelector) {
+        this.wordSelector = wordSelector;
+    }
+
+    /**
+     * Sets the registry whose current dictionary the games of new sessions play with.
+     *
+     * @param dictionaryRegistry The registry, by default the {@link DictionaryRegistry#global() global} one.
+     */
+    public void setDictionaryRegistry(DictionaryRegistry dictionaryRegistry) {
+        this.dictionaryRegistry = dictionaryRegistry;
+    }
+
+    /**
+     * Gets the registry whose current dictionary the games of new sessions play with.
+     *
+     * @return The dictionary registry.
+     */
+    public DictionaryRegistry getDictionaryRegistry() {
+        return dictionaryRegistry;
+    }
+
+    /**
+     * Restores sessions under their original ids, such as the games returned by
+     * {@link GameJournal#recover(java.nio.file.Path, hangman.utils.PackedDictionary)} after a restart.
+     * New sessions are given ids above every restored one.
+     *
+     * @param games The games to restore, keyed by session id.
+     */
+    public void restoreSessions(Map<Long, HangmanGameLogic> games) {
+        for (Map.Entry<Long, HangmanGameLogic> entry : games.entrySet()) {
+            long id = entry.getKey();
+            HangmanGameLogic game = entry.getValue();
+            if (journal != null) {
+                game.setEventListener(journal.listener(id));
+            }
+            sessions.put(id, new GameSession(id, game));
+            nextSessionId.accumulateAndGet(id, Math::max);
+        }
+    }
+
+    /**
+     * Looks up an active session by its id and records the access, postponing its idle eviction.
+     * A parked session is unpacked into a game and becomes active again under the same id. The session is not
+     * held, so once it has been idle for the timeout, eviction may close or park it and pool its game; a caller
+     * playing on the game while eviction runs on another thread should use {@link #acquireSession(long)}.
+     *
+     * @param sessionId The id of the session.
+     * @return The session, or null if no active or parked session has that id.
+     */
+    public GameSession getSession(long sessionId) {
+        return access(sessionId, false);
+    }
+
+    /**
+     * Looks up an active session by its id, like {@link #getSession(long)}, and holds it: eviction skips the
+     * session until every caller that acquired it has let go of it with {@link #releaseSession(GameSession)}.
+     * Closing or explicitly parking the session still does so.
+     *
+     * @param sessionId The id of the session.
+     * @return The held session, or null if no active or parked session has that id.
+     */
+    public GameSession acquireSession(long sessionId) {
+        return access(sessionId, true);
+    }
+
+    /**
+     * Lets go of a session held through {@link #acquireSession(long)}, which may be evicted again once it has
+     * been idle for the timeout. Every acquisition must be released once, normally in a finally block.
+     *
+     * @param session The held session.
+     */
+    public void releaseSession(GameSession session) {
+        session.release();
+    }
+
+    /**
+     * Closes a session and returns its game to the pool. A parked session is closed without being unpacked.
+     *
+     * @param sessionId The id of the session to close.
+     * @return true if the session was active or parked and has been closed, false otherwise.
+     */
+    public boolean closeSession(long sessionId) {
+        GameSession session = sessions.remove(sessionId);
+        if (session != null) {
+            release(session);
+            return true;
+        }
+        for (ParkedGames games : parked.values()) {
+            if (games.table.remove(sessionId) != PackedGameState.NO_STATE) {
+                if (journal != null) {
+                    journal.appendClose(sessionId);
+                }
+                retireIfDrained(games);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parks an active session: packs the state of its game into the parked session table and returns the game
+     * to the pool. The session is unpacked again by the next {@link #getSession(long)} with its id. Like a closed
+     * session, a parked session object must no longer be used; its id must be looked up again.
+     *
+     * @param sessionId The id of the session to park.
+     * @return true if the session was active and has been parked, false if it is not active or its game plays
+     * with a dictionary too large to be packed (see {@link PackedGameState#supports(PackedDictionary)}).
+     */
+    public boolean parkSession(long sessionId) {
+        GameSession session = sessions.get(sessionId);
+        return session != null && park(session, false);
+    }
+
+    /**
+     * Sets whether idle sessions are parked rather than closed by eviction. Games that cannot be packed are
+     * closed either way.
+     *
+     * @param parkIdleSessions true to park idle sessions, false to close them.
+     */
+    public void setParkIdleSessions(boolean parkIdleSessions) {
+        this.parkIdleSessions = parkIdleSessions;
+    }
+
+    /**
+     * Evicts every session that is not held and has not been accessed within the idle timeout, returning their
+     * games to the pool.
+     * Evicted sessions are closed, or parked if {@link #setParkIdleSessions(boolean) idle parking} is enabled.
+     *
+     * @return The number of sessions evicted.
+     */
+    public int evictIdleSessions() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (GameSession session : sessions.values()) {
+            if (!session.isIdle(now, idleTimeoutNanos)) {
+                continue;
+            }
+            if (parkIdleSessions && PackedGameState.supports(session.getGame().getDictionary())) {
+                if (park(session, true)) {
+                    evicted++;
+                }
+            } else if (evict(session)) {
+                release(session);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Starts evicting idle sessions in the background at the given interval. Sessions held through
+     * {@link #acquireSession(long)} are skipped; a session only looked up with {@link #getSession(long)} may be
+     * evicted while its caller still plays on its game once it has been idle for the timeout.
+     * Calling this method again has no effect while eviction is already scheduled.
+     *
+     * @param interval The time between two eviction runs.
+     */
+    public synchronized void startEviction(Duration interval) {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hangman-session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = interval.toNanos();
+        evictor.scheduleAtFixedRate(this::evictIdleSessions, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of active sessions.
+     *
+     * @return The active session count.
+     */
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets the number of parked sessions.
+     *
+     * @return The parked session count.
+     */
+    public int getParkedSessionCount() {
+        int count = 0;
+        for (ParkedGames games : parked.values()) {
+            count += games.table.size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of games currently waiting in the pool.
+     *
+     * @return The pooled game count.
+     */
+    public int getPooledGameCount() {
+        return pooledGames.get();
+    }
+
+    /**
+     * Stops background eviction. Active sessions are left untouched.
+     */
+    @Override
+    public synchronized void close() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+    }
+
+    /**
+     * Takes a game from the pool that plays with the given dictionary. Pooled games of an older dictionary
+     * are dropped along the way, so a reload drains them as new sessions are created.
+     *
+     * @param dictionary The dictionary of the current snapshot.
+     * @return A pooled game playing with the dictionary, or null if there is none.
+     */
+    private HangmanGameLogic pollPooledGame(PackedDictionary dictionary) {
+        for (HangmanGameLogic game = pool.poll(); game != null; game = pool.poll()) {
+            pooledGames.decrementAndGet();
+            if (game.getDictionary() == dictionary) {
+                return game;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gives a game the shared word selector if it suits the dictionary, creating the game if none was pooled.
+     *
+     * @param pooledGame The game taken from the pool, or null to create one.
+     * @param dictionary The dictionary of the game.
+     * @return The game, ready to be reset or restored.
+     */
+    private HangmanGameLogic prepareGame(HangmanGameLogic pooledGame, PackedDictionary dictionary) {
+        WordSelector selector = wordSelector;
+        if (selector != null && selector.size() != dictionary.size()) {
+            // The selector was made for another dictionary; its games pick on their own until a new one is set.
+            selector = null;
+        }
+        if (pooledGame != null) {
+            if (selector != null) {
+                pooledGame.setWordSelector(selector);
+            }
+            return pooledGame;
+        }
+        return selector != null ? new HangmanGameLogic(dictionary, selector) : new HangmanGameLogic(dictionary);
+    }
+
+    /**
+     * Parks a session if it is still the active one under its id, and, when evicting, still idle.
+     * The state is in the parked table before the session leaves the active map, so a concurrent lookup
+     * always finds one or the other.
+     *
+     * @param session  The session to park, whose game can be packed.
+     * @param evicting true to park the session only if it is still idle.
+     * @return true if the session has been parked.
+     */
+    private boolean park(GameSession session, boolean evicting) {
+        HangmanGameLogic game = session.getGame();
+        PackedDictionary dictionary = game.getDictionary();
+        if (!PackedGameState.supports(dictionary)) {
+            return false;
+        }
+        boolean[] done = new boolean[1];
+        sessions.computeIfPresent(session.getId(), (id, current) -> {
+            if (current != session || evicting && !current.isIdle(System.nanoTime(), idleTimeoutNanos)) {
+                return current;
+            }
+            ParkedGames games = parked.computeIfAbsent(dictionary, ParkedGames::new);
+            long state = games.codec.pack(game);
+            // A retired table has just been dropped from the map, so the next lookup makes a new one.
+            while (!games.table.put(id, state)) {
+                games = parked.computeIfAbsent(dictionary, ParkedGames::new);
+            }
+            done[0] = true;
+            return null;
+        });
+        if (!done[0]) {
+            return false;
+        }
+        // The session is not closed, so its journal carries on when it is unparked, after the events buffered here.
+        if (journal != null) {
+            journal.detach(game.getEventListener());
+        }
+        game.setEventListener(null);
+        pool(game);
+        return true;
+    }
+
+    /**
+     * Removes an idle session, re-checking under the bin lock that it is still the session of its id and still
+     * idle, so an access made since the scan keeps the session.
+     *
+     * @param session The session found idle.
+     * @return true if the session has been removed.
+     */
+    private boolean evict(GameSession session) {
+        boolean[] removed = new boolean[1];
+        sessions.computeIfPresent(session.getId(), (id, current) -> {
+            if (current != session || !current.isIdle(System.nanoTime(), idleTimeoutNanos)) {
+                return current;
+            }
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Looks up a session, unparking it if needed, and records the access under the bin lock, which orders it
+     * with eviction and parking as they re-check idleness there. Only one thread unparks a session; the others
+     * wait on its bin and get the same session.
+     *
+     * @param sessionId The id of the session.
+     * @param acquire   true to hold the session, false to only record the access.
+     * @return The session, or null if no active or parked session has that id.
+     */
+    private GameSession access(long sessionId, boolean acquire) {
+        return sessions.compute(sessionId, (id, current) -> {
+            GameSession session = current != null || parked.isEmpty() ? current : unpark(id);
+            if (session != null) {
+                if (acquire) {
+                    session.acquire();
+                } else {
+                    session.touch();
+                }
+            }
+            return session;
+        });
+    }
+
+    /**
+     * Unpacks a parked session into a game, taking its state out of the parked table.
+     *
+     * @param sessionId The id of the session.
+     * @return The session, or null if no session is parked under the id.
+     */
+    private GameSession unpark(long sessionId) {
+        for (ParkedGames games : parked.values()) {
+            long state = games.table.remove(sessionId);
+            if (state == PackedGameState.NO_STATE) {
+                continue;
+            }
+            PackedDictionary dictionary = games.codec.getDictionary();
+            // Polling for an older dictionary would drop the pooled games of the current one.
+            HangmanGameLogic pooledGame = dictionary == dictionaryRegistry.getDictionary()
+                    ? pollPooledGame(dictionary) : null;
+            HangmanGameLogic game = prepareGame(pooledGame, dictionary);
+            games.codec.unpack(state, game);
+            if (journal != null) {
+                game.setEventListener(journal.listener(sessionId));
+            }
+            retireIfDrained(games);
+            return new GameSession(sessionId, game);
+        }
+        return null;
+    }
+
+    /**
+     * Drops the parked table of an older dictionary once its last session has left it, so the dictionary
+     * can be collected.
+     *
+     * @param games The parked sessions of a dictionary.
+     */
+    private void retireIfDrained(ParkedGames games) {
+        PackedDictionary dictionary = games.codec.getDictionary();
+        if (dictionary != dictionaryRegistry.getDictionary() && games.table.size() == 0
+                && games.table.retireIfEmpty()) {
+            parked.remove(dictionary, games);
+        }
+    }
+
+    /**
+     * Returns the game of a closed session to the pool unless the pool is already full, in which case the game
+     * is dropped. A journaled game stops recording, and the session is journaled as closed.
+     *
+     * @param session The closed session.
+     */
+    private void release(GameSession session) {
+        HangmanGameLogic game = session.getGame();
+        if (journal != null) {
+            journal.detach(game.getEventListener());
+            game.setEventListener(null);
+            journal.appendClose(session.getId());
+        }
+        pool(game);
+    }
+
+    /**
+     * Returns a game to the pool unless the pool is already full, in which case the game is dropped.
+     *
+     * @param game The game, no longer used by any session.
+     */
+    private void pool(HangmanGameLogic game) {
+        if (pooledGames.incrementAndGet() <= maxPooledGames) {
+            pool.offer(game);
+        } else {
+            pooledGames.decrementAndGet();
+        }
+    }
+
+    /**
+     * The parked sessions of one dictionary, with the codec packing their games.
+     */
+    private static final class ParkedGames {
+
+        // The codec of the games of the dictionary.
+        private final PackedGameState codec;
+
+        // The packed states of the parked sessions, keyed by session id.
+        private final ParkedGameTable table = new ParkedGameTable();
+
+        ParkedGames(PackedDictionary dictionary) {
+            this.codec = new PackedGameState(dictionary);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package hangman.game.session;
+
+import hangman.game.HangmanGameLogic;
+import hangman.utils.PackedDictionary;
+
+import static hangman.game.GlobalReference.ERROR_PENALTY_SCORE;
+import static hangman.game.GlobalReference.MAX_SCORE;
+import static hangman.game.GlobalReference.MAX_TRIES;
+
+/**
+ * The PackedGameState class packs the whole state of a {@link HangmanGameLogic} over one dictionary into a
+ * single long, so parked games can be kept by the million in primitive arrays instead of as objects.
+ * The low bits hold the guessed letter mask, one bit per letter of the alphabet (26 for English), the next
+ * bits the number of wrong guesses, and the high bits the dictionary index of the secret word; the score
+ * follows from the wrong guesses. Guesses of characters outside the alphabet are not kept, apart from the
+ * wrong guesses they caused. As the wrong guess count never reaches all ones, no state is ever -1, which
+ * leaves -1 free to mean "no state".
+ */
+public final class PackedGameState {
+
+    /**
+     * NO_STATE is a value that is never a packed state, used to report a missing one.
+     */
+    public static final long NO_STATE = -1L;
+
+    // The number of bits holding the wrong guess count.
+    private static final int WRONG_GUESS_BITS = Integer.SIZE - Integer.numberOfLeadingZeros(MAX_TRIES + 1);
+
+    // The dictionary of the games packed.
+    private final PackedDictionary dictionary;
+
+    // The number of bits holding the guessed letter mask, one per letter of the alphabet.
+    private final int maskBits;
+
+    /**
+     * Constructs a codec for the games of a dictionary.
+     *
+     * @param dictionary The dictionary of the games.
+     * @throws IllegalArgumentException if the alphabet and the dictionary are too large for a state to fit in a long.
+     */
+    public PackedGameState(PackedDictionary dictionary) {
+        if (!supports(dictionary)) {
+            throw new IllegalArgumentException("The games of a dictionary of " + dictionary.size() + " words over "
+                    + dictionary.getAlphabet().size() + " letters do not fit in a long.");
+        }
+        this.dictionary = dictionary;
+        this.maskBits = dictionary.getAlphabet().size();
+    }
+
+    /**
+     * Checks whether the states of a dictionary's games fit in a long: the bits of the guessed letter mask,
+     * the wrong guess count, and the word index must add up to 64 at most.
+     *
+     * @param dictionary The dictionary of the games.
+     * @return true if the games of the dictionary can be packed.
+     */
+    public static boolean supports(PackedDictionary dictionary) {
+        int indexBits = Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(0, dictionary.size() - 1));
+        return dictionary.getAlphabet().size() + WRONG_GUESS_BITS + indexBits <= Long.SIZE;
+    }
+
+    /**
+     * Gets the dictionary of the games packed.
+     *
+     * @return The dictionary.
+     */
+    public PackedDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Packs the state of a game.
+     *
+     * @param game The game, which must play with this codec's dictionary.
+     * @return The packed state.
+     * @throws IllegalArgumentException if the game plays with another dictionary.
+     */
+    public long pack(HangmanGameLogic game) {
+        if (game.getDictionary() != dictionary) {
+            throw new IllegalArgumentException("The game plays with another dictionary.");
+        }
+        return pack(game.getWordIndex(), game.getGuessedMask(), game.getWrongGuesses());
+    }
+
+    /**
+     * Packs the parts of a state.
+     *
+     * @param wordIndex    The dictionary index of the secret word.
+     * @param guessedMask  The guessed letters of the alphabet as a bit mask.
+     * @param wrongGuesses The number of wrong guesses, from 0 to the number of tries.
+     * @return The packed state.
+     */
+    public long pack(int wordIndex, long guessedMask, int wrongGuesses) {
+        return (long) wordIndex << (maskBits + WRONG_GUESS_BITS) | (long) wrongGuesses << maskBits | guessedMask;
+    }
+
+    /**
+     * Puts a game back into a packed state.
+     *
+     * @param state The packed state.
+     * @param game  The game, which must play with this codec's dictionary.
+     * @throws IllegalArgumentException if the game plays with another dictionary.
+     */
+    public void unpack(long state, HangmanGameLogic game) {
+        if (game.getDictionary() != dictionary) {
+            throw new IllegalArgumentException("The game plays with another dictionary.");
+        }
+        game.restore(wordIndex(state), guessedMask(state), wrongGuesses(state));
+    }
+
+    /**
+     * Gets the dictionary index of the secret word of a packed state.
+     *
+     * @param state The packed state.
+     * @return The word index.
+     */
+    public int wordIndex(long state) {
+        return (int) (state >>> (maskBits + WRONG_GUESS_BITS));
+    }
+
+    /**
+     * Gets the guessed letter mask of a packed state.
+     *
+     * @param state The packed state.
+     * @return The guessed letters of the alphabet as a bit mask.
+     */
+    public long guessedMask(long state) {
+        return state & ((1L << maskBits) - 1);
+    }
+
+    /**
+     * Gets the number of wrong guesses of a packed state.
+     *
+     * @param state The packed state.
+     * @return The wrong guess count.
+     */
+    public int wrongGuesses(long state) {
+        return (int) (state >>> maskBits) & ((1 << WRONG_GUESS_BITS) - 1);
+    }
+
+    /**
+     * Gets the score of a packed state.
+     *
+     * @param state The packed state.
+     * @return The score.
+     */
+    public int score(long state) {
+        return Math.max(0, MAX_SCORE - wrongGuesses(state) * ERROR_PENALTY_SCORE);
+    }
+}
@@ -0,0 +1,255 @@
+package hangman.game.session;
+
+/**
+ * The ParkedGameTable class maps session ids to packed game states (see {@link PackedGameState}) without
+ * creating an object per entry. Entries live in pairs of parallel long arrays, searched by open addressing with
+ * linear probing, so a parked game costs about 32 bytes and the garbage collector sees a handful of arrays no
+ * matter how many games are parked. The table is split into segments by the hash of the id, each guarded by its
+ * own lock and growing on its own, so threads parking and resuming different games rarely contend and a resize
+ * only ever copies one segment. Removal shifts the following entries back instead of leaving tombstones, so
+ * lookups stay short however many games come and go. A table that is no longer needed can be retired once it is
+ * empty, after which nothing can be parked in it, so its owner can drop it without losing a game parked meanwhile.
+ */
+public class ParkedGameTable {
+
+    // The number of segments, as a power of two.
+    private static final int SEGMENT_BITS = 4;
+
+    // The smallest number of slots of a segment.
+    private static final int MIN_CAPACITY = 16;
+
+    // The segments, picked by the high bits of the hash of an id.
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    // Whether the table has been retired; written holding the lock of every segment and read holding one.
+    private boolean retired;
+
+    /**
+     * Constructs an empty table.
+     */
+    public ParkedGameTable() {
+        this(0);
+    }
+
+    /**
+     * Constructs an empty table sized to hold the given number of games without growing.
+     *
+     * @param expectedGames The number of games expected to be parked at once.
+     */
+    public ParkedGameTable(int expectedGames) {
+        int perSegment = (int) Math.min(1 << 29, 2L * expectedGames >> SEGMENT_BITS);
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, perSegment) * 2 - 1));
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * Parks a game state under a session id, replacing any state parked under it before.
+     *
+     * @param sessionId The session id, which must not be 0.
+     * @param state     The packed state, which must not be {@link PackedGameState#NO_STATE}.
+     * @return true if the state has been parked, false if the table has been retired.
+     * @throws IllegalArgumentException if the id is 0 or the state is NO_STATE.
+     */
+    public boolean put(long sessionId, long state) {
+        if (sessionId == 0 || state == PackedGameState.NO_STATE) {
+            throw new IllegalArgumentException("Session id 0 and the state NO_STATE cannot be parked.");
+        }
+        long hash = hash(sessionId);
+        Segment segment = segmentOf(hash);
+        synchronized (segment) {
+            if (retired) {
+                return false;
+            }
+            segment.put(sessionId, state, (int) hash);
+            return true;
+        }
+    }
+
+    /**
+     * Gets the state parked under a session id.
+     *
+     * @param sessionId The session id.
+     * @return The packed state, or {@link PackedGameState#NO_STATE} if no game is parked under the id.
+     */
+    public long get(long sessionId) {
+        long hash = hash(sessionId);
+        Segment segment = segmentOf(hash);
+        synchronized (segment) {
+            return segment.get(sessionId, (int) hash);
+        }
+    }
+
+    /**
+     * Removes the state parked under a session id.
+     *
+     * @param sessionId The session id.
+     * @return The packed state, or {@link PackedGameState#NO_STATE} if no game was parked under the id.
+     */
+    public long remove(long sessionId) {
+        long hash = hash(sessionId);
+        Segment segment = segmentOf(hash);
+        synchronized (segment) {
+            return segment.remove(sessionId, (int) hash);
+        }
+    }
+
+    /**
+     * Retires the table if it is empty, so that no game can be parked in it any more.
+     *
+     * @return true if the table is retired, false if games are still parked in it.
+     */
+    public boolean retireIfEmpty() {
+        return retireIfEmpty(0);
+    }
+
+    /**
+     * Gets the number of parked games. Games parked or removed meanwhile may or may not be counted.
+     *
+     * @return The parked game count.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Takes the locks of the segments from the given one on, then retires the table if it is empty.
+     *
+     * @param segment The first segment whose lock is not held yet.
+     * @return true if the table is retired.
+     */
+    private boolean retireIfEmpty(int segment) {
+        if (segment == segments.length) {
+            retired = retired || size() == 0;
+            return retired;
+        }
+        synchronized (segments[segment]) {
+            return retireIfEmpty(segment + 1);
+        }
+    }
+
+    /**
+     * Scrambles a session id, so that consecutive ids spread over every segment and slot.
+     *
+     * @param sessionId The session id.
+     * @return The hash of the id.
+     */
+    private static long hash(long sessionId) {
+        long hash = (sessionId ^ (sessionId >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Picks the segment of a hash by its high bits, leaving the low bits to pick the slot.
+     *
+     * @param hash The hash of a session id.
+     * @return The segment.
+     */
+    private Segment segmentOf(long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    /**
+     * One part of the table: an open-addressing hash table of ids and states, where id 0 marks an empty slot.
+     * Its methods must be called holding the lock of the segment.
+     */
+    private static final class Segment {
+
+        // The session id in each slot, or 0 for an empty slot.
+        private long[] keys;
+
+        // The packed state in each slot.
+        private long[] states;
+
+        // The number of slots minus one, used to wrap slot numbers.
+        private int mask;
+
+        // The number of entries, read without the lock by size().
+        private volatile int size;
+
+        Segment(int capacity) {
+            this.keys = new long[capacity];
+            this.states = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        void put(long key, long state, int hash) {
+            int slot = find(key, hash);
+            if (keys[slot] == key) {
+                states[slot] = state;
+                return;
+            }
+            keys[slot] = key;
+            states[slot] = state;
+            // The table grows once it is two thirds full, keeping probe sequences short.
+            if (++size * 3 > keys.length * 2) {
+                grow();
+            }
+        }
+
+        long get(long key, int hash) {
+            int slot = find(key, hash);
+            return keys[slot] == key ? states[slot] : PackedGameState.NO_STATE;
+        }
+
+        long remove(long key, int hash) {
+            int slot = find(key, hash);
+            if (keys[slot] != key) {
+                return PackedGameState.NO_STATE;
+            }
+            long state = states[slot];
+            // Shifts back every following entry that would no longer be found past the emptied slot.
+            int empty = slot;
+            for (int next = (empty + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+                int home = (int) hash(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - empty) & mask)) {
+                    keys[empty] = keys[next];
+                    states[empty] = states[next];
+                    empty = next;
+                }
+            }
+            keys[empty] = 0;
+            size--;
+            return state;
+        }
+
+        /**
+         * Finds the slot holding a key, or the empty slot ending its probe sequence.
+         *
+         * @param key  The key.
+         * @param hash The hash of the key.
+         * @return The slot.
+         */
+        private int find(long key, int hash) {
+            int slot = hash & mask;
+            while (keys[slot] != key && keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Doubles the number of slots and moves every entry to its slot in the larger arrays.
+         */
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldStates = states;
+            keys = new long[oldKeys.length * 2];
+            states = new long[oldKeys.length * 2];
+            mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = find(oldKeys[i], (int) hash(oldKeys[i]));
+                    keys[slot] = oldKeys[i];
+                    states[slot] = oldStates[i];
+                }
+            }
+        }
+    }
+}
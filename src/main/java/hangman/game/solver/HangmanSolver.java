@@ -0,0 +1,305 @@
+package hangman.game.solver;
+
+import hangman.game.HangmanGame;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import static hangman.utils.PackedDictionary.ALPHABET_SIZE;
+
+/**
+ * The HangmanSolver class suggests the best next letter for a game of hangman.
+ * It keeps the set of dictionary words still consistent with the revealed pattern and the wrong guesses
+ * as a bitset, and for every letter the number of those candidates containing it. Letters are ranked by
+ * that count, which is the probability of the guess being correct, with ties going to the earlier letter.
+ * Each guess narrows the candidates by intersecting precomputed bitsets from a shared {@link SolverIndex},
+ * and the letter counts are updated from whichever is cheaper: the removed words, the remaining words,
+ * or a popcount per letter. Asking for the next guess is a scan over the alphabet.
+ * A solver is not thread-safe; create one per game and share the index.
+ */
+public class HangmanSolver {
+
+    // Letters from most to least common in English, used when no candidate word is left.
+    private static final String FALLBACK_ORDER = "esiarnotlcdupmghbykfwvzjxq";
+
+    // The precomputed bitsets of the dictionary.
+    private final SolverIndex index;
+
+    // The words still consistent with every observed guess.
+    private final long[] candidates;
+
+    // The candidates before the most recent guess, used to find the words it removed.
+    private final long[] previous;
+
+    // The number of candidates containing each letter.
+    private final int[] letterCounts = new int[ALPHABET_SIZE];
+
+    // The number of candidates.
+    private int candidateCount;
+
+    // The letters observed so far as a bit mask.
+    private int guessedMask;
+
+    // The length of the secret word.
+    private int length;
+
+    /**
+     * Constructs a solver over an index. The solver must be reset for a word length before use.
+     *
+     * @param index The index of the dictionary the secret word comes from.
+     */
+    public HangmanSolver(SolverIndex index) {
+        this.index = index;
+        this.candidates = new long[index.blocks()];
+        this.previous = new long[index.blocks()];
+    }
+
+    /**
+     * Starts a new game, making every dictionary word of the given length a candidate.
+     *
+     * @param length The length of the secret word.
+     */
+    public void reset(int length) {
+        this.length = length;
+        this.guessedMask = 0;
+        this.candidateCount = index.lengthCount(length);
+        if (candidateCount == 0) {
+            Arrays.fill(candidates, 0L);
+            Arrays.fill(letterCounts, 0);
+            return;
+        }
+        System.arraycopy(index.lengthBits(), index.lengthOffset(length), candidates, 0, candidates.length);
+        for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+            letterCounts[letter] = index.letterCount(length, letter);
+        }
+    }
+
+    /**
+     * Records a correct guess, keeping only candidates with the letter at exactly the revealed positions.
+     *
+     * @param letter    The guessed letter.
+     * @param positions The revealed positions as a bit mask, where bit i stands for position i.
+     */
+    public void applyHit(char letter, int positions) {
+        int symbol = symbol(letter);
+        if ((guessedMask & (1 << symbol)) != 0) {
+            return;
+        }
+        guessedMask |= 1 << symbol;
+        if (candidateCount == 0) {
+            return;
+        }
+        System.arraycopy(candidates, 0, previous, 0, candidates.length);
+        long[] positionBits = index.positionBits();
+        int blocks = candidates.length;
+        for (int block = 0; block < blocks; block++) {
+            long current = candidates[block];
+            if (current == 0) {
+                continue;
+            }
+            long kept = current;
+            for (int position = 0; position < length && kept != 0; position++) {
+                long atPosition = positionBits[index.positionOffset(position, symbol) + block];
+                kept &= (positions & (1 << position)) != 0 ? atPosition : ~atPosition;
+            }
+            candidates[block] = kept;
+        }
+        recount();
+    }
+
+    /**
+     * Records a wrong guess, removing every candidate that contains the letter.
+     *
+     * @param letter The guessed letter.
+     */
+    public void applyMiss(char letter) {
+        int symbol = symbol(letter);
+        if ((guessedMask & (1 << symbol)) != 0) {
+            return;
+        }
+        guessedMask |= 1 << symbol;
+        if (candidateCount == 0) {
+            return;
+        }
+        System.arraycopy(candidates, 0, previous, 0, candidates.length);
+        long[] letterBits = index.letterBits();
+        int offset = index.letterOffset(symbol);
+        for (int block = 0; block < candidates.length; block++) {
+            candidates[block] &= ~letterBits[offset + block];
+        }
+        recount();
+    }
+
+    /**
+     * Brings the solver up to date with a game state given as its revealed pattern and guessed letters.
+     * Only letters guessed since the last call are applied, unless the state belongs to a different game,
+     * in which case the solver starts over.
+     *
+     * @param pattern     The visible state of the word, with underscores for hidden letters.
+     * @param guessedMask The guessed letters as a bit mask, where bit i stands for the letter ('a' + i).
+     */
+    public void sync(CharSequence pattern, int guessedMask) {
+        if (pattern.length() != length || (this.guessedMask & ~guessedMask) != 0) {
+            reset(pattern.length());
+        }
+        for (int pending = guessedMask & ~this.guessedMask; pending != 0; pending &= pending - 1) {
+            char letter = (char) ('a' + Integer.numberOfTrailingZeros(pending));
+            int positions = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                if (pattern.charAt(i) == letter) {
+                    positions |= 1 << i;
+                }
+            }
+            if (positions != 0) {
+                applyHit(letter, positions);
+            } else {
+                applyMiss(letter);
+            }
+        }
+    }
+
+    /**
+     * Brings the solver up to date with the current state of a game.
+     *
+     * @param game The game to follow.
+     */
+    public void sync(HangmanGame game) {
+        sync(game.getCurrentState(), (int) game.getGuessedMask());
+    }
+
+    /**
+     * Suggests the next letter to guess: the unguessed letter contained in the most candidates.
+     * When no candidate is left, for example because the secret word is not in the dictionary,
+     * the most common unguessed English letter is suggested instead.
+     *
+     * @return The suggested letter, or 0 if every letter has been guessed.
+     */
+    public char nextGuess() {
+        int best = -1;
+        int bestCount = 0;
+        for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+            if ((guessedMask & (1 << letter)) == 0 && letterCounts[letter] > bestCount) {
+                best = letter;
+                bestCount = letterCounts[letter];
+            }
+        }
+        if (best >= 0) {
+            return (char) ('a' + best);
+        }
+        for (int i = 0; i < FALLBACK_ORDER.length(); i++) {
+            char letter = FALLBACK_ORDER.charAt(i);
+            if ((guessedMask & (1 << (letter - 'a'))) == 0) {
+                return letter;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the number of dictionary words still consistent with every observed guess.
+     *
+     * @return The candidate count.
+     */
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * Gets the number of candidates containing a letter.
+     *
+     * @param letter The letter.
+     * @return The number of candidates containing the letter.
+     */
+    public int getLetterCount(char letter) {
+        return letterCounts[symbol(letter)];
+    }
+
+    /**
+     * Passes the dictionary index of every remaining candidate, in ascending order, to an action.
+     *
+     * @param action The action receiving the candidate word indices.
+     */
+    public void forEachCandidate(IntConsumer action) {
+        for (int block = 0; block < candidates.length; block++) {
+            for (long bits = candidates[block]; bits != 0; bits &= bits - 1) {
+                action.accept((block << 6) + Long.numberOfTrailingZeros(bits));
+            }
+        }
+    }
+
+    /**
+     * Gets the index this solver works on.
+     *
+     * @return The solver index.
+     */
+    public SolverIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Updates the candidate count and the letter counts after the candidates were narrowed.
+     * Each strategy costs about five operations per visited word, or one per block and letter for the
+     * popcount pass, and the cheapest is used: subtracting the removed words when a guess removed few,
+     * adding up the remaining words when few are left, and counting each letter's bitset otherwise.
+     */
+    private void recount() {
+        int remaining = 0;
+        for (long block : candidates) {
+            remaining += Long.bitCount(block);
+        }
+        int removed = candidateCount - remaining;
+        candidateCount = remaining;
+        long popcountCost = (long) ALPHABET_SIZE * candidates.length;
+        if (removed <= remaining && removed * 5L < popcountCost) {
+            for (int block = 0; block < candidates.length; block++) {
+                addWords(previous[block] & ~candidates[block], block, -1);
+            }
+        } else if (remaining * 5L < popcountCost) {
+            Arrays.fill(letterCounts, 0);
+            for (int block = 0; block < candidates.length; block++) {
+                addWords(candidates[block], block, 1);
+            }
+        } else {
+            long[] letterBits = index.letterBits();
+            for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+                int offset = index.letterOffset(letter);
+                int count = 0;
+                for (int block = 0; block < candidates.length; block++) {
+                    count += Long.bitCount(candidates[block] & letterBits[offset + block]);
+                }
+                letterCounts[letter] = count;
+            }
+        }
+    }
+
+    /**
+     * Adds the letters of a block of words to the letter counts.
+     *
+     * @param bits  The words of the block as a bitset.
+     * @param block The index of the block.
+     * @param delta 1 to add the words, -1 to subtract them.
+     */
+    private void addWords(long bits, int block, int delta) {
+        int[] wordMasks = index.wordMasks();
+        for (; bits != 0; bits &= bits - 1) {
+            int word = (block << 6) + Long.numberOfTrailingZeros(bits);
+            for (int mask = wordMasks[word]; mask != 0; mask &= mask - 1) {
+                letterCounts[Integer.numberOfTrailingZeros(mask)] += delta;
+            }
+        }
+    }
+
+    /**
+     * Maps a letter to its alphabet index.
+     *
+     * @param letter The letter, from 'a' to 'z'.
+     * @return The alphabet index of the letter.
+     * @throws IllegalArgumentException if the letter is outside 'a' to 'z'.
+     */
+    private static int symbol(char letter) {
+        if (letter < 'a' || letter > 'z') {
+            throw new IllegalArgumentException("Unsupported letter: " + letter);
+        }
+        return letter - 'a';
+    }
+}
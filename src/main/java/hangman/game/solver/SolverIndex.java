@@ -0,0 +1,212 @@
+package hangman.game.solver;
+
+import hangman.utils.PackedDictionary;
+
+import static hangman.utils.PackedDictionary.ALPHABET_SIZE;
+
+/**
+ * The SolverIndex class holds the precomputed bitsets a {@link HangmanSolver} narrows its candidates with.
+ * Every bitset has one bit per dictionary word. For each word length there is a bitset of the words of that
+ * length, for each letter a bitset of the words containing it, and for each position and letter a bitset of
+ * the words with that letter at that position. The index is immutable and can be shared by any number of
+ * solvers working on the same dictionary.
+ */
+public class SolverIndex {
+
+    /**
+     * MAX_WORD_LENGTH is the longest word the solver supports, bounded by the int masks used for letter positions.
+     */
+    public static final int MAX_WORD_LENGTH = Integer.SIZE;
+
+    // The dictionary this index was built from.
+    private final PackedDictionary dictionary;
+
+    // The number of longs in one bitset.
+    private final int blocks;
+
+    // The length of the longest word.
+    private final int maxLength;
+
+    // The bitset of words of each length, (maxLength + 1) bitsets back to back.
+    private final long[] lengthBits;
+
+    // The bitset of words containing each letter, ALPHABET_SIZE bitsets back to back.
+    private final long[] letterBits;
+
+    // The bitset of words with a given letter at a given position, indexed by (position * ALPHABET_SIZE + letter).
+    private final long[] positionBits;
+
+    // The distinct letters of each word as a bit mask.
+    private final int[] wordMasks;
+
+    // The number of words of each length containing each letter, indexed by (length * ALPHABET_SIZE + letter).
+    private final int[] letterCounts;
+
+    // The number of words of each length.
+    private final int[] lengthCounts;
+
+    /**
+     * Builds the index for a dictionary.
+     *
+     * @param dictionary The dictionary to index.
+     * @throws IllegalArgumentException if the dictionary is not English or contains a word longer than
+     *                                  {@link #MAX_WORD_LENGTH}.
+     */
+    public SolverIndex(PackedDictionary dictionary) {
+        if (!dictionary.isEnglish()) {
+            throw new IllegalArgumentException("The solver only supports English dictionaries, not "
+                    + dictionary.getAlphabet().getName() + ".");
+        }
+        this.dictionary = dictionary;
+        int size = dictionary.size();
+        this.blocks = (size + Long.SIZE - 1) >>> 6;
+        int longest = 0;
+        for (int word = 0; word < size; word++) {
+            longest = Math.max(longest, dictionary.length(word));
+        }
+        if (longest > MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("Words longer than " + MAX_WORD_LENGTH + " letters are not supported.");
+        }
+        this.maxLength = longest;
+        this.lengthBits = new long[(longest + 1) * blocks];
+        this.letterBits = new long[ALPHABET_SIZE * blocks];
+        this.positionBits = new long[longest * ALPHABET_SIZE * blocks];
+        this.wordMasks = new int[size];
+        this.letterCounts = new int[(longest + 1) * ALPHABET_SIZE];
+        this.lengthCounts = new int[longest + 1];
+
+        for (int word = 0; word < size; word++) {
+            int block = word >>> 6;
+            long bit = 1L << word;
+            int length = dictionary.length(word);
+            lengthBits[length * blocks + block] |= bit;
+            lengthCounts[length]++;
+            for (int position = 0; position < length; position++) {
+                int letter = dictionary.letterAt(word, position);
+                positionBits[(position * ALPHABET_SIZE + letter) * blocks + block] |= bit;
+            }
+            int mask = (int) dictionary.letterMask(word);
+            wordMasks[word] = mask;
+            for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+                int letter = Integer.numberOfTrailingZeros(remaining);
+                letterBits[letter * blocks + block] |= bit;
+                letterCounts[length * ALPHABET_SIZE + letter]++;
+            }
+        }
+    }
+
+    /**
+     * Gets the dictionary this index was built from.
+     *
+     * @return The indexed dictionary.
+     */
+    public PackedDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Gets the length of the longest indexed word.
+     *
+     * @return The maximum word length.
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Gets the number of longs in one bitset.
+     *
+     * @return The bitset size in longs.
+     */
+    int blocks() {
+        return blocks;
+    }
+
+    /**
+     * Gets the offset of the bitset of words of a given length.
+     *
+     * @param length The word length.
+     * @return The offset into {@link #lengthBits()}.
+     */
+    int lengthOffset(int length) {
+        return length * blocks;
+    }
+
+    /**
+     * Gets the offset of the bitset of words containing a letter.
+     *
+     * @param letter The alphabet index of the letter.
+     * @return The offset into {@link #letterBits()}.
+     */
+    int letterOffset(int letter) {
+        return letter * blocks;
+    }
+
+    /**
+     * Gets the offset of the bitset of words with a letter at a position.
+     *
+     * @param position The position in the word.
+     * @param letter   The alphabet index of the letter.
+     * @return The offset into {@link #positionBits()}.
+     */
+    int positionOffset(int position, int letter) {
+        return (position * ALPHABET_SIZE + letter) * blocks;
+    }
+
+    /**
+     * Gets the bitsets of words by length. The array is shared and must not be modified.
+     *
+     * @return The length bitsets.
+     */
+    long[] lengthBits() {
+        return lengthBits;
+    }
+
+    /**
+     * Gets the bitsets of words by contained letter. The array is shared and must not be modified.
+     *
+     * @return The letter bitsets.
+     */
+    long[] letterBits() {
+        return letterBits;
+    }
+
+    /**
+     * Gets the bitsets of words by letter and position. The array is shared and must not be modified.
+     *
+     * @return The position bitsets.
+     */
+    long[] positionBits() {
+        return positionBits;
+    }
+
+    /**
+     * Gets the letter mask of every word. The array is shared and must not be modified.
+     *
+     * @return The word letter masks.
+     */
+    int[] wordMasks() {
+        return wordMasks;
+    }
+
+    /**
+     * Gets the number of words of a length that contain a letter.
+     *
+     * @param length The word length.
+     * @param letter The alphabet index of the letter.
+     * @return The number of matching words.
+     */
+    int letterCount(int length, int letter) {
+        return letterCounts[length * ALPHABET_SIZE + letter];
+    }
+
+    /**
+     * Gets the number of words of a length.
+     *
+     * @param length The word length.
+     * @return The number of words, or 0 if the length exceeds the longest word.
+     */
+    int lengthCount(int length) {
+        return length <= maxLength ? lengthCounts[length] : 0;
+    }
+}
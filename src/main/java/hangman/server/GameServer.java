@@ -0,0 +1,486 @@
+package hangman.server;
+
+import hangman.game.GuessResult;
+import hangman.game.HangmanGame;
+import hangman.game.metrics.GameMetrics;
+import hangman.game.session.GameSession;
+import hangman.game.session.GameSessionManager;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The GameServer class lets remote players play over a line-oriented TCP protocol. Every connection gets its
+ * own {@link GameSession} from a {@link GameSessionManager}, which is closed when the connection is. All
+ * connections are served by one thread waiting on a non-blocking {@link Selector}: a guess takes
+ * microseconds, so the commands are executed right on that thread, and an idle player costs a socket and a
+ * few hundred bytes of buffers rather than a thread, letting one JVM host thousands of players. Idle sessions
+ * are evicted on that thread as well (see {@link #setEvictionInterval(Duration)}), so a game is never parked or
+ * pooled while a command is being played on it, and every batch of commands looks its session up again by id.
+ * <p>
+ * The client sends one command per line, in UTF-8:
+ * <ul>
+ *     <li>{@code NEW} starts a new game with a new secret word,</li>
+ *     <li>{@code GUESS <letter>} guesses a letter, and {@code GUESS <word>} the whole word,</li>
+ *     <li>{@code STATE} asks for the state of the game,</li>
+ *     <li>{@code QUIT} closes the connection.</li>
+ * </ul>
+ * Every command but {@code QUIT} is answered with one line, either
+ * {@code STATE <pattern> <wrong guesses> <score> PLAYING|WON|LOST [<secret word>]}, where the secret word
+ * is only sent once the game is over, or {@code ERR <message>}. Commands may be pipelined; when a client
+ * does not read its answers, the server stops reading its commands until the answers have been sent.
+ */
+public class GameServer implements AutoCloseable {
+
+    /**
+     * DEFAULT_PORT is the port the server listens on when none is given.
+     */
+    public static final int DEFAULT_PORT = 5031;
+
+    // The longest command line accepted, in bytes.
+    static final int MAX_LINE_BYTES = 256;
+
+    // The number of connections waiting to be accepted that the operating system queues.
+    private static final int BACKLOG = 1024;
+
+    // The initial size of the buffer holding the answers not sent yet.
+    private static final int OUTPUT_BUFFER_BYTES = 1024;
+
+    // The sessions of the connected players.
+    private final GameSessionManager sessions;
+
+    // The selector waiting for every channel.
+    private final Selector selector;
+
+    // The channel accepting connections.
+    private final ServerSocketChannel serverChannel;
+
+    // The number of connections accepted so far.
+    private final AtomicLong acceptedConnections = new AtomicLong();
+
+    // The number of connections currently open.
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    // The number of commands executed so far.
+    private final AtomicLong commands = new AtomicLong();
+
+    // Whether the server keeps serving.
+    private volatile boolean running = true;
+
+    // The time between two evictions of idle sessions, in nanoseconds, or 0 if the server does not evict.
+    private volatile long evictionIntervalNanos;
+
+    /**
+     * Constructs a server listening on the given address. No connection is served before {@link #serve()}
+     * or {@link #start()} is called.
+     *
+     * @param sessions The manager creating the session of every connection.
+     * @param address  The address to listen on; port 0 picks a free port.
+     * @throws IOException if the address cannot be bound.
+     */
+    public GameServer(GameSessionManager sessions, InetSocketAddress address) throws IOException {
+        this.sessions = sessions;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(address, BACKLOG);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Serves connections on a new daemon thread named "hangman-server" until the server is closed.
+     */
+    public void start() {
+        Thread thread = new Thread(this::serve, "hangman-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Serves connections on the calling thread until the server is closed. Every open connection is
+     * closed, and its session with it, before this method returns.
+     */
+    public void serve() {
+        long lastEvictionNanos = System.nanoTime();
+        try {
+            while (running) {
+                long interval = evictionIntervalNanos;
+                long timeoutMillis = 0;
+                if (interval > 0) {
+                    long now = System.nanoTime();
+                    if (now - lastEvictionNanos >= interval) {
+                        sessions.evictIdleSessions();
+                        lastEvictionNanos = now;
+                    }
+                    timeoutMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(lastEvictionNanos + interval - now));
+                }
+                selector.select(this::handle, timeoutMillis);
+            }
+        } catch (IOException e) {
+            System.err.println("The game server stopped: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    disconnect((Connection) key.attachment());
+                }
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close the game server: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sets the interval at which the serving thread evicts the idle sessions of the manager, closing them or
+     * parking them as the manager is configured to. Eviction must not be started on the manager itself with
+     * {@link GameSessionManager#startEviction(Duration)}: its thread would pack or pool a game while the
+     * serving thread plays on it.
+     *
+     * @param interval The time between two evictions, or {@link Duration#ZERO} not to evict.
+     */
+    public void setEvictionInterval(Duration interval) {
+        evictionIntervalNanos = interval.toNanos();
+        selector.wakeup();
+    }
+
+    /**
+     * Gets the address the server listens on, with the actual port if port 0 was requested.
+     *
+     * @return The local address.
+     * @throws IOException if the address cannot be read.
+     */
+    public InetSocketAddress getLocalAddress() throws IOException {
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Gets the number of connections accepted since the server started.
+     *
+     * @return The accepted connection count.
+     */
+    public long getAcceptedConnections() {
+        return acceptedConnections.get();
+    }
+
+    /**
+     * Gets the number of connections currently open.
+     *
+     * @return The open connection count.
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * Gets the number of commands executed since the server started.
+     *
+     * @return The command count.
+     */
+    public long getCommands() {
+        return commands.get();
+    }
+
+    /**
+     * Stops the server. The serving thread closes every connection and returns.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Serves games until the process is stopped. Sessions left idle for a minute are parked until their
+     * players send a command again, and closed with their connections.
+     *
+     * @param args Optional arguments: the port to listen on (default 5031).
+     * @throws IOException if the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        // Idle players are parked rather than dropped; their sessions still end with their connections.
+        GameSessionManager sessions = new GameSessionManager(Duration.ofMinutes(1), 1024);
+        sessions.setParkIdleSessions(true);
+        GameMetrics.registerMBean();
+        GameServer server = new GameServer(sessions, new InetSocketAddress(port));
+        server.setEvictionInterval(Duration.ofSeconds(30));
+        System.out.println("Serving hangman on port " + server.getLocalAddress().getPort());
+        server.serve();
+    }
+
+    /**
+     * Handles a channel that is ready, so one failing connection never stops the others.
+     *
+     * @param key The selection key of the channel.
+     */
+    private void handle(SelectionKey key) {
+        if (key.attachment() == null) {
+            accept();
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isWritable()) {
+                connection.flush();
+            }
+            if (key.isValid() && key.isReadable()) {
+                connection.read();
+            }
+        } catch (IOException e) {
+            disconnect(connection);
+        }
+    }
+
+    /**
+     * Accepts every pending connection and starts a session for each.
+     */
+    private void accept() {
+        try {
+            for (SocketChannel channel = serverChannel.accept(); channel != null; channel = serverChannel.accept()) {
+                try {
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    Connection connection = new Connection(channel, sessions.createSession());
+                    connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                    acceptedConnections.incrementAndGet();
+                    openConnections.incrementAndGet();
+                } catch (IOException e) {
+                    channel.close();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to accept a connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes a connection and its session. Closing a connection again has no effect.
+     *
+     * @param connection The connection.
+     */
+    private void disconnect(Connection connection) {
+        if (!connection.channel.isOpen()) {
+            return;
+        }
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            // The channel is released either way.
+        }
+        sessions.closeSession(connection.sessionId);
+        openConnections.decrementAndGet();
+    }
+
+    /**
+     * Executes one command line on a game. A guess of one letter guesses the letter, and a longer guess the
+     * whole word; invalid guesses are answered with an error without throwing.
+     *
+     * @param game   The game of the connection.
+     * @param result The reusable outcome of the guesses of the connection.
+     * @param line   The command line, without its line terminator.
+     * @return The answer line, without its line terminator, or null to close the connection.
+     */
+    String execute(HangmanGame game, GuessResult result, String line) {
+        commands.incrementAndGet();
+        int space = line.indexOf(' ');
+        String command = (space < 0 ? line : line.substring(0, space)).toUpperCase(Locale.ROOT);
+        String argument = space < 0 ? "" : line.substring(space + 1).trim().toLowerCase(Locale.ROOT);
+        switch (command) {
+            case "GUESS":
+                if (argument.isEmpty()) {
+                    return "ERR Guess a letter or a word.";
+                }
+                if (argument.codePointCount(0, argument.length()) == 1) {
+                    game.guess(argument.codePointAt(0), result);
+                } else {
+                    game.guessWord(argument, result);
+                }
+                if (result.getStatus() == GuessResult.Status.INVALID) {
+                    return "ERR Guesses must only hold alphabetic characters.";
+                }
+                return state(game);
+            case "NEW":
+                game.resetGame();
+                return state(game);
+            case "STATE":
+                return state(game);
+            case "QUIT":
+                return null;
+            default:
+                return "ERR Unknown command: " + command;
+        }
+    }
+
+    /**
+     * Formats the state of a game as an answer line.
+     *
+     * @param game The game.
+     * @return The state line.
+     */
+    private static String state(HangmanGame game) {
+        StringBuilder line = new StringBuilder(64).append("STATE ").append(game.getCurrentState())
+                .append(' ').append(game.getWrongGuesses()).append(' ').append(game.getScore());
+        if (game.isGameWon()) {
+            line.append(" WON ").append(game.getSecretWord());
+        } else if (game.isGameLost()) {
+            line.append(" LOST ").append(game.getSecretWord());
+        } else {
+            line.append(" PLAYING");
+        }
+        return line.toString();
+    }
+
+    /**
+     * A connected player, with the buffers of the command lines received and the answers not sent yet.
+     * Only touched by the serving thread.
+     */
+    private class Connection {
+
+        // The channel of the player.
+        final SocketChannel channel;
+
+        // The id of the session of the player, looked up again for every batch of commands, as parking the
+        // session gives it another game.
+        final long sessionId;
+
+        // The bytes received but not executed yet, ready to be written to.
+        final ByteBuffer input = ByteBuffer.allocate(MAX_LINE_BYTES);
+
+        // The answers not sent yet, ready to be read from.
+        ByteBuffer output = ByteBuffer.allocate(OUTPUT_BUFFER_BYTES).flip();
+
+        // The outcome of the latest guess, reused for every guess of the connection.
+        final GuessResult result = new GuessResult();
+
+        // The selection key of the channel.
+        SelectionKey key;
+
+        // Whether the connection closes once its answers have been sent.
+        boolean closing;
+
+        Connection(SocketChannel channel, GameSession session) {
+            this.channel = channel;
+            this.sessionId = session.getId();
+        }
+
+        /**
+         * Reads what the player sent and executes every complete command line.
+         *
+         * @throws IOException if the channel fails.
+         */
+        void read() throws IOException {
+            if (channel.read(input) < 0) {
+                disconnect(this);
+                return;
+            }
+            flush();
+        }
+
+        /**
+         * Executes the complete command lines in the input until the answers not sent yet fill the output
+         * buffer or the player quits. The session is looked up first, which unparks it if it was parked; a
+         * session closed for being idle is not played on, as its game may already belong to another session.
+         *
+         * @return true if complete command lines are left in the input.
+         */
+        boolean executeLines() {
+            GameSession session = sessions.getSession(sessionId);
+            if (session == null) {
+                append("ERR Session expired.");
+                closing = true;
+                return false;
+            }
+            HangmanGame game = session.getGame();
+            input.flip();
+            int start = input.position();
+            boolean stopped = false;
+            for (int i = start; i < input.limit(); i++) {
+                if (closing || output.remaining() >= OUTPUT_BUFFER_BYTES) {
+                    stopped = true;
+                    break;
+                }
+                if (input.get(i) != '\n') {
+                    continue;
+                }
+                int end = i > start && input.get(i - 1) == '\r' ? i - 1 : i;
+                String line = new String(input.array(), start, end - start, StandardCharsets.UTF_8);
+                start = i + 1;
+                String answer = execute(game, result, line.trim());
+                if (answer == null) {
+                    closing = true;
+                } else {
+                    append(answer);
+                }
+            }
+            boolean full = start == 0 && input.limit() == input.capacity();
+            input.position(start).compact();
+            if (full && !stopped) {
+                append("ERR Line too long.");
+                closing = true;
+            }
+            return stopped && !closing;
+        }
+
+        /**
+         * Adds an answer line to the output, growing the output buffer if it has no room left.
+         *
+         * @param answer The answer line.
+         */
+        void append(String answer) {
+            byte[] bytes = (answer + "\n").getBytes(StandardCharsets.UTF_8);
+            output.compact();
+            if (output.remaining() < bytes.length) {
+                ByteBuffer larger = ByteBuffer.allocate(output.position() + bytes.length);
+                output.flip();
+                larger.put(output);
+                output = larger;
+            }
+            output.put(bytes).flip();
+        }
+
+        /**
+         * Executes the buffered command lines and sends their answers, for as long as the channel takes them.
+         * While answers are left, the connection waits for the channel to become writable instead of reading
+         * more commands, and resumes the commands it had received meanwhile once everything is sent.
+         *
+         * @throws IOException if the channel fails.
+         */
+        void flush() throws IOException {
+            boolean more = true;
+            while (more) {
+                more = !closing && executeLines();
+                channel.write(output);
+                if (output.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+            if (closing) {
+                disconnect(this);
+            } else if (key.interestOps() != SelectionKey.OP_READ) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package hangman.server;
+
+import hangman.game.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The LoadGenerator class measures a {@link GameServer} from the players' side. It opens the given number of
+ * connections and plays the given number of complete games over each, guessing letters from the most to the
+ * least common in English, with one command in flight per connection. Every connection is driven by the same
+ * thread through a non-blocking {@link Selector}, so thousands of players can be simulated on the machine
+ * that runs the server without needing a thread each, and the time from sending each command to receiving its
+ * answer is recorded in a {@link LatencyHistogram}. A generator runs one load at a time.
+ */
+public class LoadGenerator {
+
+    // Letters from most to least common in English.
+    private static final String ORDER = "esiarnotlcdupmghbykfwvzjxq";
+
+    // The most connections being established at once, so the server's accept queue does not overflow.
+    private static final int MAX_CONNECTING = 256;
+
+    // The time without any answer after which the server is considered stuck, in milliseconds.
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    // The address of the server.
+    private final InetSocketAddress address;
+
+    // The number of connections to open.
+    private final int connections;
+
+    // The number of games to play over each connection.
+    private final int gamesPerConnection;
+
+    // The time from sending a command until its answer arrived, for the current run.
+    private LatencyHistogram latency;
+
+    // The number of connections being established.
+    private int connecting;
+
+    // The number of connections established.
+    private int connected;
+
+    // The number of connections done playing, or failed.
+    private int finished;
+
+    // The System.nanoTime() value at which the last connection was established.
+    private long lastConnectedAt;
+
+    // The number of games played to the end.
+    private long games;
+
+    // The number of guesses sent.
+    private long guesses;
+
+    // The number of error answers and failed connections.
+    private long errors;
+
+    /**
+     * Constructs a load generator.
+     *
+     * @param address            The address of the server.
+     * @param connections        The number of connections to open.
+     * @param gamesPerConnection The number of games to play over each connection.
+     */
+    public LoadGenerator(InetSocketAddress address, int connections, int gamesPerConnection) {
+        if (connections < 1 || gamesPerConnection < 1) {
+            throw new IllegalArgumentException("At least one game must be played over at least one connection.");
+        }
+        this.address = address;
+        this.connections = connections;
+        this.gamesPerConnection = gamesPerConnection;
+    }
+
+    /**
+     * Opens the connections, plays every game, and closes the connections again.
+     *
+     * @return The report of the run.
+     * @throws IOException if the server stops answering for 10 seconds.
+     */
+    public LoadReport run() throws IOException {
+        latency = new LatencyHistogram();
+        connecting = 0;
+        connected = 0;
+        finished = 0;
+        games = 0;
+        guesses = 0;
+        errors = 0;
+        long start = System.nanoTime();
+        lastConnectedAt = start;
+        int opened = 0;
+        Selector selector = Selector.open();
+        try {
+            while (finished < connections) {
+                for (; opened < connections && connecting < MAX_CONNECTING; opened++) {
+                    open(selector);
+                }
+                if (selector.select(this::handle, TIMEOUT_MILLIS) == 0) {
+                    throw new IOException("The server did not answer for " + TIMEOUT_MILLIS + " ms.");
+                }
+            }
+        } finally {
+            // Closing the selector leaves its channels open, so the connections of a failed run are closed first.
+            for (SelectionKey key : selector.keys()) {
+                close((SocketChannel) key.channel());
+            }
+            selector.close();
+        }
+        return new LoadReport(connected, lastConnectedAt - start, games, guesses, errors,
+                System.nanoTime() - start, latency.snapshot());
+    }
+
+    /**
+     * Starts establishing one more connection.
+     *
+     * @param selector The selector of the run.
+     */
+    private void open(Selector selector) {
+        connecting++;
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open();
+        } catch (IOException e) {
+            connecting--;
+            errors++;
+            finished++;
+            return;
+        }
+        Player player = new Player(channel);
+        try {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            player.key = channel.register(selector, SelectionKey.OP_CONNECT, player);
+            if (channel.connect(address)) {
+                player.connected();
+            }
+        } catch (IOException e) {
+            player.fail();
+        }
+    }
+
+    /**
+     * Handles a connection that is ready.
+     *
+     * @param key The selection key of the connection.
+     */
+    private void handle(SelectionKey key) {
+        Player player = (Player) key.attachment();
+        try {
+            if (key.isConnectable()) {
+                player.connected();
+            } else if (key.isWritable()) {
+                player.flush();
+            } else if (key.isReadable()) {
+                player.read();
+            }
+        } catch (IOException e) {
+            player.fail();
+        }
+    }
+
+    /**
+     * Closes a channel, ignoring failures.
+     *
+     * @param channel The channel, or null.
+     */
+    private static void close(SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // The channel is released either way.
+            }
+        }
+    }
+
+    /**
+     * A simulated player, playing its games over one connection.
+     */
+    private class Player {
+
+        // The channel to the server.
+        final SocketChannel channel;
+
+        // The answer bytes received but not handled yet, ready to be written to.
+        final ByteBuffer input = ByteBuffer.allocate(1024);
+
+        // The command being sent, ready to be read from.
+        ByteBuffer output;
+
+        // The selection key of the channel.
+        SelectionKey key;
+
+        // The number of games left to play.
+        int gamesLeft = gamesPerConnection;
+
+        // The position in ORDER of the next letter to guess in the current game.
+        int nextLetter;
+
+        // The System.nanoTime() value at which the command in flight was sent.
+        long sentAt;
+
+        Player(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Completes the connection and starts the first game.
+         *
+         * @throws IOException if the connection failed.
+         */
+        void connected() throws IOException {
+            channel.finishConnect();
+            connecting--;
+            connected++;
+            lastConnectedAt = System.nanoTime();
+            send("NEW");
+        }
+
+        /**
+         * Sends a command and records when it was sent.
+         *
+         * @param command The command line, without its line terminator.
+         * @throws IOException if the channel fails.
+         */
+        void send(String command) throws IOException {
+            output = ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.UTF_8));
+            sentAt = System.nanoTime();
+            flush();
+        }
+
+        /**
+         * Sends as much of the command as the channel takes, then waits for the rest to be taken or for the answer.
+         *
+         * @throws IOException if the channel fails.
+         */
+        void flush() throws IOException {
+            channel.write(output);
+            key.interestOps(output.hasRemaining() ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        /**
+         * Reads the answer to the command in flight and sends the next command once it is complete.
+         *
+         * @throws IOException if the channel fails or closes.
+         */
+        void read() throws IOException {
+            if (channel.read(input) < 0) {
+                throw new IOException("The server closed the connection.");
+            }
+            int end = -1;
+            for (int i = 0; i < input.position(); i++) {
+                if (input.get(i) == '\n') {
+                    end = i;
+                    break;
+                }
+            }
+            if (end < 0) {
+                if (!input.hasRemaining()) {
+                    throw new IOException("The answer is too long.");
+                }
+                return;
+            }
+            latency.record(System.nanoTime() - sentAt);
+            String answer = new String(input.array(), 0, end, StandardCharsets.UTF_8);
+            input.flip().position(end + 1);
+            input.compact();
+            answer(answer);
+        }
+
+        /**
+         * Picks the next command from an answer: the next guess while the game runs, a new game once it is
+         * over, and closing the connection once every game has been played.
+         *
+         * @param answer The answer line.
+         * @throws IOException if the channel fails.
+         */
+        void answer(String answer) throws IOException {
+            boolean over;
+            if (answer.startsWith("ERR")) {
+                errors++;
+                over = nextLetter == ORDER.length();
+            } else {
+                String[] fields = answer.split(" ");
+                over = !"PLAYING".equals(fields[4]);
+                if (over) {
+                    games++;
+                } else if (nextLetter == ORDER.length()) {
+                    // The word has letters outside the English alphabet, so the game is given up.
+                    errors++;
+                    over = true;
+                }
+            }
+            if (!over) {
+                guesses++;
+                send("GUESS " + ORDER.charAt(nextLetter++));
+            } else if (--gamesLeft > 0) {
+                nextLetter = 0;
+                send("NEW");
+            } else {
+                close(channel);
+                finished++;
+            }
+        }
+
+        /**
+         * Gives up the connection after a failure.
+         */
+        void fail() {
+            if (!channel.isOpen()) {
+                return;
+            }
+            if (!channel.isConnected()) {
+                connecting--;
+            }
+            errors++;
+            finished++;
+            close(channel);
+        }
+    }
+
+    /**
+     * Runs a load against a server and prints the report.
+     *
+     * @param args Optional arguments: the number of connections (default 1000), the number of games per
+     *             connection (default 10), the host (default localhost), and the port (default 5031).
+     * @throws IOException if the server stops answering.
+     */
+    public static void main(String[] args) throws IOException {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        String host = args.length > 2 ? args[2] : "localhost";
+        int port = args.length > 3 ? Integer.parseInt(args[3]) : GameServer.DEFAULT_PORT;
+        new LoadGenerator(new InetSocketAddress(host, port), connections, games).run().printReport(System.out);
+    }
+}
@@ -0,0 +1,144 @@
+package hangman.server;
+
+import hangman.game.metrics.LatencySnapshot;
+
+import java.io.PrintStream;
+
+/**
+ * The LoadReport class holds the results of a {@link LoadGenerator} run: how fast the connections were
+ * established, how many games and guesses were played over them and how fast, and the latency of the
+ * commands as seen by the players.
+ */
+public final class LoadReport {
+
+    // The number of connections established.
+    private final int connections;
+
+    // The time from the start of the run until every connection was established, in nanoseconds.
+    private final long connectNanos;
+
+    // The number of games played to the end.
+    private final long games;
+
+    // The number of guesses sent.
+    private final long guesses;
+
+    // The number of error answers and failed connections.
+    private final long errors;
+
+    // The duration of the whole run, in nanoseconds.
+    private final long elapsedNanos;
+
+    // The time from sending a command until its answer arrived.
+    private final LatencySnapshot latency;
+
+    /**
+     * Constructs a LoadReport.
+     *
+     * @param connections  The number of connections established.
+     * @param connectNanos The time until every connection was established, in nanoseconds.
+     * @param games        The number of games played to the end.
+     * @param guesses      The number of guesses sent.
+     * @param errors       The number of error answers and failed connections.
+     * @param elapsedNanos The duration of the run, in nanoseconds.
+     * @param latency      The command latency.
+     */
+    LoadReport(int connections, long connectNanos, long games, long guesses, long errors, long elapsedNanos,
+               LatencySnapshot latency) {
+        this.connections = connections;
+        this.connectNanos = connectNanos;
+        this.games = games;
+        this.guesses = guesses;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+    }
+
+    /**
+     * Gets the number of connections established.
+     *
+     * @return The connection count.
+     */
+    public int getConnections() {
+        return connections;
+    }
+
+    /**
+     * Gets the number of connections established per second, until the last of them was.
+     *
+     * @return The connection rate.
+     */
+    public double getConnectionsPerSecond() {
+        return connectNanos == 0 ? 0.0 : connections / (connectNanos / 1e9);
+    }
+
+    /**
+     * Gets the number of games played to the end.
+     *
+     * @return The game count.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of guesses sent.
+     *
+     * @return The guess count.
+     */
+    public long getGuesses() {
+        return guesses;
+    }
+
+    /**
+     * Gets the number of guesses sent per second over the whole run.
+     *
+     * @return The guess rate.
+     */
+    public double getGuessesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : guesses / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Gets the number of error answers and failed connections.
+     *
+     * @return The error count.
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the duration of the whole run.
+     *
+     * @return The duration in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the time from sending a command until its answer arrived.
+     *
+     * @return The command latency in nanoseconds.
+     */
+    public LatencySnapshot getLatency() {
+        return latency;
+    }
+
+    /**
+     * Prints the report in a human-readable form.
+     *
+     * @param out The stream to print to.
+     */
+    public void printReport(PrintStream out) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Connections: %d in %.3f s (%.0f connections/s)%n",
+                connections, connectNanos / 1e9, getConnectionsPerSecond()));
+        report.append(String.format("Games: %d, guesses: %d, errors: %d in %.3f s (%.0f guesses/s)%n",
+                games, guesses, errors, elapsedNanos / 1e9, getGuessesPerSecond()));
+        report.append(String.format("Latency: p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                latency.getP50() / 1e3, latency.getP99() / 1e3, latency.getP999() / 1e3, latency.getMax() / 1e3));
+        out.print(report);
+    }
+}
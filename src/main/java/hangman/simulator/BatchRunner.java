@@ -0,0 +1,159 @@
+package hangman.simulator;
+
+import hangman.game.GlobalReference;
+import hangman.game.HangmanGameLogic;
+import hangman.game.HangmanUI;
+import hangman.game.input.ScriptedInput;
+import hangman.game.output.ConsoleOutput;
+import hangman.game.output.NullOutput;
+import hangman.game.output.OutputSink;
+import hangman.game.output.RenderBuffer;
+import hangman.utils.PackedDictionary;
+import hangman.utils.WordSet;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+/**
+ * The BatchRunner class streams a file of scripted games through the console {@link HangmanUI} at full speed,
+ * for automated play and regression runs. Each line of a move file is one game: the secret word, whitespace,
+ * and the guesses as one run of characters, such as {@code apple etaoinpl}. Blank lines and lines starting
+ * with '#' are skipped. Guesses left over once a game is over are ignored; a game whose guesses run out
+ * first is reported as unfinished.
+ * For every game a tab-separated result line is written: the word, WON, LOST, UNFINISHED or UNKNOWN
+ * (for a word missing from the dictionary), the score, the wrong guesses, and the guesses read.
+ * The UI transcript goes to its own sink, which discards it unless asked otherwise.
+ */
+public class BatchRunner {
+
+    // The number of buffered result bytes that triggers a write.
+    private static final int FLUSH_THRESHOLD = 8192;
+
+    // The dictionary the secret words must come from.
+    private final PackedDictionary dictionary;
+
+    // The word set of the dictionary, so each line finds its secret word without a scan.
+    private final WordSet words;
+
+    // The game replayed for every line.
+    private final HangmanGameLogic game;
+
+    // The guesses of the current line.
+    private final ScriptedInput input = new ScriptedInput();
+
+    // The UI the games are played through.
+    private final HangmanUI ui;
+
+    // The sink receiving the result lines.
+    private final OutputSink results;
+
+    // The result lines not yet written.
+    private final RenderBuffer resultBuffer = new RenderBuffer(FLUSH_THRESHOLD * 2);
+
+    /**
+     * Constructs a BatchRunner.
+     *
+     * @param dictionary The dictionary the secret words come from.
+     * @param transcript The sink receiving the UI output of every game.
+     * @param results    The sink receiving one result line per game.
+     */
+    public BatchRunner(PackedDictionary dictionary, OutputSink transcript, OutputSink results) {
+        this.dictionary = dictionary;
+        this.words = dictionary.wordSet();
+        this.game = new HangmanGameLogic(dictionary);
+        this.ui = new HangmanUI(game, input, transcript);
+        this.results = results;
+    }
+
+    /**
+     * Plays every game of a move file.
+     *
+     * @param moves The reader over the move file.
+     * @return The statistics of the finished games.
+     * @throws IOException if the move file cannot be read.
+     */
+    public SimulationStats run(BufferedReader moves) throws IOException {
+        SimulationStats stats = new SimulationStats();
+        for (String line = moves.readLine(); line != null; line = moves.readLine()) {
+            playLine(line, stats);
+            if (resultBuffer.size() >= FLUSH_THRESHOLD) {
+                resultBuffer.writeTo(results);
+            }
+        }
+        resultBuffer.writeTo(results);
+        return stats;
+    }
+
+    /**
+     * Plays the game described by one line of a move file.
+     *
+     * @param line  The line.
+     * @param stats The statistics to record a finished game into.
+     */
+    private void playLine(String line, SimulationStats stats) {
+        line = line.strip();
+        if (line.isEmpty() || line.charAt(0) == '#') {
+            return;
+        }
+        int split = 0;
+        while (split < line.length() && !Character.isWhitespace(line.charAt(split))) {
+            split++;
+        }
+        String secret = line.substring(0, split);
+        int index = words.indexOf(secret);
+        if (index < 0) {
+            resultBuffer.append(secret).appendLine("\tUNKNOWN");
+            return;
+        }
+        game.resetGame(index);
+        input.load(line.substring(split).strip());
+        String outcome;
+        try {
+            ui.playRound();
+            outcome = game.isGameWon() ? "\tWON\t" : "\tLOST\t";
+            stats.record(game.isGameWon(), game.getScore(), game.getWrongGuesses(), input.consumed());
+        } catch (NoSuchElementException e) {
+            outcome = "\tUNFINISHED\t";
+        }
+        resultBuffer.append(secret).append(outcome).append(game.getScore()).append('\t')
+                .append(game.getWrongGuesses()).append('\t').append(input.consumed()).newLine();
+    }
+
+    /**
+     * Gets the dictionary the secret words come from.
+     *
+     * @return The dictionary of this runner.
+     */
+    public PackedDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Plays a move file against the bundled dictionary, printing a result line per game and a summary.
+     *
+     * @param args The path of the move file, optionally followed by "--verbose" to print the UI transcript too.
+     * @throws IOException if the move file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BatchRunner <move file> [--verbose]");
+            System.exit(2);
+        }
+        boolean verbose = args.length > 1 && args[1].equals("--verbose");
+        OutputSink console = new ConsoleOutput();
+        BatchRunner runner = new BatchRunner(GlobalReference.getDictionary(), verbose ? console : NullOutput.INSTANCE, console);
+        long start = System.nanoTime();
+        SimulationStats stats;
+        try (BufferedReader moves = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            stats = runner.run(moves);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        stats.printReport(System.out);
+        System.out.printf("Played %d scripted games in %.3f s (%.0f games/s)%n",
+                stats.getGames(), seconds, stats.getGames() / seconds);
+    }
+}
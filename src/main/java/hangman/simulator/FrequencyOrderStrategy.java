@@ -0,0 +1,31 @@
+package hangman.simulator;
+
+import hangman.game.HangmanGame;
+
+/**
+ * The FrequencyOrderStrategy class guesses letters in a fixed order from the most to the least common
+ * letter in English, ignoring everything revealed so far. It is a cheap baseline to compare other strategies with.
+ */
+public class FrequencyOrderStrategy implements GuessingStrategy {
+
+    // Letters from most to least common in English.
+    private static final String ORDER = "esiarnotlcdupmghbykfwvzjxq";
+
+    /**
+     * Picks the most common English letter that has not been guessed yet.
+     *
+     * @param game The game being played.
+     * @return The letter to guess.
+     */
+    @Override
+    public char nextGuess(HangmanGame game) {
+        long guessed = game.getGuessedMask();
+        for (int i = 0; i < ORDER.length(); i++) {
+            char letter = ORDER.charAt(i);
+            if ((guessed & (1L << (letter - 'a'))) == 0) {
+                return letter;
+            }
+        }
+        throw new IllegalStateException("Every letter has already been guessed.");
+    }
+}
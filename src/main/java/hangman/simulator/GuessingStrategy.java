@@ -0,0 +1,27 @@
+package hangman.simulator;
+
+import hangman.game.HangmanGame;
+
+/**
+ * The GuessingStrategy interface defines how a simulated player picks its guesses.
+ * The simulator creates one strategy instance per worker thread, so implementations may keep
+ * mutable per-game state without synchronization.
+ */
+public interface GuessingStrategy {
+
+    /**
+     * Prepares the strategy for a new game that has just been reset.
+     *
+     * @param game The game about to be played.
+     */
+    default void startGame(HangmanGame game) {
+    }
+
+    /**
+     * Picks the next letter to guess in a game that is neither won nor lost.
+     *
+     * @param game The game being played.
+     * @return The letter to guess, which should not have been guessed before in this game.
+     */
+    char nextGuess(HangmanGame game);
+}
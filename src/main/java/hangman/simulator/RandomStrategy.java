@@ -0,0 +1,43 @@
+package hangman.simulator;
+
+import hangman.game.HangmanGame;
+
+import java.util.SplittableRandom;
+
+/**
+ * The RandomStrategy class guesses a random letter that has not been guessed yet,
+ * modelling a player without any strategy.
+ */
+public class RandomStrategy implements GuessingStrategy {
+
+    // The source of random letters.
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a RandomStrategy with its own seeded random stream.
+     *
+     * @param seed The seed of the random stream.
+     */
+    public RandomStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Picks a letter uniformly at random among those not guessed yet.
+     *
+     * @param game The game being played.
+     * @return The letter to guess.
+     */
+    @Override
+    public char nextGuess(HangmanGame game) {
+        int unguessed = ~(int) game.getGuessedMask() & ((1 << 26) - 1);
+        if (unguessed == 0) {
+            throw new IllegalStateException("Every letter has already been guessed.");
+        }
+        // Pick the n-th remaining letter by clearing the lowest set bits n times.
+        for (int skip = random.nextInt(Integer.bitCount(unguessed)); skip > 0; skip--) {
+            unguessed &= unguessed - 1;
+        }
+        return (char) ('a' + Integer.numberOfTrailingZeros(unguessed));
+    }
+}
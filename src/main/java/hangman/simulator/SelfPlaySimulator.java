@@ -0,0 +1,201 @@
+package hangman.simulator;
+
+import hangman.game.HangmanGameLogic;
+import hangman.game.dictionary.DictionaryRegistry;
+import hangman.game.dictionary.DictionarySnapshot;
+import hangman.game.leaderboard.Leaderboard;
+import hangman.game.metrics.GameMetrics;
+import hangman.game.solver.SolverIndex;
+import hangman.utils.PackedDictionary;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * The SelfPlaySimulator class plays large numbers of complete hangman games without any user interface.
+ * The games are split into batches that run on a fork/join pool; each batch plays on its own
+ * {@link HangmanGameLogic} with its own {@link GuessingStrategy} and records into its own
+ * {@link SimulationStats}, which are merged as the batches complete. Secret words are drawn from a
+ * random stream derived from the seed and the batch, so a run is reproducible for any degree of parallelism.
+ */
+public class SelfPlaySimulator {
+
+    // The number of games a batch plays without splitting further.
+    private static final int BATCH_SIZE = 4096;
+
+    // The dictionary the secret words are drawn from.
+    private final PackedDictionary dictionary;
+
+    // Creates the strategy of a batch from the batch seed.
+    private final LongFunction<GuessingStrategy> strategyFactory;
+
+    // The seed the random streams of all batches are derived from.
+    private final long seed;
+
+    // The leaderboard every final score is submitted to, or null if scores are not kept.
+    private Leaderboard leaderboard;
+
+    // The names the simulated players submit their scores under; game i is played by player i modulo their number.
+    private String[] playerNames;
+
+    /**
+     * Constructs a simulator.
+     *
+     * @param dictionary      The dictionary the secret words are drawn from.
+     * @param strategyFactory Creates a fresh strategy for each batch, given a seed derived for that batch.
+     * @param seed            The seed of the run.
+     */
+    public SelfPlaySimulator(PackedDictionary dictionary, LongFunction<GuessingStrategy> strategyFactory, long seed) {
+        this.dictionary = dictionary;
+        this.strategyFactory = strategyFactory;
+        this.seed = seed;
+    }
+
+    /**
+     * Submits the final score of every simulated game to a leaderboard, spreading the games over
+     * the given number of simulated players named "bot-0", "bot-1", and so on.
+     *
+     * @param leaderboard The leaderboard, or null to stop submitting scores.
+     * @param players     The number of simulated players.
+     */
+    public void setLeaderboard(Leaderboard leaderboard, int players) {
+        String[] names = new String[players];
+        for (int i = 0; i < players; i++) {
+            names[i] = "bot-" + i;
+        }
+        this.playerNames = names;
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Plays the given number of games on a pool with the given parallelism.
+     *
+     * @param games       The number of games to play.
+     * @param parallelism The number of worker threads.
+     * @return The merged statistics of all games.
+     */
+    public SimulationStats run(long games, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new Batch(0, games));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a range of games on the current thread.
+     *
+     * @param from The number of the first game.
+     * @param to   The number just past the last game.
+     * @return The statistics of the range.
+     */
+    private SimulationStats play(long from, long to) {
+        long batchSeed = mix(seed ^ mix(from));
+        SplittableRandom random = new SplittableRandom(batchSeed);
+        GuessingStrategy strategy = strategyFactory.apply(batchSeed);
+        HangmanGameLogic game = new HangmanGameLogic(dictionary);
+        SimulationStats stats = new SimulationStats();
+        for (long i = from; i < to; i++) {
+            game.resetGame(random.nextInt(dictionary.size()));
+            strategy.startGame(game);
+            int guesses = 0;
+            while (!game.isGameWon() && !game.isGameLost()) {
+                game.makeGuess(strategy.nextGuess(game));
+                guesses++;
+            }
+            stats.record(game.isGameWon(), game.getScore(), game.getWrongGuesses(), guesses);
+            if (leaderboard != null) {
+                leaderboard.submit(playerNames[(int) (i % playerNames.length)], game.getScore());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Scrambles a value so that nearby inputs give unrelated seeds.
+     *
+     * @param value The value to scramble.
+     * @return The scrambled value.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * A fork/join task playing a range of games, splitting ranges larger than a batch in half.
+     * Ranges are always split at multiples of the batch size, so the batches and their seeds do not
+     * depend on the parallelism.
+     */
+    private class Batch extends RecursiveTask<SimulationStats> {
+
+        // The version of the serialized form, which fork/join tasks inherit but never use.
+        private static final long serialVersionUID = 1L;
+
+        // The number of the first game of the range.
+        private final long from;
+
+        // The number just past the last game of the range.
+        private final long to;
+
+        Batch(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            long batches = (to - from + BATCH_SIZE - 1) / BATCH_SIZE;
+            if (batches <= 1) {
+                return play(from, to);
+            }
+            long middle = from + batches / 2 * BATCH_SIZE;
+            Batch right = new Batch(middle, to);
+            right.fork();
+            SimulationStats left = new Batch(from, middle).compute();
+            return left.merge(right.join());
+        }
+    }
+
+    /**
+     * Runs a simulation over the dictionary of the global registry, with the solver index of its snapshot, and
+     * prints the statistics and the throughput.
+     *
+     * @param args Optional arguments: the number of games (default 1000000), the strategy
+     *             ("solver", "frequency" or "random", default "solver"), the number of threads
+     *             (default: all available processors), and the seed (default 5031).
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        String strategyName = args.length > 1 ? args[1] : "solver";
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 5031L;
+
+        DictionarySnapshot snapshot = DictionaryRegistry.global().current();
+        PackedDictionary dictionary = snapshot.getDictionary();
+        LongFunction<GuessingStrategy> factory = switch (strategyName) {
+            case "solver" -> {
+                SolverIndex index = snapshot.getSolverIndex();
+                if (index == null) {
+                    throw new IllegalArgumentException("The solver only plays English dictionaries.");
+                }
+                yield batchSeed -> new SolverStrategy(index);
+            }
+            case "frequency" -> batchSeed -> new FrequencyOrderStrategy();
+            case "random" -> RandomStrategy::new;
+            default -> throw new IllegalArgumentException("Unknown strategy: " + strategyName);
+        };
+
+        GameMetrics.registerMBean();
+        long start = System.nanoTime();
+        SimulationStats stats = new SelfPlaySimulator(dictionary, factory, seed).run(games, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        stats.printReport(System.out);
+        System.out.printf("Played %d games on %d threads in %.3f s (%.0f games/s, %.0f guesses/s)%n",
+                stats.getGames(), threads, seconds, stats.getGames() / seconds, stats.getGuesses() / seconds);
+    }
+}
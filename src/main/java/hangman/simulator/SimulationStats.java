@@ -0,0 +1,144 @@
+package hangman.simulator;
+
+import java.io.PrintStream;
+
+import static hangman.game.GlobalReference.ERROR_PENALTY_SCORE;
+import static hangman.game.GlobalReference.MAX_SCORE;
+import static hangman.game.GlobalReference.MAX_TRIES;
+
+/**
+ * The SimulationStats class accumulates the outcome of simulated games: how many were won,
+ * how the final scores are distributed, and how many wrong guesses each game took.
+ * Every worker thread fills its own instance, and the instances are merged once the work is done,
+ * so recording a game needs no synchronization.
+ */
+public class SimulationStats {
+
+    // The number of games played.
+    private long games;
+
+    // The number of games won.
+    private long wins;
+
+    // The total number of guesses made.
+    private long guesses;
+
+    // The number of games ending with each score, indexed by score / ERROR_PENALTY_SCORE.
+    private final long[] scoreHistogram = new long[MAX_SCORE / ERROR_PENALTY_SCORE + 1];
+
+    // The number of games ending with each number of wrong guesses.
+    private final long[] wrongGuessHistogram = new long[MAX_TRIES + 1];
+
+    /**
+     * Records the outcome of one finished game.
+     *
+     * @param won          Whether the game was won.
+     * @param score        The final score.
+     * @param wrongGuesses The number of wrong guesses made.
+     * @param guessCount   The number of guesses made.
+     */
+    public void record(boolean won, int score, int wrongGuesses, int guessCount) {
+        games++;
+        if (won) {
+            wins++;
+        }
+        guesses += guessCount;
+        scoreHistogram[Math.min(score / ERROR_PENALTY_SCORE, scoreHistogram.length - 1)]++;
+        wrongGuessHistogram[Math.min(wrongGuesses, MAX_TRIES)]++;
+    }
+
+    /**
+     * Adds the outcomes recorded by another instance to this one.
+     *
+     * @param other The statistics to merge in.
+     * @return This instance.
+     */
+    public SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        wins += other.wins;
+        guesses += other.guesses;
+        for (int i = 0; i < scoreHistogram.length; i++) {
+            scoreHistogram[i] += other.scoreHistogram[i];
+        }
+        for (int i = 0; i < wrongGuessHistogram.length; i++) {
+            wrongGuessHistogram[i] += other.wrongGuessHistogram[i];
+        }
+        return this;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return The game count.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games won.
+     *
+     * @return The win count.
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Gets the total number of guesses made across all games.
+     *
+     * @return The guess count.
+     */
+    public long getGuesses() {
+        return guesses;
+    }
+
+    /**
+     * Gets the fraction of games won.
+     *
+     * @return The win rate between 0 and 1, or 0 if no game was played.
+     */
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /**
+     * Gets the number of games that ended with a given score.
+     *
+     * @param score The score, a multiple of ERROR_PENALTY_SCORE between 0 and MAX_SCORE.
+     * @return The number of games with that score.
+     */
+    public long getScoreCount(int score) {
+        return scoreHistogram[score / ERROR_PENALTY_SCORE];
+    }
+
+    /**
+     * Gets the number of games that ended with a given number of wrong guesses.
+     *
+     * @param wrongGuesses The number of wrong guesses, between 0 and MAX_TRIES.
+     * @return The number of games with that many wrong guesses.
+     */
+    public long getWrongGuessCount(int wrongGuesses) {
+        return wrongGuessHistogram[wrongGuesses];
+    }
+
+    /**
+     * Prints a report of the win rate and both histograms.
+     *
+     * @param out The stream to print to.
+     */
+    public void printReport(PrintStream out) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Games: %d, won: %d (%.2f%%), guesses per game: %.2f%n",
+                games, wins, getWinRate() * 100, games == 0 ? 0.0 : (double) guesses / games));
+        report.append("Score distribution:\n");
+        for (int i = scoreHistogram.length - 1; i >= 0; i--) {
+            report.append(String.format("  %4d: %d%n", i * ERROR_PENALTY_SCORE, scoreHistogram[i]));
+        }
+        report.append("Wrong guesses:\n");
+        for (int i = 0; i < wrongGuessHistogram.length; i++) {
+            report.append(String.format("  %4d: %d%n", i, wrongGuessHistogram[i]));
+        }
+        out.print(report);
+    }
+}
@@ -0,0 +1,46 @@
+package hangman.simulator;
+
+import hangman.game.HangmanGame;
+import hangman.game.solver.HangmanSolver;
+import hangman.game.solver.SolverIndex;
+
+/**
+ * The SolverStrategy class follows the suggestions of a {@link HangmanSolver}, guessing the letter
+ * contained in the most dictionary words still consistent with the game.
+ */
+public class SolverStrategy implements GuessingStrategy {
+
+    // The solver tracking the current game.
+    private final HangmanSolver solver;
+
+    /**
+     * Constructs a SolverStrategy over a shared solver index.
+     *
+     * @param index The index of the dictionary the games draw from.
+     */
+    public SolverStrategy(SolverIndex index) {
+        this.solver = new HangmanSolver(index);
+    }
+
+    /**
+     * Resets the solver for the length of the new word.
+     *
+     * @param game The game about to be played.
+     */
+    @Override
+    public void startGame(HangmanGame game) {
+        solver.reset(game.getCurrentState().length());
+    }
+
+    /**
+     * Brings the solver up to date with the game and returns its suggestion.
+     *
+     * @param game The game being played.
+     * @return The letter to guess.
+     */
+    @Override
+    public char nextGuess(HangmanGame game) {
+        solver.sync(game);
+        return solver.nextGuess();
+    }
+}
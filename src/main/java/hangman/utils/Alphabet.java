@@ -0,0 +1,239 @@
+package hangman.utils;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * The Alphabet class is the symbol encoding of a dictionary: an ordered set of up to {@link #MAX_SIZE} letters,
+ * each identified by its symbol, the index of the letter in the alphabet. Letters may be any Unicode code point,
+ * including supplementary ones, yet a symbol always fits in one byte of packed storage and the letters of a
+ * word or a game always fit in one long bit mask. Looking up the symbol of a letter is a single array access
+ * when the letters lie close together, as they do within one script, and a short binary search otherwise.
+ * Alphabets are immutable and safe to share between threads.
+ */
+public final class Alphabet {
+
+    /**
+     * MAX_SIZE is the largest number of letters an alphabet may hold, bounded by the bits of a long mask.
+     */
+    public static final int MAX_SIZE = Long.SIZE;
+
+    /**
+     * ENGLISH is the alphabet of the letters 'a' to 'z', where the symbol of a letter is (letter - 'a').
+     */
+    public static final Alphabet ENGLISH = of("en", "abcdefghijklmnopqrstuvwxyz");
+
+    // The largest distance between the first and last letter for which symbols are looked up in a direct table.
+    private static final int MAX_TABLE_SPAN = 1024;
+
+    // The name of the alphabet, usually a language tag.
+    private final String name;
+
+    // The letters in symbol order, which is ascending code point order.
+    private final int[] letters;
+
+    // The symbol of every code point from letters[0] on, or -1, when the letters span at most MAX_TABLE_SPAN.
+    private final byte[] table;
+
+    /**
+     * Constructs an alphabet from its letters.
+     *
+     * @param name    The name of the alphabet.
+     * @param letters The distinct letters in ascending order.
+     */
+    private Alphabet(String name, int[] letters) {
+        this.name = name;
+        this.letters = letters;
+        int span = letters.length == 0 ? 0 : letters[letters.length - 1] - letters[0] + 1;
+        if (span <= MAX_TABLE_SPAN) {
+            table = new byte[span];
+            Arrays.fill(table, (byte) -1);
+            for (int symbol = 0; symbol < letters.length; symbol++) {
+                table[letters[symbol] - letters[0]] = (byte) symbol;
+            }
+        } else {
+            table = null;
+        }
+    }
+
+    /**
+     * Creates an alphabet of the given letters. The letters are lower-cased and sorted by code point,
+     * and repeated letters are ignored.
+     *
+     * @param name    The name of the alphabet, usually a language tag such as "ru".
+     * @param letters The letters of the alphabet.
+     * @return The alphabet.
+     * @throws IllegalArgumentException if a character is not alphabetic or there are more than MAX_SIZE letters.
+     */
+    public static Alphabet of(String name, CharSequence letters) {
+        TreeSet<Integer> distinct = new TreeSet<>();
+        letters.codePoints().forEach(letter -> distinct.add(normalize(letter)));
+        return create(name, distinct);
+    }
+
+    /**
+     * Creates the alphabet of exactly the letters used by a list of words. Words written only in 'a' to 'z'
+     * get the {@link #ENGLISH} alphabet instead, so an English word list stays usable by the English-only
+     * components even when it happens not to use every letter.
+     *
+     * @param name  The name of the alphabet.
+     * @param words The words.
+     * @return The alphabet.
+     * @throws IllegalArgumentException if a word contains a character that is not alphabetic,
+     *                                  or the words use more than MAX_SIZE letters.
+     */
+    public static Alphabet derive(String name, Iterable<? extends CharSequence> words) {
+        TreeSet<Integer> distinct = new TreeSet<>();
+        for (CharSequence word : words) {
+            word.codePoints().forEach(letter -> distinct.add(normalize(letter)));
+        }
+        if (distinct.isEmpty() || distinct.first() >= 'a' && distinct.last() <= 'z') {
+            return ENGLISH;
+        }
+        return create(name, distinct);
+    }
+
+    /**
+     * Creates an alphabet from its letters, given as code points in ascending order.
+     *
+     * @param name    The name of the alphabet.
+     * @param letters The distinct letters in ascending order, such as those stored in a compiled dictionary.
+     * @return The alphabet, or {@link #ENGLISH} if the letters are 'a' to 'z'.
+     * @throws IllegalArgumentException if the letters are not ascending, not alphabetic, or too many.
+     */
+    public static Alphabet fromCodePoints(String name, int[] letters) {
+        if (ENGLISH != null && Arrays.equals(letters, ENGLISH.letters)) {
+            return ENGLISH;
+        }
+        TreeSet<Integer> distinct = new TreeSet<>();
+        for (int i = 0; i < letters.length; i++) {
+            if (i > 0 && letters[i] <= letters[i - 1]) {
+                throw new IllegalArgumentException("Alphabet letters must be distinct and ascending.");
+            }
+            distinct.add(normalize(letters[i]));
+        }
+        return create(name, distinct);
+    }
+
+    /**
+     * Validates and packs a set of letters into an alphabet.
+     *
+     * @param name    The name of the alphabet.
+     * @param letters The distinct letters, sorted.
+     * @return The alphabet.
+     */
+    private static Alphabet create(String name, TreeSet<Integer> letters) {
+        if (letters.size() > MAX_SIZE) {
+            throw new IllegalArgumentException("An alphabet holds at most " + MAX_SIZE + " letters, not "
+                    + letters.size() + ".");
+        }
+        int[] sorted = new int[letters.size()];
+        int i = 0;
+        for (int letter : letters) {
+            sorted[i++] = letter;
+        }
+        return new Alphabet(name, sorted);
+    }
+
+    /**
+     * Brings a letter to the form stored in an alphabet, which is its lower case.
+     *
+     * @param letter The letter as a code point.
+     * @return The lower-case letter.
+     * @throws IllegalArgumentException if the code point is not alphabetic.
+     */
+    private static int normalize(int letter) {
+        if (!Character.isAlphabetic(letter)) {
+            throw new IllegalArgumentException("Unsupported dictionary character: " + Character.toString(letter));
+        }
+        return Character.toLowerCase(letter);
+    }
+
+    /**
+     * Gets the name of the alphabet.
+     *
+     * @return The name, usually a language tag.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of letters of the alphabet.
+     *
+     * @return The letter count, at most MAX_SIZE.
+     */
+    public int size() {
+        return letters.length;
+    }
+
+    /**
+     * Gets the symbol of a letter.
+     *
+     * @param letter The letter as a code point; letters are matched exactly, so an upper-case letter has no symbol.
+     * @return The symbol, from 0 to size() - 1, or -1 if the letter is not in the alphabet.
+     */
+    public int symbolOf(int letter) {
+        if (table != null) {
+            int offset = letter - letters[0];
+            return offset >= 0 && offset < table.length ? table[offset] : -1;
+        }
+        int symbol = Arrays.binarySearch(letters, letter);
+        return symbol >= 0 ? symbol : -1;
+    }
+
+    /**
+     * Gets the letter of a symbol.
+     *
+     * @param symbol The symbol.
+     * @return The letter as a code point.
+     */
+    public int letterOf(int symbol) {
+        return letters[symbol];
+    }
+
+    /**
+     * Gets the bit of a letter in a letter mask.
+     *
+     * @param letter The letter as a code point.
+     * @return The bit of the letter's symbol, or 0 if the letter is not in the alphabet.
+     */
+    public long bitOf(int letter) {
+        int symbol = symbolOf(letter);
+        return symbol < 0 ? 0L : 1L << symbol;
+    }
+
+    /**
+     * Checks whether every letter of the alphabet is a single char, which lets words be handled as plain Strings
+     * where a letter and a char are the same thing.
+     *
+     * @return true if no letter is a supplementary code point.
+     */
+    public boolean isBmp() {
+        return letters.length == 0 || Character.isBmpCodePoint(letters[letters.length - 1]);
+    }
+
+    /**
+     * Gets the letters of the alphabet in symbol order.
+     *
+     * @return A copy of the letters as code points.
+     */
+    public int[] toCodePoints() {
+        return letters.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Alphabet other && Arrays.equals(letters, other.letters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(letters);
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + new String(letters, 0, letters.length);
+    }
+}
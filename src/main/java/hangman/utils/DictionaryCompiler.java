@@ -0,0 +1,39 @@
+package hangman.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The DictionaryCompiler class is the build-time step that turns a plain text word list into the compiled
+ * binary format read by {@link DictionaryFile}. Maven runs it after compiling the sources, so the compiled
+ * dictionary is packaged next to the text word list and can be memory-mapped at startup. Word lists in other
+ * scripts are compiled by naming their alphabet, which is then derived from the letters the words use.
+ */
+public class DictionaryCompiler {
+
+    /**
+     * Compiles a text word list, one word per line, into a binary dictionary file.
+     *
+     * @param args The path of the text word list followed by the path of the compiled file to write, and
+     *             optionally the name of the alphabet for a word list in UTF-8 that is not plain English.
+     * @throws IOException if the word list cannot be read or the compiled file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 && args.length != 3) {
+            System.err.println("Usage: DictionaryCompiler <wordlist.txt> <wordlist.bin> [alphabet name]");
+            System.exit(2);
+        }
+        Path source = Path.of(args[0]);
+        Path target = Path.of(args[1]);
+        PackedDictionary dictionary;
+        try (InputStream is = Files.newInputStream(source)) {
+            dictionary = args.length == 3 ? WordParser.loadDictionary(is, null, args[2])
+                    : WordParser.loadDictionary(is);
+        }
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        DictionaryFile.write(dictionary, target);
+        System.out.println("Compiled " + dictionary.size() + " words from " + source + " into " + target);
+    }
+}
@@ -0,0 +1,160 @@
+package hangman.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * The DictionaryFile class reads and writes the compiled binary form of a {@link PackedDictionary}.
+ * A compiled dictionary starts with a fixed header (magic number, format version, layout, word count,
+ * letter count, a CRC32 checksum and the alphabet size), followed by the letters of the {@link Alphabet}
+ * as code points, the word offset table when words differ in length, and then by the packed letters.
+ * Because this is exactly the in-memory layout of a PackedDictionary, a compiled file can be memory-mapped
+ * and used in place without parsing or copying.
+ */
+public class DictionaryFile {
+
+    /**
+     * MAGIC identifies a compiled dictionary file; it spells "HGDC" in ASCII.
+     */
+    public static final int MAGIC = 0x48474443;
+
+    /**
+     * VERSION is the format version written by this class. Files with another version are rejected.
+     */
+    public static final int VERSION = 2;
+
+    // The size of the header in bytes; a multiple of four so the offset table stays aligned.
+    private static final int HEADER_SIZE = 28;
+
+    /**
+     * Writes a dictionary to a file in the compiled binary format. The file is written to a temporary
+     * sibling first and then moved into place, so readers never see a partially written dictionary.
+     *
+     * @param dictionary The dictionary to write.
+     * @param file       The file to write to.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(PackedDictionary dictionary, Path file) throws IOException {
+        ByteBuffer letters = dictionary.letters();
+        IntBuffer offsets = dictionary.offsets();
+        int letterCount = dictionary.size() == 0 ? 0 : dictionary.start(dictionary.size() - 1)
+                + dictionary.length(dictionary.size() - 1);
+        int offsetCount = offsets == null ? 0 : dictionary.size() + 1;
+
+        int[] alphabet = dictionary.getAlphabet().toCodePoints();
+
+        ByteBuffer body = ByteBuffer.allocate((alphabet.length + offsetCount) * Integer.BYTES + letterCount);
+        for (int letter : alphabet) {
+            body.putInt(letter);
+        }
+        for (int i = 0; i < offsetCount; i++) {
+            body.putInt(offsets.get(i));
+        }
+        body.put(letters.limit(letterCount));
+        body.flip();
+
+        CRC32 checksum = new CRC32();
+        checksum.update(body.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(dictionary.fixedLength())
+                .putInt(dictionary.size())
+                .putInt(letterCount)
+                .putInt((int) checksum.getValue())
+                .putInt(alphabet.length)
+                .flip();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, body});
+            }
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Memory-maps a compiled dictionary file and wraps it as a PackedDictionary without copying its contents.
+     * The checksum is verified against the mapped data before the dictionary is returned.
+     *
+     * @param file The compiled dictionary file.
+     * @return A dictionary backed by the mapped file.
+     * @throws IOException if the file cannot be read or is not a valid compiled dictionary.
+     */
+    public static PackedDictionary map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return wrap(mapped);
+        }
+    }
+
+    /**
+     * Wraps a buffer holding a compiled dictionary as a PackedDictionary without copying its contents.
+     *
+     * @param buffer The buffer holding the complete compiled dictionary, starting at position 0.
+     * @return A dictionary backed by the buffer.
+     * @throws IOException if the buffer does not hold a valid compiled dictionary.
+     */
+    public static PackedDictionary wrap(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a compiled dictionary.");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported compiled dictionary version " + version + ".");
+        }
+        int stride = buffer.getInt(8);
+        int size = buffer.getInt(12);
+        int letterCount = buffer.getInt(16);
+        int expectedChecksum = buffer.getInt(20);
+        int alphabetSize = buffer.getInt(24);
+        long alphabetBytes = (long) alphabetSize * Integer.BYTES;
+        long offsetBytes = stride == 0 ? (size + 1L) * Integer.BYTES : 0;
+        if (stride < 0 || size < 0 || letterCount < 0 || alphabetSize < 0 || alphabetSize > Alphabet.MAX_SIZE
+                || HEADER_SIZE + alphabetBytes + offsetBytes + letterCount != buffer.limit()) {
+            throw new IOException("Corrupt compiled dictionary header.");
+        }
+
+        ByteBuffer body = buffer.slice(HEADER_SIZE, buffer.limit() - HEADER_SIZE);
+        CRC32 checksum = new CRC32();
+        checksum.update(body.duplicate());
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IOException("Compiled dictionary checksum mismatch.");
+        }
+
+        ByteBuffer letters = body.slice((int) (alphabetBytes + offsetBytes), letterCount);
+        try {
+            int[] codePoints = new int[alphabetSize];
+            body.slice(0, (int) alphabetBytes).asIntBuffer().get(codePoints);
+            Alphabet alphabet = Alphabet.fromCodePoints("compiled", codePoints);
+            for (int i = 0; i < letterCount; i++) {
+                if (letters.get(i) < 0 || letters.get(i) >= alphabet.size()) {
+                    throw new IOException("Compiled dictionary letter outside its alphabet.");
+                }
+            }
+            if (stride == 0) {
+                IntBuffer offsets = body.slice((int) alphabetBytes, (int) offsetBytes).asIntBuffer();
+                return new PackedDictionary(letters, offsets, alphabet);
+            }
+            return new PackedDictionary(letters, stride, size, alphabet);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt compiled dictionary layout.", e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package hangman.utils;
+
+/**
+ * The IntCountMap class counts occurrences of int keys in an open-addressing hash table of primitive arrays,
+ * so counting never boxes a key or allocates an entry. Every key value is allowed, because an empty slot is
+ * recognised by its zero count rather than by a reserved key. The slots in use are remembered in insertion
+ * order, which makes iterating and clearing proportional to the number of distinct keys instead of the
+ * capacity, so one map can be cleared and reused cheaply many times. The map is not thread-safe.
+ */
+public class IntCountMap {
+
+    // The key stored in each slot.
+    private int[] keys;
+
+    // The count stored in each slot, or 0 if the slot is empty.
+    private int[] counts;
+
+    // The slots in use, in the order their keys were first counted.
+    private int[] used;
+
+    // The number of distinct keys.
+    private int size;
+
+    // The capacity minus one, used to wrap slot indices.
+    private int slotMask;
+
+    /**
+     * Constructs an empty map sized for the given number of distinct keys without resizing.
+     *
+     * @param expectedKeys The expected number of distinct keys.
+     */
+    public IntCountMap(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedKeys * 2 - 1)) << 1;
+        keys = new int[capacity];
+        counts = new int[capacity];
+        used = new int[capacity / 2];
+        slotMask = capacity - 1;
+    }
+
+    /**
+     * Adds one to the count of a key.
+     *
+     * @param key The key to count.
+     * @return The new count of the key.
+     */
+    public int increment(int key) {
+        int slot = slotOf(key);
+        if (counts[slot] != 0) {
+            return ++counts[slot];
+        }
+        if (size == used.length) {
+            grow();
+            slot = slotOf(key);
+        }
+        keys[slot] = key;
+        counts[slot] = 1;
+        used[size++] = slot;
+        return 1;
+    }
+
+    /**
+     * Gets the count of a key.
+     *
+     * @param key The key to look up.
+     * @return The number of times the key was counted since the map was last cleared.
+     */
+    public int get(int key) {
+        return counts[slotOf(key)];
+    }
+
+    /**
+     * Gets the number of distinct keys counted since the map was last cleared.
+     *
+     * @return The number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a key by its position in insertion order.
+     *
+     * @param i The position, from 0 to size() - 1.
+     * @return The i-th distinct key counted.
+     */
+    public int keyAt(int i) {
+        return keys[used[i]];
+    }
+
+    /**
+     * Gets the count of a key by its position in insertion order.
+     *
+     * @param i The position, from 0 to size() - 1.
+     * @return The count of the i-th distinct key.
+     */
+    public int countAt(int i) {
+        return counts[used[i]];
+    }
+
+    /**
+     * Removes every key, touching only the slots in use.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            counts[used[i]] = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * Finds the slot holding a key, or the empty slot where it would be inserted.
+     *
+     * @param key The key to look up.
+     * @return The slot index.
+     */
+    private int slotOf(int key) {
+        int slot = mix(key) & slotMask;
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & slotMask;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the capacity and reinserts every key, keeping the insertion order.
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        int[] oldUsed = used;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        used = new int[oldKeys.length];
+        slotMask = keys.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = slotOf(oldKeys[oldUsed[i]]);
+            keys[slot] = oldKeys[oldUsed[i]];
+            counts[slot] = oldCounts[oldUsed[i]];
+            used[i] = slot;
+        }
+    }
+
+    /**
+     * Spreads the bits of a key so that keys differing only in high bits land in different slots.
+     *
+     * @param key The key.
+     * @return The scrambled hash of the key.
+     */
+    private static int mix(int key) {
+        int hash = key * 0x9e3779b9;
+        return hash ^ (hash >>> 16);
+    }
+}
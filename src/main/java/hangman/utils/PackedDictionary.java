@@ -0,0 +1,657 @@
+package hangman.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The PackedDictionary class stores a word list in one contiguous byte buffer instead of one String per word.
+ * Each letter is stored as a single byte holding its symbol in the dictionary's {@link Alphabet}, which is
+ * English ('a' is 0, 'z' is 25) unless another alphabet is given, so a word of any script takes one byte
+ * per letter and its letters fit in one long mask.
+ * When every word has the same length the entries are laid out with a fixed stride; otherwise an offset
+ * table records where each word starts, and the words are additionally bucketed by length on first use, so
+ * picking a word of a given length is a single array access in either layout. Words are addressed by their
+ * index and can be read letter by letter, as lightweight {@link CharSequence} views, or materialized as
+ * Strings only when needed.
+ */
+public class PackedDictionary {
+
+    /**
+     * ALPHABET_SIZE is the number of letters of the English alphabet, which most dictionaries use.
+     */
+    public static final int ALPHABET_SIZE = 26;
+
+    // The alphabet the letters are encoded in.
+    private final Alphabet alphabet;
+
+    // The letters of all words, one byte per letter, stored back to back.
+    private final ByteBuffer letters;
+
+    // Start offset of every word followed by the end offset of the last word, or null when using a fixed stride.
+    private final IntBuffer offsets;
+
+    // The length shared by every word when offsets is null, otherwise 0.
+    private final int stride;
+
+    // The number of words in the dictionary.
+    private final int size;
+
+    // The list view of this dictionary, created on first use.
+    private List<String> listView;
+
+    // The words bucketed by length, created on first use when the words differ in length.
+    private volatile LengthBuckets lengthBuckets;
+
+    // The membership set of the words, created on first use.
+    private volatile WordSet wordSet;
+
+    /**
+     * Constructs a PackedDictionary whose words all have the same length.
+     *
+     * @param letters  The letters of all words, stored back to back.
+     * @param stride   The length of every word.
+     * @param size     The number of words.
+     * @param alphabet The alphabet the letters are encoded in.
+     */
+    PackedDictionary(ByteBuffer letters, int stride, int size, Alphabet alphabet) {
+        if (stride <= 0 || (long) stride * size > letters.limit()) {
+            throw new IllegalArgumentException("Invalid fixed-stride dictionary layout.");
+        }
+        this.alphabet = alphabet;
+        this.letters = letters;
+        this.offsets = null;
+        this.stride = stride;
+        this.size = size;
+    }
+
+    /**
+     * Constructs a PackedDictionary with words of varying length.
+     *
+     * @param letters  The letters of all words, stored back to back.
+     * @param offsets  The start offset of every word followed by the end offset of the last word.
+     * @param alphabet The alphabet the letters are encoded in.
+     */
+    PackedDictionary(ByteBuffer letters, IntBuffer offsets, Alphabet alphabet) {
+        if (offsets.limit() == 0 || offsets.get(offsets.limit() - 1) > letters.limit()) {
+            throw new IllegalArgumentException("Invalid offset-indexed dictionary layout.");
+        }
+        this.alphabet = alphabet;
+        this.letters = letters;
+        this.offsets = offsets;
+        this.stride = 0;
+        this.size = offsets.limit() - 1;
+    }
+
+    /**
+     * Creates a builder for assembling a dictionary of English words word by word.
+     *
+     * @return A new, empty builder.
+     */
+    public static Builder builder() {
+        return new Builder(Alphabet.ENGLISH);
+    }
+
+    /**
+     * Creates a builder for assembling a dictionary of words in the given alphabet word by word.
+     *
+     * @param alphabet The alphabet of the words.
+     * @return A new, empty builder.
+     */
+    public static Builder builder(Alphabet alphabet) {
+        return new Builder(alphabet);
+    }
+
+    /**
+     * Creates a dictionary holding the given words, mainly useful for tests and small word lists.
+     *
+     * @param words The words of the dictionary.
+     * @return A dictionary holding the words in the given order.
+     */
+    public static PackedDictionary of(String... words) {
+        Builder builder = builder();
+        for (String word : words) {
+            builder.add(word);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the number of words in the dictionary.
+     *
+     * @return The word count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the alphabet the words are written in.
+     *
+     * @return The alphabet of the dictionary.
+     */
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Checks whether the dictionary uses the English alphabet, which components working on 26-bit letter masks,
+     * such as the solver, require.
+     *
+     * @return true if the alphabet is {@link Alphabet#ENGLISH}.
+     */
+    public boolean isEnglish() {
+        return alphabet == Alphabet.ENGLISH;
+    }
+
+    /**
+     * Gets the length of a word.
+     *
+     * @param word The index of the word.
+     * @return The number of letters in the word.
+     */
+    public int length(int word) {
+        return offsets == null ? stride : offsets.get(word + 1) - offsets.get(word);
+    }
+
+    /**
+     * Gets the length shared by every word of the dictionary.
+     *
+     * @return The common word length, or 0 if the words differ in length.
+     */
+    public int fixedLength() {
+        return stride;
+    }
+
+    /**
+     * Gets the length of the longest word.
+     *
+     * @return The longest word length, or 0 for an empty dictionary.
+     */
+    public int maxLength() {
+        return offsets == null ? stride : lengthBuckets().start.length - 2;
+    }
+
+    /**
+     * Counts the words of a given length.
+     *
+     * @param length The word length.
+     * @return The number of words of that length.
+     */
+    public int countOfLength(int length) {
+        if (offsets == null) {
+            return length == stride ? size : 0;
+        }
+        int[] start = lengthBuckets().start;
+        return length >= 0 && length < start.length - 1 ? start[length + 1] - start[length] : 0;
+    }
+
+    /**
+     * Gets a word of a given length by its position among the words of that length, in constant time.
+     * Within a length, words keep their dictionary order.
+     *
+     * @param length   The word length.
+     * @param position The position, from 0 to {@link #countOfLength(int)} - 1.
+     * @return The index of the word.
+     * @throws IndexOutOfBoundsException if the position is outside the words of that length.
+     */
+    public int wordOfLength(int length, int position) {
+        if (position < 0 || position >= countOfLength(length)) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        return offsets == null ? position : lengthBuckets().words[lengthBuckets().start[length] + position];
+    }
+
+    /**
+     * Gets a letter of a word as its symbol in the alphabet.
+     *
+     * @param word     The index of the word.
+     * @param position The position of the letter within the word.
+     * @return The symbol of the letter, such as 0 for 'a' to 25 for 'z' in English.
+     */
+    public int letterAt(int word, int position) {
+        return letters.get(start(word) + position);
+    }
+
+    /**
+     * Gets a letter of a word as a character, for alphabets whose letters are all single chars.
+     *
+     * @param word     The index of the word.
+     * @param position The position of the letter within the word.
+     * @return The letter at the given position.
+     */
+    public char charAt(int word, int position) {
+        return (char) alphabet.letterOf(letterAt(word, position));
+    }
+
+    /**
+     * Gets a letter of a word as a code point.
+     *
+     * @param word     The index of the word.
+     * @param position The position of the letter within the word.
+     * @return The letter at the given position.
+     */
+    public int codePointAt(int word, int position) {
+        return alphabet.letterOf(letterAt(word, position));
+    }
+
+    /**
+     * Computes the set of distinct letters of a word as a bit mask, where bit i stands for the letter with
+     * symbol i, such as the letter ('a' + i) in English.
+     *
+     * @param word The index of the word.
+     * @return The letter mask of the word.
+     */
+    public long letterMask(int word) {
+        int start = start(word);
+        int end = start + length(word);
+        long mask = 0;
+        for (int i = start; i < end; i++) {
+            mask |= 1L << letters.get(i);
+        }
+        return mask;
+    }
+
+    /**
+     * Materializes a word as a String.
+     *
+     * @param word The index of the word.
+     * @return The word.
+     */
+    public String get(int word) {
+        int start = start(word);
+        int length = length(word);
+        if (!alphabet.isBmp()) {
+            StringBuilder text = new StringBuilder(length * 2);
+            for (int i = 0; i < length; i++) {
+                text.appendCodePoint(alphabet.letterOf(letters.get(start + i)));
+            }
+            return text.toString();
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) alphabet.letterOf(letters.get(start + i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns a lightweight view of a word that reads its letters straight from the packed storage.
+     * For alphabets with supplementary letters, whose words have more chars than letters, the word is
+     * materialized instead.
+     *
+     * @param word The index of the word.
+     * @return A character sequence backed by the dictionary.
+     */
+    public CharSequence view(int word) {
+        return alphabet.isBmp() ? new WordView(word) : get(word);
+    }
+
+    /**
+     * Checks whether a word of the dictionary is equal to a character sequence, without materializing the word.
+     *
+     * @param word      The index of the word.
+     * @param candidate The character sequence to compare against.
+     * @return true if both hold the same letters, false otherwise.
+     */
+    public boolean matches(int word, CharSequence candidate) {
+        int length = length(word);
+        int start = start(word);
+        if (!alphabet.isBmp()) {
+            int[] codePoints = candidate.codePoints().toArray();
+            if (codePoints.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (alphabet.symbolOf(codePoints[i]) != letters.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (alphabet.symbolOf(candidate.charAt(i)) != letters.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a character sequence is a word of the dictionary, in constant time. The first call builds
+     * the {@link WordSet} of the dictionary, so a single lookup is cheaper with {@link #indexOf(CharSequence)}.
+     *
+     * @param candidate The character sequence, written in the letters of the alphabet.
+     * @return true if the dictionary contains the word.
+     */
+    public boolean contains(CharSequence candidate) {
+        return wordSet().contains(candidate);
+    }
+
+    /**
+     * Gets the membership set of the words, building it on first use.
+     *
+     * @return The word set of this dictionary.
+     */
+    public WordSet wordSet() {
+        WordSet set = wordSet;
+        if (set == null) {
+            // Building twice under a race is harmless, as both threads build the same set.
+            set = new WordSet(this);
+            wordSet = set;
+        }
+        return set;
+    }
+
+    /**
+     * Finds the index of a word by scanning the packed storage.
+     *
+     * @param candidate The word to look for.
+     * @return The index of the first matching word, or -1 if the dictionary does not contain it.
+     */
+    public int indexOf(CharSequence candidate) {
+        for (int word = 0; word < size; word++) {
+            if (matches(word, candidate)) {
+                return word;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a read-only List view of the dictionary. Words are materialized as Strings when accessed,
+     * while lookups compare against the packed storage directly.
+     *
+     * @return The dictionary as a list of words.
+     */
+    public List<String> asList() {
+        if (listView == null) {
+            listView = new ListView();
+        }
+        return listView;
+    }
+
+    /**
+     * Gets the packed letters of all words, positioned at the first letter.
+     *
+     * @return A read-only view of the letter storage.
+     */
+    ByteBuffer letters() {
+        return letters.asReadOnlyBuffer().clear();
+    }
+
+    /**
+     * Gets the word offset table, positioned at the first entry.
+     *
+     * @return A read-only view of the offset table, or null when the dictionary uses a fixed stride.
+     */
+    IntBuffer offsets() {
+        return offsets == null ? null : offsets.asReadOnlyBuffer().clear();
+    }
+
+    /**
+     * Gets the offset of the first letter of a word in the packed storage.
+     *
+     * @param word The index of the word.
+     * @return The start offset of the word.
+     */
+    int start(int word) {
+        return offsets == null ? word * stride : offsets.get(word);
+    }
+
+    /**
+     * Gets the length buckets, building them on first use.
+     *
+     * @return The length buckets of a dictionary with an offset table.
+     */
+    private LengthBuckets lengthBuckets() {
+        LengthBuckets buckets = lengthBuckets;
+        if (buckets == null) {
+            // Building twice under a race is harmless, as both threads build the same buckets.
+            buckets = new LengthBuckets();
+            lengthBuckets = buckets;
+        }
+        return buckets;
+    }
+
+    /**
+     * The LengthBuckets class groups the word indices of a dictionary with an offset table by length,
+     * with a counting sort that keeps dictionary order within each length.
+     */
+    private class LengthBuckets {
+
+        // The position in words where the words of each length start, with one extra entry for the end.
+        final int[] start;
+
+        // The word indices ordered by length.
+        final int[] words;
+
+        LengthBuckets() {
+            int longest = 0;
+            for (int word = 0; word < size; word++) {
+                longest = Math.max(longest, length(word));
+            }
+            start = new int[longest + 2];
+            for (int word = 0; word < size; word++) {
+                start[length(word) + 1]++;
+            }
+            for (int length = 0; length <= longest; length++) {
+                start[length + 1] += start[length];
+            }
+            words = new int[size];
+            int[] next = Arrays.copyOf(start, longest + 1);
+            for (int word = 0; word < size; word++) {
+                words[next[length(word)]++] = word;
+            }
+        }
+    }
+
+    /**
+     * A read-only character sequence over a single word of the dictionary.
+     */
+    private class WordView implements CharSequence {
+
+        // The index of the viewed word.
+        private final int word;
+
+        WordView(int word) {
+            this.word = word;
+        }
+
+        @Override
+        public int length() {
+            return PackedDictionary.this.length(word);
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return PackedDictionary.this.charAt(word, index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return get(word);
+        }
+    }
+
+    /**
+     * A read-only list over the words of the dictionary.
+     */
+    private class ListView extends AbstractList<String> implements RandomAccess {
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return PackedDictionary.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof CharSequence ? PackedDictionary.this.indexOf((CharSequence) o) : -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+    }
+
+    /**
+     * The Builder class assembles a PackedDictionary word by word into growable primitive arrays,
+     * choosing the fixed-stride layout when every word turns out to have the same length.
+     */
+    public static class Builder {
+
+        // The alphabet the letters are encoded in.
+        private final Alphabet alphabet;
+
+        // The letters added so far.
+        private byte[] letters = new byte[1024];
+
+        // The start offset of every word added so far, followed by the current end offset.
+        private int[] offsets = new int[257];
+
+        // The number of words added so far.
+        private int size;
+
+        // The length shared by all words added so far, 0 before the first word, or -1 once lengths differ.
+        private int commonLength;
+
+        /**
+         * Constructs an empty builder.
+         *
+         * @param alphabet The alphabet the words are written in.
+         */
+        Builder(Alphabet alphabet) {
+            this.alphabet = alphabet;
+        }
+
+        /**
+         * Adds a word to the dictionary.
+         *
+         * @param word The word to add, made of the letters of the alphabet.
+         * @return This builder.
+         * @throws IllegalArgumentException if the word is empty or contains other characters.
+         */
+        public Builder add(CharSequence word) {
+            if (!alphabet.isBmp()) {
+                int[] codePoints = word.codePoints().toArray();
+                beginWord(codePoints.length);
+                int end = offsets[size];
+                for (int i = 0; i < codePoints.length; i++) {
+                    letters[end + i] = encode(codePoints[i]);
+                }
+                return endWord(codePoints.length);
+            }
+            int length = word.length();
+            beginWord(length);
+            int end = offsets[size];
+            for (int i = 0; i < length; i++) {
+                letters[end + i] = encode(word.charAt(i));
+            }
+            return endWord(length);
+        }
+
+        /**
+         * Adds a word given as ASCII bytes, avoiding the creation of a String when parsing raw input.
+         *
+         * @param source The buffer holding the word.
+         * @param from   The offset of the first byte of the word.
+         * @param length The number of bytes of the word.
+         * @return This builder.
+         * @throws IllegalArgumentException if the word is empty or contains characters outside the alphabet.
+         */
+        public Builder add(byte[] source, int from, int length) {
+            beginWord(length);
+            int end = offsets[size];
+            for (int i = 0; i < length; i++) {
+                letters[end + i] = encode(source[from + i] & 0xFF);
+            }
+            return endWord(length);
+        }
+
+        /**
+         * Builds the dictionary from the words added so far.
+         *
+         * @return A dictionary holding every added word in insertion order.
+         */
+        public PackedDictionary build() {
+            ByteBuffer packed = ByteBuffer.wrap(Arrays.copyOf(letters, offsets[size]));
+            if (commonLength > 0) {
+                return new PackedDictionary(packed, commonLength, size, alphabet);
+            }
+            return new PackedDictionary(packed, IntBuffer.wrap(Arrays.copyOf(offsets, size + 1)), alphabet);
+        }
+
+        /**
+         * Makes room for a word of the given length.
+         *
+         * @param length The length of the word about to be added.
+         */
+        private void beginWord(int length) {
+            if (length == 0) {
+                throw new IllegalArgumentException("Dictionary words must not be empty.");
+            }
+            int end = offsets[size];
+            if (end + length > letters.length) {
+                letters = Arrays.copyOf(letters, Math.max(letters.length * 2, end + length));
+            }
+            if (size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+        }
+
+        /**
+         * Records the end of a word whose letters have been written.
+         *
+         * @param length The length of the word.
+         * @return This builder.
+         */
+        private Builder endWord(int length) {
+            offsets[size + 1] = offsets[size] + length;
+            size++;
+            if (commonLength == 0) {
+                commonLength = length;
+            } else if (commonLength != length) {
+                commonLength = -1;
+            }
+            return this;
+        }
+
+        /**
+         * Encodes a letter as its symbol in the alphabet.
+         *
+         * @param letter The letter to encode, as a code point.
+         * @return The symbol of the letter.
+         * @throws IllegalArgumentException if the letter is not in the alphabet.
+         */
+        private byte encode(int letter) {
+            int symbol = alphabet.symbolOf(letter);
+            if (symbol < 0) {
+                throw new IllegalArgumentException("Unsupported dictionary character: " + Character.toString(letter));
+            }
+            return (byte) symbol;
+        }
+    }
+}
@@ -4,9 +4,16 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * The WordParser class is designed to load a list of words from an external resource file.
@@ -15,6 +22,12 @@ import java.util.List;
  */
 public class WordParser {
 
+    // The classpath resource holding the word list, one word per line.
+    private static final String WORD_LIST_RESOURCE = "wordlist.txt";
+
+    // The classpath resource holding the word list compiled by DictionaryCompiler at build time.
+    private static final String COMPILED_WORD_LIST_RESOURCE = "wordlist.bin";
+
     /**
      * Loads words from a text file located in the resources directory of the project.
      * This static method reads each line from the file, assuming each line contains a single word,
@@ -24,17 +37,178 @@ public class WordParser {
      * the method prints the stack trace and exits the program to prevent further execution with incomplete data.
      */
     public static List<String> loadWords() {
-        List<String> words = new ArrayList<>();
-        try (InputStream is = WordParser.class.getClassLoader().getResourceAsStream("wordlist.txt");
-             BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                words.add(line.trim());
-            }
+        try (InputStream is = WordParser.class.getClassLoader().getResourceAsStream(WORD_LIST_RESOURCE)) {
+            return loadWords(is);
         } catch (IOException e) {
             e.printStackTrace();
             System.exit(1);
+            return null;
+        }
+    }
+
+    /**
+     * Reads a word list, one word per line, from a stream into a List after trimming any leading
+     * or trailing whitespace from each line.
+     *
+     * @param is The stream to read the words from. The stream is not closed by this method.
+     * @return A List containing all the words read from the stream.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static List<String> loadWords(InputStream is) throws IOException {
+        List<String> words = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            words.add(line.trim());
         }
         return words;
     }
+
+    /**
+     * Loads the word list from the resources directory into a {@link PackedDictionary}.
+     * The dictionary compiled at build time is preferred: when it is a plain file it is memory-mapped and used
+     * in place, and when it is packaged inside a jar it is read in one block. If no valid compiled dictionary
+     * is available, the text word list is parsed straight from its bytes, so no String is created per word.
+     *
+     * @return A PackedDictionary holding all the words read from the file. If an error occurs during reading,
+     * the method prints the stack trace and exits the program to prevent further execution with incomplete data.
+     */
+    public static PackedDictionary loadDictionary() {
+        PackedDictionary compiled = loadCompiledDictionary();
+        if (compiled != null) {
+            return compiled;
+        }
+        try (InputStream is = WordParser.class.getClassLoader().getResourceAsStream(WORD_LIST_RESOURCE)) {
+            return loadDictionary(is);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+            return null;
+        }
+    }
+
+    /**
+     * Loads the dictionary compiled at build time, if one is available.
+     *
+     * @return The compiled dictionary, or null if it is missing or invalid.
+     */
+    private static PackedDictionary loadCompiledDictionary() {
+        URL url = WordParser.class.getClassLoader().getResource(COMPILED_WORD_LIST_RESOURCE);
+        if (url == null) {
+            return null;
+        }
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return DictionaryFile.map(Path.of(url.toURI()));
+            }
+            try (InputStream is = url.openStream()) {
+                return DictionaryFile.wrap(ByteBuffer.wrap(is.readAllBytes()));
+            }
+        } catch (IOException | URISyntaxException e) {
+            System.err.println("Ignoring compiled dictionary " + url + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads a word list, one word per line, from a stream into a {@link PackedDictionary}.
+     * Leading and trailing whitespace is ignored and blank lines are skipped.
+     *
+     * @param is The stream to read the words from. The stream is not closed by this method.
+     * @return A PackedDictionary holding the words in the order they appear in the stream.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static PackedDictionary loadDictionary(InputStream is) throws IOException {
+        PackedDictionary.Builder builder = PackedDictionary.builder();
+        byte[] buffer = new byte[8192];
+        // Bytes of a word split across two reads are carried over to the start of the buffer.
+        int carried = 0;
+        int read;
+        while ((read = is.read(buffer, carried, buffer.length - carried)) != -1) {
+            int limit = carried + read;
+            int lineStart = 0;
+            for (int i = carried; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    addTrimmed(builder, buffer, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            carried = limit - lineStart;
+            System.arraycopy(buffer, lineStart, buffer, 0, carried);
+            if (carried == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        addTrimmed(builder, buffer, 0, carried);
+        return builder.build();
+    }
+
+    /**
+     * Reads a word list in any script, one word per line in UTF-8, into a {@link PackedDictionary}.
+     * Words are lower-cased, leading and trailing whitespace is ignored and blank lines are skipped.
+     *
+     * @param is       The stream to read the words from. The stream is not closed by this method.
+     * @param alphabet The alphabet of the words, or null to use exactly the letters the words contain.
+     * @param name     The name given to a derived alphabet, usually a language tag.
+     * @return A PackedDictionary holding the words in the order they appear in the stream.
+     * @throws IOException if the stream cannot be read.
+     * @throws IllegalArgumentException if a word contains a letter outside the alphabet, or the words use more
+     *                                  than {@link Alphabet#MAX_SIZE} letters.
+     */
+    public static PackedDictionary loadDictionary(InputStream is, Alphabet alphabet, String name) throws IOException {
+        List<String> words = new ArrayList<>();
+        for (String word : loadWords(is)) {
+            if (!word.isEmpty()) {
+                words.add(word.toLowerCase(Locale.ROOT));
+            }
+        }
+        PackedDictionary.Builder builder = PackedDictionary.builder(
+                alphabet != null ? alphabet : Alphabet.derive(name, words));
+        for (String word : words) {
+            builder.add(word);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Loads a dictionary from a file, which may be a compiled dictionary or a UTF-8 word list in any script.
+     * The alphabet of a word list is derived from its words and named after the file.
+     *
+     * @param file The dictionary file.
+     * @return The dictionary; a compiled file is memory-mapped and used in place.
+     * @throws IOException if the file cannot be read or is a damaged compiled dictionary.
+     * @throws IllegalArgumentException if the words of a word list use more than {@link Alphabet#MAX_SIZE} letters.
+     */
+    public static PackedDictionary loadDictionary(Path file) throws IOException {
+        try (InputStream is = Files.newInputStream(file)) {
+            byte[] magic = is.readNBytes(Integer.BYTES);
+            if (magic.length == Integer.BYTES && ByteBuffer.wrap(magic).getInt() == DictionaryFile.MAGIC) {
+                return DictionaryFile.map(file);
+            }
+        }
+        String name = file.getFileName().toString();
+        try (InputStream is = Files.newInputStream(file)) {
+            return loadDictionary(is, null, name.contains(".") ? name.substring(0, name.lastIndexOf('.')) : name);
+        }
+    }
+
+    /**
+     * Adds one line of raw input to the builder, ignoring surrounding whitespace and blank lines.
+     *
+     * @param builder The builder receiving the word.
+     * @param buffer  The buffer holding the line.
+     * @param from    The offset of the first byte of the line.
+     * @param to      The offset just past the last byte of the line.
+     */
+    private static void addTrimmed(PackedDictionary.Builder builder, byte[] buffer, int from, int to) {
+        while (from < to && (buffer[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (buffer[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        if (to > from) {
+            builder.add(buffer, from, to - from);
+        }
+    }
 }
@@ -0,0 +1,180 @@
+package hangman.utils;
+
+/**
+ * The WordQuery class describes a set of dictionary words by a positional pattern and letter constraints,
+ * such as "words matching {@code _a__e} that contain none of {r, s, t}". The pattern fixes the word length;
+ * each position holds either a required letter or an underscore for any letter. Queries are immutable and
+ * are evaluated by a {@link WordTrie}.
+ */
+public class WordQuery {
+
+    /**
+     * WILDCARD is the pattern character matching any letter.
+     */
+    public static final char WILDCARD = '_';
+
+    // The required letter index at each position, or -1 for a wildcard.
+    private final byte[] pattern;
+
+    // The letters every matching word must contain.
+    private final int includeMask;
+
+    // The letters no matching word may contain.
+    private final int excludeMask;
+
+    // The position just after the last fixed letter of the pattern; every later position is a wildcard.
+    private final int openFrom;
+
+    /**
+     * Constructs a WordQuery from its parts.
+     *
+     * @param pattern     The required letter index at each position, or -1 for a wildcard.
+     * @param includeMask The letters every matching word must contain.
+     * @param excludeMask The letters no matching word may contain.
+     */
+    private WordQuery(byte[] pattern, int includeMask, int excludeMask) {
+        this.pattern = pattern;
+        this.includeMask = includeMask;
+        this.excludeMask = excludeMask;
+        int lastFixed = pattern.length - 1;
+        while (lastFixed >= 0 && pattern[lastFixed] < 0) {
+            lastFixed--;
+        }
+        this.openFrom = lastFixed + 1;
+    }
+
+    /**
+     * Creates a query for the words matching a pattern.
+     *
+     * @param pattern The pattern, made of the letters 'a' to 'z' and {@link #WILDCARD}.
+     * @return A query with no letter constraints besides the pattern.
+     * @throws IllegalArgumentException if the pattern is empty or contains any other character.
+     */
+    public static WordQuery pattern(CharSequence pattern) {
+        if (pattern.length() == 0) {
+            throw new IllegalArgumentException("A query pattern must not be empty.");
+        }
+        byte[] letters = new byte[pattern.length()];
+        for (int i = 0; i < letters.length; i++) {
+            char c = pattern.charAt(i);
+            letters[i] = c == WILDCARD ? -1 : (byte) letterIndex(c);
+        }
+        return new WordQuery(letters, 0, 0);
+    }
+
+    /**
+     * Returns a query that additionally requires every given letter to occur in the word.
+     *
+     * @param letters The required letters.
+     * @return The narrowed query.
+     */
+    public WordQuery including(CharSequence letters) {
+        return new WordQuery(pattern, includeMask | maskOf(letters), excludeMask);
+    }
+
+    /**
+     * Returns a query that additionally forbids every given letter from occurring in the word.
+     *
+     * @param letters The forbidden letters.
+     * @return The narrowed query.
+     */
+    public WordQuery excluding(CharSequence letters) {
+        return new WordQuery(pattern, includeMask, excludeMask | maskOf(letters));
+    }
+
+    /**
+     * Gets the length of the matching words.
+     *
+     * @return The pattern length.
+     */
+    public int length() {
+        return pattern.length;
+    }
+
+    /**
+     * Gets the letter required at a position.
+     *
+     * @param position The position in the word.
+     * @return The alphabet index of the required letter, or -1 if any letter matches.
+     */
+    public int letterAt(int position) {
+        return pattern[position];
+    }
+
+    /**
+     * Gets the letters every matching word must contain, as a bit mask where bit i stands for ('a' + i).
+     *
+     * @return The include mask.
+     */
+    public int getIncludeMask() {
+        return includeMask;
+    }
+
+    /**
+     * Gets the letters no matching word may contain, as a bit mask where bit i stands for ('a' + i).
+     *
+     * @return The exclude mask.
+     */
+    public int getExcludeMask() {
+        return excludeMask;
+    }
+
+    /**
+     * Checks whether every position from the given one to the end of the pattern is a wildcard.
+     *
+     * @param position The first position to check.
+     * @return true if no letter is fixed at or after the position.
+     */
+    public boolean isOpenFrom(int position) {
+        return position >= openFrom;
+    }
+
+    /**
+     * Checks a single dictionary word against this query without using an index.
+     *
+     * @param dictionary The dictionary holding the word.
+     * @param word       The index of the word.
+     * @return true if the word matches, false otherwise.
+     */
+    public boolean matches(PackedDictionary dictionary, int word) {
+        if (dictionary.length(word) != pattern.length) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length; i++) {
+            if (pattern[i] >= 0 && dictionary.letterAt(word, i) != pattern[i]) {
+                return false;
+            }
+        }
+        long mask = dictionary.letterMask(word);
+        return (mask & excludeMask) == 0 && (includeMask & ~mask) == 0;
+    }
+
+    /**
+     * Builds a letter mask from a sequence of letters.
+     *
+     * @param letters The letters, each from 'a' to 'z'.
+     * @return The mask with one bit per letter.
+     * @throws IllegalArgumentException if a character is outside 'a' to 'z'.
+     */
+    private static int maskOf(CharSequence letters) {
+        int mask = 0;
+        for (int i = 0; i < letters.length(); i++) {
+            mask |= 1 << letterIndex(letters.charAt(i));
+        }
+        return mask;
+    }
+
+    /**
+     * Maps a letter to its alphabet index.
+     *
+     * @param letter The letter, from 'a' to 'z'.
+     * @return The alphabet index of the letter.
+     * @throws IllegalArgumentException if the letter is outside 'a' to 'z'.
+     */
+    private static int letterIndex(char letter) {
+        if (letter < 'a' || letter > 'z') {
+            throw new IllegalArgumentException("Unsupported query character: " + letter);
+        }
+        return letter - 'a';
+    }
+}
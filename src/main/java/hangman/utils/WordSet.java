@@ -0,0 +1,227 @@
+package hangman.utils;
+
+/**
+ * The WordSet class answers whether a character sequence is a word of a {@link PackedDictionary} in constant time,
+ * without allocating for dictionaries whose alphabet lies in the Basic Multilingual Plane. A lookup hashes the
+ * letters of the candidate once, as symbols of the dictionary's alphabet, so a character outside the alphabet
+ * rejects it right away. A blocked Bloom filter of 16 bits per word then rejects nearly every other non-word by
+ * reading a single long, and the words that pass it are checked exactly against an open-addressing table of
+ * word indices, comparing the stored hash before the letters in the packed storage. The structure takes about
+ * 13 to 24 bytes per word, whatever the length of the words, and holds no String.
+ * A WordSet is immutable once built and safe to share between threads.
+ */
+public final class WordSet {
+
+    // The number of Bloom filter bits per word, which keeps false positives around 1%.
+    private static final int FILTER_BITS_PER_WORD = 16;
+
+    // The dictionary the words come from.
+    private final PackedDictionary dictionary;
+
+    // The Bloom filter, one 64-bit block per lookup.
+    private final long[] filter;
+
+    // The number of filter blocks minus one, used to pick a block.
+    private final int filterMask;
+
+    // The table slots: the high 32 bits hold the hash of the word, the low 32 bits its index plus one; 0 is empty.
+    private final long[] slots;
+
+    // The number of slots minus one, used to wrap slot numbers.
+    private final int slotMask;
+
+    // The number of distinct words in the set.
+    private final int size;
+
+    /**
+     * Builds the set of the words of a dictionary. A word listed more than once is kept under its first index.
+     *
+     * @param dictionary The dictionary.
+     */
+    public WordSet(PackedDictionary dictionary) {
+        this.dictionary = dictionary;
+        int words = dictionary.size();
+        long filterBits = (long) Math.max(1, words) * FILTER_BITS_PER_WORD;
+        this.filter = new long[powerOfTwoAtLeast(Math.max(1, filterBits / Long.SIZE))];
+        this.filterMask = filter.length - 1;
+        // The table is at most three quarters full, so probe sequences stay short.
+        this.slots = new long[powerOfTwoAtLeast(Math.max(2, (words * 4L + 2) / 3))];
+        this.slotMask = slots.length - 1;
+        int distinct = 0;
+        for (int word = 0; word < words; word++) {
+            long hash = hashOf(word);
+            int slot = (int) hash & slotMask;
+            int tag = (int) (hash >>> 32);
+            boolean duplicate = false;
+            for (long entry = slots[slot]; entry != 0; entry = slots[slot]) {
+                if ((int) (entry >>> 32) == tag && sameWord((int) entry - 1, word)) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & slotMask;
+            }
+            if (!duplicate) {
+                slots[slot] = (long) tag << 32 | (word + 1L);
+                filter[block(hash)] |= filterBits(hash);
+                distinct++;
+            }
+        }
+        this.size = distinct;
+    }
+
+    /**
+     * Gets the dictionary the words come from.
+     *
+     * @return The dictionary.
+     */
+    public PackedDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Gets the number of distinct words in the set.
+     *
+     * @return The distinct word count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether a character sequence is a word of the dictionary. The letters must be written as the
+     * dictionary's alphabet writes them, which for the bundled alphabets means in lowercase.
+     *
+     * @param candidate The character sequence.
+     * @return true if the dictionary contains the word.
+     */
+    public boolean contains(CharSequence candidate) {
+        return indexOf(candidate) >= 0;
+    }
+
+    /**
+     * Finds the index of a word of the dictionary.
+     *
+     * @param candidate The character sequence.
+     * @return The index of the first occurrence of the word in the dictionary, or -1 if it is not a word of it.
+     */
+    public int indexOf(CharSequence candidate) {
+        long hash = hashOf(candidate);
+        if (hash == 0 || (filter[block(hash)] & filterBits(hash)) != filterBits(hash)) {
+            return -1;
+        }
+        int tag = (int) (hash >>> 32);
+        for (int slot = (int) hash & slotMask; slots[slot] != 0; slot = (slot + 1) & slotMask) {
+            long entry = slots[slot];
+            if ((int) (entry >>> 32) == tag && dictionary.matches((int) entry - 1, candidate)) {
+                return (int) entry - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Hashes a word of the dictionary.
+     *
+     * @param word The index of the word.
+     * @return The hash, never 0.
+     */
+    private long hashOf(int word) {
+        int length = dictionary.length(word);
+        long hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = (hash + dictionary.letterAt(word, i) + 1) * 0x9e3779b97f4a7c15L;
+        }
+        return finish(hash);
+    }
+
+    /**
+     * Hashes a character sequence the same way as the dictionary word of the same letters.
+     *
+     * @param candidate The character sequence.
+     * @return The hash, or 0 if a character of the sequence is not a letter of the alphabet.
+     */
+    private long hashOf(CharSequence candidate) {
+        Alphabet alphabet = dictionary.getAlphabet();
+        int chars = candidate.length();
+        boolean bmp = alphabet.isBmp();
+        long hash = bmp ? chars : Character.codePointCount(candidate, 0, chars);
+        for (int i = 0; i < chars; ) {
+            int letter = bmp ? candidate.charAt(i) : Character.codePointAt(candidate, i);
+            int symbol = alphabet.symbolOf(letter);
+            if (symbol < 0) {
+                return 0;
+            }
+            hash = (hash + symbol + 1) * 0x9e3779b97f4a7c15L;
+            i += bmp ? 1 : Character.charCount(letter);
+        }
+        return finish(hash);
+    }
+
+    /**
+     * Mixes the bits of a hash, so that every input bit affects the slot, the stored hash and the filter bits.
+     *
+     * @param hash The hash accumulated over the letters.
+     * @return The mixed hash, never 0.
+     */
+    private static long finish(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Picks the filter block of a hash.
+     *
+     * @param hash The hash of a word.
+     * @return The block index.
+     */
+    private int block(long hash) {
+        return (int) (hash >>> 32) & filterMask;
+    }
+
+    /**
+     * Picks the four filter bits of a hash within its block, from a remix of the hash rather than the bits of the block index.
+     *
+     * @param hash The hash of a word.
+     * @return The bits as a mask.
+     */
+    private static long filterBits(long hash) {
+        long bits = hash * 0x9e3779b97f4a7c15L;
+        // A long shift only uses the low six bits of its distance, so each shift picks one of the 64 bits.
+        return 1L << (bits >>> 58) | 1L << (bits >>> 52) | 1L << (bits >>> 46) | 1L << (bits >>> 40);
+    }
+
+    /**
+     * Checks whether two words of the dictionary hold the same letters.
+     *
+     * @param first  The index of a word.
+     * @param second The index of another word.
+     * @return true if the words are equal.
+     */
+    private boolean sameWord(int first, int second) {
+        int length = dictionary.length(first);
+        if (dictionary.length(second) != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (dictionary.letterAt(first, i) != dictionary.letterAt(second, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rounds a count up to a power of two.
+     *
+     * @param count The count, at least 1.
+     * @return The smallest power of two not below the count.
+     */
+    private static int powerOfTwoAtLeast(long count) {
+        if (count > 1 << 30) {
+            throw new IllegalArgumentException("Too many words for a word set: " + count);
+        }
+        return (int) Long.highestOneBit(count * 2 - 1);
+    }
+}
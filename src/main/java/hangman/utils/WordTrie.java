@@ -0,0 +1,476 @@
+package hangman.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The WordTrie class is a prefix tree over the words of a {@link PackedDictionary} that answers
+ * {@link WordQuery} pattern queries without scanning the whole dictionary.
+ * The trie is stored as parallel primitive arrays rather than node objects, and is path-compressed: a chain of
+ * letters with a single continuation and no word ending inside it is one node, whose edge letters are not
+ * copied but read from a word below it in the dictionary's packed storage. This cuts the bundled dictionary
+ * from about 27,800 single-letter nodes to about 20,400. Besides its edge and children, every node records the
+ * letters and word lengths found anywhere below it and the number of words it holds, so a query can discard a
+ * whole subtree that cannot match, and can count a subtree that matches entirely without visiting it. Results
+ * are reported as dictionary word indices in alphabetical order, so no list of words is ever materialized. The trie is immutable once built and safe to share between threads.
+ */
+public class WordTrie {
+
+    // The longest word length tracked exactly in the length masks; longer words share the top bit.
+    private static final int MAX_TRACKED_LENGTH = Long.SIZE - 1;
+
+    // The child cannot lead to a match.
+    private static final int SKIP = 0;
+
+    // Neither the child nor any later sibling can lead to a match.
+    private static final int STOP = 1;
+
+    // The child may lead to matches and has to be searched.
+    private static final int DESCEND = 2;
+
+    // Every word below the child matches.
+    private static final int WHOLE_SUBTREE = 3;
+
+    // The dictionary the trie was built from.
+    private final PackedDictionary dictionary;
+
+    // The number of nodes, including the root at index 0.
+    private int nodeCount;
+
+    // The alphabet index of the first letter on the edge leading into each node.
+    private byte[] label;
+
+    // The number of letters on the edge leading into each node.
+    private int[] edgeLength;
+
+    // The dictionary index of a word spelling the edge leading into each node, at the positions just above the node.
+    private int[] edgeWord;
+
+    // The letters on the edge leading into each node, as a bit mask.
+    private int[] edgeLetters;
+
+    // The first child of each node, or -1 for a leaf. Siblings are kept in alphabetical order.
+    private int[] firstChild;
+
+    // The next sibling of each node, or -1 for the last child.
+    private int[] nextSibling;
+
+    // The dictionary index of the word ending at each node, or -1 if no word ends there.
+    private int[] wordIndex;
+
+    // The number of words ending at each node or below it.
+    private int[] subtreeWords;
+
+    // The letters found on any edge below each node, as a bit mask.
+    private int[] subtreeLetters;
+
+    // The lengths of the words ending at each node or below it, as a bit mask.
+    private long[] subtreeLengths;
+
+    /**
+     * Builds the trie for a dictionary. When a word occurs more than once, the first occurrence is indexed.
+     *
+     * @param dictionary The dictionary to index.
+     * @throws IllegalArgumentException if the dictionary is not English, as queries are written in 'a' to 'z'.
+     */
+    public WordTrie(PackedDictionary dictionary) {
+        if (!dictionary.isEnglish()) {
+            throw new IllegalArgumentException("Word queries only support English dictionaries, not "
+                    + dictionary.getAlphabet().getName() + ".");
+        }
+        this.dictionary = dictionary;
+        int capacity = Math.max(16, dictionary.size() * 2);
+        label = new byte[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        wordIndex = new int[capacity];
+        nodeCount = 1;
+        firstChild[0] = -1;
+        nextSibling[0] = -1;
+        wordIndex[0] = -1;
+
+        for (int word = 0; word < dictionary.size(); word++) {
+            int node = 0;
+            for (int position = 0; position < dictionary.length(word); position++) {
+                int letter = dictionary.letterAt(word, position);
+                int child = findChild(node, letter);
+                if (child < 0) {
+                    if (nodeCount == label.length) {
+                        int grown = label.length * 2;
+                        label = Arrays.copyOf(label, grown);
+                        firstChild = Arrays.copyOf(firstChild, grown);
+                        nextSibling = Arrays.copyOf(nextSibling, grown);
+                        wordIndex = Arrays.copyOf(wordIndex, grown);
+                    }
+                    child = nodeCount++;
+                    label[child] = (byte) letter;
+                    firstChild[child] = -1;
+                    wordIndex[child] = -1;
+                    linkChild(node, child);
+                }
+                node = child;
+            }
+            if (wordIndex[node] < 0) {
+                wordIndex[node] = word;
+            }
+        }
+        compress();
+    }
+
+    /**
+     * Replaces the single-letter trie built so far with its path-compressed form, and computes the subtree
+     * summaries of the compressed nodes. Nodes are renumbered in depth-first order, so children still come
+     * after their parent and siblings keep their alphabetical order.
+     */
+    private void compress() {
+        byte[] newLabel = new byte[nodeCount];
+        int[] newFirstChild = new int[nodeCount];
+        int[] newNextSibling = new int[nodeCount];
+        int[] newWordIndex = new int[nodeCount];
+        edgeLength = new int[nodeCount];
+        edgeWord = new int[nodeCount];
+        edgeLetters = new int[nodeCount];
+        int[] parent = new int[nodeCount];
+        int[] depth = new int[nodeCount];
+        // The single-letter node at the bottom of each compressed node, whose children become its children.
+        int[] bottom = new int[nodeCount];
+        int[] stack = new int[nodeCount];
+        int count = 1;
+        newFirstChild[0] = -1;
+        newNextSibling[0] = -1;
+        newWordIndex[0] = -1;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int previous = -1;
+            for (int child = firstChild[bottom[node]]; child >= 0; child = nextSibling[child]) {
+                int compressed = count++;
+                int end = child;
+                int letters = 1 << label[child];
+                int length = 1;
+                while (wordIndex[end] < 0 && nextSibling[firstChild[end]] < 0) {
+                    end = firstChild[end];
+                    letters |= 1 << label[end];
+                    length++;
+                }
+                // Every path ends in a word, so following first children from the bottom finds one.
+                int spelling = end;
+                while (wordIndex[spelling] < 0) {
+                    spelling = firstChild[spelling];
+                }
+                newLabel[compressed] = label[child];
+                newFirstChild[compressed] = -1;
+                newNextSibling[compressed] = -1;
+                newWordIndex[compressed] = wordIndex[end];
+                edgeLength[compressed] = length;
+                edgeWord[compressed] = wordIndex[spelling];
+                edgeLetters[compressed] = letters;
+                parent[compressed] = node;
+                depth[compressed] = depth[node] + length;
+                bottom[compressed] = end;
+                if (previous < 0) {
+                    newFirstChild[node] = compressed;
+                } else {
+                    newNextSibling[previous] = compressed;
+                }
+                previous = compressed;
+                stack[top++] = compressed;
+            }
+        }
+
+        nodeCount = count;
+        label = Arrays.copyOf(newLabel, count);
+        firstChild = Arrays.copyOf(newFirstChild, count);
+        nextSibling = Arrays.copyOf(newNextSibling, count);
+        wordIndex = Arrays.copyOf(newWordIndex, count);
+        edgeLength = Arrays.copyOf(edgeLength, count);
+        edgeWord = Arrays.copyOf(edgeWord, count);
+        edgeLetters = Arrays.copyOf(edgeLetters, count);
+        subtreeWords = new int[count];
+        subtreeLetters = new int[count];
+        subtreeLengths = new long[count];
+        for (int node = 0; node < count; node++) {
+            if (wordIndex[node] >= 0) {
+                subtreeWords[node] = 1;
+                subtreeLengths[node] = 1L << Math.min(depth[node], MAX_TRACKED_LENGTH);
+            }
+        }
+        // Children are always numbered after their parent, so folding in descending order completes each
+        // node's totals before they are added to its parent.
+        for (int node = count - 1; node > 0; node--) {
+            int up = parent[node];
+            subtreeWords[up] += subtreeWords[node];
+            subtreeLetters[up] |= subtreeLetters[node] | edgeLetters[node];
+            subtreeLengths[up] |= subtreeLengths[node];
+        }
+    }
+
+    /**
+     * Gets the dictionary the trie was built from.
+     *
+     * @return The indexed dictionary.
+     */
+    public PackedDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Gets the number of nodes of the compressed trie, including the root.
+     *
+     * @return The node count.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Counts the words matching a query.
+     *
+     * @param query The query to evaluate.
+     * @return The number of matching words.
+     */
+    public int count(WordQuery query) {
+        if (query.length() > MAX_TRACKED_LENGTH) {
+            return scanCount(query);
+        }
+        return countBelow(0, 0, 0, query);
+    }
+
+    /**
+     * Reports one page of the words matching a query, in alphabetical order.
+     *
+     * @param query  The query to evaluate.
+     * @param offset The number of matching words to skip before the page starts.
+     * @param limit  The maximum number of words to report.
+     * @param action The action receiving the dictionary index of every reported word.
+     * @return The number of words reported.
+     */
+    public int find(WordQuery query, int offset, int limit, IntConsumer action) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative.");
+        }
+        if (limit == 0) {
+            return 0;
+        }
+        Page page = new Page(offset, limit, action);
+        if (query.length() > MAX_TRACKED_LENGTH) {
+            for (int word = 0; word < dictionary.size() && page.limit > 0; word++) {
+                if (query.matches(dictionary, word)) {
+                    page.accept(word);
+                }
+            }
+        } else {
+            findBelow(0, 0, 0, query, page);
+        }
+        return page.reported;
+    }
+
+    /**
+     * Returns the first words matching a query, in alphabetical order.
+     *
+     * @param query The query to evaluate.
+     * @param k     The maximum number of words to return.
+     * @return The dictionary indices of up to k matching words.
+     */
+    public int[] first(WordQuery query, int k) {
+        int[] result = new int[k];
+        int[] filled = new int[1];
+        find(query, 0, k, word -> result[filled[0]++] = word);
+        return filled[0] == k ? result : Arrays.copyOf(result, filled[0]);
+    }
+
+    /**
+     * Counts the matching words below a node.
+     *
+     * @param node       The node whose children are examined.
+     * @param depth      The depth of the node, which is the position of its children's first letters.
+     * @param prefixMask The letters on the path from the root to the node.
+     * @param query      The query to evaluate.
+     * @return The number of matching words below the node.
+     */
+    private int countBelow(int node, int depth, int prefixMask, WordQuery query) {
+        int total = 0;
+        for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+            int verdict = examine(child, depth, prefixMask, query);
+            if (verdict == SKIP) {
+                continue;
+            }
+            if (verdict == STOP) {
+                break;
+            }
+            int end = depth + edgeLength[child];
+            if (verdict == WHOLE_SUBTREE) {
+                total += subtreeWords[child];
+            } else if (end == query.length()) {
+                total++;
+            } else {
+                total += countBelow(child, end, prefixMask | edgeLetters[child], query);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Reports the matching words below a node until the page is full.
+     *
+     * @param node       The node whose children are examined.
+     * @param depth      The depth of the node, which is the position of its children's first letters.
+     * @param prefixMask The letters on the path from the root to the node.
+     * @param query      The query to evaluate.
+     * @param page       The page being filled.
+     */
+    private void findBelow(int node, int depth, int prefixMask, WordQuery query, Page page) {
+        for (int child = firstChild[node]; child >= 0 && page.limit > 0; child = nextSibling[child]) {
+            int verdict = examine(child, depth, prefixMask, query);
+            if (verdict == SKIP) {
+                continue;
+            }
+            if (verdict == STOP) {
+                break;
+            }
+            if (verdict == WHOLE_SUBTREE && page.skip >= subtreeWords[child]) {
+                page.skip -= subtreeWords[child];
+            } else if (depth + edgeLength[child] == query.length()) {
+                page.accept(wordIndex[child]);
+            } else {
+                findBelow(child, depth + edgeLength[child], prefixMask | edgeLetters[child], query, page);
+            }
+        }
+    }
+
+    /**
+     * Decides how a child node relates to a query.
+     *
+     * @param child      The child node.
+     * @param depth      The position of the first letter of the child's edge in the word.
+     * @param prefixMask The letters on the path from the root to the child's parent.
+     * @param query      The query to evaluate.
+     * @return One of SKIP, STOP, DESCEND, or WHOLE_SUBTREE.
+     */
+    private int examine(int child, int depth, int prefixMask, WordQuery query) {
+        int letter = label[child];
+        int required = query.letterAt(depth);
+        if (required >= 0 && letter != required) {
+            // Siblings are sorted, so once past the required letter none of the remaining ones can match.
+            return letter > required ? STOP : SKIP;
+        }
+        // Words only end at the bottom of an edge or below it, so this also skips queries ending inside the edge.
+        long lengthBit = 1L << query.length();
+        if ((query.getExcludeMask() & edgeLetters[child]) != 0 || (subtreeLengths[child] & lengthBit) == 0) {
+            return SKIP;
+        }
+        int end = depth + edgeLength[child];
+        for (int position = depth + 1; position < end; position++) {
+            required = query.letterAt(position);
+            if (required >= 0 && required != dictionary.letterAt(edgeWord[child], position)) {
+                return SKIP;
+            }
+        }
+        int mask = prefixMask | edgeLetters[child];
+        int include = query.getIncludeMask();
+        if (end == query.length()) {
+            return wordIndex[child] >= 0 && (include & ~mask) == 0 ? DESCEND : SKIP;
+        }
+        if ((include & ~(mask | subtreeLetters[child])) != 0) {
+            return SKIP;
+        }
+        if (subtreeLengths[child] == lengthBit && query.isOpenFrom(end)
+                && (subtreeLetters[child] & query.getExcludeMask()) == 0 && (include & ~mask) == 0) {
+            return WHOLE_SUBTREE;
+        }
+        return DESCEND;
+    }
+
+    /**
+     * Counts matching words by checking every word, for queries longer than the tracked lengths.
+     *
+     * @param query The query to evaluate.
+     * @return The number of matching words.
+     */
+    private int scanCount(WordQuery query) {
+        int total = 0;
+        for (int word = 0; word < dictionary.size(); word++) {
+            if (query.matches(dictionary, word)) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Finds the child of a node reached by a letter.
+     *
+     * @param node   The parent node.
+     * @param letter The alphabet index of the letter.
+     * @return The child node, or -1 if there is none.
+     */
+    private int findChild(int node, int letter) {
+        for (int child = firstChild[node]; child >= 0 && label[child] <= letter; child = nextSibling[child]) {
+            if (label[child] == letter) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts a new child into the alphabetically ordered child list of a node.
+     *
+     * @param node  The parent node.
+     * @param child The new child node.
+     */
+    private void linkChild(int node, int child) {
+        int previous = -1;
+        int current = firstChild[node];
+        while (current >= 0 && label[current] < label[child]) {
+            previous = current;
+            current = nextSibling[current];
+        }
+        nextSibling[child] = current;
+        if (previous < 0) {
+            firstChild[node] = child;
+        } else {
+            nextSibling[previous] = child;
+        }
+    }
+
+    /**
+     * The Page class tracks the progress of a paginated search.
+     */
+    private static class Page {
+
+        // The number of matching words still to skip.
+        int skip;
+
+        // The number of words still to report.
+        int limit;
+
+        // The number of words reported so far.
+        int reported;
+
+        // The action receiving the reported words.
+        final IntConsumer action;
+
+        Page(int skip, int limit, IntConsumer action) {
+            this.skip = skip;
+            this.limit = limit;
+            this.action = action;
+        }
+
+        /**
+         * Skips or reports a matching word.
+         *
+         * @param word The dictionary index of the word.
+         */
+        void accept(int word) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                action.accept(word);
+                reported++;
+                limit--;
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+import hangman.exception.NonAlphabeticInputException;
+import hangman.game.HangmanGameLogic;
+import hangman.game.async.AsyncGame;
+import hangman.game.async.AsyncGameService;
+import hangman.game.async.GameState;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link AsyncGame}, verifying that commands are answered with futures in submission order,
+ * that state changes are published to subscribers as far as they request them, and that a full
+ * mailbox pushes back on the submitter.
+ */
+public class AsyncGameTest {
+
+    // The dictionary of every game, so the secret word is known.
+    private static final PackedDictionary DICTIONARY = PackedDictionary.of("apple");
+
+    /**
+     * Verifies that a game is played to the end through futures, and that invalid guesses fail their future.
+     */
+    @Test
+    void testGuessesCompleteInOrder() throws Exception {
+        try (AsyncGameService service = new AsyncGameService(2, 16)) {
+            AsyncGame game = service.start(new HangmanGameLogic(DICTIONARY));
+            CompletableFuture<GameState> miss = game.guess('z');
+            CompletableFuture<GameState> invalid = game.guess('1');
+            CompletableFuture<GameState> hit = game.guess('p');
+            assertEquals(1, miss.get(5, TimeUnit.SECONDS).getWrongGuesses());
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> invalid.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NonAlphabeticInputException.class, failure.getCause());
+            GameState afterHit = hit.get(5, TimeUnit.SECONDS);
+            assertEquals("_pp__", afterHit.getPattern());
+            assertNull(afterHit.getSecretWord(), "The word should stay hidden while the game runs.");
+
+            GameState last = null;
+            for (char letter : "ale".toCharArray()) {
+                last = game.guess(letter).get(5, TimeUnit.SECONDS);
+            }
+            assertTrue(last.isWon());
+            assertEquals("apple", last.getSecretWord());
+            assertEquals(5, last.getSequence(), "Only guesses changing the game should count as state changes.");
+
+            GameState fresh = game.newGame().get(5, TimeUnit.SECONDS);
+            assertEquals("_____", fresh.getPattern());
+            assertEquals(0, fresh.getWrongGuesses());
+            assertEquals(6, fresh.getSequence());
+        }
+    }
+
+    /**
+     * Verifies that many games share a small pool and each sees its own guesses in order.
+     */
+    @Test
+    void testManyGamesOnSmallPool() throws Exception {
+        try (AsyncGameService service = new AsyncGameService(2, 16)) {
+            List<CompletableFuture<GameState>> results = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) {
+                AsyncGame game = service.start(new HangmanGameLogic(DICTIONARY));
+                CompletableFuture<GameState> result = null;
+                for (char letter : "aple".toCharArray()) {
+                    result = game.guess(letter);
+                }
+                results.add(result);
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+            for (CompletableFuture<GameState> result : results) {
+                assertTrue(result.get().isWon(), "Every game should have applied all its guesses in order.");
+            }
+        }
+    }
+
+    /**
+     * Verifies that subscribers receive the states they request, in order, and are completed when the game closes.
+     */
+    @Test
+    void testSubscriberBackpressure() throws Exception {
+        try (AsyncGameService service = new AsyncGameService(1, 16)) {
+            AsyncGame game = service.start(new HangmanGameLogic(DICTIONARY));
+            List<GameState> received = new ArrayList<>();
+            CountDownLatch firstTwo = new CountDownLatch(2);
+            CountDownLatch completed = new CountDownLatch(1);
+            Flow.Subscription[] subscription = new Flow.Subscription[1];
+            game.subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    subscription[0] = s;
+                    s.request(2);
+                }
+
+                @Override
+                public void onNext(GameState state) {
+                    synchronized (received) {
+                        received.add(state);
+                    }
+                    firstTwo.countDown();
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.countDown();
+                }
+            });
+
+            for (char letter : "xyzp".toCharArray()) {
+                game.guess(letter).get(5, TimeUnit.SECONDS);
+            }
+            assertTrue(firstTwo.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            synchronized (received) {
+                assertEquals(2, received.size(), "No more states should arrive than were requested.");
+                assertEquals(1, received.get(0).getSequence());
+            }
+            subscription[0].request(Long.MAX_VALUE);
+            game.close();
+            assertTrue(completed.await(5, TimeUnit.SECONDS), "Closing should complete the subscribers.");
+            synchronized (received) {
+                assertEquals(4, received.size());
+                assertEquals("_pp__", received.get(3).getPattern());
+            }
+            assertEquals(0, game.getDroppedStates());
+        }
+    }
+
+    /**
+     * Verifies that commands are rejected while the mailbox is full, and accepted again once it drains.
+     */
+    @Test
+    void testFullMailboxRejects() throws Exception {
+        ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        AsyncGame game = new AsyncGame(new HangmanGameLogic(DICTIONARY), tasks::add, 2, 4);
+        CompletableFuture<GameState> first = game.guess('a');
+        CompletableFuture<GameState> second = game.guess('p');
+        CompletableFuture<GameState> third = game.guess('l');
+        assertTrue(third.isCompletedExceptionally());
+        assertInstanceOf(RejectedExecutionException.class,
+                assertThrows(ExecutionException.class, third::get).getCause());
+        assertFalse(first.isDone(), "Nothing should run before the executor does.");
+        assertEquals(1, tasks.size(), "One drain should be scheduled for any number of commands.");
+
+        tasks.poll().run();
+        assertEquals("app__", second.get().getPattern());
+        assertEquals(0, game.getPendingCommands());
+        assertEquals("app__", game.current().getPattern());
+        game.guess('l');
+        game.close();
+        assertTrue(game.guess('e').isCompletedExceptionally(), "A closed game should reject commands.");
+        tasks.poll().run();
+        assertEquals("appl_", game.current().getPattern());
+    }
+}
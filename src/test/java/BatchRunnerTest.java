@@ -0,0 +1,87 @@
+import hangman.game.input.ScriptedInput;
+import hangman.game.input.StreamInput;
+import hangman.game.output.NullOutput;
+import hangman.simulator.BatchRunner;
+import hangman.simulator.SimulationStats;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the input subsystem: line reading through {@link StreamInput}, replaying guesses through
+ * {@link ScriptedInput}, and playing move files through {@link BatchRunner}.
+ */
+public class BatchRunnerTest {
+
+    /**
+     * Verifies that consecutive lines are read from one buffer and the end of input is reported.
+     */
+    @Test
+    void testStreamInputReadsEveryLine() {
+        StreamInput input = new StreamInput(new ByteArrayInputStream("a\r\nb\n\nc".getBytes(Charset.defaultCharset())));
+        assertEquals("a", input.nextLine());
+        assertEquals("b", input.nextLine());
+        assertEquals("", input.nextLine());
+        assertEquals("c", input.nextLine());
+        assertThrows(NoSuchElementException.class, input::nextLine);
+    }
+
+    /**
+     * Verifies that a script is replayed one letter per line, by code point, and can be reloaded.
+     */
+    @Test
+    void testScriptedInput() {
+        ScriptedInput input = new ScriptedInput();
+        input.load("ab");
+        assertEquals("a", input.nextLine());
+        assertEquals("b", input.nextLine());
+        assertEquals(2, input.consumed());
+        assertFalse(input.hasNext());
+        assertThrows(NoSuchElementException.class, input::nextLine);
+        input.load("c");
+        assertEquals("c", input.nextLine());
+        input.load("𐐿ç");
+        assertEquals("𐐿", input.nextLine(), "A supplementary letter should be one guess.");
+        assertEquals("ç", input.nextLine());
+        assertEquals(2, input.consumed());
+        assertFalse(input.hasNext());
+    }
+
+    /**
+     * Verifies the result line and statistics of won, lost, unfinished, and unknown games.
+     */
+    @Test
+    void testRunsMoveFile() throws IOException {
+        StringBuilder results = new StringBuilder();
+        BatchRunner runner = new BatchRunner(PackedDictionary.of("apple", "crane"), NullOutput.INSTANCE,
+                (data, offset, length) -> results.append(new String(data, offset, length, Charset.defaultCharset())));
+        String moves = String.join("\n",
+                "# secret guesses",
+                "apple aple xyz",
+                "",
+                "crane zqxjkv",
+                "crane c1r",
+                "ghost ghost");
+        SimulationStats stats = runner.run(new BufferedReader(new StringReader(moves)));
+
+        String[] lines = results.toString().split(System.lineSeparator());
+        assertEquals(4, lines.length);
+        assertEquals("apple\tWON\t120\t0\t4", lines[0], "Guesses after a win should not be read.");
+        assertEquals("crane\tLOST\t0\t6\t6", lines[1]);
+        assertEquals("crane\tUNFINISHED\t120\t0\t3", lines[2], "Running out of guesses leaves the game unfinished.");
+        assertEquals("ghost\tUNKNOWN", lines[3]);
+        assertEquals(2, stats.getGames());
+        assertEquals(1, stats.getWins());
+        assertEquals(10, stats.getGuesses());
+    }
+}
@@ -0,0 +1,56 @@
+import hangman.utils.DictionaryFile;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the compiled binary dictionary format, checking that dictionaries survive a round trip
+ * through a memory-mapped file and that damaged files are rejected.
+ */
+public class DictionaryFileTest {
+
+    // A temporary directory for the compiled files of each test.
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that fixed-stride and offset-indexed dictionaries are read back unchanged.
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        PackedDictionary[] dictionaries = {
+                PackedDictionary.of("apple", "melon", "berry"),
+                PackedDictionary.of("ox", "horse", "cat", "zebra")
+        };
+        for (PackedDictionary original : dictionaries) {
+            Path file = tempDir.resolve("words.bin");
+            DictionaryFile.write(original, file);
+            PackedDictionary mapped = DictionaryFile.map(file);
+            assertEquals(original.size(), mapped.size(), "The word count should survive the round trip.");
+            assertEquals(original.fixedLength(), mapped.fixedLength(), "The layout should survive the round trip.");
+            for (int i = 0; i < original.size(); i++) {
+                assertEquals(original.get(i), mapped.get(i), "Every word should survive the round trip.");
+            }
+        }
+    }
+
+    /**
+     * Verifies that a file whose contents no longer match its checksum is rejected.
+     */
+    @Test
+    void testCorruptFileIsRejected() throws IOException {
+        Path file = tempDir.resolve("words.bin");
+        DictionaryFile.write(PackedDictionary.of("apple", "melon"), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> DictionaryFile.map(file), "A damaged file should be rejected.");
+    }
+}
@@ -0,0 +1,144 @@
+import hangman.game.HangmanGameLogic;
+import hangman.game.dictionary.DictionaryRegistry;
+import hangman.game.dictionary.DictionarySnapshot;
+import hangman.game.session.GameSession;
+import hangman.game.session.GameSessionManager;
+import hangman.utils.Alphabet;
+import hangman.utils.DictionaryFile;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link DictionaryRegistry}, verifying that a new dictionary replaces the current snapshot while
+ * games of the old one keep playing, that watched files are reloaded in the background, and that a file
+ * that fails to load leaves the current snapshot in place.
+ */
+public class DictionaryRegistryTest {
+
+    // A temporary directory for the dictionary files of each test.
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that loading a file publishes a new snapshot with its indexes, while a game created
+     * on the previous snapshot finishes with its own words.
+     */
+    @Test
+    void testReloadKeepsRunningGames() throws IOException {
+        Path file = tempDir.resolve("words.txt");
+        Files.write(file, List.of("apple", "melon"));
+        DictionaryRegistry registry = DictionaryRegistry.open(file);
+        DictionarySnapshot first = registry.current();
+        assertEquals(1, first.getVersion());
+        assertEquals(file.toAbsolutePath(), first.getSource());
+        assertNotNull(first.getSolverIndex(), "English snapshots should come with a solver index.");
+
+        HangmanGameLogic running = new HangmanGameLogic(registry.getDictionary());
+        running.resetGame(1);
+
+        Files.write(file, List.of("lemon", "grape", "peach"));
+        DictionarySnapshot second = registry.load(file);
+        assertEquals(2, second.getVersion());
+        assertSame(second, registry.current());
+        assertEquals(3, registry.getDictionary().size());
+        assertEquals("melon", running.getSecretWord(), "A running game should keep its snapshot.");
+        for (char letter : "melon".toCharArray()) {
+            running.makeGuess(letter);
+        }
+        assertTrue(running.isGameWon());
+        assertEquals(2, first.getDictionary().size(), "The old snapshot should be left unchanged.");
+    }
+
+    /**
+     * Verifies that a watched compiled dictionary is reloaded in the background after it is rewritten.
+     */
+    @Test
+    void testWatchedFileIsReloaded() throws IOException, InterruptedException {
+        Path file = tempDir.resolve("words.bin");
+        DictionaryFile.write(PackedDictionary.of("apple", "melon"), file);
+        try (DictionaryRegistry registry = DictionaryRegistry.open(file)) {
+            BlockingQueue<DictionarySnapshot> published = new LinkedBlockingQueue<>();
+            registry.addListener(published::add);
+            registry.watch(file, Duration.ofMillis(50));
+
+            DictionaryFile.write(PackedDictionary.of("ox", "horse", "cat"), file);
+            DictionarySnapshot reloaded = published.poll(30, TimeUnit.SECONDS);
+            assertNotNull(reloaded, "The rewritten file should be reloaded.");
+            assertEquals(List.of("ox", "horse", "cat"), reloaded.getDictionary().asList());
+            assertEquals(5, reloaded.getDictionary().maxLength());
+            assertEquals(2, reloaded.getDictionary().wordOfLength(3, 0), "Words should be bucketed by length.");
+            assertSame(reloaded, registry.current());
+        }
+    }
+
+    /**
+     * Verifies that a file that cannot be loaded leaves the current snapshot in place.
+     */
+    @Test
+    void testFailedLoadKeepsSnapshot() throws IOException {
+        DictionaryRegistry registry = new DictionaryRegistry(PackedDictionary.of("apple"));
+        DictionarySnapshot before = registry.current();
+        Path file = tempDir.resolve("broken.txt");
+        Files.write(file, List.of("apple", "p1ear"));
+        assertThrows(IllegalArgumentException.class, () -> registry.load(file));
+        assertSame(before, registry.current(), "A failed load should not replace the snapshot.");
+        assertNull(before.getSource());
+    }
+
+    /**
+     * Verifies that new sessions play on the current snapshot, while pooled games of an older dictionary
+     * are not reused.
+     */
+    @Test
+    void testSessionsFollowRegistry() {
+        DictionaryRegistry registry = new DictionaryRegistry(PackedDictionary.of("apple", "melon"));
+        try (GameSessionManager manager = new GameSessionManager(Duration.ofMinutes(10), 4)) {
+            manager.setDictionaryRegistry(registry);
+            GameSession old = manager.createSession();
+            GameSession closed = manager.createSession();
+            manager.closeSession(closed.getId());
+
+            PackedDictionary replacement = PackedDictionary.of("lemon", "grape", "peach");
+            registry.publish(replacement);
+            GameSession fresh = manager.createSession();
+            assertSame(replacement, fresh.getGame().getDictionary(), "New sessions should use the new words.");
+            assertNotSame(closed.getGame(), fresh.getGame(), "Games of the old dictionary should not be reused.");
+            assertEquals(0, manager.getPooledGameCount());
+            assertEquals(2, old.getGame().getDictionary().size(), "Running sessions should keep their words.");
+        }
+    }
+
+    /**
+     * Verifies that the indexes of a snapshot are built once, on first use, and only for English words.
+     */
+    @Test
+    void testIndexesAreBuiltOnce() {
+        DictionarySnapshot snapshot = new DictionaryRegistry(PackedDictionary.of("apple", "melon")).current();
+        assertNotNull(snapshot.getWordTrie());
+        assertSame(snapshot.getSolverIndex(), snapshot.getSolverIndex(), "An index should be built only once.");
+        assertSame(snapshot.getWordTrie(), snapshot.getWordTrie());
+
+        DictionarySnapshot greek = new DictionaryRegistry(
+                PackedDictionary.builder(Alphabet.of("el", "αβγδεζ")).add("αβγ").add("δεζ").build()).current();
+        assertNull(greek.getSolverIndex(), "Only English snapshots should have a solver index.");
+        assertNull(greek.getWordTrie());
+    }
+}
@@ -0,0 +1,136 @@
+import hangman.game.GlobalReference;
+import hangman.game.HangmanGameLogic;
+import hangman.game.difficulty.Difficulty;
+import hangman.game.difficulty.DifficultyIndex;
+import hangman.game.selection.WordSelector;
+import hangman.game.solver.SolverIndex;
+import hangman.simulator.SolverStrategy;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the {@link DifficultyIndex}: ratings matching complete games of the reference solver, identical
+ * results for any parallelism, the difficulty file, and picking words by level or by a mix of levels.
+ */
+public class DifficultyIndexTest {
+
+    /**
+     * Verifies that every rating equals the wrong guesses of a full game played by the solver strategy.
+     */
+    @Test
+    void testRatingsMatchSolverGames() {
+        PackedDictionary dictionary = GlobalReference.getDictionary();
+        DifficultyIndex index = DifficultyIndex.compute(dictionary, 1);
+        SolverStrategy strategy = new SolverStrategy(new SolverIndex(dictionary));
+        HangmanGameLogic game = new HangmanGameLogic(dictionary);
+        for (int word = 0; word < dictionary.size(); word += 7) {
+            game.resetGame(word);
+            strategy.startGame(game);
+            while (!game.isGameWon() && !game.isGameLost()) {
+                game.makeGuess(strategy.nextGuess(game));
+            }
+            assertEquals(game.getWrongGuesses(), index.getRating(word), "Rating of " + dictionary.get(word));
+        }
+    }
+
+    /**
+     * Verifies that the ratings do not depend on the number of threads.
+     */
+    @Test
+    void testParallelRatingIsDeterministic() {
+        PackedDictionary dictionary = GlobalReference.getDictionary();
+        byte[] sequential = ratingsOf(DifficultyIndex.compute(dictionary, 1));
+        byte[] parallel = ratingsOf(DifficultyIndex.compute(dictionary, 4));
+        assertArrayEquals(sequential, parallel);
+    }
+
+    /**
+     * Verifies that ratings survive a round trip through the difficulty file, and that a file belonging
+     * to another dictionary is recomputed instead of trusted.
+     */
+    @Test
+    void testDifficultyFile(@TempDir Path directory) throws IOException {
+        PackedDictionary dictionary = PackedDictionary.of("cat", "cot", "cut", "dog", "elephant", "zebra");
+        Path file = directory.resolve("words.difficulty");
+        DifficultyIndex computed = DifficultyIndex.loadOrCompute(dictionary, file);
+        assertArrayEquals(ratingsOf(computed), ratingsOf(DifficultyIndex.read(file, dictionary)));
+
+        PackedDictionary other = PackedDictionary.of("cat", "cot", "cut", "dog", "elephant", "zebus");
+        assertThrows(IOException.class, () -> DifficultyIndex.read(file, other));
+        DifficultyIndex recomputed = DifficultyIndex.loadOrCompute(other, file);
+        assertEquals(other, recomputed.getDictionary());
+        assertArrayEquals(ratingsOf(recomputed), ratingsOf(DifficultyIndex.read(file, other)));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> DifficultyIndex.read(file, other));
+    }
+
+    /**
+     * Verifies that the levels partition the dictionary and a level's selector only picks words of that level.
+     */
+    @Test
+    void testSelectByLevel() {
+        DifficultyIndex index = DifficultyIndex.bundled();
+        int total = 0;
+        for (Difficulty level : Difficulty.values()) {
+            total += index.count(level);
+            for (int i = 0; i < index.count(level); i += 97) {
+                assertEquals(level, index.getLevel(index.wordAt(level, i)));
+            }
+        }
+        assertEquals(GlobalReference.getDictionary().size(), total);
+
+        WordSelector hard = index.selector(Difficulty.HARD, 9);
+        HangmanGameLogic game = new HangmanGameLogic(GlobalReference.getDictionary(), hard);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Difficulty.HARD, index.getLevel(game.getWordIndex()));
+            game.resetGame();
+        }
+    }
+
+    /**
+     * Verifies that a mix of levels picks the levels as often as their weights say and never a level left out.
+     */
+    @Test
+    void testSelectByMixOfLevels() {
+        DifficultyIndex index = DifficultyIndex.bundled();
+        double[] weights = Difficulty.parseWeights("easy=3, medium=1");
+        assertArrayEquals(new double[]{3, 1, 0}, weights);
+        WordSelector mix = index.selector(weights, 13);
+        int[] counts = new int[Difficulty.values().length];
+        int draws = 40_000;
+        for (int i = 0; i < draws; i++) {
+            counts[index.getLevel(mix.nextIndex()).ordinal()]++;
+        }
+        assertEquals(0.75, counts[Difficulty.EASY.ordinal()] / (double) draws, 0.02);
+        assertEquals(0.25, counts[Difficulty.MEDIUM.ordinal()] / (double) draws, 0.02);
+        assertEquals(0, counts[Difficulty.HARD.ordinal()]);
+
+        assertThrows(IllegalArgumentException.class, () -> Difficulty.parseWeights("easy"));
+        assertThrows(IllegalArgumentException.class, () -> Difficulty.parseWeights("trivial=1"));
+        assertThrows(IllegalArgumentException.class, () -> index.selector(new double[]{-1, 1, 1}, 1));
+    }
+
+    /**
+     * Collects the rating of every word of an index.
+     *
+     * @param index The index.
+     * @return The ratings by dictionary index.
+     */
+    private static byte[] ratingsOf(DifficultyIndex index) {
+        byte[] ratings = new byte[index.getDictionary().size()];
+        for (int word = 0; word < ratings.length; word++) {
+            ratings[word] = (byte) index.getRating(word);
+        }
+        return ratings;
+    }
+}
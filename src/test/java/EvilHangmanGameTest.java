@@ -0,0 +1,136 @@
+import hangman.game.EvilHangmanGame;
+import hangman.game.GlobalReference;
+import hangman.game.GuessResult;
+import hangman.game.solver.SolverIndex;
+import hangman.simulator.SolverStrategy;
+import hangman.utils.IntCountMap;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+
+import static hangman.game.GlobalReference.MAX_TRIES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link EvilHangmanGame}, checking that it keeps the largest word family on every guess
+ * and that games against it always terminate.
+ */
+public class EvilHangmanGameTest {
+
+    // A small dictionary of four letter words.
+    private static final PackedDictionary DICTIONARY =
+            PackedDictionary.of("ally", "beta", "cool", "deal", "else", "flew", "good", "hope", "ibex");
+
+    /**
+     * Verifies that a letter in a minority of candidates is treated as a wrong guess.
+     */
+    @Test
+    void testKeepsLargestFamily() {
+        EvilHangmanGame game = new EvilHangmanGame(DICTIONARY);
+        game.resetGameForLength(4);
+        game.makeGuess('e');
+        assertEquals(1, game.getWrongGuesses(), "The family without the letter is the largest.");
+        assertEquals("____", game.getCurrentState());
+        assertEquals(3, game.getCandidateCount(), "Only ally, cool and good should remain.");
+
+        game.makeGuess('o');
+        assertEquals(1, game.getWrongGuesses(), "The family with 'o' twice outnumbers the rest.");
+        assertEquals("_oo_", game.getCurrentState());
+        assertEquals(2, game.getCandidateCount());
+        assertTrue(game.getSecretWord().equals("cool") || game.getSecretWord().equals("good"));
+    }
+
+    /**
+     * Verifies that ties between families go to the one revealing fewer positions.
+     */
+    @Test
+    void testTiesRevealLess() {
+        EvilHangmanGame game = new EvilHangmanGame(PackedDictionary.of("noon", "neon", "nose", "note"));
+        game.resetGameForLength(4);
+        game.makeGuess('n');
+        assertEquals("n___", game.getCurrentState(), "Of the two-word families, the one revealing one position wins.");
+        assertEquals(0, game.getWrongGuesses());
+    }
+
+    /**
+     * Verifies that repeated guesses are ignored and a solved word wins the game.
+     */
+    @Test
+    void testWinsWhenOneWordRemains() {
+        EvilHangmanGame game = new EvilHangmanGame(PackedDictionary.of("abc"));
+        game.makeGuess('a');
+        game.makeGuess('a');
+        game.makeGuess('b');
+        assertFalse(game.isGameWon());
+        game.makeGuess('c');
+        assertTrue(game.isGameWon());
+        assertEquals("abc", game.getSecretWord());
+        assertEquals(GlobalReference.MAX_SCORE, game.getScore());
+    }
+
+    /**
+     * Verifies that a word listed twice in the dictionary can still be guessed whole and won.
+     */
+    @Test
+    void testDuplicateWordGuessedWhole() {
+        EvilHangmanGame game = new EvilHangmanGame(PackedDictionary.of("apple", "apple"));
+        game.resetGameForLength(5);
+        assertEquals(GuessResult.Status.HIT, game.guessWord("apple", new GuessResult()).getStatus());
+        assertTrue(game.isGameWon());
+        assertEquals("apple", game.getCurrentState());
+
+        game = new EvilHangmanGame(PackedDictionary.of("apple", "apple", "crane"));
+        game.resetGameForLength(5);
+        assertEquals(GuessResult.Status.MISS, game.guessWord("apple", new GuessResult()).getStatus());
+        assertEquals(1, game.getCandidateCount());
+        assertEquals(GuessResult.Status.HIT, game.guessWord("crane", new GuessResult()).getStatus());
+        assertTrue(game.isGameWon());
+    }
+
+    /**
+     * Verifies that solver-driven games on the bundled dictionary always end within the alphabet.
+     */
+    @Test
+    void testGamesTerminate() {
+        PackedDictionary dictionary = GlobalReference.getDictionary();
+        EvilHangmanGame game = new EvilHangmanGame(dictionary);
+        SolverStrategy strategy = new SolverStrategy(new SolverIndex(dictionary));
+        for (int round = 0; round < 20; round++) {
+            game.resetGame();
+            strategy.startGame(game);
+            int guesses = 0;
+            while (!game.isGameWon() && !game.isGameLost()) {
+                game.makeGuess(strategy.nextGuess(game));
+                guesses++;
+                assertTrue(guesses <= 26, "A game should end before the alphabet runs out.");
+                assertTrue(game.getCandidateCount() > 0, "At least one candidate should always remain.");
+            }
+            assertTrue(game.isGameWon() || game.getWrongGuesses() == MAX_TRIES);
+        }
+    }
+
+    /**
+     * Verifies counting, growth, and clearing of the primitive count map used to group families.
+     */
+    @Test
+    void testIntCountMap() {
+        IntCountMap map = new IntCountMap(2);
+        for (int key = -50; key < 50; key++) {
+            map.increment(key);
+            map.increment(key * 3);
+        }
+        assertEquals(2, map.get(0));
+        assertEquals(1, map.get(1));
+        assertEquals(0, map.get(Integer.MIN_VALUE));
+        assertEquals(-50, map.keyAt(0), "Keys should be listed in insertion order.");
+        int total = 0;
+        for (int i = 0; i < map.size(); i++) {
+            total += map.countAt(i);
+        }
+        assertEquals(200, total);
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(0, map.get(3));
+    }
+}
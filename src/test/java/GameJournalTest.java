@@ -0,0 +1,211 @@
+import hangman.game.HangmanGameLogic;
+import hangman.game.journal.GameJournal;
+import hangman.game.metrics.GameMetrics;
+import hangman.game.session.GameSession;
+import hangman.game.session.GameSessionManager;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link GameJournal}: recovering games in flight by replay, rolling and compacting segments,
+ * and restoring journaled sessions.
+ */
+public class GameJournalTest {
+
+    // A small dictionary the journaled games play with.
+    private static final PackedDictionary DICTIONARY = PackedDictionary.of("apple", "crane", "ghost", "zebra");
+
+    /**
+     * Verifies that games in flight are rebuilt with their guesses, and finished games are not recovered.
+     */
+    @Test
+    void testRecoversGamesInFlight(@TempDir Path directory) throws IOException {
+        GameJournal journal = GameJournal.open(directory);
+        HangmanGameLogic playing = journaledGame(journal, 1, 0);
+        playing.makeGuess('p');
+        playing.makeGuess('z');
+        playing.makeGuess('p');
+        HangmanGameLogic finished = journaledGame(journal, 2, 1);
+        for (char letter : "crane".toCharArray()) {
+            finished.makeGuess(letter);
+        }
+        HangmanGameLogic restarted = journaledGame(journal, 3, 2);
+        restarted.makeGuess('x');
+        restarted.resetGame(3);
+        restarted.makeGuess('e');
+        // The games' threads only buffer their events; write them now instead of waiting for the journal's thread.
+        journal.flush();
+        assertEquals(14, journal.getAppendedCount(), "Repeated guesses should not be journaled.");
+        // The journal is deliberately not closed, as if the process had died.
+
+        Map<Long, HangmanGameLogic> recovered = GameJournal.recover(directory, DICTIONARY);
+        assertEquals(2, recovered.size(), "Only unfinished games should be recovered.");
+        assertSameState(playing, recovered.get(1L));
+        assertSameState(restarted, recovered.get(3L));
+    }
+
+    /**
+     * Verifies that replaying a journal reports nothing to the metrics, while the recovered games report the
+     * guesses made on them afterwards.
+     */
+    @Test
+    void testRecoveryLeavesMetricsAlone(@TempDir Path directory) throws IOException {
+        GameJournal journal = GameJournal.open(directory);
+        HangmanGameLogic playing = journaledGame(journal, 1, 0);
+        playing.makeGuess('p');
+        playing.makeGuess('q');
+        HangmanGameLogic finished = journaledGame(journal, 2, 1);
+        for (char letter : "crane".toCharArray()) {
+            finished.makeGuess(letter);
+        }
+        journal.flush();
+        GameMetrics metrics = GameMetrics.global();
+        long started = metrics.getGamesStarted();
+        long won = metrics.getGamesWon();
+        long guesses = metrics.getGuesses();
+
+        HangmanGameLogic recovered = GameJournal.recover(directory, DICTIONARY).get(1L);
+        assertEquals(started, metrics.getGamesStarted(), "Replayed resets should not count as games.");
+        assertEquals(won, metrics.getGamesWon());
+        assertEquals(guesses, metrics.getGuesses(), "Replayed guesses should not count as guesses.");
+
+        recovered.makeGuess('a');
+        recovered.makeGuess('l');
+        recovered.makeGuess('e');
+        assertTrue(recovered.isGameWon());
+        assertEquals(won + 1, metrics.getGamesWon(), "A recovered game should report its further play.");
+        assertEquals(guesses + 3, metrics.getGuesses());
+    }
+
+    /**
+     * Verifies that the journal's thread writes the events a game buffered without being asked to.
+     */
+    @Test
+    void testWritesBufferedEventsInBackground(@TempDir Path directory) throws Exception {
+        try (GameJournal journal = GameJournal.open(directory)) {
+            HangmanGameLogic game = journaledGame(journal, 1, 0);
+            game.makeGuess('p');
+            game.makeGuess('q');
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (journal.getAppendedCount() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(3, journal.getAppendedCount(), "The reset and both guesses should be written.");
+        }
+    }
+
+    /**
+     * Verifies that records span several segments and compaction drops only records no longer needed.
+     */
+    @Test
+    void testCompactsSealedSegments(@TempDir Path directory) throws IOException {
+        GameJournal journal = GameJournal.open(directory, 4);
+        HangmanGameLogic live = journaledGame(journal, 1, 2);
+        live.makeGuess('g');
+        // Writing each game's buffered events before the next plays keeps the layout of the segments fixed.
+        journal.flush();
+        for (long id = 2; id <= 4; id++) {
+            HangmanGameLogic game = journaledGame(journal, id, 0);
+            for (char letter : "aple".toCharArray()) {
+                game.makeGuess(letter);
+            }
+            journal.flush();
+        }
+        live.makeGuess('q');
+        journal.close();
+        assertEquals(6, segmentFiles(directory), "Twenty-one records should take six segments of four.");
+
+        int dropped = journal.compact();
+        assertEquals(18, dropped, "Every record of the three finished games should be dropped.");
+        assertTrue(segmentFiles(directory) < 6, "Emptied segments should be deleted.");
+        assertEquals(0, journal.compact(), "A second compaction should find nothing to drop.");
+
+        Map<Long, HangmanGameLogic> recovered = GameJournal.recover(directory, DICTIONARY);
+        assertEquals(1, recovered.size());
+        assertSameState(live, recovered.get(1L));
+    }
+
+    /**
+     * Verifies that journaled sessions survive a restart and new sessions do not reuse their ids.
+     */
+    @Test
+    void testRestoresSessions(@TempDir Path directory) throws IOException {
+        long keptId;
+        HangmanGameLogic kept;
+        try (GameJournal journal = GameJournal.open(directory);
+             GameSessionManager manager = new GameSessionManager(Duration.ofMinutes(1), 4, journal)) {
+            GameSession first = manager.createSession();
+            GameSession second = manager.createSession();
+            first.getGame().makeGuess('e');
+            second.getGame().makeGuess('a');
+            manager.closeSession(second.getId());
+            keptId = first.getId();
+            kept = first.getGame();
+        }
+
+        Map<Long, HangmanGameLogic> recovered = GameJournal.recover(directory, kept.getDictionary());
+        assertEquals(1, recovered.size(), "A closed session should not be recovered.");
+        assertSameState(kept, recovered.get(keptId));
+
+        try (GameJournal journal = GameJournal.open(directory);
+             GameSessionManager manager = new GameSessionManager(Duration.ofMinutes(1), 4, journal)) {
+            manager.restoreSessions(recovered);
+            assertEquals(1, manager.getActiveSessionCount());
+            assertTrue(manager.createSession().getId() > keptId, "New sessions should get fresh ids.");
+            assertFalse(manager.getSession(keptId).getGame().getGuessedLetters().isEmpty());
+        }
+    }
+
+    /**
+     * Creates a game that journals its events under the given id and starts it on a word.
+     *
+     * @param journal   The journal.
+     * @param id        The game id.
+     * @param wordIndex The index of the secret word.
+     * @return The game.
+     */
+    private static HangmanGameLogic journaledGame(GameJournal journal, long id, int wordIndex) {
+        HangmanGameLogic game = new HangmanGameLogic(DICTIONARY);
+        game.setEventListener(journal.listener(id));
+        game.resetGame(wordIndex);
+        return game;
+    }
+
+    /**
+     * Asserts that a recovered game matches the original.
+     *
+     * @param expected The original game.
+     * @param actual   The recovered game.
+     */
+    private static void assertSameState(HangmanGameLogic expected, HangmanGameLogic actual) {
+        assertEquals(expected.getSecretWord(), actual.getSecretWord());
+        assertEquals(expected.getCurrentState(), actual.getCurrentState());
+        assertEquals(expected.getGuessedLetters(), actual.getGuessedLetters());
+        assertEquals(expected.getWrongGuesses(), actual.getWrongGuesses());
+        assertEquals(expected.getScore(), actual.getScore());
+    }
+
+    /**
+     * Counts the segment files in a journal directory.
+     *
+     * @param directory The directory.
+     * @return The number of segment files.
+     */
+    private static long segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".journal")).count();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+import hangman.exception.NonAlphabeticInputException;
+import hangman.game.HangmanGameLogic;
+import hangman.game.metrics.GameMetrics;
+import hangman.game.metrics.LatencyHistogram;
+import hangman.game.metrics.LatencySnapshot;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link GameMetrics}: the accuracy of the latency percentiles, the counters updated by a game,
+ * and the attributes published over JMX.
+ */
+public class GameMetricsTest {
+
+    /**
+     * Verifies that percentiles fall within the bucket precision of the exact values.
+     */
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(5_000_500.0, snapshot.getMean(), 1e-6);
+        assertEquals(10_000_000, snapshot.getMax());
+        assertWithinBucket(5_000_000, snapshot.getP50());
+        assertWithinBucket(9_000_000, snapshot.getP90());
+        assertWithinBucket(9_900_000, snapshot.getP99());
+        assertWithinBucket(9_990_000, snapshot.getP999());
+    }
+
+    /**
+     * Verifies that small values are recorded exactly and an empty histogram reports zeros.
+     */
+    @Test
+    void testHistogramSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getP99());
+
+        histogram.record(3);
+        histogram.record(-5);
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getP50(), "A negative duration should be recorded as zero.");
+        assertEquals(3, snapshot.getP99());
+    }
+
+    /**
+     * Verifies that a game counts its start, its guesses, its rejected inputs, and its outcome.
+     */
+    @Test
+    void testGameUpdatesCounters() {
+        GameMetrics metrics = GameMetrics.global();
+        HangmanGameLogic game = new HangmanGameLogic(PackedDictionary.of("abc"));
+        long started = metrics.getGamesStarted();
+        long won = metrics.getGamesWon();
+        long guesses = metrics.getGuesses();
+        long invalid = metrics.getInvalidInputs();
+
+        game.resetGame(0);
+        game.makeGuess('a');
+        game.makeGuess('a');
+        assertThrows(NonAlphabeticInputException.class, () -> game.makeGuess('1'));
+        game.makeGuess('b');
+        game.makeGuess('c');
+
+        assertEquals(started + 1, metrics.getGamesStarted());
+        assertEquals(guesses + 3, metrics.getGuesses(), "A repeated letter should not count as a guess.");
+        assertEquals(invalid + 1, metrics.getInvalidInputs());
+        assertEquals(won + 1, metrics.getGamesWon());
+    }
+
+    /**
+     * Verifies that the metrics are registered once and their attributes can be read through the MBean server.
+     */
+    @Test
+    void testMBeanAttributes() throws Exception {
+        assertTrue(GameMetrics.registerMBean());
+        assertTrue(GameMetrics.registerMBean(), "Registering twice should keep the first registration.");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(GameMetrics.OBJECT_NAME);
+
+        new HangmanGameLogic(PackedDictionary.of("abc"));
+        assertTrue((Long) server.getAttribute(name, "GamesStarted") >= 1);
+        assertEquals(GameMetrics.GUESS_SAMPLE_INTERVAL, server.getAttribute(name, "GuessSampleInterval"));
+        CompositeData latency = (CompositeData) server.getAttribute(name, "GuessLatency");
+        assertTrue(latency.containsKey("p99"));
+    }
+
+    /**
+     * Asserts that a percentile reported by the histogram is at most one bucket above the exact value.
+     *
+     * @param expected The exact value.
+     * @param actual   The reported value.
+     */
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 8,
+                "Expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,337 @@
+import hangman.game.GuessResult.Status;
+import hangman.game.room.GameRoom;
+import hangman.game.room.RoomEvent;
+import hangman.utils.Alphabet;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link GameRoom}, verifying that guesses follow the rules of a single game, that players racing on
+ * the same room produce one consistent game with at most one winner, and that every subscriber receives every
+ * accepted guess in order.
+ */
+public class GameRoomTest {
+
+    // The dictionary of every room, so the secret words are known.
+    private static final PackedDictionary DICTIONARY = PackedDictionary.of("apple", "crane", "ghost");
+
+    // The executor publishing the events of the rooms.
+    private ExecutorService executor;
+
+    /**
+     * Creates the publishing executor before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    /**
+     * Stops the publishing executor after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Verifies that letters and words are judged as in a single game, and that the events replay the game.
+     */
+    @Test
+    void testGuessesAndEvents() throws InterruptedException {
+        GameRoom room = new GameRoom(DICTIONARY, 0, executor);
+        Member member = new Member();
+        room.subscribe(member);
+
+        assertEquals(Status.HIT, room.guess("ann", 'a'));
+        assertEquals(Status.DUPLICATE, room.guess("bob", 'A'), "Letters guessed by anyone count for everyone.");
+        assertEquals(Status.MISS, room.guess("bob", 'z'));
+        assertEquals(Status.INVALID, room.guess("bob", '1'));
+        assertEquals(Status.MISS, room.guessWord("cat", "crane"));
+        assertEquals(Status.UNKNOWN_WORD, room.guessWord("cat", "aplpe"));
+        assertEquals(Status.INVALID, room.guessWord("cat", "ap1le"));
+        assertEquals(2, room.getWrongGuesses(), "Rejected guesses should cost nobody a try.");
+        assertEquals(Status.HIT, room.guess("ann", 'p'));
+        assertEquals(Status.HIT, room.guess("bob", 'l'));
+        assertEquals("appl_", room.getCurrentState());
+        assertNull(room.getWinner());
+        assertEquals(Status.HIT, room.guess("cat", 'e'));
+        assertEquals(Status.GAME_OVER, room.guess("ann", 'q'));
+        assertTrue(room.isGameWon());
+        assertEquals("cat", room.getWinner());
+        assertEquals(80, room.getScore());
+
+        List<RoomEvent> events = member.await();
+        assertEquals(List.of("a", "z", "crane", "p", "l", "e"), events.stream().map(RoomEvent::getGuess).toList());
+        assertEquals(List.of(Status.HIT, Status.MISS, Status.MISS, Status.HIT, Status.HIT, Status.HIT),
+                events.stream().map(RoomEvent::getStatus).toList());
+        assertEquals("a____", events.get(0).getPattern());
+        assertNull(events.get(4).getSecretWord(), "The word should stay hidden while the game runs.");
+        RoomEvent last = events.get(5);
+        assertEquals(6, last.getSequence());
+        assertTrue(last.isWinningGuess());
+        assertEquals("apple", last.getSecretWord());
+        assertEquals(2, last.getWrongGuesses());
+    }
+
+    /**
+     * Verifies that players guessing every letter at once, over many rooms, always produce a consistent game:
+     * each letter is accepted once, there is at most one winner, and every subscriber sees the same events.
+     */
+    @Test
+    void testConcurrentPlayers() throws Exception {
+        int players = 8;
+        ExecutorService playerThreads = Executors.newFixedThreadPool(players);
+        try {
+            for (int round = 0; round < 200; round++) {
+                GameRoom room = new GameRoom(DICTIONARY, round % DICTIONARY.size(), executor);
+                List<Member> members = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    Member member = new Member();
+                    room.subscribe(member);
+                    members.add(member);
+                }
+                CyclicBarrier start = new CyclicBarrier(players);
+                AtomicInteger accepted = new AtomicInteger();
+                AtomicInteger wins = new AtomicInteger();
+                List<Future<?>> guessing = new ArrayList<>();
+                for (int p = 0; p < players; p++) {
+                    String player = "player" + p;
+                    List<Character> letters = new ArrayList<>();
+                    for (char letter = 'a'; letter <= 'z'; letter++) {
+                        letters.add(letter);
+                    }
+                    Collections.shuffle(letters, new Random(round * players + p));
+                    guessing.add(playerThreads.submit(() -> {
+                        start.await();
+                        for (char letter : letters) {
+                            Status status = room.guess(player, letter);
+                            if (status == Status.HIT || status == Status.MISS) {
+                                accepted.incrementAndGet();
+                            }
+                            if (status == Status.HIT && room.isGameWon() && player.equals(room.getWinner())) {
+                                wins.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : guessing) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+
+                assertTrue(room.isGameWon() || room.isGameLost());
+                assertEquals(accepted.get(), room.getAcceptedGuesses());
+                List<RoomEvent> expected = members.get(0).await();
+                assertEquals(accepted.get(), expected.size());
+                long letters = 0;
+                int misses = 0;
+                for (int i = 0; i < expected.size(); i++) {
+                    RoomEvent event = expected.get(i);
+                    assertEquals(i + 1, event.getSequence(), "Events should arrive in sequence order.");
+                    long bit = 1L << (event.getGuess().charAt(0) - 'a');
+                    assertEquals(0, letters & bit, "A letter should be accepted once.");
+                    letters |= bit;
+                    misses += event.getStatus() == Status.MISS ? 1 : 0;
+                    assertEquals(misses, event.getWrongGuesses());
+                    assertEquals(letters, event.getGuessedMask());
+                    assertEquals(i == expected.size() - 1, event.isWinningGuess() || event.isLosingGuess());
+                }
+                RoomEvent last = expected.get(expected.size() - 1);
+                assertEquals(room.getCurrentState(), last.getPattern());
+                if (room.isGameWon()) {
+                    assertEquals(1, wins.get(), "Exactly one player should win.");
+                    assertEquals(last.getPlayer(), room.getWinner());
+                } else {
+                    assertNull(room.getWinner());
+                }
+                for (Member member : members) {
+                    assertEquals(expected, member.await(), "Every member should see every accepted guess.");
+                }
+            }
+        } finally {
+            playerThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies that of many players guessing the word at the same moment, exactly one wins.
+     */
+    @Test
+    void testSimultaneousWordGuesses() throws Exception {
+        int players = 16;
+        ExecutorService playerThreads = Executors.newFixedThreadPool(players);
+        try {
+            for (int round = 0; round < 100; round++) {
+                GameRoom room = new GameRoom(DICTIONARY, 1, executor);
+                CyclicBarrier start = new CyclicBarrier(players);
+                List<Future<Status>> guesses = new ArrayList<>();
+                for (int p = 0; p < players; p++) {
+                    String player = "player" + p;
+                    guesses.add(playerThreads.submit(() -> {
+                        start.await();
+                        return room.guessWord(player, "crane");
+                    }));
+                }
+                int hits = 0;
+                for (Future<Status> guess : guesses) {
+                    Status status = guess.get(10, TimeUnit.SECONDS);
+                    assertTrue(status == Status.HIT || status == Status.GAME_OVER, status.toString());
+                    hits += status == Status.HIT ? 1 : 0;
+                }
+                assertEquals(1, hits);
+                assertEquals(1, room.getAcceptedGuesses());
+                assertTrue(room.getWinner().startsWith("player"));
+            }
+        } finally {
+            playerThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies that closing a room while players guess never loses a guess: every guess accepted before the
+     * close is published before the subscribers are completed, and every guess after it is refused.
+     */
+    @Test
+    void testCloseWhileGuessing() throws Exception {
+        int players = 4;
+        ExecutorService playerThreads = Executors.newFixedThreadPool(players + 1);
+        try {
+            for (int round = 0; round < 300; round++) {
+                GameRoom room = new GameRoom(DICTIONARY, round % DICTIONARY.size(), executor);
+                Member member = new Member();
+                room.subscribe(member);
+                CyclicBarrier start = new CyclicBarrier(players + 1);
+                AtomicInteger accepted = new AtomicInteger();
+                List<Future<?>> guessing = new ArrayList<>();
+                for (int p = 0; p < players; p++) {
+                    String player = "player" + p;
+                    char first = (char) ('a' + p);
+                    guessing.add(playerThreads.submit(() -> {
+                        start.await();
+                        for (char letter = first; letter <= 'z'; letter += players) {
+                            Status status = room.guess(player, letter);
+                            if (status == Status.HIT || status == Status.MISS) {
+                                accepted.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                int delay = round % 20;
+                guessing.add(playerThreads.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < delay; i++) {
+                        Thread.onSpinWait();
+                    }
+                    room.close();
+                    return null;
+                }));
+                for (Future<?> future : guessing) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+
+                List<RoomEvent> events = member.await();
+                assertEquals(accepted.get(), room.getAcceptedGuesses());
+                assertEquals(accepted.get(), events.size(), "Every accepted guess should be published.");
+                for (int i = 0; i < events.size(); i++) {
+                    assertEquals(i + 1, events.get(i).getSequence());
+                }
+                assertEquals(Status.GAME_OVER, room.guess("late", 'a'));
+            }
+        } finally {
+            playerThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies that closing a room completes its subscribers after the guesses already accepted, and that
+     * alphabets too large for the packed state are refused.
+     */
+    @Test
+    void testCloseAndLimits() throws InterruptedException {
+        GameRoom room = new GameRoom(DICTIONARY, 2, executor);
+        Member member = new Member();
+        room.subscribe(member);
+        assertEquals(Status.HIT, room.guess("ann", 'g'));
+        room.close();
+        assertEquals(Status.GAME_OVER, room.guess("ann", 'h'));
+        assertEquals(1, member.await().size());
+        assertFalse(room.isGameWon() || room.isGameLost());
+
+        assertThrows(IllegalArgumentException.class, () -> new GameRoom(DICTIONARY, 3, executor));
+        StringBuilder letters = new StringBuilder();
+        for (char letter = 'Ā'; letters.length() <= GameRoom.MAX_ALPHABET_SIZE; letter++) {
+            if (Character.isLowerCase(letter)) {
+                letters.append(letter);
+            }
+        }
+        PackedDictionary large = PackedDictionary.builder(Alphabet.of("large", letters))
+                .add(letters.substring(0, 2)).build();
+        assertThrows(IllegalArgumentException.class, () -> new GameRoom(large, 0, executor));
+    }
+
+    /**
+     * A subscriber collecting the events of a room until the room completes it.
+     */
+    private static final class Member implements Flow.Subscriber<List<RoomEvent>> {
+
+        // The events received so far.
+        private final List<RoomEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+        // Released when the room completes the subscriber.
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<RoomEvent> batch) {
+            events.addAll(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+
+        /**
+         * Waits for the room to complete the subscriber.
+         *
+         * @return The events received.
+         * @throws InterruptedException if interrupted while waiting.
+         */
+        List<RoomEvent> await() throws InterruptedException {
+            assertTrue(completed.await(10, TimeUnit.SECONDS), "The room should complete its subscribers.");
+            return new ArrayList<>(events);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+import hangman.game.dictionary.DictionaryRegistry;
+import hangman.game.session.GameSessionManager;
+import hangman.server.GameServer;
+import hangman.server.LoadGenerator;
+import hangman.server.LoadReport;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link GameServer} and the {@link LoadGenerator}, verifying that games are played over the line
+ * protocol, that pipelined commands are answered in order, and that every game of a load run completes.
+ */
+public class GameServerTest {
+
+    // The sessions of the server under test.
+    private GameSessionManager sessions;
+
+    // The server under test, listening on a free port.
+    private GameServer server;
+
+    /**
+     * Starts a server whose only secret word is "apple".
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        sessions = new GameSessionManager(Duration.ofMinutes(10), 16);
+        sessions.setDictionaryRegistry(new DictionaryRegistry(PackedDictionary.of("apple")));
+        server = new GameServer(sessions, new InetSocketAddress("localhost", 0));
+        server.start();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @AfterEach
+    void tearDown() {
+        server.close();
+        sessions.close();
+    }
+
+    /**
+     * Verifies that a game is played to the end over a connection, and that invalid commands are answered with errors.
+     */
+    @Test
+    void testPlayOverConnection() throws IOException, InterruptedException {
+        try (Socket socket = new Socket("localhost", server.getLocalAddress().getPort())) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+
+            out.println("STATE");
+            assertEquals("STATE _____ 0 120 PLAYING", in.readLine());
+            out.println("GUESS z");
+            assertEquals("STATE _____ 1 100 PLAYING", in.readLine());
+            out.println("GUESS 1");
+            assertTrue(in.readLine().startsWith("ERR "));
+            out.println("DANCE");
+            assertEquals("ERR Unknown command: DANCE", in.readLine());
+            out.println("guess P");
+            assertEquals("STATE _pp__ 1 100 PLAYING", in.readLine());
+            out.println("GUESS apply");
+            assertEquals("STATE _pp__ 2 80 PLAYING", in.readLine());
+            out.println("GUESS Apple");
+            assertEquals("STATE apple 2 80 WON apple", in.readLine());
+            out.println("STATE");
+            assertEquals("STATE apple 2 80 WON apple", in.readLine());
+            assertEquals(1, sessions.getActiveSessionCount());
+
+            out.println("QUIT");
+            assertNull(in.readLine(), "The server should close the connection.");
+        }
+        for (int i = 0; i < 100 && server.getOpenConnections() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, server.getOpenConnections());
+        assertEquals(0, sessions.getActiveSessionCount(), "Closing the connection should close its session.");
+    }
+
+    /**
+     * Verifies that many pipelined commands are all answered, in order.
+     */
+    @Test
+    void testPipelinedCommands() throws IOException {
+        try (Socket socket = new Socket("localhost", server.getLocalAddress().getPort())) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream out = socket.getOutputStream();
+            int commands = 5000;
+            StringBuilder batch = new StringBuilder();
+            for (int i = 0; i < commands; i++) {
+                batch.append(i % 2 == 0 ? "NEW\r\n" : "GUESS p\n");
+            }
+            out.write(batch.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            for (int i = 0; i < commands; i++) {
+                assertEquals(i % 2 == 0 ? "STATE _____ 0 120 PLAYING" : "STATE _pp__ 0 120 PLAYING", in.readLine());
+            }
+        }
+    }
+
+    /**
+     * Verifies that a connection left idle has its session parked, that its next command carries on with the
+     * same game, and that the game a parked session gave back to the pool does not leak into the games of
+     * other connections.
+     */
+    @Test
+    void testIdleConnectionIsParked() throws IOException, InterruptedException {
+        server.close();
+        sessions = new GameSessionManager(Duration.ZERO, 16);
+        sessions.setDictionaryRegistry(new DictionaryRegistry(PackedDictionary.of("apple")));
+        sessions.setParkIdleSessions(true);
+        server = new GameServer(sessions, new InetSocketAddress("localhost", 0));
+        server.setEvictionInterval(Duration.ofMillis(5));
+        server.start();
+        int port = server.getLocalAddress().getPort();
+        try (Socket idle = new Socket("localhost", port); Socket other = new Socket("localhost", port)) {
+            BufferedReader idleIn = new BufferedReader(new InputStreamReader(idle.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter idleOut = new PrintWriter(idle.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader otherIn = new BufferedReader(new InputStreamReader(other.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter otherOut = new PrintWriter(other.getOutputStream(), true, StandardCharsets.UTF_8);
+
+            idleOut.println("GUESS p");
+            assertEquals("STATE _pp__ 0 120 PLAYING", idleIn.readLine());
+            for (int round = 0; round < 20; round++) {
+                awaitParkedSessions(2);
+                otherOut.println("NEW");
+                assertEquals("STATE _____ 0 120 PLAYING", otherIn.readLine());
+                otherOut.println("GUESS z");
+                assertEquals("STATE _____ 1 100 PLAYING", otherIn.readLine());
+                awaitParkedSessions(2);
+                idleOut.println("STATE");
+                assertEquals("STATE _pp__ 0 120 PLAYING", idleIn.readLine(), "Parking should keep the game.");
+            }
+            idleOut.println("GUESS a");
+            assertEquals("STATE app__ 0 120 PLAYING", idleIn.readLine());
+        }
+    }
+
+    /**
+     * Verifies that a connection whose session was closed for being idle is told so and closed.
+     */
+    @Test
+    void testIdleConnectionExpires() throws IOException, InterruptedException {
+        server.close();
+        sessions = new GameSessionManager(Duration.ZERO, 16);
+        sessions.setDictionaryRegistry(new DictionaryRegistry(PackedDictionary.of("apple")));
+        server = new GameServer(sessions, new InetSocketAddress("localhost", 0));
+        server.setEvictionInterval(Duration.ofMillis(5));
+        server.start();
+        try (Socket socket = new Socket("localhost", server.getLocalAddress().getPort())) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            for (int i = 0; i < 100 && server.getAcceptedConnections() == 0; i++) {
+                Thread.sleep(10);
+            }
+            for (int i = 0; i < 100 && sessions.getActiveSessionCount() > 0; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, sessions.getActiveSessionCount());
+
+            out.println("STATE");
+            assertEquals("ERR Session expired.", in.readLine());
+            assertNull(in.readLine(), "The server should close the connection.");
+        }
+    }
+
+    /**
+     * Verifies that a load run plays every game over every connection without errors.
+     */
+    @Test
+    void testLoadGenerator() throws IOException {
+        LoadReport report = new LoadGenerator(server.getLocalAddress(), 200, 3).run();
+        assertEquals(200, report.getConnections());
+        assertEquals(600, report.getGames());
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getGuesses() >= 600 * 4, "Every game needs at least the four letters of the word.");
+        assertEquals(report.getGames() + report.getGuesses(), report.getLatency().getCount());
+        assertTrue(report.getGuessesPerSecond() > 0);
+        assertEquals(200, server.getAcceptedConnections());
+    }
+
+    /**
+     * Waits for the server to park the given number of sessions.
+     *
+     * @param count The number of parked sessions to wait for.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private void awaitParkedSessions(int count) throws InterruptedException {
+        for (int i = 0; i < 500 && sessions.getParkedSessionCount() < count; i++) {
+            Thread.sleep(2);
+        }
+        assertEquals(count, sessions.getParkedSessionCount(), "Idle sessions should be parked.");
+    }
+}
@@ -0,0 +1,133 @@
+import hangman.game.HangmanGameLogic;
+import hangman.game.session.GameSession;
+import hangman.game.session.GameSessionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link GameSessionManager}, verifying that sessions hold independent games,
+ * that closed sessions release their games to the pool, and that idle sessions are evicted.
+ */
+public class GameSessionManagerTest {
+
+    // The session manager under test.
+    private GameSessionManager manager;
+
+    /**
+     * Creates a session manager with a long idle timeout and a small pool before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        manager = new GameSessionManager(Duration.ofMinutes(10), 2);
+    }
+
+    /**
+     * Stops any background eviction after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    /**
+     * Verifies that every session gets its own id and its own game.
+     */
+    @Test
+    void testSessionsAreIndependent() {
+        GameSession first = manager.createSession();
+        GameSession second = manager.createSession();
+        assertNotEquals(first.getId(), second.getId(), "Sessions should have distinct ids.");
+        assertNotSame(first.getGame(), second.getGame(), "Sessions should not share a game.");
+
+        HangmanGameLogic game = first.getGame();
+        char letter = game.getSecretWord().charAt(0);
+        game.makeGuess(letter);
+        assertTrue(second.getGame().getGuessedLetters().isEmpty(), "A guess in one session should not affect another.");
+        assertSame(first, manager.getSession(first.getId()), "Lookup should return the created session.");
+    }
+
+    /**
+     * Verifies that a closed session releases its game to the pool and that the game is reused in a reset state.
+     */
+    @Test
+    void testClosedSessionGameIsReused() {
+        GameSession session = manager.createSession();
+        HangmanGameLogic game = session.getGame();
+        game.makeGuess(game.getSecretWord().charAt(0));
+
+        assertTrue(manager.closeSession(session.getId()), "Closing an active session should succeed.");
+        assertFalse(manager.closeSession(session.getId()), "Closing a session twice should fail.");
+        assertNull(manager.getSession(session.getId()), "A closed session should no longer be found.");
+        assertEquals(1, manager.getPooledGameCount(), "The released game should be pooled.");
+
+        GameSession reused = manager.createSession();
+        assertSame(game, reused.getGame(), "A new session should reuse the pooled game.");
+        assertTrue(reused.getGame().getGuessedLetters().isEmpty(), "A reused game should be reset.");
+        assertEquals(0, manager.getPooledGameCount(), "The pool should be empty after reuse.");
+    }
+
+    /**
+     * Verifies that the pool never grows beyond its capacity.
+     */
+    @Test
+    void testPoolIsBounded() {
+        for (int i = 0; i < 5; i++) {
+            manager.closeSession(manager.createSession().getId());
+            manager.createSession();
+        }
+        for (int i = 1; i <= 10; i++) {
+            manager.closeSession(i);
+        }
+        assertEquals(0, manager.getActiveSessionCount(), "All sessions should be closed.");
+        assertEquals(2, manager.getPooledGameCount(), "The pool should be capped at its capacity.");
+    }
+
+    /**
+     * Verifies that sessions idle for longer than the timeout are evicted.
+     */
+    @Test
+    void testIdleSessionsAreEvicted() {
+        GameSessionManager eager = new GameSessionManager(Duration.ZERO, 10);
+        for (int i = 0; i < 3; i++) {
+            eager.createSession();
+        }
+        assertEquals(3, eager.evictIdleSessions(), "All sessions should be idle with a zero timeout.");
+        assertEquals(0, eager.getActiveSessionCount(), "No session should remain after eviction.");
+        assertEquals(3, eager.getPooledGameCount(), "Evicted games should be pooled.");
+
+        manager.createSession();
+        assertEquals(0, manager.evictIdleSessions(), "Recently used sessions should not be evicted.");
+    }
+
+    /**
+     * Verifies that a held session is neither evicted nor parked, however long it stays idle, and becomes
+     * evictable again once released.
+     */
+    @Test
+    void testHeldSessionsAreNotEvicted() {
+        GameSessionManager eager = new GameSessionManager(Duration.ZERO, 10);
+        GameSession session = eager.createSession();
+        assertSame(session, eager.acquireSession(session.getId()));
+        assertEquals(0, eager.evictIdleSessions(), "A held session should not be evicted.");
+        eager.setParkIdleSessions(true);
+        assertEquals(0, eager.evictIdleSessions(), "A held session should not be parked.");
+        assertEquals(1, eager.getActiveSessionCount());
+        assertEquals(0, eager.getPooledGameCount(), "The game of a held session should not be pooled.");
+
+        eager.releaseSession(session);
+        assertEquals(1, eager.evictIdleSessions(), "A released session should be evictable again.");
+        assertEquals(1, eager.getParkedSessionCount());
+        assertNotSame(session, eager.getSession(session.getId()));
+    }
+}
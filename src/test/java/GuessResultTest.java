@@ -0,0 +1,135 @@
+import hangman.game.EvilHangmanGame;
+import hangman.game.GuessResult;
+import hangman.game.GuessResult.Status;
+import hangman.game.HangmanGameLogic;
+import hangman.game.journal.GameJournal;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link GuessResult} API of the games, verifying that every outcome of a letter or word guess is
+ * reported without an exception, together with the revealed positions and the state of the game after it.
+ */
+public class GuessResultTest {
+
+    // The dictionary of the games, so the secret word is known.
+    private static final PackedDictionary DICTIONARY = PackedDictionary.of("apple", "crane", "ghost");
+
+    /**
+     * Verifies the outcome of each kind of letter guess, reusing one result for all of them.
+     */
+    @Test
+    void testLetterOutcomes() {
+        HangmanGameLogic game = new HangmanGameLogic(DICTIONARY);
+        game.resetGame(0);
+        GuessResult result = new GuessResult();
+
+        assertSame(result, game.guess('p', result));
+        assertEquals(Status.HIT, result.getStatus());
+        assertEquals(2, result.getRevealedCount());
+        assertEquals(1, result.getRevealedPosition(0));
+        assertEquals(2, result.getRevealedPosition(1));
+        assertTrue(result.isApplied());
+
+        assertEquals(Status.DUPLICATE, game.guess('p', result).getStatus());
+        assertEquals(0, result.getRevealedCount(), "A repeated guess should reveal nothing.");
+        assertFalse(result.isApplied());
+
+        assertEquals(Status.INVALID, game.guess('1', result).getStatus());
+        assertEquals(0, game.getWrongGuesses(), "Invalid input should not count as a wrong guess.");
+
+        assertEquals(Status.MISS, game.guess('z', result).getStatus());
+        assertEquals(1, result.getWrongGuesses());
+        assertEquals(game.getScore(), result.getScore());
+
+        for (char letter : "ale".toCharArray()) {
+            game.guess(letter, result);
+        }
+        assertTrue(result.isWon());
+        assertEquals(Status.GAME_OVER, game.guess('q', result).getStatus());
+        assertEquals("apple", game.getCurrentState());
+    }
+
+    /**
+     * Verifies that a correct word reveals the letters left and wins, while a wrong word counts as a wrong guess.
+     */
+    @Test
+    void testWordGuesses() {
+        HangmanGameLogic game = new HangmanGameLogic(DICTIONARY);
+        game.resetGame(1);
+        GuessResult result = new GuessResult();
+        game.guess('a', result);
+
+        assertEquals(Status.INVALID, game.guessWord("cr4ne", result).getStatus());
+        assertEquals(Status.INVALID, game.guessWord("", result).getStatus());
+        assertEquals(Status.MISS, game.guessWord("crate", result).getStatus());
+        assertEquals(1, result.getWrongGuesses());
+        assertFalse(result.isOver());
+
+        assertEquals(Status.HIT, game.guessWord("crane", result).getStatus());
+        assertEquals(4, result.getRevealedCount(), "Every position but the guessed 'a' should be revealed.");
+        assertEquals(0, result.getRevealedPosition(0));
+        assertTrue(result.isWon());
+        assertTrue(game.isGameWon());
+        assertEquals("crane", game.getCurrentState());
+        assertEquals(Status.GAME_OVER, game.guessWord("crane", result).getStatus());
+    }
+
+    /**
+     * Verifies that enough wrong words lose the game, and that a journal replays missed words.
+     */
+    @Test
+    void testMissedWordsAreJournaled(@TempDir Path directory) throws IOException {
+        GameJournal journal = GameJournal.open(directory);
+        HangmanGameLogic game = new HangmanGameLogic(DICTIONARY);
+        game.setEventListener(journal.listener(7));
+        game.resetGame(2);
+        game.guess('o');
+        game.guessWord("ghast");
+        game.guessWord("hello");
+        journal.flush();
+
+        Map<Long, HangmanGameLogic> recovered = GameJournal.recover(directory, DICTIONARY);
+        HangmanGameLogic copy = recovered.get(7L);
+        assertEquals("__o__", copy.getCurrentState());
+        assertEquals(2, copy.getWrongGuesses());
+        assertEquals(game.getScore(), copy.getScore());
+
+        GuessResult result = new GuessResult();
+        for (String word : new String[]{"boast", "roast", "toast", "coast"}) {
+            game.guessWord(word, result);
+        }
+        assertTrue(result.isLost());
+        journal.close();
+        assertTrue(GameJournal.recover(directory, DICTIONARY).isEmpty(), "A lost game should not be recovered.");
+    }
+
+    /**
+     * Verifies that the evil game only accepts a word once it is the last candidate, dropping wrong candidates.
+     */
+    @Test
+    void testEvilWordGuesses() {
+        EvilHangmanGame game = new EvilHangmanGame(PackedDictionary.of("cat", "cot", "dog"));
+        game.resetGameForLength(3);
+        GuessResult result = new GuessResult();
+
+        assertEquals(Status.MISS, game.guessWord("cat", result).getStatus());
+        assertEquals(2, game.getCandidateCount(), "A guessed candidate should be dropped.");
+        assertEquals(Status.MISS, game.guessWord("cot", result).getStatus());
+        assertEquals(1, game.getCandidateCount());
+        assertEquals(Status.HIT, game.guessWord("dog", result).getStatus());
+        assertEquals(3, result.getRevealedCount());
+        assertTrue(result.isWon());
+        assertEquals("dog", game.getCurrentState());
+    }
+}
@@ -119,6 +119,38 @@ public class HangmanLogicTest {
         assertEquals(scoreAfterFirstGuess, gameLogic.getScore(), "Score should not change on repeated correct guess.");
     }
 
+    /**
+     * Verifies that a correct guess uncovers every occurrence of the letter in the current state.
+     */
+    @Test
+    void testCurrentStateRevealsGuessedLetters() {
+        String secretWord = gameLogic.getSecretWord();
+        char letter = secretWord.charAt(0);
+        gameLogic.makeGuess(letter);
+        String state = gameLogic.getCurrentState();
+        assertEquals(secretWord.length(), state.length(), "Current state should have one slot per letter.");
+        for (int i = 0; i < secretWord.length(); i++) {
+            char expected = secretWord.charAt(i) == letter ? letter : '_';
+            assertEquals(expected, state.charAt(i), "Only the guessed letter should be revealed.");
+        }
+    }
+
+    /**
+     * Verifies that the guessed letters view lists correct and incorrect guesses and cannot be modified.
+     */
+    @Test
+    void testGuessedLettersView() {
+        char correctLetter = gameLogic.getSecretWord().charAt(0);
+        char incorrectLetter = errorInputAlphabet.get(0);
+        gameLogic.makeGuess(correctLetter);
+        gameLogic.makeGuess(incorrectLetter);
+        gameLogic.makeGuess(incorrectLetter);
+        assertEquals(2, gameLogic.getGuessedLetters().size(), "Repeated guesses should be listed once.");
+        assertTrue(gameLogic.getGuessedLetters().contains(incorrectLetter), "Incorrect guesses should be listed.");
+        assertThrows(UnsupportedOperationException.class, () -> gameLogic.getGuessedLetters().add('a'),
+                "Guessed letters should be read-only.");
+    }
+
     /**
      * Tests the condition for winning the game, ensuring all letters in the secret word have been guessed.
      */
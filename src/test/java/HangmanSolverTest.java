@@ -0,0 +1,90 @@
+import hangman.game.GlobalReference;
+import hangman.game.HangmanGameLogic;
+import hangman.game.solver.HangmanSolver;
+import hangman.game.solver.SolverIndex;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link HangmanSolver}, checking that candidates are narrowed consistently with the revealed
+ * pattern and wrong guesses, and that its suggestions win games against the bundled dictionary.
+ */
+public class HangmanSolverTest {
+
+    /**
+     * Verifies narrowing and letter ranking on a small dictionary.
+     */
+    @Test
+    void testNarrowsCandidates() {
+        PackedDictionary dictionary = PackedDictionary.of("apple", "ample", "angle", "ankle", "cider", "crane");
+        HangmanSolver solver = new HangmanSolver(new SolverIndex(dictionary));
+        solver.sync("a__le", maskOf("ale"));
+        assertEquals(4, solver.getCandidateCount(), "Only words matching the pattern should remain.");
+        assertEquals('n', solver.nextGuess(), "The letter in most remaining candidates should be suggested.");
+
+        solver.applyMiss('n');
+        List<String> remaining = new ArrayList<>();
+        solver.forEachCandidate(word -> remaining.add(dictionary.get(word)));
+        assertEquals(List.of("apple", "ample"), remaining, "Words containing a wrong guess should be removed.");
+        assertEquals('p', solver.nextGuess());
+    }
+
+    /**
+     * Verifies that a revealed letter rules out candidates with the same letter at hidden positions.
+     */
+    @Test
+    void testHitExcludesOtherPositions() {
+        PackedDictionary dictionary = PackedDictionary.of("llama", "lunar", "lapel");
+        HangmanSolver solver = new HangmanSolver(new SolverIndex(dictionary));
+        solver.reset(5);
+        solver.applyHit('l', 1);
+        assertEquals(1, solver.getCandidateCount(), "Only 'lunar' has an 'l' at the first position alone.");
+    }
+
+    /**
+     * Verifies that following the solver never loses the secret word from the candidates and wins most games.
+     */
+    @Test
+    void testPlaysBundledDictionary() {
+        SolverIndex index = new SolverIndex(GlobalReference.getDictionary());
+        HangmanSolver solver = new HangmanSolver(index);
+        HangmanGameLogic game = new HangmanGameLogic(GlobalReference.getDictionary());
+        int wins = 0;
+        int games = 0;
+        for (int word = 0; word < GlobalReference.getDictionary().size(); word += 37) {
+            game.resetGame(word);
+            while (!game.isGameWon() && !game.isGameLost()) {
+                solver.sync(game);
+                char guess = solver.nextGuess();
+                assertFalse(game.getGuessedLetters().contains(guess), "The solver should not repeat a guess.");
+                game.makeGuess(guess);
+            }
+            solver.sync(game);
+            assertTrue(solver.getCandidateCount() >= 1, "The secret word should stay a candidate.");
+            wins += game.isGameWon() ? 1 : 0;
+            games++;
+        }
+        assertTrue(wins * 2 > games, "The solver should win most games.");
+    }
+
+    /**
+     * Builds a letter mask from the letters of a string.
+     *
+     * @param letters The letters.
+     * @return The mask with one bit per letter.
+     */
+    private static int maskOf(String letters) {
+        int mask = 0;
+        for (char letter : letters.toCharArray()) {
+            mask |= 1 << (letter - 'a');
+        }
+        return mask;
+    }
+}
@@ -1,8 +1,9 @@
-import hangman.exception.NonAlphabeticInputException;
+import hangman.game.GuessResult;
 import hangman.game.HangmanGameLogic;
 import hangman.game.HangmanUI;
 import hangman.game.input.ScannerInput;
 import hangman.game.input.UserInput;
+import hangman.utils.PackedDictionary;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,12 +13,16 @@ import org.mockito.MockitoAnnotations;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.anyChar;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -47,6 +52,8 @@ public class HangmanUITest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // The mocked game hands back the result it is given, as the real game does.
+        when(gameLogic.guess(anyInt(), any(GuessResult.class))).thenAnswer(invocation -> invocation.getArgument(1));
         System.setOut(new PrintStream(outContent));
         ui = new HangmanUI(gameLogic, userInput);
     }
@@ -71,7 +78,7 @@ public class HangmanUITest {
      * - `getSecretWord()` returns "apple" as the secret word for this game session.
      *
      * The `HangmanUI` instance (ui) is then used to start the game play, and the test verifies that
-     * the `makeGuess()` method is called exactly once with each of the guessed letters.
+     * the `guess()` method is called exactly once with each of the guessed letters.
      * This ensures that the game logic correctly processes each guess and that the game ends
      * after the predetermined number of incorrect guesses.
      */
@@ -84,18 +91,19 @@ public class HangmanUITest {
         //ui = new HangmanUI(gameLogic, userInput);
         ui.play();
 
-        verify(gameLogic, times(1)).makeGuess('a');
-        verify(gameLogic, times(1)).makeGuess('z');
-        verify(gameLogic, times(1)).makeGuess('b');
+        verify(gameLogic, times(1)).guess(eq((int) 'a'), any(GuessResult.class));
+        verify(gameLogic, times(1)).guess(eq((int) 'z'), any(GuessResult.class));
+        verify(gameLogic, times(1)).guess(eq((int) 'b'), any(GuessResult.class));
     }
 
     /**
-     * Tests that non-alphabetic input throws a NonAlphabeticInputException and that the UI handles it by displaying an error message.
+     * Tests that non-alphabetic input is reported as invalid and that the UI handles it by displaying an error message.
      */
     @Test
     void testNonAlphabeticInput() {
         when(userInput.nextLine()).thenReturn("1");
-        doThrow(new NonAlphabeticInputException()).when(gameLogic).makeGuess(anyChar());
+        GuessResult invalid = new HangmanGameLogic(PackedDictionary.of("apple")).guess('1', new GuessResult());
+        when(gameLogic.guess(anyInt(), any(GuessResult.class))).thenReturn(invalid);
         when(gameLogic.isGameLost()).thenReturn(false, true);
         ui.play();
 
@@ -133,5 +141,38 @@ public class HangmanUITest {
         assertTrue(outContent.toString().contains("apple"));
     }
 
+    /**
+     * Verifies that replaying many games in a row does not grow the stack, since each game
+     * follows the previous one in a loop rather than in a nested call.
+     */
+    @Test
+    void testManyReplaysDoNotOverflow() {
+        String[] answers = new String[50_000];
+        Arrays.fill(answers, "y");
+        answers[answers.length - 1] = "n";
+        when(userInput.nextLine()).thenReturn("y", answers);
+        when(gameLogic.isGameWon()).thenReturn(true);
+        when(gameLogic.getSecretWord()).thenReturn("apple");
+
+        ui.play();
 
+        verify(gameLogic, times(answers.length + 1)).resetGame();
+    }
+
+    /**
+     * Verifies that a letter guessed twice is reported and costs no wrong guess.
+     */
+    @Test
+    void testRepeatedLetter() {
+        HangmanGameLogic game = new HangmanGameLogic(PackedDictionary.of("apple"));
+        game.resetGame(0);
+        UserInput input = mock(UserInput.class);
+        when(input.nextLine()).thenReturn("z", "z", "a", "p", "l", "e");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new HangmanUI(game, input, output::write).playRound();
+
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("z has already been guessed."));
+        assertTrue(game.isGameWon());
+        assertEquals(1, game.getWrongGuesses());
+    }
 }
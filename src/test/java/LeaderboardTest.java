@@ -0,0 +1,165 @@
+import hangman.game.GlobalReference;
+import hangman.game.leaderboard.Leaderboard;
+import hangman.game.leaderboard.LeaderboardEntry;
+import hangman.simulator.RandomStrategy;
+import hangman.simulator.SelfPlaySimulator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static hangman.game.GlobalReference.MAX_SCORE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link Leaderboard}: ranking best scores, answering top-K and rank queries under concurrent
+ * submissions, and surviving a restart through its file.
+ */
+public class LeaderboardTest {
+
+    /**
+     * Verifies that only improvements replace a player's entry and that equal scores share a rank.
+     */
+    @Test
+    void testRanksBestScores() {
+        Leaderboard leaderboard = new Leaderboard();
+        assertEquals(1, leaderboard.submit("alice", 80));
+        assertEquals(2, leaderboard.submit("bob", 60));
+        assertEquals(1, leaderboard.submit("carol", 80), "Equal scores should share a rank.");
+        assertEquals(1, leaderboard.submit("bob", 120));
+        assertEquals(1, leaderboard.submit("bob", 0), "A lower score should not replace the best one.");
+
+        assertEquals(120, leaderboard.get("bob").getScore());
+        assertEquals(2, leaderboard.rank("alice"));
+        assertEquals(0, leaderboard.rank("dave"));
+        assertEquals(4, leaderboard.rankOfScore(20));
+        List<LeaderboardEntry> top = leaderboard.top(2);
+        assertEquals("bob", top.get(0).getPlayer());
+        assertEquals("alice", top.get(1).getPlayer(), "Equal scores should be listed in submission order.");
+        assertEquals(3, leaderboard.size());
+        assertEquals(5, leaderboard.getSubmissionCount());
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.submit("eve", MAX_SCORE + 1));
+    }
+
+    /**
+     * Verifies that concurrent submissions leave the ranking and the rank counts consistent.
+     */
+    @Test
+    void testConcurrentSubmissions() throws InterruptedException {
+        Leaderboard leaderboard = new Leaderboard();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            int offset = thread;
+            executor.execute(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    leaderboard.submit("player-" + (i % 500), ((i + offset) % 7) * 20);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(500, leaderboard.size());
+        List<LeaderboardEntry> all = leaderboard.top(1000);
+        assertEquals(500, all.size(), "Every player should appear exactly once.");
+        for (int i = 0; i < all.size(); i++) {
+            LeaderboardEntry entry = all.get(i);
+            assertEquals(leaderboard.get(entry.getPlayer()), entry);
+            int higher = 0;
+            while (higher < i && all.get(higher).getScore() > entry.getScore()) {
+                higher++;
+            }
+            assertEquals(higher + 1, leaderboard.rank(entry.getPlayer()));
+        }
+    }
+
+    /**
+     * Verifies that a reader never sees a player twice while their score improves, and that improvements made
+     * while a background flusher rewrites the file all reach the file.
+     */
+    @Test
+    void testImprovementsDuringFlushes(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("leaderboard.log");
+        try (Leaderboard leaderboard = Leaderboard.open(file)) {
+            leaderboard.startFlusher(Duration.ofMillis(1));
+            AtomicBoolean running = new AtomicBoolean(true);
+            ExecutorService executor = Executors.newFixedThreadPool(3);
+            Future<?> reader = executor.submit(() -> {
+                while (running.get()) {
+                    List<LeaderboardEntry> top = leaderboard.top(1000);
+                    assertEquals(top.size(), top.stream().map(LeaderboardEntry::getPlayer).distinct().count(),
+                            "A player should never be listed twice.");
+                }
+                return null;
+            });
+            List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 2; thread++) {
+                int offset = thread * 200;
+                writers.add(executor.submit(() -> {
+                    for (int step = 0; step <= MAX_SCORE; step += 20) {
+                        for (int i = 0; i < 200; i++) {
+                            leaderboard.submit("player-" + (offset + i), step);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            reader.get(30, TimeUnit.SECONDS);
+            executor.shutdown();
+        }
+        try (Leaderboard reopened = Leaderboard.open(file)) {
+            assertEquals(400, reopened.size());
+            for (int i = 0; i < 400; i++) {
+                assertEquals(MAX_SCORE, reopened.get("player-" + i).getScore());
+            }
+        }
+    }
+
+    /**
+     * Verifies that entries survive reopening, including after the file has been rewritten.
+     */
+    @Test
+    void testPersistsAcrossRestarts(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("leaderboard.log");
+        try (Leaderboard leaderboard = Leaderboard.open(file)) {
+            SelfPlaySimulator simulator = new SelfPlaySimulator(GlobalReference.getDictionary(), RandomStrategy::new, 7L);
+            simulator.setLeaderboard(leaderboard, 100);
+            simulator.run(5000, 2);
+            leaderboard.flush();
+            assertEquals(5000, leaderboard.getSubmissionCount());
+            for (int i = 0; i < 3000; i++) {
+                // Three improvements per player leave most of the records superseded, so closing rewrites the file.
+                leaderboard.submit("climber-" + i, 0);
+                leaderboard.submit("climber-" + i, 20);
+                leaderboard.submit("climber-" + i, 40);
+            }
+        }
+        try (Leaderboard reopened = Leaderboard.open(file)) {
+            assertEquals(3100, reopened.size());
+            assertEquals(40, reopened.get("climber-42").getScore());
+            assertEquals(1, reopened.submit("new", MAX_SCORE));
+            assertTrue(reopened.get("new").getSequence() > reopened.get("climber-2999").getSequence(),
+                    "New submissions should continue the saved sequence.");
+            assertNull(reopened.get("nobody"));
+        }
+        try (Leaderboard again = Leaderboard.open(file)) {
+            assertEquals(3101, again.size());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+import hangman.game.GlobalReference;
+import hangman.utils.PackedDictionary;
+import hangman.utils.WordParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link PackedDictionary}, checking that words survive packing in both the fixed-stride
+ * and the offset-indexed layout and that the packed dictionary agrees with the plain word list.
+ */
+public class PackedDictionaryTest {
+
+    /**
+     * Verifies that the packed dictionary loaded from the resources holds the same words as the plain word list.
+     */
+    @Test
+    void testMatchesWordList() {
+        List<String> words = WordParser.loadWords();
+        PackedDictionary dictionary = GlobalReference.getDictionary();
+        assertEquals(words.size(), dictionary.size(), "Both loaders should read the same number of words.");
+        assertEquals(5, dictionary.fixedLength(), "The bundled word list should use the fixed-stride layout.");
+        for (int i = 0; i < words.size(); i += 997) {
+            assertEquals(words.get(i), dictionary.get(i), "Words should be stored in file order.");
+            assertEquals(words.get(i), dictionary.view(i).toString(), "Views should read the same word.");
+        }
+    }
+
+    /**
+     * Verifies the offset-indexed layout used for words of different lengths.
+     */
+    @Test
+    void testVariableLengthWords() throws IOException {
+        byte[] input = "  cat\nhorse\n\nox \r\n".getBytes(StandardCharsets.US_ASCII);
+        PackedDictionary dictionary = WordParser.loadDictionary(new ByteArrayInputStream(input));
+        assertEquals(3, dictionary.size(), "Blank lines should be skipped.");
+        assertEquals(0, dictionary.fixedLength(), "Mixed lengths should use the offset-indexed layout.");
+        assertEquals("horse", dictionary.get(1));
+        assertEquals(2, dictionary.length(2), "Surrounding whitespace should be trimmed.");
+        assertEquals('x', dictionary.charAt(2, 1));
+        assertEquals((1 << 'o' - 'a') | (1 << 'x' - 'a'), dictionary.letterMask(2));
+    }
+
+    /**
+     * Verifies lookups through the list view and that unsupported characters are rejected.
+     */
+    @Test
+    void testLookupAndValidation() {
+        PackedDictionary dictionary = PackedDictionary.of("apple", "melon", "berry");
+        List<String> list = dictionary.asList();
+        assertTrue(list.contains("melon"));
+        assertFalse(list.contains("lemon"));
+        assertEquals(2, list.indexOf("berry"));
+        assertThrows(UnsupportedOperationException.class, () -> list.add("grape"), "The list view should be read-only.");
+        assertThrows(IllegalArgumentException.class, () -> PackedDictionary.of("Apple"));
+    }
+}
@@ -0,0 +1,208 @@
+import hangman.game.HangmanGameLogic;
+import hangman.game.dictionary.DictionaryRegistry;
+import hangman.game.journal.GameJournal;
+import hangman.game.session.GameSession;
+import hangman.game.session.GameSessionManager;
+import hangman.game.session.PackedGameState;
+import hangman.game.session.ParkedGameTable;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests parking of games, verifying that a game survives being packed into a long, that the parked game table
+ * behaves like a map, and that the session manager parks and resumes sessions under their ids.
+ */
+public class ParkedGameTest {
+
+    // The dictionary of the games, so the secret words are known.
+    private static final PackedDictionary DICTIONARY = PackedDictionary.of("apple", "crane", "ghost");
+
+    // The session manager under test.
+    private GameSessionManager manager;
+
+    /**
+     * Creates a session manager over the test dictionary before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        manager = new GameSessionManager(Duration.ofMinutes(10), 4);
+        manager.setDictionaryRegistry(new DictionaryRegistry(DICTIONARY));
+    }
+
+    /**
+     * Stops any background eviction after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    /**
+     * Verifies that packing and unpacking a game keeps its word, guesses, wrong guesses and score.
+     */
+    @Test
+    void testPackRoundTrip() {
+        PackedGameState codec = new PackedGameState(DICTIONARY);
+        HangmanGameLogic game = new HangmanGameLogic(DICTIONARY);
+        game.resetGame(1);
+        game.makeGuess('a');
+        game.makeGuess('z');
+        game.makeGuess('n');
+        long state = codec.pack(game);
+        assertEquals(1, codec.wordIndex(state));
+        assertEquals(1, codec.wrongGuesses(state));
+        assertEquals(game.getScore(), codec.score(state));
+
+        HangmanGameLogic copy = new HangmanGameLogic(DICTIONARY);
+        copy.resetGame(2);
+        codec.unpack(state, copy);
+        assertEquals("__an_", copy.getCurrentState());
+        assertEquals("crane", copy.getSecretWord());
+        assertEquals(game.getWrongGuesses(), copy.getWrongGuesses());
+        assertEquals(game.getScore(), copy.getScore());
+        assertEquals(game.getGuessedMask(), copy.getGuessedMask());
+
+        for (char letter : "cre".toCharArray()) {
+            copy.makeGuess(letter);
+        }
+        assertTrue(copy.isGameWon(), "An unpacked game should play on to the end.");
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.pack(new HangmanGameLogic(PackedDictionary.of("other"))));
+    }
+
+    /**
+     * Verifies that the table agrees with a hash map over many insertions, replacements and removals.
+     */
+    @Test
+    void testTableMatchesMap() {
+        ParkedGameTable table = new ParkedGameTable();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long id = 1 + random.nextInt(50_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.getOrDefault(id, PackedGameState.NO_STATE), table.remove(id));
+                expected.remove(id);
+            } else {
+                long state = random.nextLong() & Long.MAX_VALUE;
+                assertTrue(table.put(id, state));
+                expected.put(id, state);
+            }
+        }
+        assertEquals(expected.size(), table.size());
+        for (long id = 1; id <= 50_000; id++) {
+            assertEquals(expected.getOrDefault(id, PackedGameState.NO_STATE), table.get(id));
+        }
+        assertThrows(IllegalArgumentException.class, () -> table.put(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> table.put(1, PackedGameState.NO_STATE));
+
+        assertFalse(table.retireIfEmpty(), "A table holding games should not retire.");
+        expected.keySet().forEach(table::remove);
+        assertTrue(table.retireIfEmpty());
+        assertFalse(table.put(1, 1), "A retired table should refuse new games.");
+    }
+
+    /**
+     * Verifies that a parked session is resumed under its id with its game as it was left.
+     */
+    @Test
+    void testParkAndResume() {
+        GameSession session = manager.createSession();
+        long id = session.getId();
+        HangmanGameLogic game = session.getGame();
+        game.makeGuess('e');
+        game.makeGuess('q');
+        String pattern = game.getCurrentState();
+        String word = game.getSecretWord();
+        int wrongGuesses = game.getWrongGuesses();
+
+        assertTrue(manager.parkSession(id));
+        assertFalse(manager.parkSession(id), "A parked session is no longer active.");
+        assertEquals(0, manager.getActiveSessionCount());
+        assertEquals(1, manager.getParkedSessionCount());
+
+        GameSession resumed = manager.getSession(id);
+        assertNotNull(resumed);
+        assertEquals(id, resumed.getId());
+        assertEquals(pattern, resumed.getGame().getCurrentState());
+        assertEquals(word, resumed.getGame().getSecretWord());
+        assertEquals(wrongGuesses, resumed.getGame().getWrongGuesses());
+        assertEquals(0, manager.getParkedSessionCount());
+        assertEquals(1, manager.getActiveSessionCount());
+        for (int i = 0; i < word.length(); i++) {
+            resumed.getGame().makeGuess(word.charAt(i));
+        }
+        assertTrue(resumed.getGame().isGameWon());
+    }
+
+    /**
+     * Verifies that a parked session can be closed without being resumed.
+     */
+    @Test
+    void testCloseParkedSession() {
+        long id = manager.createSession().getId();
+        assertTrue(manager.parkSession(id));
+        assertTrue(manager.closeSession(id));
+        assertFalse(manager.closeSession(id));
+        assertEquals(0, manager.getParkedSessionCount());
+        assertNull(manager.getSession(id));
+    }
+
+    /**
+     * Verifies that eviction parks idle sessions when idle parking is enabled.
+     */
+    @Test
+    void testIdleSessionsAreParked() {
+        GameSessionManager eager = new GameSessionManager(Duration.ZERO, 4);
+        eager.setDictionaryRegistry(new DictionaryRegistry(DICTIONARY));
+        eager.setParkIdleSessions(true);
+        long first = eager.createSession().getId();
+        long second = eager.createSession().getId();
+        assertEquals(2, eager.evictIdleSessions());
+        assertEquals(2, eager.getParkedSessionCount());
+        assertEquals(2, eager.getPooledGameCount(), "Parked games should go back to the pool.");
+        assertNotNull(eager.getSession(first));
+        assertNotNull(eager.getSession(second));
+        assertEquals(0, eager.getParkedSessionCount());
+        eager.close();
+    }
+
+    /**
+     * Verifies that a session parked and resumed before a restart is recovered from the journal.
+     */
+    @Test
+    void testParkedSessionsKeepJournaling(@TempDir Path directory) throws IOException {
+        GameJournal journal = GameJournal.open(directory);
+        GameSessionManager journaled = new GameSessionManager(Duration.ofMinutes(10), 4, journal);
+        journaled.setDictionaryRegistry(new DictionaryRegistry(DICTIONARY));
+        long id = journaled.createSession().getId();
+        journaled.getSession(id).getGame().makeGuess('o');
+        assertTrue(journaled.parkSession(id));
+        HangmanGameLogic game = journaled.getSession(id).getGame();
+        game.makeGuess('z');
+        journal.close();
+
+        HangmanGameLogic recovered = GameJournal.recover(directory, DICTIONARY).get(id);
+        assertNotNull(recovered, "A parked session should not be journaled as closed.");
+        assertEquals(game.getCurrentState(), recovered.getCurrentState());
+        assertEquals(game.getWrongGuesses(), recovered.getWrongGuesses());
+        journaled.close();
+    }
+}
@@ -0,0 +1,91 @@
+import hangman.game.HangmanDrawing;
+import hangman.game.HangmanGameLogic;
+import hangman.game.HangmanUI;
+import hangman.game.output.NullOutput;
+import hangman.game.output.OutputSink;
+import hangman.game.output.RenderBuffer;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the buffered rendering pipeline: the encoding done by {@link RenderBuffer}, the precomputed frames
+ * of {@link HangmanDrawing}, and the single write per turn made by {@link HangmanUI}.
+ */
+public class RenderBufferTest {
+
+    /**
+     * Verifies that text, characters, numbers, and line separators are encoded as a PrintStream would.
+     */
+    @Test
+    void testAppendMatchesPrintStream() {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(expected);
+        stream.print("Score: ");
+        stream.print(-120);
+        stream.print(' ');
+        stream.print(0);
+        stream.println(" café");
+        stream.flush();
+
+        RenderBuffer buffer = new RenderBuffer(1);
+        buffer.append("Score: ").append(-120).append(' ').append(0).appendLine(" café");
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        buffer.writeTo(actual::write);
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(0, buffer.size(), "Writing should empty the buffer.");
+    }
+
+    /**
+     * Verifies that every precomputed frame matches the frame printed directly.
+     */
+    @Test
+    void testFramesMatchDirectOutput() {
+        PrintStream originalOut = System.out;
+        try {
+            for (int wrongGuesses = 0; wrongGuesses <= 7; wrongGuesses++) {
+                ByteArrayOutputStream direct = new ByteArrayOutputStream();
+                System.setOut(new PrintStream(direct));
+                HangmanDrawing.displayHangman(wrongGuesses);
+
+                RenderBuffer buffer = new RenderBuffer();
+                HangmanDrawing.render(wrongGuesses, buffer);
+                ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+                buffer.writeTo(rendered::write);
+                assertEquals(direct.toString(), rendered.toString());
+                assertEquals(7, direct.toString().split(System.lineSeparator()).length);
+            }
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    /**
+     * Verifies that the UI writes each turn to its sink in one call and plays headless with a null sink.
+     */
+    @Test
+    void testOneWritePerTurn() {
+        List<String> writes = new ArrayList<>();
+        OutputSink recorder = (data, offset, length) -> writes.add(new String(data, offset, length));
+        HangmanGameLogic game = new HangmanGameLogic(PackedDictionary.of("abc"));
+        Iterator<String> lines = List.of("a", "b", "c", "n").iterator();
+        new HangmanUI(game, lines::next, recorder).play();
+
+        assertEquals(4, writes.size(), "Three turns and the replay prompt should take one write each.");
+        assertTrue(writes.get(1).contains("Guessed letters: [a]"));
+        assertTrue(writes.get(3).contains("Congratulations! You guessed the word: abc"));
+
+        Iterator<String> more = List.of("x", "y", "z", "q", "w", "v", "n").iterator();
+        new HangmanUI(new HangmanGameLogic(PackedDictionary.of("abc")), more::next, NullOutput.INSTANCE).play();
+        assertFalse(more.hasNext(), "A headless game should consume all its input.");
+    }
+}
@@ -0,0 +1,60 @@
+import hangman.game.GlobalReference;
+import hangman.game.solver.SolverIndex;
+import hangman.simulator.FrequencyOrderStrategy;
+import hangman.simulator.RandomStrategy;
+import hangman.simulator.SelfPlaySimulator;
+import hangman.simulator.SimulationStats;
+import hangman.simulator.SolverStrategy;
+import org.junit.jupiter.api.Test;
+
+import static hangman.game.GlobalReference.ERROR_PENALTY_SCORE;
+import static hangman.game.GlobalReference.MAX_SCORE;
+import static hangman.game.GlobalReference.MAX_TRIES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link SelfPlaySimulator}, checking that the statistics account for every game
+ * and that a run gives the same result regardless of the number of threads.
+ */
+public class SelfPlaySimulatorTest {
+
+    /**
+     * Verifies that the histograms and win count are consistent with the number of games played.
+     */
+    @Test
+    void testStatisticsAreConsistent() {
+        SimulationStats stats = new SelfPlaySimulator(GlobalReference.getDictionary(), RandomStrategy::new, 1L)
+                .run(10_000, 4);
+        assertEquals(10_000, stats.getGames(), "Every game should be recorded.");
+        long scores = 0;
+        for (int score = 0; score <= MAX_SCORE; score += ERROR_PENALTY_SCORE) {
+            scores += stats.getScoreCount(score);
+        }
+        long wrongGuesses = 0;
+        for (int wrong = 0; wrong <= MAX_TRIES; wrong++) {
+            wrongGuesses += stats.getWrongGuessCount(wrong);
+        }
+        assertEquals(stats.getGames(), scores, "Every game should appear in the score distribution.");
+        assertEquals(stats.getGames(), wrongGuesses, "Every game should appear in the wrong guess histogram.");
+        assertEquals(stats.getGames() - stats.getWins(), stats.getWrongGuessCount(MAX_TRIES),
+                "Every lost game should end with the maximum number of wrong guesses.");
+    }
+
+    /**
+     * Verifies that the same seed gives the same statistics on one thread and on several threads.
+     */
+    @Test
+    void testReproducibleAcrossParallelism() {
+        SolverIndex index = new SolverIndex(GlobalReference.getDictionary());
+        SelfPlaySimulator simulator = new SelfPlaySimulator(GlobalReference.getDictionary(),
+                seed -> new SolverStrategy(index), 42L);
+        SimulationStats sequential = simulator.run(20_000, 1);
+        SimulationStats parallel = simulator.run(20_000, 4);
+        assertEquals(sequential.getWins(), parallel.getWins());
+        assertEquals(sequential.getGuesses(), parallel.getGuesses());
+        assertTrue(sequential.getWinRate() > new SelfPlaySimulator(GlobalReference.getDictionary(),
+                seed -> new FrequencyOrderStrategy(), 42L).run(20_000, 4).getWinRate(),
+                "The solver should beat a fixed letter order.");
+    }
+}
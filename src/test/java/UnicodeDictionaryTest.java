@@ -0,0 +1,131 @@
+import hangman.game.EvilHangmanGame;
+import hangman.game.HangmanGameLogic;
+import hangman.utils.Alphabet;
+import hangman.utils.DictionaryFile;
+import hangman.utils.PackedDictionary;
+import hangman.utils.WordParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests dictionaries in other scripts and of mixed word lengths, checking that letters are encoded
+ * in the dictionary's own alphabet, that words can be picked by length, and that games can be played
+ * with letters outside the Basic Multilingual Plane.
+ */
+public class UnicodeDictionaryTest {
+
+    // The 33 letters of the Russian alphabet, more than fit in an int mask.
+    private static final String RUSSIAN = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
+
+    // Three words in the Deseret script, whose letters are all supplementary code points.
+    private static final String[] DESERET = {
+            "\uD801\uDC3F\uD801\uDC34", "\uD801\uDC4B\uD801\uDC2F\uD801\uDC4B", "\uD801\uDC3E\uD801\uDC2E\uD801\uDC49\uD801\uDC4C"};
+
+    // A temporary directory for the dictionary files of each test.
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that letters beyond the 32nd of an alphabet get their own bit in a word's letter mask.
+     */
+    @Test
+    void testLargeAlphabetUsesLongMasks() {
+        Alphabet russian = Alphabet.of("ru", RUSSIAN);
+        assertEquals(33, russian.size());
+        PackedDictionary dictionary = PackedDictionary.builder(russian).add("заря").add("ёж").build();
+        assertFalse(dictionary.isEnglish());
+        assertEquals("заря", dictionary.get(0));
+        assertEquals('ж', dictionary.charAt(1, 1));
+
+        long mask = dictionary.letterMask(1);
+        assertEquals(russian.bitOf('ё') | russian.bitOf('ж'), mask);
+        assertEquals(2, Long.bitCount(mask), "Every letter should have a distinct bit.");
+        assertEquals(1L << 32, russian.bitOf('ё'), "Letters are ordered by code point, so 'ё' comes last.");
+        assertTrue((dictionary.letterMask(0) & russian.bitOf('я')) != 0);
+        assertThrows(IllegalArgumentException.class, () -> PackedDictionary.builder(russian).add("zebra"),
+                "Letters outside the alphabet should be rejected.");
+    }
+
+    /**
+     * Verifies that words of mixed length are bucketed in dictionary order, and that the adversarial game
+     * plays from the bucket of the chosen length.
+     */
+    @Test
+    void testLengthBuckets() {
+        PackedDictionary dictionary = PackedDictionary.builder(Alphabet.of("ru", RUSSIAN))
+                .add("кот").add("мышь").add("сыр").add("дом").add("слон").add("ёж").build();
+        assertEquals(4, dictionary.maxLength());
+        assertEquals(3, dictionary.countOfLength(3));
+        assertEquals(2, dictionary.countOfLength(4));
+        assertEquals(0, dictionary.countOfLength(7));
+        assertEquals(List.of("кот", "сыр", "дом"), List.of(dictionary.get(dictionary.wordOfLength(3, 0)),
+                dictionary.get(dictionary.wordOfLength(3, 1)), dictionary.get(dictionary.wordOfLength(3, 2))));
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionary.wordOfLength(2, 1));
+
+        EvilHangmanGame game = new EvilHangmanGame(dictionary);
+        game.resetGameForLength(4);
+        assertEquals(2, game.getCandidateCount());
+        game.makeGuess('с');
+        assertEquals("мышь", game.getSecretWord(), "The game should keep the larger family, without the letter.");
+        assertEquals(1, game.getWrongGuesses());
+    }
+
+    /**
+     * Verifies that a game over a supplementary script is won by guessing code points, and that its guesses
+     * are reported as code points.
+     */
+    @Test
+    void testSupplementaryLetters() {
+        PackedDictionary dictionary = PackedDictionary.builder(Alphabet.derive("dsrt", List.of(DESERET)))
+                .add(DESERET[0]).add(DESERET[1]).add(DESERET[2]).build();
+        assertEquals(2, dictionary.length(0), "A supplementary letter should take one position.");
+        assertEquals(DESERET[2], dictionary.get(2));
+        assertEquals(1, dictionary.indexOf(DESERET[1]));
+
+        HangmanGameLogic game = new HangmanGameLogic(dictionary);
+        game.resetGame(1);
+        assertEquals("___", game.getCurrentState());
+        DESERET[1].codePoints().distinct().forEach(game::guessCodePoint);
+        assertTrue(game.isGameWon());
+        assertEquals(DESERET[1], game.getCurrentState());
+        game.guessCodePoint(DESERET[2].codePointAt(0));
+        assertEquals(0, game.getWrongGuesses(), "Guesses after the game is over should be ignored.");
+
+        StringBuilder guessed = new StringBuilder();
+        game.forEachGuessedLetter(guessed::appendCodePoint);
+        assertEquals(2, guessed.codePointCount(0, guessed.length()));
+        assertTrue(game.getGuessedLetters().isEmpty(), "Supplementary letters do not fit in a Character.");
+    }
+
+    /**
+     * Verifies that a word list in another script is compiled with its alphabet and read back unchanged,
+     * both from the compiled file and from the text file.
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        Path text = tempDir.resolve("ru.txt");
+        Files.write(text, "Кот\nмышь\n\nёж\n".getBytes(StandardCharsets.UTF_8));
+        PackedDictionary parsed = WordParser.loadDictionary(text);
+        assertEquals(List.of("кот", "мышь", "ёж"), parsed.asList(), "Words should be lower-cased.");
+        assertEquals("ru", parsed.getAlphabet().getName());
+        assertEquals(9, parsed.getAlphabet().size(), "A derived alphabet should hold exactly the letters used.");
+
+        Path compiled = tempDir.resolve("ru.bin");
+        DictionaryFile.write(parsed, compiled);
+        PackedDictionary mapped = WordParser.loadDictionary(compiled);
+        assertEquals(parsed.getAlphabet(), mapped.getAlphabet());
+        assertEquals(parsed.asList(), mapped.asList());
+        assertEquals(parsed.letterMask(2), mapped.letterMask(2));
+    }
+}
@@ -0,0 +1,133 @@
+import hangman.game.GlobalReference;
+import hangman.game.HangmanGameLogic;
+import hangman.game.selection.ShuffledWordSelector;
+import hangman.game.selection.UniformWordSelector;
+import hangman.game.selection.WeightedWordSelector;
+import hangman.game.session.GameSessionManager;
+import hangman.utils.PackedDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the word selection strategies: reproducible seeded sequences, cycles without repetition,
+ * weighted picks, and sharing a selector between concurrent sessions.
+ */
+public class WordSelectorTest {
+
+    /**
+     * Verifies that games with the same seed play the same sequence of words.
+     */
+    @Test
+    void testSeededGamesAreReproducible() {
+        PackedDictionary dictionary = GlobalReference.getDictionary();
+        HangmanGameLogic first = new HangmanGameLogic(dictionary, new UniformWordSelector(dictionary.size(), 42));
+        HangmanGameLogic second = new HangmanGameLogic(dictionary, new UniformWordSelector(dictionary.size(), 42));
+        for (int game = 0; game < 20; game++) {
+            assertEquals(first.getSecretWord(), second.getSecretWord());
+            first.resetGame();
+            second.resetGame();
+        }
+    }
+
+    /**
+     * Verifies that every word is picked exactly once per cycle and that the next cycle starts over.
+     */
+    @Test
+    void testShuffledSelectorDoesNotRepeat() {
+        ShuffledWordSelector selector = new ShuffledWordSelector(1000, 7);
+        for (int cycle = 0; cycle < 2; cycle++) {
+            BitSet picked = new BitSet();
+            for (int i = 0; i < 1000; i++) {
+                int word = selector.nextIndex();
+                assertFalse(picked.get(word), "Word " + word + " was picked twice in one cycle.");
+                picked.set(word);
+            }
+            assertEquals(1000, picked.cardinality());
+            assertEquals(0, selector.getRemaining());
+        }
+    }
+
+    /**
+     * Verifies that picks follow the weights and that words of weight 0 are never picked.
+     */
+    @Test
+    void testWeightedSelectorFollowsWeights() {
+        double[] weights = {1, 0, 3, 6};
+        WeightedWordSelector selector = new WeightedWordSelector(weights, 11);
+        int[] counts = new int[weights.length];
+        int draws = 100_000;
+        for (int i = 0; i < draws; i++) {
+            counts[selector.nextIndex()]++;
+        }
+        assertEquals(0, counts[1]);
+        assertEquals(0.1, counts[0] / (double) draws, 0.01);
+        assertEquals(0.3, counts[2] / (double) draws, 0.01);
+        assertEquals(0.6, counts[3] / (double) draws, 0.01);
+
+        assertThrows(IllegalArgumentException.class, () -> new WeightedWordSelector(new double[]{0, 0}, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WeightedWordSelector(new double[]{1, -1}, 1));
+    }
+
+    /**
+     * Verifies that a category selector picks each category as often as its weight says, however many words
+     * it has, and only picks words of the categories with a weight.
+     */
+    @Test
+    void testWeightedSelectorByCategory() {
+        PackedDictionary dictionary = PackedDictionary.of("cat", "dog", "horse", "zebra", "elephant");
+        WeightedWordSelector selector = WeightedWordSelector.byCategory(dictionary, dictionary::length,
+                new double[]{0, 0, 0, 0, 0, 1}, 3);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(5, dictionary.length(selector.nextIndex()));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new HangmanGameLogic(dictionary, new UniformWordSelector(4)));
+
+        // Three words of length 3 and one of length 5 weigh the same as their categories do.
+        PackedDictionary uneven = PackedDictionary.of("cat", "dog", "cow", "zebra");
+        WeightedWordSelector even = WeightedWordSelector.byCategory(uneven, uneven::length,
+                new double[]{0, 0, 0, 1, 0, 1}, 5);
+        int draws = 100_000;
+        int zebras = 0;
+        for (int i = 0; i < draws; i++) {
+            if (uneven.length(even.nextIndex()) == 5) {
+                zebras++;
+            }
+        }
+        assertEquals(0.5, zebras / (double) draws, 0.01);
+    }
+
+    /**
+     * Verifies that sessions sharing a no-repeat selector never play the same word while the cycle lasts.
+     */
+    @Test
+    void testSessionsShareSelector() throws InterruptedException {
+        int size = GlobalReference.getDictionary().size();
+        GameSessionManager manager = new GameSessionManager(Duration.ofMinutes(1), 0);
+        manager.setWordSelector(new ShuffledWordSelector(size, 5));
+        ConcurrentHashMap<Integer, Boolean> played = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        int sessions = 2000;
+        for (int i = 0; i < sessions; i++) {
+            executor.execute(() -> {
+                HangmanGameLogic game = manager.createSession().getGame();
+                played.put(game.getWordIndex(), Boolean.TRUE);
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        manager.close();
+        assertEquals(sessions, played.size());
+    }
+}
@@ -0,0 +1,167 @@
+import hangman.game.EvilHangmanGame;
+import hangman.game.GlobalReference;
+import hangman.game.GuessResult;
+import hangman.game.GuessResult.Status;
+import hangman.game.HangmanGameLogic;
+import hangman.game.HangmanUI;
+import hangman.game.input.UserInput;
+import hangman.utils.Alphabet;
+import hangman.utils.PackedDictionary;
+import hangman.utils.WordSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the {@link WordSet}, verifying that it agrees with a hash set of the words for words and non-words alike,
+ * in every alphabet, and that games accepting dictionary words alone reject other words without a wrong guess.
+ */
+public class WordSetTest {
+
+    /**
+     * Verifies that every bundled word is found under its own index, and that random letter strings are found
+     * exactly when they are words.
+     */
+    @Test
+    void testMatchesHashSet() {
+        PackedDictionary dictionary = GlobalReference.getDictionary();
+        WordSet words = new WordSet(dictionary);
+        Set<String> expected = new HashSet<>(dictionary.asList());
+        assertEquals(expected.size(), words.size());
+        for (int word = 0; word < dictionary.size(); word++) {
+            assertEquals(dictionary.get(word), dictionary.get(words.indexOf(dictionary.view(word))));
+        }
+        Random random = new Random(7);
+        StringBuilder candidate = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            candidate.setLength(0);
+            for (int length = 3 + random.nextInt(4); candidate.length() < length; ) {
+                candidate.append((char) ('a' + random.nextInt(PackedDictionary.ALPHABET_SIZE)));
+            }
+            assertEquals(expected.contains(candidate.toString()), words.contains(candidate), candidate.toString());
+        }
+        assertFalse(words.contains(""));
+        assertFalse(words.contains("Apple"), "Letters outside the alphabet should reject a word.");
+        assertFalse(words.contains("app1e"));
+    }
+
+    /**
+     * Verifies that a word listed twice is kept once, under its first index, and that lookups work in large
+     * and supplementary alphabets.
+     */
+    @Test
+    void testDuplicatesAndAlphabets() {
+        WordSet words = PackedDictionary.of("apple", "melon", "apple").wordSet();
+        assertEquals(2, words.size());
+        assertEquals(0, words.indexOf("apple"));
+        assertEquals(1, words.indexOf("melon"));
+        assertEquals(-1, words.indexOf("mel"));
+
+        PackedDictionary russian = PackedDictionary.builder(Alphabet.of("ru", "абвгдеёжзийклмнопрстуфхцчшщъыьэюя"))
+                .add("кот").add("ёж").build();
+        assertTrue(russian.contains("ёж"));
+        assertFalse(russian.contains("еж"));
+
+        String[] deseret = {"𐐿𐐴", "𐑋𐐯𐑋"};
+        PackedDictionary supplementary = PackedDictionary.builder(Alphabet.derive("dsrt", List.of(deseret)))
+                .add(deseret[0]).add(deseret[1]).build();
+        assertEquals(1, supplementary.wordSet().indexOf(deseret[1]));
+        assertFalse(supplementary.contains(deseret[0] + deseret[0]));
+    }
+
+    /**
+     * Verifies that lookups stay exact over a dictionary of a million generated words.
+     */
+    @Test
+    void testLargeDictionary() {
+        PackedDictionary.Builder builder = PackedDictionary.builder();
+        Random random = new Random(11);
+        Set<String> expected = new HashSet<>();
+        char[] letters = new char[7];
+        while (expected.size() < 1_000_000) {
+            for (int i = 0; i < letters.length; i++) {
+                letters[i] = (char) ('a' + random.nextInt(PackedDictionary.ALPHABET_SIZE));
+            }
+            String word = new String(letters);
+            if (expected.add(word)) {
+                builder.add(word);
+            }
+        }
+        WordSet words = builder.build().wordSet();
+        assertEquals(expected.size(), words.size());
+        for (String word : expected) {
+            assertTrue(words.contains(word), word);
+        }
+        int falseFinds = 0;
+        for (int i = 0; i < 100_000; i++) {
+            for (int j = 0; j < letters.length; j++) {
+                letters[j] = (char) ('a' + random.nextInt(PackedDictionary.ALPHABET_SIZE));
+            }
+            String candidate = new String(letters);
+            if (words.contains(candidate) != expected.contains(candidate)) {
+                falseFinds++;
+            }
+        }
+        assertEquals(0, falseFinds, "The exact check should catch every false positive of the filter.");
+    }
+
+    /**
+     * Verifies that games accepting dictionary words alone report other words as unknown without a wrong guess.
+     */
+    @Test
+    void testGamesRejectUnknownWords() {
+        PackedDictionary dictionary = PackedDictionary.of("apple", "crane", "ghost");
+        HangmanGameLogic game = new HangmanGameLogic(dictionary);
+        game.resetGame(0);
+        GuessResult result = new GuessResult();
+        assertEquals(Status.MISS, game.guessWord("zzzzz", result).getStatus(), "Any word may be guessed by default.");
+
+        game.setDictionaryWordsOnly(true);
+        assertEquals(Status.UNKNOWN_WORD, game.guessWord("aplpe", result).getStatus());
+        assertEquals(1, result.getWrongGuesses(), "An unknown word should not count as a wrong guess.");
+        assertEquals(Status.MISS, game.guessWord("crane", result).getStatus());
+        assertEquals(Status.HIT, game.guessWord("apple", result).getStatus());
+
+        EvilHangmanGame evil = new EvilHangmanGame(dictionary);
+        evil.setDictionaryWordsOnly(true);
+        evil.resetGameForLength(5);
+        assertEquals(Status.UNKNOWN_WORD, evil.guessWord("abcde", result).getStatus());
+        assertEquals(3, evil.getCandidateCount());
+        assertEquals(Status.MISS, evil.guessWord("ghost", result).getStatus());
+        assertEquals(2, evil.getCandidateCount());
+    }
+
+    /**
+     * Verifies that the console accepts whole-word guesses, explaining why an unknown word was rejected.
+     */
+    @Test
+    void testConsoleWordGuesses() {
+        HangmanGameLogic game = new HangmanGameLogic(PackedDictionary.of("apple", "crane"));
+        game.setDictionaryWordsOnly(true);
+        game.resetGame(1);
+        UserInput input = mock(UserInput.class);
+        when(input.nextLine()).thenReturn("a", "crame", " Crane ").thenThrow(new NoSuchElementException());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        HangmanUI ui = new HangmanUI(game, input, output::write);
+
+        ui.playRound();
+        String transcript = output.toString(StandardCharsets.UTF_8);
+        assertTrue(transcript.contains("crame is not in the word list."), transcript);
+        assertTrue(game.isGameWon());
+        assertEquals(0, game.getWrongGuesses());
+        assertThrows(NoSuchElementException.class, input::nextLine);
+    }
+}
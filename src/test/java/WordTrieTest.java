@@ -0,0 +1,113 @@
+import hangman.game.GlobalReference;
+import hangman.utils.PackedDictionary;
+import hangman.utils.WordQuery;
+import hangman.utils.WordTrie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link WordTrie} by comparing its query results with a linear scan of the dictionary.
+ */
+public class WordTrieTest {
+
+    // The trie over the bundled dictionary, shared by all tests.
+    private static WordTrie trie;
+
+    /**
+     * Builds the trie once for all tests.
+     */
+    @BeforeAll
+    static void setUp() {
+        trie = new WordTrie(GlobalReference.getDictionary());
+    }
+
+    /**
+     * Verifies counts and results against a linear scan for several kinds of query.
+     */
+    @Test
+    void testMatchesLinearScan() {
+        WordQuery[] queries = {
+                WordQuery.pattern("_a__e").excluding("rst"),
+                WordQuery.pattern("_____"),
+                WordQuery.pattern("_____").including("qu"),
+                WordQuery.pattern("s___y").including("t").excluding("a"),
+                WordQuery.pattern("zzzzz"),
+                WordQuery.pattern("____")
+        };
+        for (WordQuery query : queries) {
+            List<Integer> expected = new ArrayList<>();
+            for (int word = 0; word < GlobalReference.getDictionary().size(); word++) {
+                if (query.matches(GlobalReference.getDictionary(), word)) {
+                    expected.add(word);
+                }
+            }
+            assertEquals(expected.size(), trie.count(query), "The trie should count the same words as a scan.");
+            List<String> found = new ArrayList<>();
+            trie.find(query, 0, Integer.MAX_VALUE, word -> found.add(GlobalReference.getDictionary().get(word)));
+            List<String> scanned = new ArrayList<>();
+            expected.forEach(word -> scanned.add(GlobalReference.getDictionary().get(word)));
+            scanned.sort(null);
+            assertEquals(scanned, found, "The trie should report the matching words in alphabetical order.");
+        }
+    }
+
+    /**
+     * Verifies that queries requiring or excluding letters inside compressed edges, and words that are prefixes
+     * of other words, are answered like a scan.
+     */
+    @Test
+    void testCompressedEdges() {
+        PackedDictionary dictionary = PackedDictionary.of("apple", "applesauce", "apply", "ape", "banana", "bandana");
+        WordTrie small = new WordTrie(dictionary);
+        assertTrue(small.getNodeCount() < 1 + "applesauceybananadna".length(), "Single-child chains should be merged.");
+        WordQuery[] queries = {
+                WordQuery.pattern("app__"),
+                WordQuery.pattern("__p_e"),
+                WordQuery.pattern("___l_"),
+                WordQuery.pattern("__p_y"),
+                WordQuery.pattern("_____").excluding("e"),
+                WordQuery.pattern("appl______"),
+                WordQuery.pattern("_a__a_a"),
+                WordQuery.pattern("___a__").excluding("d"),
+                WordQuery.pattern("a__"),
+                WordQuery.pattern("a_"),
+                WordQuery.pattern("______").including("n")
+        };
+        for (WordQuery query : queries) {
+            List<String> expected = new ArrayList<>();
+            for (int word = 0; word < dictionary.size(); word++) {
+                if (query.matches(dictionary, word)) {
+                    expected.add(dictionary.get(word));
+                }
+            }
+            expected.sort(null);
+            List<String> found = new ArrayList<>();
+            small.find(query, 0, Integer.MAX_VALUE, word -> found.add(dictionary.get(word)));
+            assertEquals(expected, found, query.toString());
+            assertEquals(expected.size(), small.count(query));
+        }
+    }
+
+    /**
+     * Verifies that paging through the results returns consecutive slices of the full result.
+     */
+    @Test
+    void testPagination() {
+        PackedDictionary dictionary = PackedDictionary.of("cane", "cone", "cube", "cafe", "cove", "cage", "core");
+        WordTrie small = new WordTrie(dictionary);
+        WordQuery query = WordQuery.pattern("c__e").excluding("r");
+        assertEquals(6, small.count(query));
+        assertArrayEquals(new int[]{3, 5}, small.first(query, 2), "The first page should start alphabetically.");
+        List<String> page = new ArrayList<>();
+        assertEquals(2, small.find(query, 2, 2, word -> page.add(dictionary.get(word))));
+        assertEquals(List.of("cane", "cone"), page);
+        assertEquals(0, small.find(query, 6, 5, word -> { }), "A page past the end should be empty.");
+    }
+}